@@ -0,0 +1,54 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.cfg;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public enum NodeSelectionConfiguration {
+
+	/**
+	 * Requests are sent to each configured host in turn,
+	 * regardless of how fast each host responds.
+	 */
+	ROUND_ROBIN("round_robin"),
+
+	/**
+	 * Requests are preferably sent to the hosts that respond fastest and have the fewest requests in flight,
+	 * and hosts that just failed are avoided for a while.
+	 * The strategy can be customized through {@link SearchBackendElasticsearchSettings#NODE_SELECTION_SELECTOR}.
+	 * <p>
+	 * Only applies when discovery is disabled: with discovery enabled, hosts are selected in turn.
+	 */
+	LEAST_LOADED("least_loaded");
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final String externalRepresentation;
+
+	private NodeSelectionConfiguration(String externalRepresentation) {
+		this.externalRepresentation = externalRepresentation;
+	}
+
+	public String getExternalRepresentation() {
+		return externalRepresentation;
+	}
+
+	public static NodeSelectionConfiguration fromExternalRepresentation(String nodeSelection) {
+		if ( ROUND_ROBIN.externalRepresentation.equals( nodeSelection ) ) {
+			return ROUND_ROBIN;
+		}
+		else if ( LEAST_LOADED.externalRepresentation.equals( nodeSelection ) ) {
+			return LEAST_LOADED;
+		}
+		else {
+			throw log.unknownNodeSelectionConfiguration( nodeSelection );
+		}
+	}
+}
@@ -41,6 +41,42 @@ private SearchBackendElasticsearchSettings() {
 
 	public static final String DISCOVERY_SCHEME = "discovery.default_scheme";
 
+	public static final String GZIP_COMPRESSION = "gzip_compression";
+
+	public static final String WIRE_FORMAT = "wire_format";
+
+	public static final String NODE_SELECTION = "node_selection";
+
+	public static final String NODE_SELECTION_PENALTY_DURATION = "node_selection.penalty_duration";
+
+	/**
+	 * The {@link org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector node selector}
+	 * to use with the {@link NodeSelectionConfiguration#LEAST_LOADED least loaded} node selection.
+	 * <p>
+	 * Expects a reference to a bean of type
+	 * {@link org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector}.
+	 * Defaults to picking two nodes at random and selecting the least loaded one.
+	 */
+	public static final String NODE_SELECTION_SELECTOR = "node_selection.selector";
+
+	public static final String RETRY_MAX_RETRIES = "retry.max_retries";
+
+	public static final String RETRY_INITIAL_DELAY = "retry.initial_delay";
+
+	public static final String RETRY_MAX_DELAY = "retry.max_delay";
+
+	public static final String INDEXING_MAX_BULK_SIZE = "indexing.max_bulk_size";
+
+	public static final String INDEXING_MAX_BULK_BYTES = "indexing.max_bulk_bytes";
+
+	public static final String INDEXING_MAX_IN_FLIGHT_BYTES = "indexing.max_in_flight_bytes";
+
+	public static final String INDEXING_PURGE_SLICES = "indexing.purge_slices";
+
+	public static final String MULTI_SEARCH_WINDOW = "multi_search.window";
+
+	public static final String MULTI_SEARCH_MAX_SIZE = "multi_search.max_size";
+
 	public static final String LOG_JSON_PRETTY_PRINTING = "log.json_pretty_printing";
 
 	public static final String MULTI_TENANCY_STRATEGY = "multi_tenancy_strategy";
@@ -64,6 +100,20 @@ private Defaults() {
 		public static final boolean DISCOVERY_ENABLED = false;
 		public static final int DISCOVERY_REFRESH_INTERVAL = 10;
 		public static final String DISCOVERY_SCHEME = "http";
+		public static final boolean GZIP_COMPRESSION = false;
+		public static final WireFormatConfiguration WIRE_FORMAT = WireFormatConfiguration.JSON;
+		public static final NodeSelectionConfiguration NODE_SELECTION = NodeSelectionConfiguration.ROUND_ROBIN;
+		public static final long NODE_SELECTION_PENALTY_DURATION = 30_000L;
+		public static final int RETRY_MAX_RETRIES = 5;
+		public static final long RETRY_INITIAL_DELAY = 100L;
+		public static final long RETRY_MAX_DELAY = 10_000L;
+		public static final int INDEXING_MAX_BULK_SIZE = 100;
+		public static final long INDEXING_MAX_BULK_BYTES = 5L * 1024L * 1024L;
+		public static final long INDEXING_MAX_IN_FLIGHT_BYTES = 100L * 1024L * 1024L;
+		// Matches the default number of primary shards of an index
+		public static final int INDEXING_PURGE_SLICES = 5;
+		public static final long MULTI_SEARCH_WINDOW = 0L;
+		public static final int MULTI_SEARCH_MAX_SIZE = 100;
 		public static final boolean LOG_JSON_PRETTY_PRINTING = false;
 		public static final MultiTenancyStrategyConfiguration MULTI_TENANCY_STRATEGY = MultiTenancyStrategyConfiguration.NONE;
 	}
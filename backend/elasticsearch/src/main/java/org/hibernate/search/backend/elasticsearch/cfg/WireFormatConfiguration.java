@@ -0,0 +1,47 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.cfg;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public enum WireFormatConfiguration {
+
+	/**
+	 * Request and response bodies are sent as JSON.
+	 */
+	JSON("json"),
+
+	/**
+	 * Request and response bodies are sent as CBOR, a binary format.
+	 * <p>
+	 * Bodies made of multiple parts (newline-delimited JSON) are still sent as JSON.
+	 */
+	CBOR("cbor");
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final String externalRepresentation;
+
+	private WireFormatConfiguration(String externalRepresentation) {
+		this.externalRepresentation = externalRepresentation;
+	}
+
+	public static WireFormatConfiguration fromExternalRepresentation(String wireFormat) {
+		if ( JSON.externalRepresentation.equals( wireFormat ) ) {
+			return JSON;
+		}
+		else if ( CBOR.externalRepresentation.equals( wireFormat ) ) {
+			return CBOR;
+		}
+		else {
+			throw log.unknownWireFormatConfiguration( wireFormat );
+		}
+	}
+}
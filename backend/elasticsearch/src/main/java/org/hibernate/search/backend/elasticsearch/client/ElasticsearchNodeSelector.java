@@ -0,0 +1,34 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client;
+
+import java.util.List;
+
+import org.hibernate.search.backend.elasticsearch.cfg.NodeSelectionConfiguration;
+import org.hibernate.search.backend.elasticsearch.cfg.SearchBackendElasticsearchSettings;
+
+/**
+ * An object responsible for selecting the Elasticsearch node each request is sent to,
+ * when using the {@link NodeSelectionConfiguration#LEAST_LOADED least loaded} node selection.
+ * <p>
+ * Users can select a node selector through the
+ * {@link SearchBackendElasticsearchSettings#NODE_SELECTION_SELECTOR configuration properties}.
+ * By default, two nodes are picked at random, and the least loaded one is selected.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface ElasticsearchNodeSelector {
+
+	/**
+	 * @param candidates The nodes to choose from, along with statistics about the requests sent to each node.
+	 * Never empty.
+	 * @param <N> The type of nodes.
+	 * @return The node the request should be sent to, among the candidates.
+	 */
+	<N extends ElasticsearchNodeStatistics> N select(List<N> candidates);
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client;
+
+/**
+ * Statistics about the requests sent to one Elasticsearch node.
+ * <p>
+ * Values are live: each call returns the current value.
+ */
+public interface ElasticsearchNodeStatistics {
+
+	/**
+	 * @return The URI of the node.
+	 */
+	String getHost();
+
+	/**
+	 * @return The number of requests sent to this node that did not complete yet.
+	 */
+	int getInFlightRequests();
+
+	/**
+	 * @return The moving average of the latency of requests sent to this node, in milliseconds,
+	 * weighted towards the most recent requests.
+	 */
+	double getAverageLatencyMillis();
+
+	/**
+	 * @return The number of requests sent to this node.
+	 */
+	long getRequestCount();
+
+	/**
+	 * @return The number of requests sent to this node that failed because the node could not be reached.
+	 */
+	long getFailureCount();
+
+	/**
+	 * @return {@code true} if this node failed recently and is currently avoided, {@code false} otherwise.
+	 */
+	boolean isPenalized();
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NByteArrayEntity;
+
+/**
+ * A codec using CBOR, a binary format that is cheaper to generate and parse than JSON.
+ * <p>
+ * Request bodies made of multiple parts (newline-delimited JSON) have no CBOR equivalent,
+ * so they are still sent as JSON.
+ * Responses that Elasticsearch sends as JSON regardless of the requested format (some errors, for instance)
+ * are parsed as JSON.
+ */
+public final class CborBodyCodec implements ElasticsearchBodyCodec {
+
+	public static final CborBodyCodec INSTANCE = new CborBodyCodec();
+
+	private static final ContentType CONTENT_TYPE = ContentType.create( "application/cbor" );
+
+	private CborBodyCodec() {
+	}
+
+	@Override
+	public ContentType getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public HttpEntity toEntity(Gson gson, List<JsonObject> bodyParts) {
+		if ( bodyParts.size() != 1 ) {
+			return JsonBodyCodec.INSTANCE.toEntity( gson, bodyParts );
+		}
+		return new NByteArrayEntity( CborWriter.write( bodyParts.get( 0 ) ), CONTENT_TYPE );
+	}
+
+	@Override
+	public JsonObject parse(Gson gson, InputStream inputStream, ContentType contentType) throws IOException {
+		if ( contentType != null && CONTENT_TYPE.getMimeType().equalsIgnoreCase( contentType.getMimeType() ) ) {
+			try ( InputStream closedInputStream = inputStream ) {
+				return CborReader.read( closedInputStream );
+			}
+		}
+		else {
+			return JsonBodyCodec.INSTANCE.parse( gson, inputStream, contentType );
+		}
+	}
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.ADDITIONAL_INFO_EIGHT_BYTES;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.ADDITIONAL_INFO_FOUR_BYTES;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.ADDITIONAL_INFO_INDEFINITE_LENGTH;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.ADDITIONAL_INFO_ONE_BYTE;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.ADDITIONAL_INFO_TWO_BYTES;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.DOUBLE_PRECISION_FLOAT;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.HALF_PRECISION_FLOAT;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_ARRAY;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_BYTE_STRING;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_MAP;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_NEGATIVE_INTEGER;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_SIMPLE_AND_FLOAT;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_TAG;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_TEXT_STRING;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.MAJOR_TYPE_UNSIGNED_INTEGER;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.SIMPLE_FALSE;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.SIMPLE_NULL;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.SIMPLE_TRUE;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.SIMPLE_UNDEFINED;
+import static org.hibernate.search.backend.elasticsearch.client.impl.CborWriter.SINGLE_PRECISION_FLOAT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Decodes CBOR (RFC 7049) to a Gson tree.
+ * <p>
+ * Supports both definite and indefinite lengths for strings, arrays and maps,
+ * since Elasticsearch generally uses indefinite lengths for objects and arrays.
+ * Byte strings, which have no equivalent in JSON, are decoded to Base64 strings.
+ */
+final class CborReader {
+
+	private static final int BREAK = 0xFF;
+
+	private static final int TAG_POSITIVE_BIGNUM = 2;
+	private static final int TAG_NEGATIVE_BIGNUM = 3;
+
+	static JsonObject read(InputStream inputStream) throws IOException {
+		CborReader reader = new CborReader( readFully( inputStream ) );
+		JsonElement element = reader.readElement();
+		if ( !element.isJsonObject() ) {
+			throw new IOException( "Expected a CBOR map at the root, found " + element );
+		}
+		return element.getAsJsonObject();
+	}
+
+	private static byte[] readFully(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		while ( ( read = inputStream.read( buffer ) ) >= 0 ) {
+			out.write( buffer, 0, read );
+		}
+		return out.toByteArray();
+	}
+
+	private final byte[] bytes;
+	private int position = 0;
+
+	private CborReader(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	private JsonElement readElement() throws IOException {
+		int initialByte = readByte();
+		int majorType = initialByte >>> 5;
+		int additionalInfo = initialByte & 0x1F;
+		switch ( majorType ) {
+			case MAJOR_TYPE_UNSIGNED_INTEGER:
+				return toPrimitive( readUnsignedArgument( additionalInfo ) );
+			case MAJOR_TYPE_NEGATIVE_INTEGER:
+				return toPrimitive( BigInteger.ONE.negate().subtract( readUnsignedArgument( additionalInfo ) ) );
+			case MAJOR_TYPE_BYTE_STRING:
+				return new JsonPrimitive( Base64.getEncoder().encodeToString( readString( majorType, additionalInfo ) ) );
+			case MAJOR_TYPE_TEXT_STRING:
+				return new JsonPrimitive( new String( readString( majorType, additionalInfo ), StandardCharsets.UTF_8 ) );
+			case MAJOR_TYPE_ARRAY:
+				return readArray( additionalInfo );
+			case MAJOR_TYPE_MAP:
+				return readMap( additionalInfo );
+			case MAJOR_TYPE_TAG:
+				return readTagged( readArgument( additionalInfo ) );
+			case MAJOR_TYPE_SIMPLE_AND_FLOAT:
+				return readSimpleOrFloat( additionalInfo );
+			default:
+				// Cannot happen: there are only 8 major types
+				throw new IOException( "Invalid CBOR major type: " + majorType );
+		}
+	}
+
+	private JsonArray readArray(int additionalInfo) throws IOException {
+		JsonArray array = new JsonArray();
+		if ( additionalInfo == ADDITIONAL_INFO_INDEFINITE_LENGTH ) {
+			while ( !readBreakIfPresent() ) {
+				array.add( readElement() );
+			}
+		}
+		else {
+			long length = readArgument( additionalInfo );
+			for ( long i = 0; i < length; i++ ) {
+				array.add( readElement() );
+			}
+		}
+		return array;
+	}
+
+	private JsonObject readMap(int additionalInfo) throws IOException {
+		JsonObject object = new JsonObject();
+		if ( additionalInfo == ADDITIONAL_INFO_INDEFINITE_LENGTH ) {
+			while ( !readBreakIfPresent() ) {
+				object.add( readKey(), readElement() );
+			}
+		}
+		else {
+			long length = readArgument( additionalInfo );
+			for ( long i = 0; i < length; i++ ) {
+				object.add( readKey(), readElement() );
+			}
+		}
+		return object;
+	}
+
+	private String readKey() throws IOException {
+		JsonElement key = readElement();
+		if ( !key.isJsonPrimitive() ) {
+			throw new IOException( "Unsupported CBOR map key: " + key );
+		}
+		return key.getAsString();
+	}
+
+	private JsonElement readTagged(long tag) throws IOException {
+		if ( tag == TAG_POSITIVE_BIGNUM || tag == TAG_NEGATIVE_BIGNUM ) {
+			int initialByte = readByte();
+			if ( initialByte >>> 5 != MAJOR_TYPE_BYTE_STRING ) {
+				throw new IOException( "Expected a byte string for a CBOR bignum" );
+			}
+			BigInteger value = new BigInteger( 1, readString( MAJOR_TYPE_BYTE_STRING, initialByte & 0x1F ) );
+			return toPrimitive( tag == TAG_POSITIVE_BIGNUM ? value : BigInteger.ONE.negate().subtract( value ) );
+		}
+		// Other tags only give a hint as to how to interpret the value: ignore them
+		return readElement();
+	}
+
+	private JsonElement readSimpleOrFloat(int additionalInfo) throws IOException {
+		switch ( additionalInfo ) {
+			case SIMPLE_FALSE:
+				return new JsonPrimitive( false );
+			case SIMPLE_TRUE:
+				return new JsonPrimitive( true );
+			case SIMPLE_NULL:
+			case SIMPLE_UNDEFINED:
+				return JsonNull.INSTANCE;
+			case HALF_PRECISION_FLOAT:
+				return new JsonPrimitive( halfPrecisionToFloat( (int) readFixedLength( 2 ) ) );
+			case SINGLE_PRECISION_FLOAT:
+				return new JsonPrimitive( Float.intBitsToFloat( (int) readFixedLength( 4 ) ) );
+			case DOUBLE_PRECISION_FLOAT:
+				return new JsonPrimitive( Double.longBitsToDouble( readFixedLength( 8 ) ) );
+			default:
+				throw new IOException( "Unsupported CBOR simple value: " + additionalInfo );
+		}
+	}
+
+	private byte[] readString(int majorType, int additionalInfo) throws IOException {
+		if ( additionalInfo == ADDITIONAL_INFO_INDEFINITE_LENGTH ) {
+			// Concatenation of definite-length chunks of the same major type, terminated by a break
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			while ( !readBreakIfPresent() ) {
+				int chunkInitialByte = readByte();
+				if ( chunkInitialByte >>> 5 != majorType ) {
+					throw new IOException( "Invalid chunk in indefinite-length CBOR string" );
+				}
+				byte[] chunk = readString( majorType, chunkInitialByte & 0x1F );
+				out.write( chunk, 0, chunk.length );
+			}
+			return out.toByteArray();
+		}
+		long length = readArgument( additionalInfo );
+		if ( length > bytes.length - position ) {
+			throw unexpectedEndOfInput();
+		}
+		byte[] result = new byte[(int) length];
+		System.arraycopy( bytes, position, result, 0, result.length );
+		position += result.length;
+		return result;
+	}
+
+	private boolean readBreakIfPresent() throws IOException {
+		if ( position >= bytes.length ) {
+			throw unexpectedEndOfInput();
+		}
+		if ( ( bytes[position] & 0xFF ) == BREAK ) {
+			++position;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return The argument, which must fit into a positive long (used for lengths and tags).
+	 */
+	private long readArgument(int additionalInfo) throws IOException {
+		BigInteger argument = readUnsignedArgument( additionalInfo );
+		if ( argument.bitLength() > 63 ) {
+			throw new IOException( "CBOR length or tag too large: " + argument );
+		}
+		return argument.longValue();
+	}
+
+	private BigInteger readUnsignedArgument(int additionalInfo) throws IOException {
+		if ( additionalInfo < ADDITIONAL_INFO_ONE_BYTE ) {
+			return BigInteger.valueOf( additionalInfo );
+		}
+		switch ( additionalInfo ) {
+			case ADDITIONAL_INFO_ONE_BYTE:
+				return BigInteger.valueOf( readFixedLength( 1 ) );
+			case ADDITIONAL_INFO_TWO_BYTES:
+				return BigInteger.valueOf( readFixedLength( 2 ) );
+			case ADDITIONAL_INFO_FOUR_BYTES:
+				return BigInteger.valueOf( readFixedLength( 4 ) );
+			case ADDITIONAL_INFO_EIGHT_BYTES:
+				long value = readFixedLength( 8 );
+				BigInteger result = BigInteger.valueOf( value & Long.MAX_VALUE );
+				// Restore the most significant bit, which would make a long negative
+				return value < 0 ? result.setBit( 63 ) : result;
+			default:
+				throw new IOException( "Unsupported CBOR additional information: " + additionalInfo );
+		}
+	}
+
+	private long readFixedLength(int byteCount) throws IOException {
+		if ( byteCount > bytes.length - position ) {
+			throw unexpectedEndOfInput();
+		}
+		long result = 0L;
+		for ( int i = 0; i < byteCount; i++ ) {
+			result = ( result << 8 ) | ( bytes[position++] & 0xFF );
+		}
+		return result;
+	}
+
+	private int readByte() throws IOException {
+		if ( position >= bytes.length ) {
+			throw unexpectedEndOfInput();
+		}
+		return bytes[position++] & 0xFF;
+	}
+
+	private static JsonPrimitive toPrimitive(BigInteger value) {
+		if ( value.bitLength() <= 63 ) {
+			return new JsonPrimitive( value.longValue() );
+		}
+		return new JsonPrimitive( value );
+	}
+
+	/**
+	 * See RFC 7049, appendix D.
+	 */
+	private static float halfPrecisionToFloat(int half) {
+		int sign = ( half & 0x8000 ) != 0 ? -1 : 1;
+		int exponent = ( half >> 10 ) & 0x1F;
+		int mantissa = half & 0x3FF;
+		if ( exponent == 0 ) {
+			return sign * (float) Math.scalb( mantissa, -24 );
+		}
+		else if ( exponent == 0x1F ) {
+			return mantissa == 0 ? sign * Float.POSITIVE_INFINITY : Float.NaN;
+		}
+		else {
+			return sign * (float) Math.scalb( mantissa + 1024, exponent - 25 );
+		}
+	}
+
+	private static IOException unexpectedEndOfInput() {
+		return new IOException( "Unexpected end of CBOR input" );
+	}
+}
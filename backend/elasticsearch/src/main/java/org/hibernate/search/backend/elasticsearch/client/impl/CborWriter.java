@@ -0,0 +1,201 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Encodes a Gson tree to CBOR (RFC 7049).
+ * <p>
+ * Objects, arrays and strings are encoded with a definite length,
+ * since the length is always known in advance in a Gson tree.
+ * Integers are encoded in the smallest possible representation,
+ * other numbers as double-precision floats.
+ */
+final class CborWriter {
+
+	static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+	static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+	static final int MAJOR_TYPE_BYTE_STRING = 2;
+	static final int MAJOR_TYPE_TEXT_STRING = 3;
+	static final int MAJOR_TYPE_ARRAY = 4;
+	static final int MAJOR_TYPE_MAP = 5;
+	static final int MAJOR_TYPE_TAG = 6;
+	static final int MAJOR_TYPE_SIMPLE_AND_FLOAT = 7;
+
+	static final int SIMPLE_FALSE = 20;
+	static final int SIMPLE_TRUE = 21;
+	static final int SIMPLE_NULL = 22;
+	static final int SIMPLE_UNDEFINED = 23;
+	static final int HALF_PRECISION_FLOAT = 25;
+	static final int SINGLE_PRECISION_FLOAT = 26;
+	static final int DOUBLE_PRECISION_FLOAT = 27;
+
+	static final int ADDITIONAL_INFO_ONE_BYTE = 24;
+	static final int ADDITIONAL_INFO_TWO_BYTES = 25;
+	static final int ADDITIONAL_INFO_FOUR_BYTES = 26;
+	static final int ADDITIONAL_INFO_EIGHT_BYTES = 27;
+	static final int ADDITIONAL_INFO_INDEFINITE_LENGTH = 31;
+
+	private static final BigInteger MIN_LONG = BigInteger.valueOf( Long.MIN_VALUE );
+	private static final BigInteger MAX_LONG = BigInteger.valueOf( Long.MAX_VALUE );
+
+	private byte[] buffer = new byte[256];
+	private int size = 0;
+
+	static byte[] write(JsonObject object) {
+		CborWriter writer = new CborWriter();
+		writer.writeElement( object );
+		return Arrays.copyOf( writer.buffer, writer.size );
+	}
+
+	private CborWriter() {
+	}
+
+	private void writeElement(JsonElement element) {
+		if ( element == null || element.isJsonNull() ) {
+			writeByte( MAJOR_TYPE_SIMPLE_AND_FLOAT << 5 | SIMPLE_NULL );
+		}
+		else if ( element.isJsonObject() ) {
+			JsonObject object = element.getAsJsonObject();
+			writeHeader( MAJOR_TYPE_MAP, object.size() );
+			for ( Map.Entry<String, JsonElement> entry : object.entrySet() ) {
+				writeText( entry.getKey() );
+				writeElement( entry.getValue() );
+			}
+		}
+		else if ( element.isJsonArray() ) {
+			JsonArray array = element.getAsJsonArray();
+			writeHeader( MAJOR_TYPE_ARRAY, array.size() );
+			for ( JsonElement arrayElement : array ) {
+				writeElement( arrayElement );
+			}
+		}
+		else {
+			writePrimitive( element.getAsJsonPrimitive() );
+		}
+	}
+
+	private void writePrimitive(JsonPrimitive primitive) {
+		if ( primitive.isBoolean() ) {
+			writeByte( MAJOR_TYPE_SIMPLE_AND_FLOAT << 5 | ( primitive.getAsBoolean() ? SIMPLE_TRUE : SIMPLE_FALSE ) );
+		}
+		else if ( primitive.isNumber() ) {
+			writeNumber( primitive.getAsNumber() );
+		}
+		else {
+			writeText( primitive.getAsString() );
+		}
+	}
+
+	private void writeNumber(Number number) {
+		if ( number instanceof Integer || number instanceof Long
+				|| number instanceof Short || number instanceof Byte ) {
+			writeInteger( number.longValue() );
+		}
+		else if ( number instanceof Double || number instanceof Float ) {
+			writeDouble( number.doubleValue() );
+		}
+		else {
+			// BigInteger, BigDecimal, or a number parsed lazily by Gson: inspect the value
+			BigDecimal decimal = new BigDecimal( number.toString() );
+			// Numbers written with a fractional part (even "1.0") are preserved as floating-point numbers
+			if ( decimal.scale() <= 0 ) {
+				BigInteger integer = decimal.toBigIntegerExact();
+				if ( integer.compareTo( MIN_LONG ) >= 0 && integer.compareTo( MAX_LONG ) <= 0 ) {
+					writeInteger( integer.longValue() );
+					return;
+				}
+			}
+			writeDouble( decimal.doubleValue() );
+		}
+	}
+
+	private void writeInteger(long value) {
+		if ( value >= 0 ) {
+			writeHeader( MAJOR_TYPE_UNSIGNED_INTEGER, value );
+		}
+		else {
+			// -1 - value is always positive for a negative value, even Long.MIN_VALUE
+			writeHeader( MAJOR_TYPE_NEGATIVE_INTEGER, -1L - value );
+		}
+	}
+
+	private void writeDouble(double value) {
+		writeByte( MAJOR_TYPE_SIMPLE_AND_FLOAT << 5 | DOUBLE_PRECISION_FLOAT );
+		writeLong( Double.doubleToLongBits( value ) );
+	}
+
+	private void writeText(String text) {
+		byte[] bytes = text.getBytes( StandardCharsets.UTF_8 );
+		writeHeader( MAJOR_TYPE_TEXT_STRING, bytes.length );
+		ensureCapacity( bytes.length );
+		System.arraycopy( bytes, 0, buffer, size, bytes.length );
+		size += bytes.length;
+	}
+
+	/**
+	 * @param majorType The major type.
+	 * @param argument The argument of the header, interpreted as an unsigned integer.
+	 */
+	private void writeHeader(int majorType, long argument) {
+		int majorTypeBits = majorType << 5;
+		if ( argument < ADDITIONAL_INFO_ONE_BYTE ) {
+			writeByte( majorTypeBits | (int) argument );
+		}
+		else if ( argument <= 0xFFL ) {
+			writeByte( majorTypeBits | ADDITIONAL_INFO_ONE_BYTE );
+			writeByte( (int) argument );
+		}
+		else if ( argument <= 0xFFFFL ) {
+			writeByte( majorTypeBits | ADDITIONAL_INFO_TWO_BYTES );
+			writeByte( (int) ( argument >> 8 ) );
+			writeByte( (int) argument );
+		}
+		else if ( argument <= 0xFFFFFFFFL ) {
+			writeByte( majorTypeBits | ADDITIONAL_INFO_FOUR_BYTES );
+			writeInt( (int) argument );
+		}
+		else {
+			writeByte( majorTypeBits | ADDITIONAL_INFO_EIGHT_BYTES );
+			writeLong( argument );
+		}
+	}
+
+	private void writeLong(long value) {
+		writeInt( (int) ( value >> 32 ) );
+		writeInt( (int) value );
+	}
+
+	private void writeInt(int value) {
+		writeByte( value >> 24 );
+		writeByte( value >> 16 );
+		writeByte( value >> 8 );
+		writeByte( value );
+	}
+
+	private void writeByte(int value) {
+		ensureCapacity( 1 );
+		buffer[size++] = (byte) value;
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		int requiredCapacity = size + additionalBytes;
+		if ( requiredCapacity > buffer.length ) {
+			buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, requiredCapacity ) );
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+final class CountingInputStream extends FilterInputStream {
+
+	private long bytesRead = 0L;
+
+	public CountingInputStream(InputStream in) {
+		super( in );
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = in.read();
+		if ( b >= 0 ) {
+			count( 1L );
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = in.read( b, off, len );
+		count( read );
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = in.skip( n );
+		count( skipped );
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		// Resetting would make us count the same bytes twice
+		return false;
+	}
+
+	private void count(long read) {
+		if ( read > 0L ) {
+			bytesRead += read;
+		}
+	}
+
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+}
@@ -8,29 +8,32 @@
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.lang.invoke.MethodHandles;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
 
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector;
 import org.hibernate.search.backend.elasticsearch.gson.impl.GsonProvider;
 import org.hibernate.search.backend.elasticsearch.gson.impl.JsonLogHelper;
 import org.hibernate.search.backend.elasticsearch.logging.impl.ElasticsearchLogCategories;
 import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.impl.common.Closer;
 import org.hibernate.search.util.impl.common.Executors;
-import org.hibernate.search.util.impl.common.Futures;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.ContentType;
 import org.elasticsearch.client.Response;
@@ -48,25 +51,76 @@ public class DefaultElasticsearchClient implements ElasticsearchClientImplemento
 
 	private static final Log requestLog = LoggerFactory.make( Log.class, ElasticsearchLogCategories.REQUEST );
 
+	static final String GZIP_ENCODING = "gzip";
+
+	/**
+	 * The client sending requests to each host in turn,
+	 * or {@code null} if requests are only sent through {@link #nodes}.
+	 */
 	private final RestClient restClient;
 
 	private final Sniffer sniffer;
 
+	/**
+	 * The nodes to select from when sending requests,
+	 * or an empty list to let {@link #restClient} send requests to each host in turn.
+	 * Each node has its own client.
+	 */
+	private final List<ElasticsearchNode> nodes;
+
+	private final ElasticsearchNodeSelector nodeSelector;
+
 	private final ScheduledExecutorService timeoutExecutorService;
 
 	private final int requestTimeoutValue;
 	private final TimeUnit requestTimeoutUnit;
 
+	private final ElasticsearchBodyCodec bodyCodec;
+
+	private final boolean gzipCompression;
+
+	private final ElasticsearchRequestThrottler throttler;
+
+	private final MetricRecorder bytesSentRecorder;
+	private final MetricRecorder bytesReceivedRecorder;
+
 	private volatile GsonProvider gsonProvider;
 
-	public DefaultElasticsearchClient(RestClient restClient, Sniffer sniffer, int requestTimeoutValue, TimeUnit requestTimeoutUnit,
-			GsonProvider initialGsonProvider) {
+	public DefaultElasticsearchClient(RestClient restClient, Sniffer sniffer,
+			List<ElasticsearchNode> nodes, ElasticsearchNodeSelector nodeSelector,
+			int requestTimeoutValue, TimeUnit requestTimeoutUnit,
+			ElasticsearchBodyCodec bodyCodec, boolean gzipCompression, ElasticsearchRequestThrottler throttler,
+			GsonProvider initialGsonProvider, SearchMetrics metrics) {
 		this.restClient = restClient;
 		this.sniffer = sniffer;
+		this.nodes = nodes;
+		this.nodeSelector = nodeSelector;
 		this.timeoutExecutorService = Executors.newScheduledThreadPool( "Elasticsearch request timeout executor" );
 		this.requestTimeoutValue = requestTimeoutValue;
 		this.requestTimeoutUnit = requestTimeoutUnit;
+		this.bodyCodec = bodyCodec;
+		this.gzipCompression = gzipCompression;
+		this.throttler = throttler;
 		this.gsonProvider = initialGsonProvider;
+		this.bytesSentRecorder = metrics.recorder( SearchMetricNames.BYTES_SENT, null );
+		this.bytesReceivedRecorder = metrics.recorder( SearchMetricNames.BYTES_RECEIVED, null );
+		for ( ElasticsearchNode node : nodes ) {
+			registerNodeGauges( metrics, node );
+		}
+	}
+
+	private static void registerNodeGauges(SearchMetrics metrics, ElasticsearchNode node) {
+		String host = node.getHost();
+		metrics.gauge( SearchMetricNames.forNode( SearchMetricNames.NODE_IN_FLIGHT_REQUESTS, host ), null,
+				node::getInFlightRequests );
+		metrics.gauge( SearchMetricNames.forNode( SearchMetricNames.NODE_AVERAGE_LATENCY, host ), null,
+				node::getAverageLatencyNanos );
+		metrics.gauge( SearchMetricNames.forNode( SearchMetricNames.NODE_REQUEST_COUNT, host ), null,
+				node::getRequestCount );
+		metrics.gauge( SearchMetricNames.forNode( SearchMetricNames.NODE_FAILURE_COUNT, host ), null,
+				node::getFailureCount );
+		metrics.gauge( SearchMetricNames.forNode( SearchMetricNames.NODE_PENALIZED, host ), null,
+				() -> node.isPenalized() ? 1L : 0L );
 	}
 
 	@Override
@@ -76,11 +130,21 @@ public void init(GsonProvider gsonProvider) {
 
 	@Override
 	public CompletableFuture<ElasticsearchResponse> submit(ElasticsearchRequest request) {
-		CompletableFuture<ElasticsearchResponse> result = Futures.create( () -> send( request ) )
-				.thenApply( response -> convertResponse( request, response ) );
-		if ( requestLog.isDebugEnabled() ) {
-			long startTime = System.nanoTime();
-			result.thenAccept( response -> log( request, startTime, response ) );
+		CompletableFuture<ElasticsearchResponse> result = throttler.submit(
+				() -> send( request ).thenApply( response -> convertResponse( request, response ) )
+		);
+		logWhenComplete( request, result );
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<ElasticsearchResponse> retry(ElasticsearchRequest request, int retryCount) {
+		CompletableFuture<ElasticsearchResponse> result = throttler.retry(
+				() -> send( request ).thenApply( response -> convertResponse( request, response ) ),
+				retryCount
+		);
+		if ( result != null ) {
+			logWhenComplete( request, result );
 		}
 		return result;
 	}
@@ -89,16 +153,84 @@ public CompletableFuture<ElasticsearchResponse> submit(ElasticsearchRequest requ
 	@SuppressWarnings("unchecked")
 	public <T> T unwrap(Class<T> clientClass) {
 		if ( RestClient.class.isAssignableFrom( clientClass ) ) {
-			return (T) restClient;
+			if ( restClient != null ) {
+				return (T) restClient;
+			}
+			// Each node has its own client: expose the client of the first node
+			return (T) nodes.get( 0 ).getRestClient();
 		}
 		throw log.clientUnwrappingWithUnkownType( clientClass, RestClient.class );
 	}
 
+	private void logWhenComplete(ElasticsearchRequest request, CompletableFuture<ElasticsearchResponse> result) {
+		if ( requestLog.isDebugEnabled() ) {
+			long startTime = System.nanoTime();
+			result.thenAccept( response -> log( request, startTime, response ) );
+		}
+	}
+
 	private CompletableFuture<Response> send(ElasticsearchRequest request) {
 		Gson gson = gsonProvider.getGson();
-		HttpEntity entity = ElasticsearchClientUtils.toEntity( gson, request );
+		HttpEntity entity = ElasticsearchClientUtils.toEntity( gson, request, bodyCodec, gzipCompression );
+		// Avoid allocating a wrapper for each request when metrics are disabled
+		if ( entity != null && bytesSentRecorder != MetricRecorder.noOp() ) {
+			entity = new MetricRecordingHttpEntity( entity, bytesSentRecorder );
+		}
 		CompletableFuture<Response> completableFuture = new CompletableFuture<>();
-		restClient.performRequestAsync(
+		if ( nodes.isEmpty() ) {
+			restClient.performRequestAsync(
+					request.getMethod(),
+					request.getPath(),
+					request.getParameters(),
+					entity,
+					new ResponseListener() {
+						@Override
+						public void onSuccess(Response response) {
+							completableFuture.complete( response );
+						}
+						@Override
+						public void onFailure(Exception exception) {
+							if ( exception instanceof ResponseException ) {
+								completeWithResponse( completableFuture, (ResponseException) exception );
+							}
+							else {
+								completableFuture.completeExceptionally( exception );
+							}
+						}
+					}
+					);
+		}
+		else {
+			sendToNode( request, entity, new ArrayList<>( nodes ), completableFuture );
+		}
+
+		/*
+		 * TODO maybe the callback should also cancel the request?
+		 * In any case, the RestClient doesn't return the Future<?> from Apache HTTP client,
+		 * so we can't do much until this changes.
+		 */
+		ScheduledFuture<?> timeout = timeoutExecutorService.schedule(
+				() -> {
+					if ( !completableFuture.isDone() ) {
+						completableFuture.completeExceptionally( new TimeoutException() );
+					}
+				},
+				requestTimeoutValue, requestTimeoutUnit
+				);
+		completableFuture.thenRun( () -> timeout.cancel( false ) );
+
+		return completableFuture;
+	}
+
+	/**
+	 * Send a request to one of the candidate nodes,
+	 * and fail over to the other candidates if the node cannot be reached.
+	 */
+	private void sendToNode(ElasticsearchRequest request, HttpEntity entity, List<ElasticsearchNode> candidates,
+			CompletableFuture<Response> completableFuture) {
+		ElasticsearchNode node = nodeSelector.select( candidates );
+		long startTime = node.onRequestStart();
+		node.getRestClient().performRequestAsync(
 				request.getMethod(),
 				request.getPath(),
 				request.getParameters(),
@@ -106,18 +238,21 @@ private CompletableFuture<Response> send(ElasticsearchRequest request) {
 				new ResponseListener() {
 					@Override
 					public void onSuccess(Response response) {
+						node.onRequestSuccess( startTime );
 						completableFuture.complete( response );
 					}
 					@Override
 					public void onFailure(Exception exception) {
 						if ( exception instanceof ResponseException ) {
-							requestLog.debug( "ES client issued a ResponseException - not necessarily a problem", exception );
-							/*
-							 * The client tries to guess what's an error and what's not, but it's too naive.
-							 * A 404 on DELETE is not always important to us, for instance.
-							 * Thus we ignore the exception and do our own checks afterwards.
-							 */
-							completableFuture.complete( ( (ResponseException) exception ).getResponse() );
+							// The node did respond: it's up and running
+							node.onRequestSuccess( startTime );
+							completeWithResponse( completableFuture, (ResponseException) exception );
+							return;
+						}
+						node.onRequestFailure( startTime, exception );
+						candidates.remove( node );
+						if ( !candidates.isEmpty() && !completableFuture.isDone() ) {
+							sendToNode( request, entity, candidates, completableFuture );
 						}
 						else {
 							completableFuture.completeExceptionally( exception );
@@ -125,23 +260,16 @@ public void onFailure(Exception exception) {
 					}
 				}
 				);
+	}
 
+	private static void completeWithResponse(CompletableFuture<Response> completableFuture, ResponseException exception) {
+		requestLog.debug( "ES client issued a ResponseException - not necessarily a problem", exception );
 		/*
-		 * TODO maybe the callback should also cancel the request?
-		 * In any case, the RestClient doesn't return the Future<?> from Apache HTTP client,
-		 * so we can't do much until this changes.
+		 * The client tries to guess what's an error and what's not, but it's too naive.
+		 * A 404 on DELETE is not always important to us, for instance.
+		 * Thus we ignore the exception and do our own checks afterwards.
 		 */
-		ScheduledFuture<?> timeout = timeoutExecutorService.schedule(
-				() -> {
-					if ( !completableFuture.isDone() ) {
-						completableFuture.completeExceptionally( new TimeoutException() );
-					}
-				},
-				requestTimeoutValue, requestTimeoutUnit
-				);
-		completableFuture.thenRun( () -> timeout.cancel( false ) );
-
-		return completableFuture;
+		completableFuture.complete( exception.getResponse() );
 	}
 
 	private ElasticsearchResponse convertResponse(ElasticsearchRequest request, Response response) {
@@ -167,17 +295,27 @@ private JsonObject parseBody(Response response) throws IOException {
 		}
 
 		Gson gson = gsonProvider.getGson();
-		Charset charset = getCharset( entity );
-		try ( InputStream inputStream = entity.getContent();
-				Reader reader = new InputStreamReader( inputStream, charset ) ) {
-			return gson.fromJson( reader, JsonObject.class );
+		if ( bytesReceivedRecorder == MetricRecorder.noOp() ) {
+			return bodyCodec.parse( gson, decode( entity.getContent(), entity ), ContentType.get( entity ) );
+		}
+		// Count bytes as they are read: the content length is not known in advance for chunked responses
+		CountingInputStream countingStream = new CountingInputStream( entity.getContent() );
+		try {
+			return bodyCodec.parse( gson, decode( countingStream, entity ), ContentType.get( entity ) );
+		}
+		finally {
+			bytesReceivedRecorder.record( countingStream.getBytesRead() );
 		}
 	}
 
-	private static Charset getCharset(HttpEntity entity) {
-		ContentType contentType = ContentType.get( entity );
-		Charset charset = contentType.getCharset();
-		return charset != null ? charset : StandardCharsets.UTF_8;
+	private static InputStream decode(InputStream inputStream, HttpEntity entity) throws IOException {
+		Header contentEncoding = entity.getContentEncoding();
+		if ( contentEncoding != null && GZIP_ENCODING.equalsIgnoreCase( contentEncoding.getValue() ) ) {
+			return new GZIPInputStream( inputStream );
+		}
+		else {
+			return inputStream;
+		}
 	}
 
 	private void log(ElasticsearchRequest request, long start, ElasticsearchResponse response) {
@@ -187,7 +325,9 @@ private void log(ElasticsearchRequest request, long start, ElasticsearchResponse
 			JsonLogHelper logHelper = gsonProvider.getLogHelper();
 			requestLog.executedRequest( request.getMethod(), request.getPath(), request.getParameters(), executionTimeMs,
 					response.getStatusCode(), response.getStatusMessage(),
-					logHelper.toString( request.getBodyParts() ),
+					request.getSerializedBodyParts().isEmpty()
+							? logHelper.toString( request.getBodyParts() )
+							: logHelper.toStringSerialized( request.getSerializedBodyParts() ),
 					logHelper.toString( response.getBody() ) );
 		}
 		else {
@@ -205,8 +345,10 @@ public void close() throws IOException {
 			 * currently running requests when closing.
 			 */
 			closer.push( ExecutorService::shutdownNow, this.timeoutExecutorService );
+			closer.push( ElasticsearchRequestThrottler::close, this.throttler );
 			closer.push( Sniffer::close, this.sniffer );
 			closer.push( RestClient::close, this.restClient );
+			closer.pushAll( node -> node.getRestClient().close(), this.nodes );
 		}
 	}
 
@@ -6,22 +6,36 @@
  */
 package org.hibernate.search.backend.elasticsearch.client.impl;
 
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+import org.hibernate.search.backend.elasticsearch.cfg.NodeSelectionConfiguration;
 import org.hibernate.search.backend.elasticsearch.cfg.SearchBackendElasticsearchSettings;
+import org.hibernate.search.backend.elasticsearch.cfg.WireFormatConfiguration;
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector;
 import org.hibernate.search.backend.elasticsearch.gson.impl.GsonProvider;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
 import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.util.AssertionFailure;
+import org.hibernate.search.util.impl.common.LoggerFactory;
 import org.hibernate.search.util.impl.common.SearchThreadFactory;
 
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.message.BasicHeader;
 import org.apache.http.nio.conn.NoopIOSessionStrategy;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.sniff.ElasticsearchHostsSniffer;
@@ -35,6 +49,8 @@
  */
 public class DefaultElasticsearchClientFactory implements ElasticsearchClientFactory {
 
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
 	private static final ConfigurationProperty<List<String>> HOST =
 			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.HOST )
 					.asString().multivalued( Pattern.compile( "\\s+" ) )
@@ -99,6 +115,48 @@ public class DefaultElasticsearchClientFactory implements ElasticsearchClientFac
 					.withDefault( SearchBackendElasticsearchSettings.Defaults.DISCOVERY_SCHEME )
 					.build();
 
+	private static final ConfigurationProperty<Boolean> GZIP_COMPRESSION =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.GZIP_COMPRESSION )
+					.asBoolean()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.GZIP_COMPRESSION )
+					.build();
+
+	private static final ConfigurationProperty<WireFormatConfiguration> WIRE_FORMAT =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.WIRE_FORMAT )
+					.as( WireFormatConfiguration.class, WireFormatConfiguration::fromExternalRepresentation )
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.WIRE_FORMAT )
+					.build();
+
+	private static final ConfigurationProperty<NodeSelectionConfiguration> NODE_SELECTION =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.NODE_SELECTION )
+					.as( NodeSelectionConfiguration.class, NodeSelectionConfiguration::fromExternalRepresentation )
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.NODE_SELECTION )
+					.build();
+
+	private static final ConfigurationProperty<Long> NODE_SELECTION_PENALTY_DURATION =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.NODE_SELECTION_PENALTY_DURATION )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.NODE_SELECTION_PENALTY_DURATION )
+					.build();
+
+	private static final ConfigurationProperty<Integer> RETRY_MAX_RETRIES =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.RETRY_MAX_RETRIES )
+					.asInteger()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.RETRY_MAX_RETRIES )
+					.build();
+
+	private static final ConfigurationProperty<Long> RETRY_INITIAL_DELAY =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.RETRY_INITIAL_DELAY )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.RETRY_INITIAL_DELAY )
+					.build();
+
+	private static final ConfigurationProperty<Long> RETRY_MAX_DELAY =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.RETRY_MAX_DELAY )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.RETRY_MAX_DELAY )
+					.build();
+
 	/* TODO ElasticsearchHttpClientConfigurer
 	private ServiceManager serviceManager;
 
@@ -115,19 +173,112 @@ public void stop() {
 
 	@Override
 	public ElasticsearchClientImplementor create(ConfigurationPropertySource propertySource,
-			GsonProvider initialGsonProvider) {
+			GsonProvider initialGsonProvider, ElasticsearchNodeSelector nodeSelector, SearchMetrics metrics) {
 		int requestTimeoutMs = REQUEST_TIMEOUT.get( propertySource );
+		boolean gzipCompression = GZIP_COMPRESSION.get( propertySource );
+		ElasticsearchBodyCodec bodyCodec = createBodyCodec( propertySource );
+
+		List<ElasticsearchNode> nodes = createNodes( propertySource, requestTimeoutMs, bodyCodec, gzipCompression );
+		RestClient restClient = null;
+		Sniffer sniffer = null;
+		if ( nodes.isEmpty() ) {
+			/*
+			 * Only create the main client when it will be used:
+			 * when selecting nodes, requests are sent through the client of each node,
+			 * and the connection pool of the main client would be wasted.
+			 */
+			ServerUris hosts = ServerUris.fromStrings( HOST.get( propertySource ) );
+			restClient = createClient( propertySource, hosts, requestTimeoutMs, bodyCodec, gzipCompression );
+			sniffer = createSniffer( restClient, propertySource );
+		}
 
-		RestClient restClient = createClient( propertySource, requestTimeoutMs );
-		Sniffer sniffer = createSniffer( restClient, propertySource );
+		/*
+		 * There is no point sending more requests concurrently than there are connections:
+		 * use the maximum number of connections as the upper bound of the concurrency limit.
+		 */
+		ElasticsearchRequestThrottler throttler = new ElasticsearchRequestThrottler(
+				MAX_TOTAL_CONNECTION.get( propertySource ),
+				RETRY_MAX_RETRIES.get( propertySource ),
+				RETRY_INITIAL_DELAY.get( propertySource ),
+				RETRY_MAX_DELAY.get( propertySource )
+		);
+
+		return new DefaultElasticsearchClient( restClient, sniffer, nodes, nodeSelector,
+				requestTimeoutMs, TimeUnit.MILLISECONDS,
+				bodyCodec, gzipCompression, throttler, initialGsonProvider, metrics );
+	}
 
-		return new DefaultElasticsearchClient( restClient, sniffer, requestTimeoutMs, TimeUnit.MILLISECONDS, initialGsonProvider );
+	/**
+	 * @return The nodes to select from when sending requests,
+	 * or an empty list if requests should be sent to each host in turn by the main client.
+	 */
+	private List<ElasticsearchNode> createNodes(ConfigurationPropertySource propertySource, int requestTimeoutMs,
+			ElasticsearchBodyCodec bodyCodec, boolean gzipCompression) {
+		NodeSelectionConfiguration nodeSelection = NODE_SELECTION.get( propertySource );
+
+		switch ( nodeSelection ) {
+			case ROUND_ROBIN:
+				return Collections.emptyList();
+			case LEAST_LOADED:
+				if ( DISCOVERY_ENABLED.get( propertySource ) ) {
+					/*
+					 * The discovered hosts are only known to the main client,
+					 * and this version of the client doesn't allow us to select hosts.
+					 */
+					log.nodeSelectionIgnoredWithDiscovery( nodeSelection.getExternalRepresentation() );
+					return Collections.emptyList();
+				}
+				List<String> hostStrings = HOST.get( propertySource );
+				if ( hostStrings.size() < 2 ) {
+					// Nothing to select from
+					return Collections.emptyList();
+				}
+				/*
+				 * The client always sends requests to each of its hosts in turn,
+				 * so we need one client per host to select hosts ourselves.
+				 */
+				long penaltyDurationMs = NODE_SELECTION_PENALTY_DURATION.get( propertySource );
+				List<ElasticsearchNode> nodes = new ArrayList<>( hostStrings.size() );
+				for ( String hostString : hostStrings ) {
+					ServerUris host = ServerUris.fromStrings( Collections.singletonList( hostString ) );
+					RestClient nodeClient = createClient( propertySource, host, requestTimeoutMs, bodyCodec, gzipCompression );
+					nodes.add( new ElasticsearchNode( host.asHostsArray()[0], nodeClient, penaltyDurationMs ) );
+				}
+				return nodes;
+			default:
+				throw new AssertionFailure( String.format(
+						Locale.ROOT, "Unsupported node selection strategy '%1$s'.", nodeSelection
+				) );
+		}
+	}
+
+	private ElasticsearchBodyCodec createBodyCodec(ConfigurationPropertySource propertySource) {
+		WireFormatConfiguration wireFormat = WIRE_FORMAT.get( propertySource );
+
+		switch ( wireFormat ) {
+			case JSON:
+				return JsonBodyCodec.INSTANCE;
+			case CBOR:
+				return CborBodyCodec.INSTANCE;
+			default:
+				throw new AssertionFailure( String.format(
+						Locale.ROOT, "Unsupported wire format '%1$s'.", wireFormat
+				) );
+		}
 	}
 
-	private RestClient createClient(ConfigurationPropertySource propertySource, int maxRetryTimeoutMillis) {
-		ServerUris hosts = ServerUris.fromStrings( HOST.get( propertySource ) );
+	private RestClient createClient(ConfigurationPropertySource propertySource, ServerUris hosts, int maxRetryTimeoutMillis,
+			ElasticsearchBodyCodec bodyCodec, boolean gzipCompression) {
+		List<Header> defaultHeaders = new ArrayList<>();
+		// Request responses in the same format as requests
+		defaultHeaders.add( new BasicHeader( HttpHeaders.ACCEPT, bodyCodec.getContentType().getMimeType() ) );
+		if ( gzipCompression ) {
+			// Request compressed responses; they will be decompressed by DefaultElasticsearchClient
+			defaultHeaders.add( new BasicHeader( HttpHeaders.ACCEPT_ENCODING, DefaultElasticsearchClient.GZIP_ENCODING ) );
+		}
 
 		return RestClient.builder( hosts.asHostsArray() )
+				.setDefaultHeaders( defaultHeaders.toArray( new Header[defaultHeaders.size()] ) )
 				/*
 				 * Note: this timeout is currently only used on retries,
 				 * but should we start using the synchronous methods of RestClient,
@@ -0,0 +1,53 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonLogHelper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Defines the format of request and response bodies on the wire.
+ * <p>
+ * Bodies are always represented as Gson trees in memory,
+ * regardless of the format used on the wire,
+ * so that the rest of the backend (in particular request logging through {@link JsonLogHelper})
+ * does not have to care about the format.
+ */
+public interface ElasticsearchBodyCodec {
+
+	/**
+	 * @return The content type of request bodies produced by this codec,
+	 * which is also the content type we expect for response bodies.
+	 */
+	ContentType getContentType();
+
+	/**
+	 * @param gson The Gson instance to use if the body is converted to JSON.
+	 * @param bodyParts The parts of the request body. Never empty.
+	 * @return An entity holding the encoded body.
+	 */
+	HttpEntity toEntity(Gson gson, List<JsonObject> bodyParts);
+
+	/**
+	 * @param gson The Gson instance to use if the body is parsed from JSON.
+	 * @param inputStream The (decompressed) response body.
+	 * @param contentType The content type of the response body, or {@code null} if unknown.
+	 * Elasticsearch may not always use the expected content type, so codecs should be able to parse JSON too.
+	 * @return The parsed body.
+	 * @throws IOException If the body cannot be read.
+	 */
+	JsonObject parse(Gson gson, InputStream inputStream, ContentType contentType) throws IOException;
+
+}
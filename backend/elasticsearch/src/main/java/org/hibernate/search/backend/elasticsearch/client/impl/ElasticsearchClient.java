@@ -23,6 +23,18 @@ public interface ElasticsearchClient extends Closeable {
 	 */
 	CompletableFuture<ElasticsearchResponse> submit(ElasticsearchRequest request);
 
+	/**
+	 * Execute a request after the same backoff as requests rejected by Elasticsearch,
+	 * because Elasticsearch rejected part of a previous request, e.g. some items of a bulk request.
+	 *
+	 * @param request A request to execute asynchronously, containing only the rejected parts of the previous request.
+	 * @param retryCount The number of times these parts were already retried.
+	 * @return The future that will ultimately hold the response
+	 * (or throw an exception if an error occurred or if the request timed out),
+	 * or {@code null} if the maximum number of retries was reached.
+	 */
+	CompletableFuture<ElasticsearchResponse> retry(ElasticsearchRequest request, int retryCount);
+
 	/**
 	 * Unwrap the client to some implementation-specific type.
 	 *
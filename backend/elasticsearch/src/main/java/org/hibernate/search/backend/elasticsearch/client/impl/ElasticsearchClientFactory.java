@@ -6,8 +6,10 @@
  */
 package org.hibernate.search.backend.elasticsearch.client.impl;
 
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector;
 import org.hibernate.search.backend.elasticsearch.gson.impl.GsonProvider;
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 
 /**
  * Creates the Elasticsearch client.
@@ -16,6 +18,14 @@
  */
 public interface ElasticsearchClientFactory {
 
-	ElasticsearchClientImplementor create(ConfigurationPropertySource propertySource, GsonProvider initialGsonProvider);
+	/**
+	 * @param propertySource The configuration properties of the backend.
+	 * @param initialGsonProvider The Gson provider to use until the client is initialized.
+	 * @param nodeSelector The selector to use when requests are sent to the least loaded node.
+	 * @param metrics The metrics to report to.
+	 * @return A new client.
+	 */
+	ElasticsearchClientImplementor create(ConfigurationPropertySource propertySource, GsonProvider initialGsonProvider,
+			ElasticsearchNodeSelector nodeSelector, SearchMetrics metrics);
 
 }
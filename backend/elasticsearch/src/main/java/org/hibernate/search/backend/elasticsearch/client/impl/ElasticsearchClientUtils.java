@@ -8,6 +8,8 @@
 
 import java.util.List;
 
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import org.apache.http.HttpEntity;
@@ -25,12 +27,22 @@ public static boolean isSuccessCode(int code) {
 		return 200 <= code && code < 300;
 	}
 
-	public static HttpEntity toEntity(Gson gson, ElasticsearchRequest request) {
+	public static HttpEntity toEntity(Gson gson, ElasticsearchRequest request, ElasticsearchBodyCodec codec,
+			boolean gzipCompression) {
+		final List<SerializedJsonObject> serializedBodyParts = request.getSerializedBodyParts();
+		if ( !serializedBodyParts.isEmpty() ) {
+			// These bodies were already encoded to JSON when the request was built: send them as is
+			return compressIfNecessary( new SerializedJsonHttpEntity( serializedBodyParts ), gzipCompression );
+		}
 		final List<JsonObject> bodyParts = request.getBodyParts();
 		if ( bodyParts.isEmpty() ) {
 			return null;
 		}
-		return new GsonHttpEntity( gson, bodyParts );
+		return compressIfNecessary( codec.toEntity( gson, bodyParts ), gzipCompression );
+	}
+
+	private static HttpEntity compressIfNecessary(HttpEntity entity, boolean gzipCompression) {
+		return gzipCompression ? new GzipHttpEntity( entity ) : entity;
 	}
 
 }
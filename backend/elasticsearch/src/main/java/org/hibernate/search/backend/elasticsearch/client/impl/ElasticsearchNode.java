@@ -0,0 +1,183 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeStatistics;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+
+/**
+ * An Elasticsearch node that requests can be sent to,
+ * along with statistics about the requests that were sent to that node.
+ * <p>
+ * The latency is tracked as an exponentially weighted moving average (EWMA),
+ * so that the most recent requests matter most:
+ * a node that starts responding slowly, because of a long GC pause for instance,
+ * quickly stands out.
+ * <p>
+ * The latency is only measured when a request is sent to the node,
+ * so the average also decays over time when it is not updated:
+ * otherwise, a node that was slow once would be avoided forever,
+ * even after it recovered.
+ * Once the average decayed enough, the node gets selected again and its latency is sampled anew.
+ */
+final class ElasticsearchNode implements ElasticsearchNodeStatistics {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	/**
+	 * The weight of the latest sample in the moving average of latencies.
+	 */
+	private static final double EWMA_ALPHA = 0.3;
+
+	/**
+	 * The time it takes for the moving average of latencies to be halved when it is not updated.
+	 */
+	private static final long LATENCY_HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos( 1 );
+
+	private final HttpHost host;
+	private final RestClient restClient;
+	private final long penaltyDurationNanos;
+
+	private final AtomicInteger inFlightRequests = new AtomicInteger( 0 );
+	private final LongAdder requestCount = new LongAdder();
+	private final LongAdder failureCount = new LongAdder();
+
+	// Written with synchronization on this, read without
+	private volatile double ewmaLatencyNanos = 0.0d;
+	private volatile long ewmaLatencyUpdateNanos;
+	private volatile long penaltyEndNanos;
+
+	ElasticsearchNode(HttpHost host, RestClient restClient, long penaltyDurationMillis) {
+		this.host = host;
+		this.restClient = restClient;
+		this.penaltyDurationNanos = TimeUnit.MILLISECONDS.toNanos( penaltyDurationMillis );
+		this.penaltyEndNanos = System.nanoTime();
+		this.ewmaLatencyUpdateNanos = penaltyEndNanos;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + host.toURI() + "]";
+	}
+
+	@Override
+	public String getHost() {
+		return host.toURI();
+	}
+
+	HttpHost getHttpHost() {
+		return host;
+	}
+
+	RestClient getRestClient() {
+		return restClient;
+	}
+
+	/**
+	 * @return The start time of the request, to be passed to {@link #onRequestSuccess(long)}
+	 * or {@link #onRequestFailure(long, Throwable)}.
+	 */
+	long onRequestStart() {
+		inFlightRequests.incrementAndGet();
+		requestCount.increment();
+		return System.nanoTime();
+	}
+
+	/**
+	 * @param startNanos The value returned by {@link #onRequestStart()}.
+	 */
+	void onRequestSuccess(long startNanos) {
+		inFlightRequests.decrementAndGet();
+		recordLatency( startNanos, System.nanoTime() );
+	}
+
+	/**
+	 * @param startNanos The value returned by {@link #onRequestStart()}.
+	 * @param cause The reason the request failed.
+	 */
+	void onRequestFailure(long startNanos, Throwable cause) {
+		long now = System.nanoTime();
+		inFlightRequests.decrementAndGet();
+		failureCount.increment();
+		recordLatency( startNanos, now );
+		penaltyEndNanos = now + penaltyDurationNanos;
+		log.avoidingFailedNode( host.toURI(), TimeUnit.NANOSECONDS.toMillis( penaltyDurationNanos ), cause );
+	}
+
+	@Override
+	public int getInFlightRequests() {
+		return inFlightRequests.get();
+	}
+
+	@Override
+	public double getAverageLatencyMillis() {
+		return getDecayedLatencyNanos( System.nanoTime() ) / TimeUnit.MILLISECONDS.toNanos( 1 );
+	}
+
+	long getAverageLatencyNanos() {
+		return (long) getDecayedLatencyNanos( System.nanoTime() );
+	}
+
+	/**
+	 * @param nowNanos The current value of {@link System#nanoTime()}.
+	 * @return The moving average of latencies, decayed according to the time elapsed since its last update.
+	 */
+	double getDecayedLatencyNanos(long nowNanos) {
+		/*
+		 * The two fields are not read atomically,
+		 * but a concurrent update only results in a slightly inaccurate decay,
+		 * which is fine for the purpose of selecting nodes.
+		 */
+		double latencyNanos = ewmaLatencyNanos;
+		long elapsedNanos = nowNanos - ewmaLatencyUpdateNanos;
+		if ( elapsedNanos <= 0L ) {
+			return latencyNanos;
+		}
+		return latencyNanos * Math.pow( 0.5d, (double) elapsedNanos / LATENCY_HALF_LIFE_NANOS );
+	}
+
+	@Override
+	public long getRequestCount() {
+		return requestCount.sum();
+	}
+
+	@Override
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+
+	@Override
+	public boolean isPenalized() {
+		return System.nanoTime() - penaltyEndNanos < 0;
+	}
+
+	/**
+	 * @param startNanos The value of {@link System#nanoTime()} when the request was sent.
+	 * @param endNanos The value of {@link System#nanoTime()} when the response was received.
+	 */
+	synchronized void recordLatency(long startNanos, long endNanos) {
+		long latencyNanos = endNanos - startNanos;
+		double previous = getDecayedLatencyNanos( endNanos );
+		if ( previous == 0.0d ) {
+			// First sample, or previous samples decayed completely
+			ewmaLatencyNanos = latencyNanos;
+		}
+		else {
+			ewmaLatencyNanos = EWMA_ALPHA * latencyNanos + ( 1.0d - EWMA_ALPHA ) * previous;
+		}
+		ewmaLatencyUpdateNanos = endNanos;
+	}
+}
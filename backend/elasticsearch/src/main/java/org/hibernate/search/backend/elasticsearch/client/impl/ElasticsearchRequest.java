@@ -12,7 +12,9 @@
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
 import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.util.AssertionFailure;
 
 import com.google.gson.JsonObject;
 
@@ -45,12 +47,15 @@ public static Builder head() {
 	private final String path;
 	private final Map<String, String> parameters;
 	private final List<JsonObject> bodyParts;
+	private final List<SerializedJsonObject> serializedBodyParts;
 
 	private ElasticsearchRequest(Builder builder) {
 		this.method = builder.method;
 		this.path = builder.pathBuilder.toString();
 		this.parameters = builder.parameters == null ? Collections.emptyMap() : Collections.unmodifiableMap( builder.parameters );
 		this.bodyParts = builder.bodyParts == null ? Collections.emptyList() : Collections.unmodifiableList( builder.bodyParts );
+		this.serializedBodyParts = builder.serializedBodyParts == null ? Collections.emptyList()
+				: Collections.unmodifiableList( builder.serializedBodyParts );
 	}
 
 	public String getMethod() {
@@ -69,6 +74,14 @@ public List<JsonObject> getBodyParts() {
 		return bodyParts;
 	}
 
+	/**
+	 * @return The body parts that were serialized upfront.
+	 * Requests have either serialized body parts or {@link #getBodyParts() regular body parts}, never both.
+	 */
+	public List<SerializedJsonObject> getSerializedBodyParts() {
+		return serializedBodyParts;
+	}
+
 	@Override
 	public String toString() {
 		return new StringBuilder( getClass().getSimpleName() )
@@ -88,6 +101,7 @@ public static final class Builder {
 
 		private Map<String, String> parameters;
 		private List<JsonObject> bodyParts;
+		private List<SerializedJsonObject> serializedBodyParts;
 
 		private Builder(String method) {
 			super();
@@ -135,6 +149,9 @@ public Builder param(String name, boolean value) {
 		}
 
 		public Builder body(JsonObject object) {
+			if ( serializedBodyParts != null ) {
+				throw new AssertionFailure( "Cannot mix serialized and non-serialized body parts in the same request" );
+			}
 			if ( bodyParts == null ) {
 				bodyParts = new ArrayList<>();
 			}
@@ -142,6 +159,17 @@ public Builder body(JsonObject object) {
 			return this;
 		}
 
+		public Builder body(SerializedJsonObject object) {
+			if ( bodyParts != null ) {
+				throw new AssertionFailure( "Cannot mix serialized and non-serialized body parts in the same request" );
+			}
+			if ( serializedBodyParts == null ) {
+				serializedBodyParts = new ArrayList<>();
+			}
+			serializedBodyParts.add( object );
+			return this;
+		}
+
 		public ElasticsearchRequest build() {
 			return new ElasticsearchRequest( this );
 		}
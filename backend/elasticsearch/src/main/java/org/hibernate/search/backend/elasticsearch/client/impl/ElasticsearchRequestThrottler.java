@@ -0,0 +1,261 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.common.Executors;
+import org.hibernate.search.util.impl.common.Futures;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Limits the number of concurrent requests sent to Elasticsearch,
+ * and retries the requests that Elasticsearch rejected because it was overloaded.
+ * <p>
+ * Rejected requests are retried after an exponential backoff with "full jitter":
+ * the delay is picked randomly between zero and an exponentially growing upper bound,
+ * so that requests rejected at the same time are not all retried at the same time.
+ * The same backoff applies to requests that Elasticsearch only rejected partially,
+ * e.g. bulk requests with rejected items, see {@link #retry(Supplier, int)}.
+ * <p>
+ * The concurrency limit adapts to rejections (AIMD):
+ * each rejection halves the limit, and each accepted request increases it
+ * by {@code 1 / limit}, i.e. by one every time a full "window" of requests is accepted.
+ * Thus the throughput stabilizes around what the cluster can absorb,
+ * instead of requests failing as soon as the cluster is saturated.
+ * <p>
+ * When the throttler is closed, retries that were scheduled but not started yet are cancelled,
+ * and the corresponding requests fail.
+ */
+final class ElasticsearchRequestThrottler implements AutoCloseable {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private static final String REJECTED_EXECUTION_EXCEPTION_TYPE = "es_rejected_execution_exception";
+
+	private static final JsonAccessor<JsonElement> ERROR_ACCESSOR = JsonAccessor.root().property( "error" );
+
+	private static final JsonAccessor<String> TYPE_ACCESSOR = JsonAccessor.root().property( "type" ).asString();
+
+	private static final int MIN_CONCURRENCY_LIMIT = 1;
+
+	private final int maxConcurrencyLimit;
+	private final int maxRetries;
+	private final long initialDelayMillis;
+	private final long maxDelayMillis;
+
+	private final ScheduledExecutorService retryExecutorService;
+
+	// The results of retries that were scheduled, but not started yet
+	private final Set<CompletableFuture<ElasticsearchResponse>> scheduledRetryResults = ConcurrentHashMap.newKeySet();
+
+	// Protected by synchronization on this
+	private double concurrencyLimit;
+	// Protected by synchronization on this
+	private int inFlight = 0;
+	// Protected by synchronization on this
+	private long lastDecreaseNanos;
+	// Protected by synchronization on this
+	private final Deque<Runnable> waiting = new ArrayDeque<>();
+
+	ElasticsearchRequestThrottler(int maxConcurrencyLimit, int maxRetries, long initialDelayMillis, long maxDelayMillis) {
+		this.maxConcurrencyLimit = Math.max( MIN_CONCURRENCY_LIMIT, maxConcurrencyLimit );
+		this.maxRetries = maxRetries;
+		this.initialDelayMillis = initialDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.concurrencyLimit = this.maxConcurrencyLimit;
+		this.lastDecreaseNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos( initialDelayMillis );
+		this.retryExecutorService = Executors.newScheduledThreadPool( "Elasticsearch request retry executor" );
+	}
+
+	@Override
+	public void close() {
+		retryExecutorService.shutdownNow();
+		for ( CompletableFuture<ElasticsearchResponse> result : scheduledRetryResults ) {
+			// The retry may have started concurrently: only fail the result if it did not
+			if ( scheduledRetryResults.remove( result ) ) {
+				result.completeExceptionally( log.cannotRetryRequestAfterClose() );
+			}
+		}
+	}
+
+	/**
+	 * @param sender A function sending the request, to be called once per attempt.
+	 * @return A future holding the response to the last attempt.
+	 */
+	CompletableFuture<ElasticsearchResponse> submit(Supplier<CompletableFuture<ElasticsearchResponse>> sender) {
+		CompletableFuture<ElasticsearchResponse> result = new CompletableFuture<>();
+		attempt( sender, 0, result );
+		return result;
+	}
+
+	/**
+	 * @param sender A function sending the rejected parts of a previous request, to be called once per attempt.
+	 * @param retryCount The number of times these parts were already retried.
+	 * @return A future holding the response to the last attempt,
+	 * or {@code null} if the maximum number of retries was reached.
+	 */
+	CompletableFuture<ElasticsearchResponse> retry(Supplier<CompletableFuture<ElasticsearchResponse>> sender,
+			int retryCount) {
+		if ( retryCount >= maxRetries || retryExecutorService.isShutdown() ) {
+			return null;
+		}
+		int newLimit;
+		synchronized ( this ) {
+			newLimit = decreaseLimit();
+		}
+		long delay = computeDelayMillis( retryCount );
+		log.retryingPartiallyRejectedRequest( delay, retryCount + 1, maxRetries, newLimit );
+		CompletableFuture<ElasticsearchResponse> result = new CompletableFuture<>();
+		scheduleAttempt( sender, retryCount + 1, result, delay );
+		return result;
+	}
+
+	static boolean isRejection(ElasticsearchResponse response) {
+		if ( response.getStatusCode() == TOO_MANY_REQUESTS ) {
+			return true;
+		}
+		JsonObject body = response.getBody();
+		if ( body == null || ElasticsearchClientUtils.isSuccessCode( response.getStatusCode() ) ) {
+			return false;
+		}
+		// Older versions of Elasticsearch report rejections with a 503 status code
+		return ERROR_ACCESSOR.get( body )
+				// The error may be a simple string, in which case it's not a rejection
+				.filter( JsonElement::isJsonObject )
+				.flatMap( error -> TYPE_ACCESSOR.get( error.getAsJsonObject() ) )
+				.map( REJECTED_EXECUTION_EXCEPTION_TYPE::equals )
+				.orElse( false );
+	}
+
+	private void attempt(Supplier<CompletableFuture<ElasticsearchResponse>> sender, int retryCount,
+			CompletableFuture<ElasticsearchResponse> result) {
+		acquire( () -> Futures.create( sender )
+				.whenComplete( Futures.handler( (response, throwable) -> {
+					boolean rejected = throwable == null && isRejection( response );
+					int newLimit = release( rejected );
+					if ( rejected && retryCount < maxRetries && !retryExecutorService.isShutdown() ) {
+						long delay = computeDelayMillis( retryCount );
+						log.retryingRejectedRequest( response.getStatusCode(), delay, retryCount + 1, maxRetries, newLimit );
+						scheduleAttempt( sender, retryCount + 1, result, delay );
+					}
+					else if ( throwable != null ) {
+						result.completeExceptionally( throwable );
+					}
+					else {
+						result.complete( response );
+					}
+				} ) ) );
+	}
+
+	private void scheduleAttempt(Supplier<CompletableFuture<ElasticsearchResponse>> sender, int retryCount,
+			CompletableFuture<ElasticsearchResponse> result, long delayMillis) {
+		scheduledRetryResults.add( result );
+		try {
+			retryExecutorService.schedule(
+					() -> {
+						// The retry may have been cancelled concurrently: only attempt if it was not
+						if ( scheduledRetryResults.remove( result ) ) {
+							attempt( sender, retryCount, result );
+						}
+					},
+					delayMillis, TimeUnit.MILLISECONDS
+			);
+		}
+		catch (RejectedExecutionException e) {
+			// The throttler was closed concurrently
+			if ( scheduledRetryResults.remove( result ) ) {
+				SearchException exception = log.cannotRetryRequestAfterClose();
+				exception.addSuppressed( e );
+				result.completeExceptionally( exception );
+			}
+		}
+	}
+
+	private long computeDelayMillis(int retryCount) {
+		// Cap the shift to avoid overflows
+		long upperBound = Math.min( maxDelayMillis, initialDelayMillis << Math.min( retryCount, 30 ) );
+		return ThreadLocalRandom.current().nextLong( upperBound + 1 );
+	}
+
+	private void acquire(Runnable task) {
+		synchronized ( this ) {
+			if ( inFlight >= (int) concurrencyLimit ) {
+				waiting.addLast( task );
+				return;
+			}
+			++inFlight;
+		}
+		task.run();
+	}
+
+	/**
+	 * @param rejected Whether the request was rejected.
+	 * @return The new concurrency limit.
+	 */
+	private int release(boolean rejected) {
+		List<Runnable> tasksToRun = new ArrayList<>();
+		int newLimit;
+		synchronized ( this ) {
+			--inFlight;
+			if ( rejected ) {
+				newLimit = decreaseLimit();
+			}
+			else {
+				concurrencyLimit = Math.min( maxConcurrencyLimit, concurrencyLimit + 1 / concurrencyLimit );
+				newLimit = (int) concurrencyLimit;
+			}
+			while ( inFlight < newLimit && !waiting.isEmpty() ) {
+				++inFlight;
+				tasksToRun.add( waiting.pollFirst() );
+			}
+		}
+		for ( Runnable task : tasksToRun ) {
+			task.run();
+		}
+		return newLimit;
+	}
+
+	/**
+	 * Must be called while holding the lock on this.
+	 *
+	 * @return The new concurrency limit.
+	 */
+	private int decreaseLimit() {
+		/*
+		 * Requests sent concurrently tend to be rejected together:
+		 * only decrease the limit once for such a group of rejections.
+		 */
+		long now = System.nanoTime();
+		if ( now - lastDecreaseNanos >= TimeUnit.MILLISECONDS.toNanos( initialDelayMillis ) ) {
+			concurrencyLimit = Math.max( MIN_CONCURRENCY_LIMIT, concurrencyLimit / 2 );
+			lastDecreaseNanos = now;
+		}
+		return (int) concurrencyLimit;
+	}
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.EntityAsyncContentProducer;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.apache.http.protocol.HTTP;
+import org.hibernate.search.util.impl.common.Contracts;
+
+/**
+ * An HttpEntity compressing the content of another entity with gzip,
+ * on the fly, as the content is produced.
+ * <p>
+ * The delegate entity keeps producing its content progressively:
+ * we hand it an encoder that compresses what it is given into a small buffer,
+ * which we then try to write to the actual encoder.
+ * When the actual encoder does not accept all the compressed bytes,
+ * we keep the rest aside and report to the delegate that we do not accept more bytes,
+ * which the delegate already handles as flow control pushing back.
+ * <p>
+ * The compressed content length is not known in advance, so the content will be sent using chunked-encoding.
+ * This is not optimal for small messages, which is why compression is opt-in.
+ */
+final class GzipHttpEntity implements HttpEntity, HttpAsyncContentProducer {
+
+	private static final BasicHeader CONTENT_ENCODING = new BasicHeader( HTTP.CONTENT_ENCODING, "gzip" );
+
+	/**
+	 * The gzip header, as written by {@link GZIPOutputStream}:
+	 * magic number, compression method (deflate), no flags, no modification time, no extra flags, unknown OS.
+	 */
+	private static final byte[] GZIP_HEADER = new byte[] {
+			(byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+	};
+
+	private static final int GZIP_TRAILER_SIZE = 8;
+
+	/**
+	 * The size of the buffer holding compressed bytes until they are accepted by the actual encoder.
+	 * Same size as the byte buffer pages of {@link GsonHttpEntity}.
+	 */
+	private static final int COMPRESSED_BUFFER_SIZE = 1024;
+
+	private final HttpEntity delegate;
+	private final HttpAsyncContentProducer delegateProducer;
+
+	/**
+	 * The state of the current content production, or null if content production hasn't started yet.
+	 * We keep it as a field as content production may span multiple calls to
+	 * {@link #produceContent(ContentEncoder, IOControl)}.
+	 */
+	private CompressingContentEncoder compressingEncoder;
+
+	GzipHttpEntity(HttpEntity delegate) {
+		Contracts.assertNotNull( delegate, "delegate" );
+		this.delegate = delegate;
+		this.delegateProducer = delegate instanceof HttpAsyncContentProducer
+				? (HttpAsyncContentProducer) delegate
+				: new EntityAsyncContentProducer( delegate );
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return delegate.isRepeatable();
+	}
+
+	@Override
+	public boolean isChunked() {
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public Header getContentType() {
+		return delegate.getContentType();
+	}
+
+	@Override
+	public Header getContentEncoding() {
+		return CONTENT_ENCODING;
+	}
+
+	@Override
+	public InputStream getContent() {
+		//Same as GsonHttpEntity: content is expected to be produced through produceContent() or writeTo(OutputStream) only.
+		throw new UnsupportedOperationException( "Not implemented! Expected to produce content only over produceContent(),"
+				+ " or writeTo(OutputStream) if blocking calls are acceptable for your use case." );
+	}
+
+	@Override
+	public void writeTo(OutputStream out) throws IOException {
+		/*
+		 * Note we don't close the gzip stream,
+		 * because we must not close the output stream that was passed as a parameter.
+		 */
+		GZIPOutputStream gzipStream = new GZIPOutputStream( out, COMPRESSED_BUFFER_SIZE );
+		delegate.writeTo( gzipStream );
+		gzipStream.finish();
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+	@Override
+	public void consumeContent() {
+		//not used (and deprecated)
+	}
+
+	@Override
+	public void produceContent(ContentEncoder encoder, IOControl ioctrl) throws IOException {
+		Contracts.assertNotNull( encoder, "encoder" );
+		// Warning: this method is possibly invoked multiple times, depending on the output buffers
+		// to have available space !
+
+		if ( compressingEncoder == null ) {
+			compressingEncoder = new CompressingContentEncoder();
+		}
+		//Re-set the encoder as it might be a different one than a previously used instance:
+		compressingEncoder.output = encoder;
+
+		if ( !compressingEncoder.isCompleted() ) {
+			// The delegate has content left to produce, or at least hasn't called complete() yet
+			compressingEncoder.flushPendingOutput();
+			if ( compressingEncoder.hasPendingOutput() ) {
+				//Just quit: return control to the caller and trust we'll be called again.
+				return;
+			}
+			delegateProducer.produceContent( compressingEncoder, ioctrl );
+		}
+
+		if ( !compressingEncoder.isCompleted() ) {
+			// Flow control is pushing back
+			return;
+		}
+
+		// The delegate produced all of its content, but we may still have compressed bytes to write
+		compressingEncoder.flushPendingOutput();
+		if ( compressingEncoder.hasPendingOutput() ) {
+			//Just quit: return control to the caller and trust we'll be called again.
+			return;
+		}
+
+		// If we haven't aborted yet, we finished!
+		encoder.complete();
+
+		//Allow to repeat the content production from the beginning:
+		compressingEncoder.end();
+		compressingEncoder = null;
+		delegateProducer.close();
+	}
+
+	@Override
+	public void close() throws IOException {
+		//Make sure we re-wind the stream so that we can start from the beginning if needed,
+		//and release the (native) resources held by the deflater.
+		if ( compressingEncoder != null ) {
+			compressingEncoder.end();
+			compressingEncoder = null;
+		}
+		delegateProducer.close();
+	}
+
+	/**
+	 * The encoder passed to the delegate: compresses the content it is given
+	 * and writes it to the actual encoder.
+	 */
+	private static final class CompressingContentEncoder implements ContentEncoder {
+
+		private final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, true );
+		private final CRC32 crc = new CRC32();
+
+		/**
+		 * Compressed bytes that were not accepted by the actual encoder yet,
+		 * between position 0 and the position of the buffer.
+		 */
+		private ByteBuffer pendingOutput = ByteBuffer.allocate( COMPRESSED_BUFFER_SIZE );
+
+		private byte[] inputBuffer = new byte[0];
+
+		private ContentEncoder output;
+
+		private boolean completed = false;
+
+		CompressingContentEncoder() {
+			pendingOutput.put( GZIP_HEADER );
+		}
+
+		@Override
+		public int write(ByteBuffer src) throws IOException {
+			flushPendingOutput();
+			if ( hasPendingOutput() ) {
+				// Flow control is pushing back: tell the delegate we don't accept more bytes for now.
+				return 0;
+			}
+
+			int length = src.remaining();
+			if ( inputBuffer.length < length ) {
+				inputBuffer = new byte[length];
+			}
+			src.get( inputBuffer, 0, length );
+			crc.update( inputBuffer, 0, length );
+			deflater.setInput( inputBuffer, 0, length );
+			while ( !deflater.needsInput() ) {
+				if ( !pendingOutput.hasRemaining() ) {
+					// Try to make some room before resorting to growing the buffer
+					flushPendingOutput();
+				}
+				deflate();
+			}
+			flushPendingOutput();
+			// We consumed all the input, even if some of the compressed output is still pending.
+			return length;
+		}
+
+		@Override
+		public void complete() throws IOException {
+			deflater.finish();
+			while ( !deflater.finished() ) {
+				deflate();
+			}
+			ensurePendingOutputCapacity( GZIP_TRAILER_SIZE );
+			putIntLittleEndian( (int) crc.getValue() );
+			putIntLittleEndian( deflater.getTotalIn() );
+			completed = true;
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return completed;
+		}
+
+		boolean hasPendingOutput() {
+			return pendingOutput.position() > 0;
+		}
+
+		void flushPendingOutput() throws IOException {
+			if ( !hasPendingOutput() ) {
+				return;
+			}
+			pendingOutput.flip();
+			output.write( pendingOutput );
+			pendingOutput.compact();
+		}
+
+		void end() {
+			deflater.end();
+		}
+
+		private void deflate() {
+			ensurePendingOutputCapacity( 1 );
+			int written = deflater.deflate(
+					pendingOutput.array(),
+					pendingOutput.arrayOffset() + pendingOutput.position(),
+					pendingOutput.remaining()
+			);
+			pendingOutput.position( pendingOutput.position() + written );
+		}
+
+		private void ensurePendingOutputCapacity(int capacity) {
+			if ( pendingOutput.remaining() < capacity ) {
+				ByteBuffer newBuffer = ByteBuffer.allocate( pendingOutput.capacity() * 2 + capacity );
+				pendingOutput.flip();
+				newBuffer.put( pendingOutput );
+				pendingOutput = newBuffer;
+			}
+		}
+
+		private void putIntLittleEndian(int value) {
+			pendingOutput.put( (byte) value );
+			pendingOutput.put( (byte) ( value >> 8 ) );
+			pendingOutput.put( (byte) ( value >> 16 ) );
+			pendingOutput.put( (byte) ( value >> 24 ) );
+		}
+	}
+}
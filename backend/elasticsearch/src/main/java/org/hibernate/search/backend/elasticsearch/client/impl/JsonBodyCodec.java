@@ -0,0 +1,53 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * The default codec, using JSON.
+ */
+public final class JsonBodyCodec implements ElasticsearchBodyCodec {
+
+	public static final JsonBodyCodec INSTANCE = new JsonBodyCodec();
+
+	private JsonBodyCodec() {
+	}
+
+	@Override
+	public ContentType getContentType() {
+		return ContentType.APPLICATION_JSON;
+	}
+
+	@Override
+	public HttpEntity toEntity(Gson gson, List<JsonObject> bodyParts) {
+		return new GsonHttpEntity( gson, bodyParts );
+	}
+
+	@Override
+	public JsonObject parse(Gson gson, InputStream inputStream, ContentType contentType) throws IOException {
+		Charset charset = contentType == null ? null : contentType.getCharset();
+		if ( charset == null ) {
+			charset = StandardCharsets.UTF_8;
+		}
+		try ( Reader reader = new InputStreamReader( inputStream, charset ) ) {
+			return gson.fromJson( reader, JsonObject.class );
+		}
+	}
+
+}
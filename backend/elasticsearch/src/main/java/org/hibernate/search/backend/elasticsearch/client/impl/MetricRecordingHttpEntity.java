@@ -0,0 +1,156 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.EntityAsyncContentProducer;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.util.impl.common.Contracts;
+
+/**
+ * An HttpEntity recording the number of bytes produced by another entity.
+ * <p>
+ * The length of streamed entities such as {@link GsonHttpEntity} (for large content) or {@link GzipHttpEntity}
+ * is not known in advance, so we count bytes as they are accepted by the actual encoder,
+ * and record the count once the content was produced entirely.
+ * When the content is produced multiple times, e.g. when a request is retried,
+ * the count is recorded each time.
+ */
+final class MetricRecordingHttpEntity implements HttpEntity, HttpAsyncContentProducer {
+
+	private final HttpEntity delegate;
+	private final HttpAsyncContentProducer delegateProducer;
+	private final MetricRecorder bytesRecorder;
+
+	/**
+	 * The state of the current content production, or null if content production hasn't started yet.
+	 * We keep it as a field as content production may span multiple calls to
+	 * {@link #produceContent(ContentEncoder, IOControl)}.
+	 */
+	private CountingContentEncoder countingEncoder;
+
+	MetricRecordingHttpEntity(HttpEntity delegate, MetricRecorder bytesRecorder) {
+		Contracts.assertNotNull( delegate, "delegate" );
+		this.delegate = delegate;
+		this.delegateProducer = delegate instanceof HttpAsyncContentProducer
+				? (HttpAsyncContentProducer) delegate
+				: new EntityAsyncContentProducer( delegate );
+		this.bytesRecorder = bytesRecorder;
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return delegate.isRepeatable();
+	}
+
+	@Override
+	public boolean isChunked() {
+		return delegate.isChunked();
+	}
+
+	@Override
+	public long getContentLength() {
+		return delegate.getContentLength();
+	}
+
+	@Override
+	public Header getContentType() {
+		return delegate.getContentType();
+	}
+
+	@Override
+	public Header getContentEncoding() {
+		return delegate.getContentEncoding();
+	}
+
+	@Override
+	public InputStream getContent() throws IOException {
+		return delegate.getContent();
+	}
+
+	@Override
+	public void writeTo(OutputStream out) throws IOException {
+		// Note we don't close the counting stream, because we must not close the output stream passed as a parameter.
+		CountingOutputStream countingStream = new CountingOutputStream( out );
+		delegate.writeTo( countingStream );
+		bytesRecorder.record( countingStream.getBytesWritten() );
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return delegate.isStreaming();
+	}
+
+	@Override
+	@SuppressWarnings("deprecation")
+	public void consumeContent() throws IOException {
+		delegate.consumeContent();
+	}
+
+	@Override
+	public void produceContent(ContentEncoder encoder, IOControl ioctrl) throws IOException {
+		Contracts.assertNotNull( encoder, "encoder" );
+		if ( countingEncoder == null ) {
+			countingEncoder = new CountingContentEncoder();
+		}
+		//Re-set the encoder as it might be a different one than a previously used instance:
+		countingEncoder.output = encoder;
+
+		delegateProducer.produceContent( countingEncoder, ioctrl );
+
+		if ( countingEncoder.completed ) {
+			bytesRecorder.record( countingEncoder.bytesWritten );
+			//Allow to repeat the content production from the beginning:
+			countingEncoder = null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		countingEncoder = null;
+		delegateProducer.close();
+	}
+
+	/**
+	 * The encoder passed to the delegate: counts the bytes accepted by the actual encoder.
+	 */
+	private static final class CountingContentEncoder implements ContentEncoder {
+
+		private ContentEncoder output;
+		private long bytesWritten = 0L;
+		private boolean completed = false;
+
+		@Override
+		public int write(ByteBuffer src) throws IOException {
+			int written = output.write( src );
+			if ( written > 0 ) {
+				bytesWritten += written;
+			}
+			return written;
+		}
+
+		@Override
+		public void complete() throws IOException {
+			output.complete();
+			completed = true;
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return completed;
+		}
+	}
+}
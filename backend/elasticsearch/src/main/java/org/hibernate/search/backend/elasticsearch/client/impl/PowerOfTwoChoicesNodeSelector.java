@@ -0,0 +1,66 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector;
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeStatistics;
+
+/**
+ * Selects nodes using the "power of two choices":
+ * two nodes are picked at random, and the least loaded one is selected.
+ * <p>
+ * Comparing only two random nodes, instead of always picking the least loaded node,
+ * avoids sending every request to the same node
+ * while its statistics do not reflect the load of the requests just sent yet.
+ * Nodes that failed recently are only selected when both nodes picked at random failed recently.
+ */
+public final class PowerOfTwoChoicesNodeSelector implements ElasticsearchNodeSelector {
+
+	public static final PowerOfTwoChoicesNodeSelector INSTANCE = new PowerOfTwoChoicesNodeSelector();
+
+	private PowerOfTwoChoicesNodeSelector() {
+	}
+
+	@Override
+	public <N extends ElasticsearchNodeStatistics> N select(List<N> candidates) {
+		int size = candidates.size();
+		if ( size == 1 ) {
+			return candidates.get( 0 );
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int firstIndex = random.nextInt( size );
+		// Pick a different node: skip the first index
+		int secondIndex = random.nextInt( size - 1 );
+		if ( secondIndex >= firstIndex ) {
+			++secondIndex;
+		}
+
+		return leastLoaded( candidates.get( firstIndex ), candidates.get( secondIndex ) );
+	}
+
+	private static <N extends ElasticsearchNodeStatistics> N leastLoaded(N first, N second) {
+		boolean firstPenalized = first.isPenalized();
+		boolean secondPenalized = second.isPenalized();
+		if ( firstPenalized != secondPenalized ) {
+			return firstPenalized ? second : first;
+		}
+		return getLoadScore( first ) <= getLoadScore( second ) ? first : second;
+	}
+
+	/**
+	 * @return A score reflecting how long a new request would wait for a response from this node:
+	 * the lower, the better.
+	 * Nodes that were never sent any request have a very low score, so that they are quickly sampled.
+	 */
+	private static double getLoadScore(ElasticsearchNodeStatistics node) {
+		return ( node.getAverageLatencyMillis() + 0.001d ) * ( node.getInFlightRequests() + 1 );
+	}
+}
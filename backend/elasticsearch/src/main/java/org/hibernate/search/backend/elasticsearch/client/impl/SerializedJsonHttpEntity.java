@@ -0,0 +1,165 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.apache.http.protocol.HTTP;
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+import org.hibernate.search.util.impl.common.Contracts;
+
+/**
+ * An HttpEntity for JSON objects that were already serialized to UTF-8,
+ * see {@link SerializedJsonObject}.
+ * <p>
+ * Contrary to {@link GsonHttpEntity}, there is no encoding work left to do:
+ * the serialized bytes are handed over to the HTTP client as is,
+ * wrapped in a {@link ByteBuffer} but never copied,
+ * and the content length is always known in advance.
+ * <p>
+ * Flow control is handled by remembering how many bytes of the current body part were accepted,
+ * so that the next call to {@link #produceContent(ContentEncoder, IOControl)} resumes from there.
+ */
+final class SerializedJsonHttpEntity implements HttpEntity, HttpAsyncContentProducer {
+
+	private static final BasicHeader CONTENT_TYPE = new BasicHeader( HTTP.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString() );
+
+	private static final byte[] NEWLINE = new byte[] { '\n' };
+
+	private final List<SerializedJsonObject> bodyParts;
+
+	private final long contentLength;
+
+	private int nextBodyPartIndex = 0;
+
+	/**
+	 * The number of bytes of the current body part that were already accepted by the encoder.
+	 * The trailing newline is only written once all the bytes of the body part were accepted.
+	 */
+	private int nextBodyPartOffset = 0;
+
+	public SerializedJsonHttpEntity(List<SerializedJsonObject> bodyParts) {
+		Contracts.assertNotNull( bodyParts, "bodyParts" );
+		this.bodyParts = bodyParts;
+		long length = 0L;
+		for ( SerializedJsonObject bodyPart : bodyParts ) {
+			length += bodyPart.getUtf8Bytes().length + NEWLINE.length;
+		}
+		this.contentLength = length;
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override
+	public boolean isChunked() {
+		return false;
+	}
+
+	@Override
+	public long getContentLength() {
+		return contentLength;
+	}
+
+	@Override
+	public Header getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public Header getContentEncoding() {
+		return null;
+	}
+
+	@Override
+	public InputStream getContent() {
+		List<InputStream> streams = new ArrayList<>( bodyParts.size() * 2 );
+		for ( SerializedJsonObject bodyPart : bodyParts ) {
+			streams.add( new ByteArrayInputStream( bodyPart.getUtf8Bytes() ) );
+			streams.add( new ByteArrayInputStream( NEWLINE ) );
+		}
+		return new SequenceInputStream( Collections.enumeration( streams ) );
+	}
+
+	@Override
+	public void writeTo(OutputStream out) throws IOException {
+		for ( SerializedJsonObject bodyPart : bodyParts ) {
+			out.write( bodyPart.getUtf8Bytes() );
+			out.write( NEWLINE );
+		}
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+	@Override
+	public void consumeContent() {
+		//not used (and deprecated)
+	}
+
+	@Override
+	public void produceContent(ContentEncoder encoder, IOControl ioctrl) throws IOException {
+		Contracts.assertNotNull( encoder, "encoder" );
+		// Warning: this method is possibly invoked multiple times, depending on the output buffers
+		// to have available space !
+
+		while ( nextBodyPartIndex < bodyParts.size() ) {
+			byte[] bytes = bodyParts.get( nextBodyPartIndex ).getUtf8Bytes();
+			if ( nextBodyPartOffset < bytes.length ) {
+				nextBodyPartOffset += encoder.write(
+						ByteBuffer.wrap( bytes, nextBodyPartOffset, bytes.length - nextBodyPartOffset )
+				);
+				if ( nextBodyPartOffset < bytes.length ) {
+					// Flow control is pushing back: return control to the caller and trust we'll be called again.
+					return;
+				}
+			}
+			if ( encoder.write( ByteBuffer.wrap( NEWLINE ) ) < NEWLINE.length ) {
+				// Same as above
+				return;
+			}
+			++nextBodyPartIndex;
+			nextBodyPartOffset = 0;
+		}
+
+		encoder.complete();
+
+		//Allow to repeat the content production from the beginning:
+		rewind();
+	}
+
+	@Override
+	public void close() {
+		//Nothing to close but let's make sure we re-wind the stream
+		//so that we can start from the beginning if needed
+		rewind();
+	}
+
+	private void rewind() {
+		this.nextBodyPartIndex = 0;
+		this.nextBodyPartOffset = 0;
+	}
+}
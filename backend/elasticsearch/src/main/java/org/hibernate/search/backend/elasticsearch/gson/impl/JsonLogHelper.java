@@ -79,6 +79,26 @@ else if ( prettyPrinting ) {
 		afterValue( sb );
 	}
 
+	public String toStringSerialized(Iterable<SerializedJsonObject> objects) {
+		StringBuilder sb = new StringBuilder( 180 );
+		boolean first = true;
+		beforeValue( sb );
+		for ( SerializedJsonObject object : objects ) {
+			if ( first ) {
+				first = false;
+			}
+			else if ( prettyPrinting ) {
+				sb.append( "\n" );
+			}
+			else {
+				sb.append( "\\n" );
+			}
+			doAppend( sb, object.toJsonObject() );
+		}
+		afterValue( sb );
+		return sb.toString();
+	}
+
 	public JsonElement property(JsonObject parent, String name) {
 		if ( parent == null ) {
 			return null;
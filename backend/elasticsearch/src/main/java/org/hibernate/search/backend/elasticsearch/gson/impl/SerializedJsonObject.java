@@ -0,0 +1,67 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.gson.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.search.util.AssertionFailure;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * A JSON object, already serialized to UTF-8.
+ * <p>
+ * Useful for objects that are built once and only need to be sent over the network,
+ * such as indexed documents:
+ * serializing them as soon as they are built allows to discard the {@link JsonObject} tree early,
+ * instead of keeping it in memory until the request is sent,
+ * and avoids serializing them again if the request is retried.
+ */
+public final class SerializedJsonObject {
+
+	private static final ThreadLocal<Utf8ByteArrayWriter> WRITERS = ThreadLocal.withInitial( Utf8ByteArrayWriter::new );
+
+	public static SerializedJsonObject serialize(Gson gson, JsonObject object) {
+		Utf8ByteArrayWriter writer = WRITERS.get();
+		writer.reset();
+		try {
+			gson.toJson( object, gson.newJsonWriter( writer ) );
+		}
+		catch (IOException e) {
+			throw new AssertionFailure( "Unexpected exception while writing JSON to memory", e );
+		}
+		return new SerializedJsonObject( writer.toByteArray() );
+	}
+
+	private final byte[] utf8Bytes;
+
+	private SerializedJsonObject(byte[] utf8Bytes) {
+		this.utf8Bytes = utf8Bytes;
+	}
+
+	/**
+	 * @return The UTF-8 bytes of this object. The array is not copied: callers must not modify it.
+	 */
+	public byte[] getUtf8Bytes() {
+		return utf8Bytes;
+	}
+
+	/**
+	 * @return The object, parsed again. Only meant for debugging/logging purposes.
+	 */
+	public JsonObject toJsonObject() {
+		return new JsonParser().parse( toString() ).getAsJsonObject();
+	}
+
+	@Override
+	public String toString() {
+		return new String( utf8Bytes, StandardCharsets.UTF_8 );
+	}
+}
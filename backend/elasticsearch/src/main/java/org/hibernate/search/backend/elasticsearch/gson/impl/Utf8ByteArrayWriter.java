@@ -0,0 +1,141 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.gson.impl;
+
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A {@link Writer} encoding characters to UTF-8 directly into a growable byte array.
+ * <p>
+ * Contrary to an {@link java.io.OutputStreamWriter} over a {@link java.io.ByteArrayOutputStream},
+ * this does not go through an intermediary char buffer and {@link java.nio.charset.CharsetEncoder},
+ * and the byte array can be reused across documents by calling {@link #reset()}.
+ * <p>
+ * Invalid surrogates are replaced with {@code '?'}, as {@link String#getBytes(java.nio.charset.Charset)} would do.
+ * <p>
+ * Not thread-safe.
+ */
+final class Utf8ByteArrayWriter extends Writer {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * Buffers larger than this will not be kept between two documents,
+	 * so that a single very large document does not retain memory forever.
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private static final byte REPLACEMENT = '?';
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+	private int size = 0;
+
+	private char pendingHighSurrogate = 0;
+
+	@Override
+	public void write(int c) {
+		encode( (char) c );
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) {
+		ensureCapacity( len );
+		for ( int i = off; i < off + len; i++ ) {
+			encode( cbuf[i] );
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) {
+		ensureCapacity( len );
+		for ( int i = off; i < off + len; i++ ) {
+			encode( str.charAt( i ) );
+		}
+	}
+
+	@Override
+	public void flush() {
+		// Nothing to do
+	}
+
+	@Override
+	public void close() {
+		// Nothing to do
+	}
+
+	byte[] toByteArray() {
+		if ( pendingHighSurrogate != 0 ) {
+			pendingHighSurrogate = 0;
+			appendByte( REPLACEMENT );
+		}
+		return Arrays.copyOf( buffer, size );
+	}
+
+	void reset() {
+		size = 0;
+		pendingHighSurrogate = 0;
+		if ( buffer.length > MAX_RETAINED_CAPACITY ) {
+			buffer = new byte[INITIAL_CAPACITY];
+		}
+	}
+
+	private void encode(char c) {
+		if ( pendingHighSurrogate != 0 ) {
+			char highSurrogate = pendingHighSurrogate;
+			pendingHighSurrogate = 0;
+			if ( Character.isLowSurrogate( c ) ) {
+				encodeSupplementaryCodePoint( Character.toCodePoint( highSurrogate, c ) );
+				return;
+			}
+			appendByte( REPLACEMENT );
+		}
+
+		if ( c < 0x80 ) {
+			appendByte( (byte) c );
+		}
+		else if ( c < 0x800 ) {
+			ensureCapacity( 2 );
+			buffer[size++] = (byte) ( 0xC0 | ( c >> 6 ) );
+			buffer[size++] = (byte) ( 0x80 | ( c & 0x3F ) );
+		}
+		else if ( Character.isHighSurrogate( c ) ) {
+			// Wait for the low surrogate, which may come in the next call
+			pendingHighSurrogate = c;
+		}
+		else if ( Character.isLowSurrogate( c ) ) {
+			appendByte( REPLACEMENT );
+		}
+		else {
+			ensureCapacity( 3 );
+			buffer[size++] = (byte) ( 0xE0 | ( c >> 12 ) );
+			buffer[size++] = (byte) ( 0x80 | ( ( c >> 6 ) & 0x3F ) );
+			buffer[size++] = (byte) ( 0x80 | ( c & 0x3F ) );
+		}
+	}
+
+	private void encodeSupplementaryCodePoint(int codePoint) {
+		ensureCapacity( 4 );
+		buffer[size++] = (byte) ( 0xF0 | ( codePoint >> 18 ) );
+		buffer[size++] = (byte) ( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+		buffer[size++] = (byte) ( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+		buffer[size++] = (byte) ( 0x80 | ( codePoint & 0x3F ) );
+	}
+
+	private void appendByte(byte b) {
+		ensureCapacity( 1 );
+		buffer[size++] = b;
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		int required = size + additionalBytes;
+		if ( required > buffer.length ) {
+			buffer = Arrays.copyOf( buffer, Math.max( required, buffer.length * 2 ) );
+		}
+	}
+}
@@ -15,9 +15,11 @@
 import org.hibernate.search.backend.elasticsearch.analysis.model.impl.ElasticsearchAnalysisDefinitionRegistry;
 import org.hibernate.search.backend.elasticsearch.cfg.MultiTenancyStrategyConfiguration;
 import org.hibernate.search.backend.elasticsearch.cfg.SearchBackendElasticsearchSettings;
+import org.hibernate.search.backend.elasticsearch.client.ElasticsearchNodeSelector;
 import org.hibernate.search.backend.elasticsearch.client.impl.DefaultElasticsearchClientFactory;
 import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClientFactory;
 import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClientImplementor;
+import org.hibernate.search.backend.elasticsearch.client.impl.PowerOfTwoChoicesNodeSelector;
 import org.hibernate.search.backend.elasticsearch.document.model.impl.esnative.FieldDataType;
 import org.hibernate.search.backend.elasticsearch.document.model.impl.esnative.IndexType;
 import org.hibernate.search.backend.elasticsearch.document.model.impl.esnative.NormsType;
@@ -30,6 +32,7 @@
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.DiscriminatorMultiTenancyStrategyImpl;
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.NoMultiTenancyStrategyImpl;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.IndexingBackpressure;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.backend.elasticsearch.work.impl.StubElasticsearchWorkFactory;
 import org.hibernate.search.engine.backend.spi.BackendImplementor;
@@ -39,6 +42,7 @@
 import org.hibernate.search.engine.backend.spi.BackendBuildContext;
 import org.hibernate.search.engine.environment.bean.BeanProvider;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.AssertionFailure;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.util.impl.common.LoggerFactory;
@@ -66,6 +70,42 @@ public class ElasticsearchBackendFactory implements BackendFactory {
 					.withDefault( SearchBackendElasticsearchSettings.Defaults.LOG_JSON_PRETTY_PRINTING )
 					.build();
 
+	private static final ConfigurationProperty<Integer> INDEXING_MAX_BULK_SIZE =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.INDEXING_MAX_BULK_SIZE )
+					.asInteger()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.INDEXING_MAX_BULK_SIZE )
+					.build();
+
+	private static final ConfigurationProperty<Long> INDEXING_MAX_BULK_BYTES =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.INDEXING_MAX_BULK_BYTES )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.INDEXING_MAX_BULK_BYTES )
+					.build();
+
+	private static final ConfigurationProperty<Long> INDEXING_MAX_IN_FLIGHT_BYTES =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.INDEXING_MAX_IN_FLIGHT_BYTES )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.INDEXING_MAX_IN_FLIGHT_BYTES )
+					.build();
+
+	private static final ConfigurationProperty<Integer> INDEXING_PURGE_SLICES =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.INDEXING_PURGE_SLICES )
+					.asInteger()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.INDEXING_PURGE_SLICES )
+					.build();
+
+	private static final ConfigurationProperty<Long> MULTI_SEARCH_WINDOW =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.MULTI_SEARCH_WINDOW )
+					.asLong()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.MULTI_SEARCH_WINDOW )
+					.build();
+
+	private static final ConfigurationProperty<Integer> MULTI_SEARCH_MAX_SIZE =
+			ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.MULTI_SEARCH_MAX_SIZE )
+					.asInteger()
+					.withDefault( SearchBackendElasticsearchSettings.Defaults.MULTI_SEARCH_MAX_SIZE )
+					.build();
+
 	@Override
 	public BackendImplementor<?> create(String name, BackendBuildContext buildContext, ConfigurationPropertySource propertySource) {
 		EventContext backendContext = EventContexts.fromBackendName( name );
@@ -75,7 +115,10 @@ public BackendImplementor<?> create(String name, BackendBuildContext buildContex
 		boolean logPrettyPrinting = LOG_JSON_PRETTY_PRINTING.get( propertySource );
 		GsonProvider initialGsonProvider = DefaultGsonProvider.create( GsonBuilder::new, logPrettyPrinting );
 
-		ElasticsearchClientImplementor client = clientFactory.create( propertySource, initialGsonProvider );
+		SearchMetrics metrics = buildContext.getServiceManager().getMetrics();
+		ElasticsearchNodeSelector nodeSelector = getNodeSelector( buildContext, propertySource );
+		ElasticsearchClientImplementor client =
+				clientFactory.create( propertySource, initialGsonProvider, nodeSelector, metrics );
 		try {
 			// TODO implement and detect dialects
 			// Assume ES5 for now
@@ -83,7 +126,9 @@ public BackendImplementor<?> create(String name, BackendBuildContext buildContex
 					DefaultGsonProvider.create( this::createES5GsonBuilderBase, logPrettyPrinting );
 			client.init( dialectSpecificGsonProvider );
 
-			ElasticsearchWorkFactory workFactory = new StubElasticsearchWorkFactory( dialectSpecificGsonProvider );
+			ElasticsearchWorkFactory workFactory = new StubElasticsearchWorkFactory(
+					dialectSpecificGsonProvider, INDEXING_PURGE_SLICES.get( propertySource )
+			);
 
 			ElasticsearchAnalysisDefinitionRegistry analysisDefinitionRegistry =
 					getAnalysisDefinitionRegistry( backendContext, buildContext, propertySource );
@@ -91,7 +136,13 @@ public BackendImplementor<?> create(String name, BackendBuildContext buildContex
 			return new ElasticsearchBackendImpl(
 					client, name, workFactory,
 					analysisDefinitionRegistry,
-					getMultiTenancyStrategy( name, propertySource )
+					getMultiTenancyStrategy( name, propertySource ),
+					INDEXING_MAX_BULK_SIZE.get( propertySource ),
+					INDEXING_MAX_BULK_BYTES.get( propertySource ),
+					new IndexingBackpressure( INDEXING_MAX_IN_FLIGHT_BYTES.get( propertySource ) ),
+					MULTI_SEARCH_WINDOW.get( propertySource ),
+					MULTI_SEARCH_MAX_SIZE.get( propertySource ),
+					metrics
 			);
 		}
 		catch (RuntimeException e) {
@@ -123,6 +174,20 @@ private MultiTenancyStrategy getMultiTenancyStrategy(String backendName, Configu
 		}
 	}
 
+	private ElasticsearchNodeSelector getNodeSelector(BackendBuildContext buildContext,
+			ConfigurationPropertySource propertySource) {
+		final BeanProvider beanProvider = buildContext.getServiceManager().getBeanProvider();
+		ConfigurationProperty<ElasticsearchNodeSelector> nodeSelectorProperty =
+				ConfigurationProperty.forKey( SearchBackendElasticsearchSettings.NODE_SELECTION_SELECTOR )
+						.as(
+								ElasticsearchNodeSelector.class,
+								reference -> beanProvider.getBean( reference, ElasticsearchNodeSelector.class )
+						)
+						.withDefault( PowerOfTwoChoicesNodeSelector.INSTANCE )
+						.build();
+		return nodeSelectorProperty.get( propertySource );
+	}
+
 	private ElasticsearchAnalysisDefinitionRegistry getAnalysisDefinitionRegistry(EventContext backendContext,
 			BackendBuildContext buildContext, ConfigurationPropertySource propertySource) {
 		try {
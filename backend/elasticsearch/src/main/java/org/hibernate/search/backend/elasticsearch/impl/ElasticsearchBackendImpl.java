@@ -25,6 +25,8 @@
 import org.hibernate.search.backend.elasticsearch.search.query.impl.SearchBackendContext;
 import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.IndexingBackpressure;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.MultiSearchElasticsearchWorkOrchestrator;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.StubElasticsearchWorkOrchestrator;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.engine.backend.index.spi.IndexManagerBuilder;
@@ -33,6 +35,8 @@
 import org.hibernate.search.engine.backend.spi.BackendBuildContext;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.SearchException;
 import org.hibernate.search.util.impl.common.Closer;
 import org.hibernate.search.util.impl.common.LoggerFactory;
@@ -65,17 +69,25 @@ class ElasticsearchBackendImpl implements BackendImplementor<ElasticsearchDocume
 
 	ElasticsearchBackendImpl(ElasticsearchClient client, String name, ElasticsearchWorkFactory workFactory,
 			ElasticsearchAnalysisDefinitionRegistry analysisDefinitionRegistry,
-			MultiTenancyStrategy multiTenancyStrategy) {
+			MultiTenancyStrategy multiTenancyStrategy,
+			int maxBulkSize, long maxBulkBytes, IndexingBackpressure indexingBackpressure,
+			long multiSearchWindowMillis, int multiSearchMaxSize,
+			SearchMetrics metrics) {
 		this.client = client;
 		this.name = name;
 		this.analysisDefinitionRegistry = analysisDefinitionRegistry;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 		this.streamOrchestrator = new StubElasticsearchWorkOrchestrator( client );
-		this.queryOrchestrator = new StubElasticsearchWorkOrchestrator( client );
+		this.queryOrchestrator = new MultiSearchElasticsearchWorkOrchestrator(
+				client, workFactory, multiSearchWindowMillis, multiSearchMaxSize, metrics
+		);
+		metrics.gauge( SearchMetricNames.INDEXING_QUEUE_DEPTH, null, indexingBackpressure::getQueueDepth );
+		metrics.gauge( SearchMetricNames.INDEXING_IN_FLIGHT_BYTES, null, indexingBackpressure::getInFlightBytes );
 
 		this.eventContext = EventContexts.fromBackendName( name );
 		this.indexingContext = new IndexingBackendContext(
-				eventContext, client, workFactory, multiTenancyStrategy, streamOrchestrator
+				eventContext, client, workFactory, multiTenancyStrategy, streamOrchestrator,
+				maxBulkSize, maxBulkBytes, indexingBackpressure, metrics
 		);
 		this.searchContext = new SearchBackendContext(
 				eventContext, workFactory,
@@ -7,6 +7,7 @@
 package org.hibernate.search.backend.elasticsearch.index.impl;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
 
 import org.hibernate.search.backend.elasticsearch.document.impl.ElasticsearchDocumentObjectBuilder;
 import org.hibernate.search.backend.elasticsearch.document.model.impl.ElasticsearchIndexModel;
@@ -21,6 +22,9 @@
 import org.hibernate.search.engine.backend.index.spi.IndexSearchTargetBuilder;
 import org.hibernate.search.engine.common.spi.SessionContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -43,6 +47,10 @@ class ElasticsearchIndexManagerImpl implements IndexManagerImplementor<Elasticse
 
 	private final ElasticsearchWorkOrchestrator workPlanOrchestrator;
 
+	private final ElasticsearchIndexWorkPlanMetrics workPlanMetrics;
+	private final MetricRecorder queryLatencyRecorder;
+	private final MetricRecorder objectLoadingTimeRecorder;
+
 	ElasticsearchIndexManagerImpl(IndexingBackendContext indexingBackendContext, SearchBackendContext searchBackendContext,
 			String hibernateSearchIndexName, URLEncodedString elasticsearchIndexName, URLEncodedString typeName,
 			ElasticsearchIndexModel model) {
@@ -53,6 +61,21 @@ class ElasticsearchIndexManagerImpl implements IndexManagerImplementor<Elasticse
 		this.typeName = typeName;
 		this.model = model;
 		this.workPlanOrchestrator = indexingBackendContext.createWorkPlanOrchestrator();
+
+		SearchMetrics metrics = indexingBackendContext.getMetrics();
+		this.workPlanMetrics = new ElasticsearchIndexWorkPlanMetrics( metrics, hibernateSearchIndexName );
+		this.queryLatencyRecorder = metrics.recorder( SearchMetricNames.QUERY_LATENCY, hibernateSearchIndexName );
+		this.objectLoadingTimeRecorder =
+				metrics.recorder( SearchMetricNames.OBJECT_LOADING_TIME, hibernateSearchIndexName );
+	}
+
+	@Override
+	public CompletableFuture<?> start() {
+		/*
+		 * Use the work plan orchestrator rather than the (shared) stream orchestrator,
+		 * so that the initialization of this index doesn't have to wait for the initialization of other indexes.
+		 */
+		return indexingBackendContext.initializeIndex( workPlanOrchestrator, elasticsearchIndexName, typeName, model );
 	}
 
 	@Override
@@ -65,9 +88,18 @@ public ElasticsearchIndexModel getModel() {
 		return model;
 	}
 
+	MetricRecorder getQueryLatencyRecorder() {
+		return queryLatencyRecorder;
+	}
+
+	MetricRecorder getObjectLoadingTimeRecorder() {
+		return objectLoadingTimeRecorder;
+	}
+
 	@Override
 	public IndexWorkPlan<ElasticsearchDocumentObjectBuilder> createWorkPlan(SessionContext sessionContext) {
-		return indexingBackendContext.createWorkPlan( workPlanOrchestrator, elasticsearchIndexName, typeName, sessionContext );
+		return indexingBackendContext.createWorkPlan( workPlanOrchestrator, workPlanMetrics,
+				elasticsearchIndexName, typeName, sessionContext );
 	}
 
 	@Override
@@ -13,6 +13,8 @@
 import org.hibernate.search.backend.elasticsearch.search.query.impl.SearchBackendContext;
 import org.hibernate.search.engine.backend.index.spi.IndexSearchTargetBase;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.MetricRecordingObjectLoader;
 import org.hibernate.search.engine.search.DocumentReference;
 import org.hibernate.search.engine.search.ObjectLoader;
 import org.hibernate.search.engine.search.dsl.query.SearchQueryResultDefinitionContext;
@@ -23,11 +25,16 @@ class ElasticsearchIndexSearchTarget extends IndexSearchTargetBase {
 
 	private final ElasticsearchSearchTargetModel searchTargetModel;
 	private final SearchTargetContext<?> searchTargetContext;
+	private final MetricRecorder objectLoadingTimeRecorder;
 
 	ElasticsearchIndexSearchTarget(SearchBackendContext searchBackendContext,
-			ElasticsearchSearchTargetModel searchTargetModel) {
+			ElasticsearchSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder, MetricRecorder objectLoadingTimeRecorder) {
 		this.searchTargetModel = searchTargetModel;
-		this.searchTargetContext = new ElasticsearchSearchTargetContext( searchBackendContext, searchTargetModel );
+		this.searchTargetContext = new ElasticsearchSearchTargetContext(
+				searchBackendContext, searchTargetModel, queryLatencyRecorder
+		);
+		this.objectLoadingTimeRecorder = objectLoadingTimeRecorder;
 	}
 
 	@Override
@@ -45,7 +52,8 @@ public <R, O> SearchQueryResultDefinitionContext<R, O> query(
 			Function<DocumentReference, R> documentReferenceTransformer,
 			ObjectLoader<R, O> objectLoader) {
 		return new SearchQueryResultDefinitionContextImpl<>( searchTargetContext, context,
-				documentReferenceTransformer, objectLoader );
+				documentReferenceTransformer,
+				MetricRecordingObjectLoader.wrap( objectLoader, objectLoadingTimeRecorder ) );
 	}
 
 	@Override
@@ -17,6 +17,7 @@
 import org.hibernate.search.backend.elasticsearch.search.query.impl.SearchBackendContext;
 import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
 import org.hibernate.search.engine.backend.index.spi.IndexSearchTargetBuilder;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
 
@@ -52,7 +53,16 @@ public IndexSearchTarget build() {
 		Set<ElasticsearchIndexModel> indexModels = indexManagers.stream().map( ElasticsearchIndexManagerImpl::getModel )
 				.collect( Collectors.toCollection( LinkedHashSet::new ) );
 		ElasticsearchSearchTargetModel searchTargetModel = new ElasticsearchSearchTargetModel( indexModels );
-		return new ElasticsearchIndexSearchTarget( searchBackendContext, searchTargetModel );
+		MetricRecorder queryLatencyRecorder = MetricRecorder.composite(
+				indexManagers.stream().map( ElasticsearchIndexManagerImpl::getQueryLatencyRecorder )
+						.collect( Collectors.toList() )
+		);
+		MetricRecorder objectLoadingTimeRecorder = MetricRecorder.composite(
+				indexManagers.stream().map( ElasticsearchIndexManagerImpl::getObjectLoadingTimeRecorder )
+						.collect( Collectors.toList() )
+		);
+		return new ElasticsearchIndexSearchTarget( searchBackendContext, searchTargetModel,
+				queryLatencyRecorder, objectLoadingTimeRecorder );
 	}
 
 	@Override
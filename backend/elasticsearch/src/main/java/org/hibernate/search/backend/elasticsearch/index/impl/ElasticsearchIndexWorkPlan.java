@@ -14,6 +14,8 @@
 import org.hibernate.search.backend.elasticsearch.document.impl.ElasticsearchDocumentObjectBuilder;
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.IndexingBackpressure;
+import org.hibernate.search.backend.elasticsearch.work.impl.BulkableElasticsearchWork;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWork;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
@@ -32,19 +34,31 @@ public class ElasticsearchIndexWorkPlan implements IndexWorkPlan<ElasticsearchDo
 	private final ElasticsearchWorkFactory factory;
 	private final MultiTenancyStrategy multiTenancyStrategy;
 	private final ElasticsearchWorkOrchestrator orchestrator;
+	private final int maxBulkSize;
+	private final long maxBulkBytes;
+	private final IndexingBackpressure backpressure;
+	private final ElasticsearchIndexWorkPlanMetrics metrics;
 	private final URLEncodedString indexName;
 	private final URLEncodedString typeName;
 	private final String tenantId;
 
-	private final List<ElasticsearchWork<?>> works = new ArrayList<>();
+	private final List<BulkableElasticsearchWork> works = new ArrayList<>();
+	private long worksEstimatedSize = 0L;
+	private boolean purge = false;
 
 	ElasticsearchIndexWorkPlan(ElasticsearchWorkFactory factory, MultiTenancyStrategy multiTenancyStrategy,
 			ElasticsearchWorkOrchestrator orchestrator,
+			int maxBulkSize, long maxBulkBytes, IndexingBackpressure backpressure,
+			ElasticsearchIndexWorkPlanMetrics metrics,
 			URLEncodedString indexName, URLEncodedString typeName,
 			SessionContext sessionContext) {
 		this.factory = factory;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 		this.orchestrator = orchestrator;
+		this.maxBulkSize = maxBulkSize;
+		this.maxBulkBytes = maxBulkBytes;
+		this.backpressure = backpressure;
+		this.metrics = metrics;
 		this.indexName = indexName;
 		this.typeName = typeName;
 		this.tenantId = sessionContext.getTenantIdentifier();
@@ -57,9 +71,7 @@ public void add(DocumentReferenceProvider referenceProvider,
 		String elasticsearchId = multiTenancyStrategy.toElasticsearchId( tenantId, id );
 		String routingKey = referenceProvider.getRoutingKey();
 
-		ElasticsearchDocumentObjectBuilder builder = new ElasticsearchDocumentObjectBuilder();
-		documentContributor.contribute( builder );
-		JsonObject document = builder.build( multiTenancyStrategy, tenantId, id );
+		JsonObject document = buildDocument( id, documentContributor );
 
 		collect( factory.add( indexName, typeName, elasticsearchId, routingKey, document ) );
 	}
@@ -71,9 +83,7 @@ public void update(DocumentReferenceProvider referenceProvider,
 		String elasticsearchId = multiTenancyStrategy.toElasticsearchId( tenantId, id );
 		String routingKey = referenceProvider.getRoutingKey();
 
-		ElasticsearchDocumentObjectBuilder builder = new ElasticsearchDocumentObjectBuilder();
-		documentContributor.contribute( builder );
-		JsonObject document = builder.build( multiTenancyStrategy, tenantId, id );
+		JsonObject document = buildDocument( id, documentContributor );
 
 		collect( factory.update( indexName, typeName, elasticsearchId, routingKey, document ) );
 	}
@@ -86,6 +96,17 @@ public void delete(DocumentReferenceProvider referenceProvider) {
 		collect( factory.delete( indexName, typeName, elasticsearchId, routingKey ) );
 	}
 
+	@Override
+	public void purge() {
+		/*
+		 * Works collected so far would be purged anyway,
+		 * so we can just drop them and purge once before executing the next works.
+		 */
+		works.clear();
+		worksEstimatedSize = 0L;
+		purge = true;
+	}
+
 	@Override
 	public void prepare() {
 		/*
@@ -96,17 +117,86 @@ public void prepare() {
 
 	@Override
 	public CompletableFuture<?> execute() {
+		long startTime = System.nanoTime();
+		long estimatedSize = worksEstimatedSize;
+		int workCount = works.size();
 		try {
-			CompletableFuture<?> future = orchestrator.submit( works );
+			List<ElasticsearchWork<?>> bulks = new ArrayList<>();
+			if ( purge ) {
+				bulks.add( factory.purge( indexName, multiTenancyStrategy.decorateJsonQuery( null, tenantId ) ) );
+			}
+			bulks.addAll( toBulks() );
+			// Block until the works fit in the memory budget
+			backpressure.acquire( estimatedSize, workCount );
+			CompletableFuture<?> future;
+			try {
+				future = orchestrator.submit( bulks );
+			}
+			catch (RuntimeException e) {
+				backpressure.release( estimatedSize, workCount );
+				throw e;
+			}
+			future.whenComplete( (result, throwable) -> {
+				backpressure.release( estimatedSize, workCount );
+				metrics.getIndexingLatencyRecorder().recordNanosSince( startTime );
+			} );
 			return future;
 		}
 		finally {
 			works.clear();
+			worksEstimatedSize = 0L;
+			purge = false;
 		}
 	}
 
-	private void collect(ElasticsearchWork<?> work) {
+	private JsonObject buildDocument(String id,
+			DocumentContributor<ElasticsearchDocumentObjectBuilder> documentContributor) {
+		long startTime = System.nanoTime();
+		ElasticsearchDocumentObjectBuilder builder = new ElasticsearchDocumentObjectBuilder();
+		documentContributor.contribute( builder );
+		JsonObject document = builder.build( multiTenancyStrategy, tenantId, id );
+		metrics.getDocumentBuildTimeRecorder().recordNanosSince( startTime );
+		return document;
+	}
+
+	private void collect(BulkableElasticsearchWork work) {
 		works.add( work );
+		worksEstimatedSize += work.getEstimatedSize();
+	}
+
+	/**
+	 * Split the works into bulks, limited both in number of works and in size.
+	 */
+	private List<ElasticsearchWork<?>> toBulks() {
+		List<ElasticsearchWork<?>> bulks = new ArrayList<>();
+		List<BulkableElasticsearchWork> currentBulk = new ArrayList<>();
+		long currentBulkSize = 0L;
+		for ( BulkableElasticsearchWork work : works ) {
+			long workSize = work.getEstimatedSize();
+			if ( !currentBulk.isEmpty()
+					&& ( currentBulk.size() >= maxBulkSize || currentBulkSize + workSize > maxBulkBytes ) ) {
+				bulks.add( toBulk( currentBulk ) );
+				currentBulk = new ArrayList<>();
+				currentBulkSize = 0L;
+			}
+			currentBulk.add( work );
+			currentBulkSize += workSize;
+		}
+		if ( !currentBulk.isEmpty() ) {
+			bulks.add( toBulk( currentBulk ) );
+		}
+		return bulks;
+	}
+
+	private ElasticsearchWork<?> toBulk(List<BulkableElasticsearchWork> bulk) {
+		metrics.getBatchSizeRecorder().record( bulk.size() );
+		if ( bulk.size() == 1 ) {
+			// No need for a _bulk request
+			return bulk.get( 0 );
+		}
+		else {
+			return factory.bulk( bulk );
+		}
 	}
 
 }
@@ -0,0 +1,40 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.index.impl;
+
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+
+/**
+ * The recorders used by the work plans of a given index,
+ * looked up once when the index manager is created.
+ */
+final class ElasticsearchIndexWorkPlanMetrics {
+
+	private final MetricRecorder documentBuildTimeRecorder;
+	private final MetricRecorder batchSizeRecorder;
+	private final MetricRecorder indexingLatencyRecorder;
+
+	ElasticsearchIndexWorkPlanMetrics(SearchMetrics metrics, String indexName) {
+		this.documentBuildTimeRecorder = metrics.recorder( SearchMetricNames.DOCUMENT_BUILD_TIME, indexName );
+		this.batchSizeRecorder = metrics.recorder( SearchMetricNames.INDEXING_BATCH_SIZE, indexName );
+		this.indexingLatencyRecorder = metrics.recorder( SearchMetricNames.INDEXING_LATENCY, indexName );
+	}
+
+	MetricRecorder getDocumentBuildTimeRecorder() {
+		return documentBuildTimeRecorder;
+	}
+
+	MetricRecorder getBatchSizeRecorder() {
+		return batchSizeRecorder;
+	}
+
+	MetricRecorder getIndexingLatencyRecorder() {
+		return indexingLatencyRecorder;
+	}
+}
@@ -15,11 +15,13 @@
 import org.hibernate.search.backend.elasticsearch.document.model.impl.ElasticsearchIndexModel;
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.IndexingBackpressure;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.StubElasticsearchWorkOrchestrator;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWork;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.EventContext;
 
 public class IndexingBackendContext {
@@ -31,16 +33,28 @@ public class IndexingBackendContext {
 
 	private final ElasticsearchWorkOrchestrator streamOrchestrator;
 
+	private final int maxBulkSize;
+	private final long maxBulkBytes;
+	private final IndexingBackpressure indexingBackpressure;
+
+	private final SearchMetrics metrics;
+
 	public IndexingBackendContext(EventContext eventContext,
 			ElasticsearchClient client,
 			ElasticsearchWorkFactory workFactory,
 			MultiTenancyStrategy multiTenancyStrategy,
-			ElasticsearchWorkOrchestrator streamOrchestrator) {
+			ElasticsearchWorkOrchestrator streamOrchestrator,
+			int maxBulkSize, long maxBulkBytes, IndexingBackpressure indexingBackpressure,
+			SearchMetrics metrics) {
 		this.eventContext = eventContext;
 		this.client = client;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 		this.workFactory = workFactory;
 		this.streamOrchestrator = streamOrchestrator;
+		this.maxBulkSize = maxBulkSize;
+		this.maxBulkBytes = maxBulkBytes;
+		this.indexingBackpressure = indexingBackpressure;
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -52,14 +66,19 @@ EventContext getEventContext() {
 		return eventContext;
 	}
 
-	CompletableFuture<?> initializeIndex(URLEncodedString indexName, URLEncodedString typeName,
+	SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	CompletableFuture<?> initializeIndex(ElasticsearchWorkOrchestrator orchestrator,
+			URLEncodedString indexName, URLEncodedString typeName,
 			ElasticsearchIndexModel model) {
 		ElasticsearchWork<?> dropWork = workFactory.dropIndexIfExists( indexName );
 		ElasticsearchWork<?> createWork = workFactory.createIndex(
 				indexName, typeName,
 				model.getMapping(), model.getSettings()
 		);
-		return streamOrchestrator.submit( Arrays.asList( dropWork, createWork ) );
+		return orchestrator.submit( Arrays.asList( dropWork, createWork ) );
 	}
 
 	ElasticsearchWorkOrchestrator createWorkPlanOrchestrator() {
@@ -67,12 +86,13 @@ ElasticsearchWorkOrchestrator createWorkPlanOrchestrator() {
 	}
 
 	IndexWorkPlan<ElasticsearchDocumentObjectBuilder> createWorkPlan(
-			ElasticsearchWorkOrchestrator orchestrator,
+			ElasticsearchWorkOrchestrator orchestrator, ElasticsearchIndexWorkPlanMetrics workPlanMetrics,
 			URLEncodedString indexName, URLEncodedString typeName,
 			SessionContext sessionContext) {
 		multiTenancyStrategy.checkTenantId( sessionContext.getTenantIdentifier(), eventContext );
 
 		return new ElasticsearchIndexWorkPlan( workFactory, multiTenancyStrategy, orchestrator,
+				maxBulkSize, maxBulkBytes, indexingBackpressure, workPlanMetrics,
 				indexName, typeName, sessionContext );
 	}
 }
@@ -294,4 +294,74 @@ SearchException indexManagerUnwrappingWithUnknownType(@FormatWith(ClassFormatter
 	SearchException invalidProjectionInvalidType(String absoluteFieldPath,
 			@FormatWith(ClassFormatter.class) Class<?> type,
 			@Param EventContext context);
+
+	@Message(id = ID_OFFSET_3 + 40,
+			value = "No value was bound to search parameter '%1$s'. Use setParameter(...) on the query before executing it.")
+	SearchException unboundSearchParameter(String parameterName);
+
+	@Message(id = ID_OFFSET_3 + 41,
+			value = "Range aggregations are not supported by this field's type. Use a numeric or temporal field.")
+	SearchException rangeAggregationNotSupportedByFieldType(@Param EventContext context);
+
+	@Message(id = ID_OFFSET_3 + 42,
+			value = "Unknown wire format '%1$s'.")
+	SearchException unknownWireFormatConfiguration(String wireFormat);
+
+	@LogMessage(level = Level.DEBUG)
+	@Message(id = ID_OFFSET_3 + 43,
+			value = "Elasticsearch rejected a request with status %1$d because it is overloaded."
+					+ " Retrying in %2$dms (retry %3$d out of %4$d). The concurrency limit is now %5$d.")
+	void retryingRejectedRequest(int statusCode, long delayMillis, int retry, int maxRetries, int concurrencyLimit);
+
+	@Message(id = ID_OFFSET_3 + 44,
+			value = "Interrupted while waiting for in-flight indexing works to complete.")
+	SearchException interruptedWhileWaitingForIndexingBudget(@Cause InterruptedException cause);
+
+	@LogMessage(level = Level.DEBUG)
+	@Message(id = ID_OFFSET_3 + 45,
+			value = "Slowing down indexing: %1$d bytes are in flight for %2$d works, exceeding the budget of %3$d bytes."
+					+ " Waiting for some works to complete.")
+	void indexingBackpressure(long inFlightBytes, int inFlightWorks, long maxInFlightBytes);
+
+	@Message(id = ID_OFFSET_3 + 46,
+			value = "Unknown node selection strategy '%1$s'.")
+	SearchException unknownNodeSelectionConfiguration(String nodeSelection);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = ID_OFFSET_3 + 47,
+			value = "Node selection strategy '%1$s' is not supported when discovery is enabled."
+					+ " Requests will be sent to each discovered node in turn.")
+	void nodeSelectionIgnoredWithDiscovery(String nodeSelection);
+
+	@LogMessage(level = Level.DEBUG)
+	@Message(id = ID_OFFSET_3 + 48,
+			value = "Request to Elasticsearch node '%1$s' failed. Avoiding this node for the next %2$dms.")
+	void avoidingFailedNode(String host, long penaltyDurationMillis, @Cause Throwable cause);
+
+	@Message(id = ID_OFFSET_3 + 49,
+			value = "Unable to purge index '%1$s': Elasticsearch reported failures %2$s.")
+	SearchException elasticsearchPurgeFailures(String indexName, JsonElement failures);
+
+	@Message(id = ID_OFFSET_3 + 50,
+			value = "Elasticsearch search request failed: %1$s")
+	SearchException elasticsearchSearchFailed(JsonElement error);
+
+	@Message(id = ID_OFFSET_3 + 51,
+			value = "Elasticsearch bulk request failed with status %1$d '%2$s': %3$s")
+	SearchException elasticsearchBulkRequestFailed(int statusCode, String statusMessage, JsonElement error);
+
+	@Message(id = ID_OFFSET_3 + 52,
+			value = "Elasticsearch reported failures for %1$d out of %2$d works in a bulk request: %3$s")
+	SearchException elasticsearchBulkItemsFailed(int failureCount, int workCount, JsonElement failures);
+
+	@LogMessage(level = Level.DEBUG)
+	@Message(id = ID_OFFSET_3 + 53,
+			value = "Elasticsearch rejected part of a request because it is overloaded."
+					+ " Retrying the rejected part in %1$dms (retry %2$d out of %3$d). The concurrency limit is now %4$d.")
+	void retryingPartiallyRejectedRequest(long delayMillis, int retry, int maxRetries, int concurrencyLimit);
+
+	@Message(id = ID_OFFSET_3 + 54,
+			value = "Unable to retry a request that Elasticsearch rejected because it was overloaded:"
+					+ " the Elasticsearch client was closed.")
+	SearchException cannotRetryRequestAfterClose();
 }
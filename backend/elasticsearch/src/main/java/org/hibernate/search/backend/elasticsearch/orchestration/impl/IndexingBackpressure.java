@@ -0,0 +1,99 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.orchestration.impl;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+/**
+ * Bounds the memory used by indexing works that were submitted but not executed yet.
+ * <p>
+ * Each submitted work is accounted for with an estimate of its serialized size.
+ * When the total size of works in flight exceeds the budget,
+ * producers are blocked until enough works complete.
+ * A single set of works larger than the budget is still accepted, but only when nothing else is in flight,
+ * so that producers can never be blocked forever.
+ */
+public class IndexingBackpressure {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final long maxInFlightBytes;
+
+	// Protected by synchronization on this
+	private long inFlightBytes = 0L;
+	// Protected by synchronization on this
+	private int inFlightWorks = 0;
+
+	public IndexingBackpressure(long maxInFlightBytes) {
+		this.maxInFlightBytes = maxInFlightBytes;
+	}
+
+	/**
+	 * Account for works about to be submitted, blocking until they fit in the budget.
+	 *
+	 * @param bytes The estimated size of the works, in bytes.
+	 * @param works The number of works.
+	 */
+	public synchronized void acquire(long bytes, int works) {
+		boolean interrupted = false;
+		try {
+			if ( mustWait( bytes ) ) {
+				log.indexingBackpressure( inFlightBytes, inFlightWorks, maxInFlightBytes );
+			}
+			while ( mustWait( bytes ) ) {
+				try {
+					wait();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+					throw log.interruptedWhileWaitingForIndexingBudget( e );
+				}
+			}
+			inFlightBytes += bytes;
+			inFlightWorks += works;
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Account for works that completed, successfully or not.
+	 *
+	 * @param bytes The estimated size of the works, in bytes, as passed to {@link #acquire(long, int)}.
+	 * @param works The number of works, as passed to {@link #acquire(long, int)}.
+	 */
+	public synchronized void release(long bytes, int works) {
+		inFlightBytes -= bytes;
+		inFlightWorks -= works;
+		notifyAll();
+	}
+
+	/**
+	 * @return The estimated size of works that were submitted but did not complete yet, in bytes.
+	 */
+	public synchronized long getInFlightBytes() {
+		return inFlightBytes;
+	}
+
+	/**
+	 * @return The number of works that were submitted but did not complete yet.
+	 */
+	public synchronized int getQueueDepth() {
+		return inFlightWorks;
+	}
+
+	private boolean mustWait(long bytes) {
+		return inFlightBytes > 0L && inFlightBytes + bytes > maxInFlightBytes;
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.orchestration.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchSearchWork;
+import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWork;
+import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.util.impl.common.Executors;
+import org.hibernate.search.util.impl.common.Futures;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+/**
+ * An orchestrator executing works concurrently,
+ * and grouping search works submitted concurrently into {@code _msearch} requests.
+ * <p>
+ * Search works are not executed immediately:
+ * they are queued until the end of a short window,
+ * or until the queue reaches the maximum batch size,
+ * and then all queued search works are sent to Elasticsearch in a single request.
+ * This saves on round-trips when many searches are executed concurrently,
+ * for example when a user executes multiple queries asynchronously before waiting for the results.
+ * <p>
+ * Grouping is opt-in: with an empty window (the default) or a maximum batch size of 1,
+ * search works are executed immediately from the thread submitting them.
+ * <p>
+ * Other works are executed immediately, without any ordering guarantee.
+ * <p>
+ * The {@link SearchMetricNames#QUERY_QUEUE_DEPTH query queue depth} includes both search works
+ * waiting for the end of the window and search works sent to Elasticsearch, but not completed yet.
+ */
+public class MultiSearchElasticsearchWorkOrchestrator implements ElasticsearchWorkOrchestrator {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final StubElasticsearchWorkExecutionContext context;
+	private final ElasticsearchWorkFactory workFactory;
+	private final long windowMillis;
+	private final int maxBatchSize;
+
+	// Null when search works are not grouped
+	private final ScheduledExecutorService executor;
+
+	private final AtomicInteger pendingSearchCount = new AtomicInteger();
+
+	// Protected by synchronization on this
+	private List<PendingSearch<?>> pendingSearches = new ArrayList<>();
+	// Protected by synchronization on this
+	private boolean flushScheduled = false;
+
+	public MultiSearchElasticsearchWorkOrchestrator(ElasticsearchClient client, ElasticsearchWorkFactory workFactory,
+			long windowMillis, int maxBatchSize, SearchMetrics metrics) {
+		this.context = new StubElasticsearchWorkExecutionContext( client );
+		this.workFactory = workFactory;
+		this.windowMillis = windowMillis;
+		this.maxBatchSize = maxBatchSize;
+		this.executor = isBatchingEnabled()
+				? Executors.newScheduledThreadPool( "Elasticsearch multi-search executor" )
+				: null;
+		metrics.gauge( SearchMetricNames.QUERY_QUEUE_DEPTH, null, pendingSearchCount::get );
+	}
+
+	@Override
+	public void close() {
+		if ( executor != null ) {
+			flush();
+			executor.shutdownNow();
+		}
+	}
+
+	@Override
+	public <T> CompletableFuture<T> submit(ElasticsearchWork<T> work) {
+		if ( !( work instanceof ElasticsearchSearchWork ) ) {
+			return Futures.create( () -> work.execute( context ) );
+		}
+		pendingSearchCount.incrementAndGet();
+		CompletableFuture<T> future = executor != null
+				? submitSearch( (ElasticsearchSearchWork<T>) work )
+				: Futures.create( () -> work.execute( context ) );
+		future.whenComplete( (result, throwable) -> pendingSearchCount.decrementAndGet() );
+		return future;
+	}
+
+	@Override
+	public CompletableFuture<?> submit(List<ElasticsearchWork<?>> works) {
+		CompletableFuture<?> future = CompletableFuture.completedFuture( null );
+		for ( ElasticsearchWork<?> work : works ) {
+			future = future.thenCompose( Futures.safeComposer(
+					ignored -> work.execute( context )
+			) );
+		}
+		return future;
+	}
+
+	private boolean isBatchingEnabled() {
+		/*
+		 * With an empty window, grouping searches would only mean handing them over to the executor thread,
+		 * which adds latency to every search for little chance of actually grouping searches.
+		 */
+		return windowMillis > 0L && maxBatchSize > 1;
+	}
+
+	private <T> CompletableFuture<T> submitSearch(ElasticsearchSearchWork<T> work) {
+		PendingSearch<T> pendingSearch = new PendingSearch<>( work );
+		List<PendingSearch<?>> batchToExecute = null;
+		synchronized ( this ) {
+			pendingSearches.add( pendingSearch );
+			if ( pendingSearches.size() >= maxBatchSize ) {
+				batchToExecute = takePendingSearches();
+			}
+			else if ( !flushScheduled ) {
+				flushScheduled = true;
+				executor.schedule( this::flush, windowMillis, TimeUnit.MILLISECONDS );
+			}
+		}
+		if ( batchToExecute != null ) {
+			execute( batchToExecute );
+		}
+		return pendingSearch.future;
+	}
+
+	private void flush() {
+		List<PendingSearch<?>> batchToExecute;
+		synchronized ( this ) {
+			flushScheduled = false;
+			batchToExecute = takePendingSearches();
+		}
+		if ( !batchToExecute.isEmpty() ) {
+			execute( batchToExecute );
+		}
+	}
+
+	private List<PendingSearch<?>> takePendingSearches() {
+		List<PendingSearch<?>> result = pendingSearches;
+		pendingSearches = new ArrayList<>();
+		return result;
+	}
+
+	private void execute(List<PendingSearch<?>> batch) {
+		if ( batch.size() == 1 ) {
+			// No need for a _msearch request
+			batch.get( 0 ).executeAlone();
+			return;
+		}
+
+		List<ElasticsearchSearchWork<?>> searchWorks = new ArrayList<>( batch.size() );
+		for ( PendingSearch<?> pendingSearch : batch ) {
+			searchWorks.add( pendingSearch.work );
+		}
+		Futures.create( () -> workFactory.multiSearch( searchWorks ).execute( context ) )
+				.handle( Futures.handler( (responses, throwable) -> {
+					if ( throwable != null ) {
+						for ( PendingSearch<?> pendingSearch : batch ) {
+							pendingSearch.future.completeExceptionally( throwable );
+						}
+					}
+					else {
+						dispatch( batch, responses );
+					}
+					return null;
+				} ) );
+	}
+
+	private void dispatch(List<PendingSearch<?>> batch, JsonArray responses) {
+		if ( responses.size() != batch.size() ) {
+			Throwable throwable = log.elasticsearchResponseMissingData();
+			for ( PendingSearch<?> pendingSearch : batch ) {
+				pendingSearch.future.completeExceptionally( throwable );
+			}
+			return;
+		}
+		for ( int i = 0; i < batch.size(); i++ ) {
+			batch.get( i ).complete( responses.get( i ) );
+		}
+	}
+
+	private final class PendingSearch<T> {
+		private final ElasticsearchSearchWork<T> work;
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+
+		private PendingSearch(ElasticsearchSearchWork<T> work) {
+			this.work = work;
+		}
+
+		void executeAlone() {
+			Futures.create( () -> work.execute( context ) )
+					.whenComplete( Futures.copyHandler( future ) );
+		}
+
+		void complete(JsonElement response) {
+			try {
+				/*
+				 * Each item of the _msearch response is either the body of a search response,
+				 * or an error object similar to the body of a failed search response:
+				 * in both cases, we handle it as the body of a search response.
+				 */
+				future.complete( work.handleResponse( response.getAsJsonObject() ) );
+			}
+			catch (RuntimeException e) {
+				future.completeExceptionally( e );
+			}
+		}
+	}
+
+}
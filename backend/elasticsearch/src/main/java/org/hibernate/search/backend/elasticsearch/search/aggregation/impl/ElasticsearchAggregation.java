@@ -0,0 +1,29 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.aggregation.impl;
+
+import java.util.Map;
+
+import com.google.gson.JsonObject;
+
+public interface ElasticsearchAggregation {
+
+	String getName();
+
+	/**
+	 * @return The definition of this aggregation, to be added to the {@code aggs} property of the search request.
+	 */
+	JsonObject toJsonAggregation();
+
+	/**
+	 * @param aggregationResult The result of this aggregation, as found in the {@code aggregations} property
+	 * of the search response.
+	 * @return The count of documents per term or range.
+	 */
+	Map<Object, Long> extractResult(JsonObject aggregationResult);
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.aggregation.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.engine.search.SearchAggregationRange;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+public class ElasticsearchRangeAggregation implements ElasticsearchAggregation {
+
+	private static final JsonAccessor<JsonArray> BUCKETS_ACCESSOR =
+			JsonAccessor.root().property( "buckets" ).asArray();
+
+	private static final JsonAccessor<Long> DOC_COUNT_ACCESSOR =
+			JsonAccessor.root().property( "doc_count" ).asLong();
+
+	private final String name;
+
+	private final String absoluteFieldPath;
+
+	private final String aggregationType;
+
+	private final List<SearchAggregationRange> ranges;
+
+	private final List<JsonElement> lowerBounds;
+
+	private final List<JsonElement> upperBounds;
+
+	/**
+	 * @param name The name of the aggregation.
+	 * @param absoluteFieldPath The absolute path of the field.
+	 * @param aggregationType The type of Elasticsearch aggregation: {@code range} or {@code date_range}.
+	 * @param ranges The ranges, as requested by the user.
+	 * @param lowerBounds The inclusive lower bound of each range, converted, or {@code null} if there is none.
+	 * @param upperBounds The exclusive upper bound of each range, converted, or {@code null} if there is none.
+	 */
+	public ElasticsearchRangeAggregation(String name, String absoluteFieldPath, String aggregationType,
+			List<SearchAggregationRange> ranges, List<JsonElement> lowerBounds, List<JsonElement> upperBounds) {
+		this.name = name;
+		this.absoluteFieldPath = absoluteFieldPath;
+		this.aggregationType = aggregationType;
+		this.ranges = ranges;
+		this.lowerBounds = lowerBounds;
+		this.upperBounds = upperBounds;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public JsonObject toJsonAggregation() {
+		JsonArray jsonRanges = new JsonArray();
+		for ( int i = 0; i < ranges.size(); i++ ) {
+			JsonObject jsonRange = new JsonObject();
+			if ( lowerBounds.get( i ) != null ) {
+				jsonRange.add( "from", lowerBounds.get( i ) );
+			}
+			if ( upperBounds.get( i ) != null ) {
+				jsonRange.add( "to", upperBounds.get( i ) );
+			}
+			jsonRanges.add( jsonRange );
+		}
+
+		JsonObject innerObject = new JsonObject();
+		innerObject.addProperty( "field", absoluteFieldPath );
+		// Return buckets as an array, in the same order as the requested ranges
+		innerObject.addProperty( "keyed", false );
+		innerObject.add( "ranges", jsonRanges );
+
+		JsonObject outerObject = new JsonObject();
+		outerObject.add( aggregationType, innerObject );
+		return outerObject;
+	}
+
+	@Override
+	public Map<Object, Long> extractResult(JsonObject aggregationResult) {
+		JsonArray buckets = BUCKETS_ACCESSOR.get( aggregationResult ).orElseGet( JsonArray::new );
+		Map<Object, Long> result = new LinkedHashMap<>( ranges.size() * 2 );
+		for ( int i = 0; i < ranges.size(); i++ ) {
+			long count = 0L;
+			if ( i < buckets.size() ) {
+				count = DOC_COUNT_ACCESSOR.get( buckets.get( i ).getAsJsonObject() ).orElse( 0L );
+			}
+			result.put( ranges.get( i ), count );
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[name=" + name + ", field=" + absoluteFieldPath
+				+ ", ranges=" + ranges + "]";
+	}
+}
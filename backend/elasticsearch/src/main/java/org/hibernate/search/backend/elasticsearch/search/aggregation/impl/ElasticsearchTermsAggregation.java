@@ -0,0 +1,88 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.aggregation.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.backend.elasticsearch.types.converter.impl.ElasticsearchFieldConverter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+public class ElasticsearchTermsAggregation implements ElasticsearchAggregation {
+
+	private static final JsonAccessor<JsonArray> BUCKETS_ACCESSOR =
+			JsonAccessor.root().property( "buckets" ).asArray();
+
+	private static final JsonAccessor<Long> DOC_COUNT_ACCESSOR =
+			JsonAccessor.root().property( "doc_count" ).asLong();
+
+	private final String name;
+
+	private final String absoluteFieldPath;
+
+	private final int maxTermCount;
+
+	private final ElasticsearchFieldConverter converter;
+
+	public ElasticsearchTermsAggregation(String name, String absoluteFieldPath, int maxTermCount,
+			ElasticsearchFieldConverter converter) {
+		this.name = name;
+		this.absoluteFieldPath = absoluteFieldPath;
+		this.maxTermCount = maxTermCount;
+		this.converter = converter;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public JsonObject toJsonAggregation() {
+		JsonObject innerObject = new JsonObject();
+		innerObject.addProperty( "field", absoluteFieldPath );
+		innerObject.addProperty( "size", maxTermCount );
+
+		JsonObject outerObject = new JsonObject();
+		outerObject.add( "terms", innerObject );
+		return outerObject;
+	}
+
+	@Override
+	public Map<Object, Long> extractResult(JsonObject aggregationResult) {
+		JsonArray buckets = BUCKETS_ACCESSOR.get( aggregationResult ).orElseGet( JsonArray::new );
+		// Buckets are sorted by descending document count, then by term
+		Map<Object, Long> result = new LinkedHashMap<>( buckets.size() * 2 );
+		for ( JsonElement bucket : buckets ) {
+			JsonObject bucketObject = bucket.getAsJsonObject();
+			result.put(
+					converter.convertFromProjection( getKey( bucketObject ) ),
+					DOC_COUNT_ACCESSOR.get( bucketObject ).orElse( 0L )
+			);
+		}
+		return result;
+	}
+
+	private static JsonElement getKey(JsonObject bucket) {
+		// Dates are returned as a timestamp in "key", and formatted using the field's format in "key_as_string"
+		JsonElement keyAsString = bucket.get( "key_as_string" );
+		if ( keyAsString != null ) {
+			return keyAsString;
+		}
+		return bucket.get( "key" );
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[name=" + name + ", field=" + absoluteFieldPath
+				+ ", maxTermCount=" + maxTermCount + "]";
+	}
+}
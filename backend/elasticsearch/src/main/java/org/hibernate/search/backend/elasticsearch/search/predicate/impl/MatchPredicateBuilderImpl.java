@@ -13,6 +13,7 @@
 import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.backend.elasticsearch.types.converter.impl.ElasticsearchFieldConverter;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchParameter;
 import org.hibernate.search.engine.search.predicate.spi.MatchPredicateBuilder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -41,6 +42,10 @@ public MatchPredicateBuilderImpl(String absoluteFieldPath, ElasticsearchFieldCon
 
 	@Override
 	public void value(Object value) {
+		if ( value instanceof SearchParameter ) {
+			QUERY.set( getInnerObject(), SearchParameterPlaceholders.create( (SearchParameter) value, absoluteFieldPath ) );
+			return;
+		}
 		JsonElement element;
 		try {
 			element = converter.convertFromDsl( value );
@@ -13,6 +13,7 @@
 import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.backend.elasticsearch.types.converter.impl.ElasticsearchFieldConverter;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchParameter;
 import org.hibernate.search.engine.search.predicate.spi.RangePredicateBuilder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -49,14 +50,7 @@ public RangePredicateBuilderImpl(String absoluteFieldPath, ElasticsearchFieldCon
 
 	@Override
 	public void lowerLimit(Object value) {
-		try {
-			this.lowerLimit = converter.convertFromDsl( value );
-		}
-		catch (RuntimeException e) {
-			throw log.cannotConvertDslParameter(
-					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
-			);
-		}
+		this.lowerLimit = convertFromDsl( value );
 	}
 
 	@Override
@@ -66,14 +60,7 @@ public void excludeLowerLimit() {
 
 	@Override
 	public void upperLimit(Object value) {
-		try {
-			this.upperLimit = converter.convertFromDsl( value );
-		}
-		catch (RuntimeException e) {
-			throw log.cannotConvertDslParameter(
-					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
-			);
-		}
+		this.upperLimit = convertFromDsl( value );
 	}
 
 	@Override
@@ -102,4 +89,18 @@ protected JsonObject doBuild() {
 		return outerObject;
 	}
 
+	private JsonElement convertFromDsl(Object value) {
+		if ( value instanceof SearchParameter ) {
+			return SearchParameterPlaceholders.create( (SearchParameter) value, absoluteFieldPath );
+		}
+		try {
+			return converter.convertFromDsl( value );
+		}
+		catch (RuntimeException e) {
+			throw log.cannotConvertDslParameter(
+					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+			);
+		}
+	}
+
 }
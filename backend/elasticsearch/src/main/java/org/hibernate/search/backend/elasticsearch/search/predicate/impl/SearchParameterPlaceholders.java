@@ -0,0 +1,64 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.predicate.impl;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonObjectAccessor;
+import org.hibernate.search.engine.search.SearchParameter;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Placeholders inserted in the JSON of predicates instead of the value of a {@link SearchParameter},
+ * to be replaced with the converted value of the parameter when the query is executed.
+ */
+public final class SearchParameterPlaceholders {
+
+	private static final JsonObjectAccessor PLACEHOLDER =
+			JsonAccessor.root().property( "__hsearch_parameter" ).asObject();
+
+	private static final JsonAccessor<String> NAME = JsonAccessor.root().property( "name" ).asString();
+
+	private static final JsonAccessor<String> FIELD = JsonAccessor.root().property( "field" ).asString();
+
+	private SearchParameterPlaceholders() {
+	}
+
+	static JsonObject create(SearchParameter parameter, String absoluteFieldPath) {
+		JsonObject content = new JsonObject();
+		NAME.set( content, parameter.getName() );
+		FIELD.set( content, absoluteFieldPath );
+		JsonObject placeholder = new JsonObject();
+		PLACEHOLDER.set( placeholder, content );
+		return placeholder;
+	}
+
+	/**
+	 * @param element A JSON element.
+	 * @return The content of the placeholder if {@code element} is a placeholder, {@code null} otherwise.
+	 * Use {@link #getParameterName(JsonObject)} and {@link #getAbsoluteFieldPath(JsonObject)} to inspect it.
+	 */
+	public static JsonObject getPlaceholderContent(JsonElement element) {
+		if ( !element.isJsonObject() ) {
+			return null;
+		}
+		JsonObject object = element.getAsJsonObject();
+		if ( object.size() != 1 ) {
+			return null;
+		}
+		return PLACEHOLDER.get( object ).orElse( null );
+	}
+
+	public static String getParameterName(JsonObject placeholderContent) {
+		return NAME.get( placeholderContent ).get();
+	}
+
+	public static String getAbsoluteFieldPath(JsonObject placeholderContent) {
+		return FIELD.get( placeholderContent ).get();
+	}
+}
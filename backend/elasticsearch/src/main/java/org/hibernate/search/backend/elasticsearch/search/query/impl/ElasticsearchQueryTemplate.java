@@ -0,0 +1,156 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.query.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchTargetModel;
+import org.hibernate.search.backend.elasticsearch.search.predicate.impl.SearchParameterPlaceholders;
+import org.hibernate.search.backend.elasticsearch.types.converter.impl.ElasticsearchFieldConverter;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * The JSON payload sent by an {@link ElasticsearchSearchQuery}.
+ * <p>
+ * The payload is built once, when the search query is built.
+ * If it contains placeholders for search parameters, their location is recorded at that time,
+ * so that executing the query only requires to convert the parameter values
+ * and to write them to a copy of the payload, instead of going through the DSL again.
+ * <p>
+ * The payload itself is never modified, so that concurrent executions do not interfere.
+ */
+final class ElasticsearchQueryTemplate {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	static ElasticsearchQueryTemplate create(JsonObject payload, ElasticsearchSearchTargetModel searchTargetModel) {
+		List<ParameterSlot> slots = new ArrayList<>();
+		collectSlots( payload, searchTargetModel, new ArrayDeque<>(), slots );
+		return new ElasticsearchQueryTemplate( payload, slots.isEmpty() ? Collections.emptyList() : slots );
+	}
+
+	private final JsonObject payload;
+	private final List<ParameterSlot> slots;
+
+	private ElasticsearchQueryTemplate(JsonObject payload, List<ParameterSlot> slots) {
+		this.payload = payload;
+		this.slots = slots;
+	}
+
+	JsonObject toPayload(Map<String, Object> parameters) {
+		if ( slots.isEmpty() ) {
+			return payload;
+		}
+		JsonObject boundPayload = payload.deepCopy();
+		for ( ParameterSlot slot : slots ) {
+			slot.bind( boundPayload, parameters );
+		}
+		return boundPayload;
+	}
+
+	private static void collectSlots(JsonObject object, ElasticsearchSearchTargetModel searchTargetModel,
+			Deque<Object> path, List<ParameterSlot> slots) {
+		for ( Map.Entry<String, JsonElement> entry : object.entrySet() ) {
+			JsonElement value = entry.getValue();
+			JsonObject placeholderContent = SearchParameterPlaceholders.getPlaceholderContent( value );
+			if ( placeholderContent != null ) {
+				String absoluteFieldPath = SearchParameterPlaceholders.getAbsoluteFieldPath( placeholderContent );
+				slots.add( new ParameterSlot(
+						path.toArray(), entry.getKey(),
+						SearchParameterPlaceholders.getParameterName( placeholderContent ),
+						absoluteFieldPath,
+						searchTargetModel.getSchemaNode( absoluteFieldPath ).getConverter()
+				) );
+			}
+			else {
+				path.addLast( entry.getKey() );
+				collectSlots( value, searchTargetModel, path, slots );
+				path.removeLast();
+			}
+		}
+	}
+
+	private static void collectSlots(JsonElement element, ElasticsearchSearchTargetModel searchTargetModel,
+			Deque<Object> path, List<ParameterSlot> slots) {
+		if ( element.isJsonObject() ) {
+			collectSlots( element.getAsJsonObject(), searchTargetModel, path, slots );
+		}
+		else if ( element.isJsonArray() ) {
+			JsonArray array = element.getAsJsonArray();
+			for ( int i = 0; i < array.size(); i++ ) {
+				path.addLast( i );
+				collectSlots( array.get( i ), searchTargetModel, path, slots );
+				path.removeLast();
+			}
+		}
+	}
+
+	private static final class ParameterSlot {
+
+		/*
+		 * The path from the root of the payload to the object holding the placeholder:
+		 * property names for objects, indexes for arrays.
+		 */
+		private final Object[] parentPath;
+		private final String property;
+		private final String parameterName;
+		private final String absoluteFieldPath;
+		private final ElasticsearchFieldConverter converter;
+
+		private ParameterSlot(Object[] parentPath, String property, String parameterName,
+				String absoluteFieldPath, ElasticsearchFieldConverter converter) {
+			this.parentPath = parentPath;
+			this.property = property;
+			this.parameterName = parameterName;
+			this.absoluteFieldPath = absoluteFieldPath;
+			this.converter = converter;
+		}
+
+		void bind(JsonObject root, Map<String, Object> parameters) {
+			Object value = parameters.get( parameterName );
+			if ( value == null && !parameters.containsKey( parameterName ) ) {
+				throw log.unboundSearchParameter( parameterName );
+			}
+			JsonElement element;
+			try {
+				element = converter.convertFromDsl( value );
+			}
+			catch (RuntimeException e) {
+				throw log.cannotConvertDslParameter(
+						e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+				);
+			}
+			// The property keeps its position in the parent object
+			getParent( root ).add( property, element );
+		}
+
+		private JsonObject getParent(JsonObject root) {
+			JsonElement current = root;
+			for ( Object step : parentPath ) {
+				if ( step instanceof Integer ) {
+					current = current.getAsJsonArray().get( (Integer) step );
+				}
+				else {
+					current = current.getAsJsonObject().get( (String) step );
+				}
+			}
+			return current.getAsJsonObject();
+		}
+	}
+}
@@ -6,19 +6,23 @@
  */
 package org.hibernate.search.backend.elasticsearch.search.query.impl;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWork;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.backend.elasticsearch.work.impl.SearchResultExtractor;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.SearchResult;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
-
 /**
  * @author Yoann Rodiere
  */
@@ -28,8 +32,10 @@
 	private final ElasticsearchWorkOrchestrator queryOrchestrator;
 	private final Set<URLEncodedString> indexNames;
 	private final Set<String> routingKeys;
-	private final JsonObject payload;
+	private final ElasticsearchQueryTemplate queryTemplate;
 	private final SearchResultExtractor<T> searchResultExtractor;
+	private final MetricRecorder latencyRecorder;
+	private final Map<String, Object> parameters = new HashMap<>();
 
 	private Long firstResultIndex;
 	private Long maxResultsCount;
@@ -37,13 +43,15 @@
 	public ElasticsearchSearchQuery(ElasticsearchWorkFactory workFactory,
 			ElasticsearchWorkOrchestrator queryOrchestrator,
 			Set<URLEncodedString> indexNames, Set<String> routingKeys,
-			JsonObject payload, SearchResultExtractor<T> searchResultExtractor) {
+			ElasticsearchQueryTemplate queryTemplate, SearchResultExtractor<T> searchResultExtractor,
+			MetricRecorder latencyRecorder) {
 		this.workFactory = workFactory;
 		this.queryOrchestrator = queryOrchestrator;
 		this.indexNames = indexNames;
 		this.routingKeys = routingKeys;
-		this.payload = payload;
+		this.queryTemplate = queryTemplate;
 		this.searchResultExtractor = searchResultExtractor;
+		this.latencyRecorder = latencyRecorder;
 	}
 
 	@Override
@@ -56,9 +64,14 @@ public void setMaxResults(Long maxResultsCount) {
 		this.maxResultsCount = maxResultsCount;
 	}
 
+	@Override
+	public void setParameter(String name, Object value) {
+		parameters.put( name, value );
+	}
+
 	@Override
 	public String getQueryString() {
-		return payload.toString();
+		return queryTemplate.toPayload( parameters ).toString();
 	}
 
 	@Override
@@ -68,11 +81,35 @@ public String toString() {
 
 	@Override
 	public SearchResult<T> execute() {
+		return executeAsync().join();
+	}
+
+	@Override
+	public CompletableFuture<SearchResult<T>> executeAsync() {
+		long startTime = System.nanoTime();
 		ElasticsearchWork<SearchResult<T>> work = workFactory.search(
 				indexNames, routingKeys,
-				payload, searchResultExtractor,
+				queryTemplate.toPayload( parameters ), searchResultExtractor,
 				firstResultIndex, maxResultsCount );
-		return queryOrchestrator.submit( work ).join();
+		CompletableFuture<SearchResult<T>> future = queryOrchestrator.submit( work );
+		future.whenComplete( (result, throwable) -> latencyRecorder.recordNanosSince( startTime ) );
+		return future;
+	}
+
+	@Override
+	public long executeCount() {
+		long startTime = System.nanoTime();
+		JsonObject payload = queryTemplate.toPayload( parameters );
+		// The _count API only accepts the query: leave out sorts, projections, etc.
+		JsonObject countPayload = new JsonObject();
+		JsonElement query = payload.get( "query" );
+		if ( query != null ) {
+			countPayload.add( "query", query );
+		}
+		ElasticsearchWork<Long> work = workFactory.count( indexNames, routingKeys, countPayload );
+		long count = queryOrchestrator.submit( work ).join();
+		latencyRecorder.recordNanosSince( startTime );
+		return count;
 	}
 
 }
@@ -11,6 +11,7 @@
 import org.hibernate.search.backend.elasticsearch.search.predicate.impl.SearchPredicateFactoryImpl;
 import org.hibernate.search.backend.elasticsearch.search.projection.impl.ElasticsearchSearchProjectionFactoryImpl;
 import org.hibernate.search.backend.elasticsearch.search.sort.impl.SearchSortFactoryImpl;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.dsl.spi.SearchTargetContext;
 
 public class ElasticsearchSearchTargetContext
@@ -22,14 +23,15 @@
 	private final ElasticsearchSearchProjectionFactoryImpl searchProjectionFactory;
 
 	public ElasticsearchSearchTargetContext(SearchBackendContext searchBackendContext,
-			ElasticsearchSearchTargetModel searchTargetModel) {
+			ElasticsearchSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder) {
 		this.searchPredicateFactory = new SearchPredicateFactoryImpl( searchTargetModel );
 		this.searchSortFactory = new SearchSortFactoryImpl( searchTargetModel );
 		this.searchProjectionFactory = new ElasticsearchSearchProjectionFactoryImpl(
 				searchBackendContext.getSearchProjectionBackendContext(),
 				searchTargetModel );
 		this.searchQueryFactory = new SearchQueryFactoryImpl( searchBackendContext, searchTargetModel,
-				this.searchProjectionFactory );
+				this.searchProjectionFactory, queryLatencyRecorder );
 	}
 
 	@Override
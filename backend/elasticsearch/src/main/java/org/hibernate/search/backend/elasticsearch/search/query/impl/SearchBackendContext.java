@@ -7,7 +7,6 @@
 package org.hibernate.search.backend.elasticsearch.search.query.impl;
 
 import java.util.List;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.MultiTenancyStrategy;
@@ -16,10 +15,11 @@
 import org.hibernate.search.backend.elasticsearch.search.extraction.impl.HitExtractor;
 import org.hibernate.search.backend.elasticsearch.search.extraction.impl.ObjectHitExtractor;
 import org.hibernate.search.backend.elasticsearch.search.extraction.impl.ReferenceHitExtractor;
+import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchTargetModel;
 import org.hibernate.search.backend.elasticsearch.search.projection.impl.SearchProjectionBackendContext;
-import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
 import org.hibernate.search.util.EventContext;
 
@@ -77,14 +77,15 @@ SearchProjectionBackendContext getSearchProjectionBackendContext() {
 	}
 
 	<C, T> SearchQueryBuilderImpl<C, T> createSearchQueryBuilder(
-			Set<URLEncodedString> indexNames,
+			ElasticsearchSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder,
 			SessionContext sessionContext,
 			HitExtractor<? super C> hitExtractor,
 			HitAggregator<C, List<T>> hitAggregator) {
 		multiTenancyStrategy.checkTenantId( sessionContext.getTenantIdentifier(), eventContext );
 		return new SearchQueryBuilderImpl<>(
 				workFactory, orchestrator, multiTenancyStrategy,
-				indexNames, sessionContext, hitExtractor, hitAggregator
+				searchTargetModel, queryLatencyRecorder, sessionContext, hitExtractor, hitAggregator
 		);
 	}
 
@@ -6,47 +6,68 @@
  */
 package org.hibernate.search.backend.elasticsearch.search.query.impl;
 
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
+import org.hibernate.search.backend.elasticsearch.document.model.impl.ElasticsearchIndexSchemaFieldNode;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.backend.elasticsearch.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.search.aggregation.impl.ElasticsearchAggregation;
+import org.hibernate.search.backend.elasticsearch.search.aggregation.impl.ElasticsearchRangeAggregation;
+import org.hibernate.search.backend.elasticsearch.search.aggregation.impl.ElasticsearchTermsAggregation;
 import org.hibernate.search.backend.elasticsearch.search.extraction.impl.HitExtractor;
 import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchQueryElementCollector;
+import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchTargetModel;
 import org.hibernate.search.backend.elasticsearch.search.projection.impl.SearchProjectionExecutionContext;
-import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.backend.elasticsearch.types.codec.impl.ElasticsearchFieldCodec;
+import org.hibernate.search.backend.elasticsearch.types.codec.impl.IntegerFieldCodec;
+import org.hibernate.search.backend.elasticsearch.types.codec.impl.LocalDateFieldCodec;
+import org.hibernate.search.backend.elasticsearch.types.converter.impl.ElasticsearchFieldConverter;
 import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWorkFactory;
 import org.hibernate.search.backend.elasticsearch.work.impl.SearchResultExtractor;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.search.SearchAggregationRange;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
 import org.hibernate.search.engine.search.query.spi.SearchQueryBuilder;
+import org.hibernate.search.util.impl.common.LoggerFactory;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 class SearchQueryBuilderImpl<C, T>
 		implements SearchQueryBuilder<T, ElasticsearchSearchQueryElementCollector> {
 
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
 	private final ElasticsearchWorkFactory workFactory;
 	private final ElasticsearchWorkOrchestrator queryOrchestrator;
 	private final MultiTenancyStrategy multiTenancyStrategy;
 
-	private final Set<URLEncodedString> indexNames;
+	private final ElasticsearchSearchTargetModel searchTargetModel;
+	private final MetricRecorder queryLatencyRecorder;
 	private final String tenantId;
 	private final Set<String> routingKeys;
 
 	private final ElasticsearchSearchQueryElementCollector elementCollector;
 	private final HitExtractor<? super C> hitExtractor;
 	private final HitAggregator<C, List<T>> hitAggregator;
+	private final List<ElasticsearchAggregation> aggregations = new ArrayList<>();
 
 	SearchQueryBuilderImpl(
 			ElasticsearchWorkFactory workFactory,
 			ElasticsearchWorkOrchestrator queryOrchestrator,
 			MultiTenancyStrategy multiTenancyStrategy,
-			Set<URLEncodedString> indexNames,
+			ElasticsearchSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder,
 			SessionContext sessionContext,
 			HitExtractor<? super C> hitExtractor,
 			HitAggregator<C, List<T>> hitAggregator) {
@@ -54,7 +75,8 @@
 		this.queryOrchestrator = queryOrchestrator;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 
-		this.indexNames = indexNames;
+		this.searchTargetModel = searchTargetModel;
+		this.queryLatencyRecorder = queryLatencyRecorder;
 		this.tenantId = sessionContext.getTenantIdentifier();
 		this.routingKeys = new HashSet<>();
 
@@ -73,6 +95,44 @@ public void addRoutingKey(String routingKey) {
 		this.routingKeys.add( routingKey );
 	}
 
+	@Override
+	public void addTermsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		ElasticsearchIndexSchemaFieldNode<?> schemaNode = searchTargetModel.getSchemaNode( absoluteFieldPath );
+		aggregations.add( new ElasticsearchTermsAggregation(
+				name, absoluteFieldPath, maxTermCount, schemaNode.getConverter()
+		) );
+	}
+
+	@Override
+	public void addRangeAggregation(String name, String absoluteFieldPath, List<SearchAggregationRange> ranges) {
+		ElasticsearchIndexSchemaFieldNode<?> schemaNode = searchTargetModel.getSchemaNode( absoluteFieldPath );
+		ElasticsearchFieldCodec<?> codec = schemaNode.getCodec();
+		String aggregationType;
+		if ( codec instanceof LocalDateFieldCodec ) {
+			aggregationType = "date_range";
+		}
+		else if ( codec instanceof IntegerFieldCodec ) {
+			aggregationType = "range";
+		}
+		else {
+			throw log.rangeAggregationNotSupportedByFieldType(
+					EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+			);
+		}
+
+		ElasticsearchFieldConverter converter = schemaNode.getConverter();
+		List<JsonElement> lowerBounds = new ArrayList<>( ranges.size() );
+		List<JsonElement> upperBounds = new ArrayList<>( ranges.size() );
+		for ( SearchAggregationRange range : ranges ) {
+			lowerBounds.add( convertFromDsl( converter, absoluteFieldPath, range.getFrom() ) );
+			upperBounds.add( convertFromDsl( converter, absoluteFieldPath, range.getTo() ) );
+		}
+
+		aggregations.add( new ElasticsearchRangeAggregation(
+				name, absoluteFieldPath, aggregationType, ranges, lowerBounds, upperBounds
+		) );
+	}
+
 	private SearchQuery<T> build() {
 		JsonObject payload = new JsonObject();
 
@@ -86,22 +146,55 @@ private SearchQuery<T> build() {
 			payload.add( "sort", jsonSort );
 		}
 
+		if ( !aggregations.isEmpty() ) {
+			JsonObject jsonAggregations = new JsonObject();
+			for ( ElasticsearchAggregation aggregation : aggregations ) {
+				jsonAggregations.add( aggregation.getName(), aggregation.toJsonAggregation() );
+			}
+			payload.add( "aggs", jsonAggregations );
+		}
+
 		SearchProjectionExecutionContext searchProjectionExecutionContext = elementCollector
 				.toSearchProjectionExecutionContext();
 
 		hitExtractor.contributeRequest( payload, searchProjectionExecutionContext );
 
+		if ( !payload.has( "_source" ) ) {
+			/*
+			 * No extractor needs the source of the hits:
+			 * don't let Elasticsearch send it, it would only waste bandwidth and parsing time.
+			 */
+			payload.addProperty( "_source", false );
+		}
+
 		SearchResultExtractor<T> searchResultExtractor =
-				new SearchResultExtractorImpl<>( hitExtractor, hitAggregator, searchProjectionExecutionContext );
+				new SearchResultExtractorImpl<>( hitExtractor, hitAggregator, searchProjectionExecutionContext,
+						aggregations );
 
 		return new ElasticsearchSearchQuery<>(
 				workFactory, queryOrchestrator,
-				indexNames, routingKeys,
-				payload,
-				searchResultExtractor
+				searchTargetModel.getElasticsearchIndexNames(), routingKeys,
+				ElasticsearchQueryTemplate.create( payload, searchTargetModel ),
+				searchResultExtractor,
+				queryLatencyRecorder
 		);
 	}
 
+	private static JsonElement convertFromDsl(ElasticsearchFieldConverter converter, String absoluteFieldPath,
+			Object value) {
+		if ( value == null ) {
+			return null;
+		}
+		try {
+			return converter.convertFromDsl( value );
+		}
+		catch (RuntimeException e) {
+			throw log.cannotConvertDslParameter(
+					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+			);
+		}
+	}
+
 	private JsonObject getJsonQuery() {
 		return multiTenancyStrategy.decorateJsonQuery( elementCollector.toJsonPredicate(), tenantId );
 	}
@@ -15,6 +15,7 @@
 import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchTargetModel;
 import org.hibernate.search.backend.elasticsearch.search.projection.impl.ElasticsearchSearchProjectionFactoryImpl;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.SearchProjection;
 import org.hibernate.search.engine.search.query.spi.ReferenceHitCollector;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
@@ -32,11 +33,15 @@
 
 	private final ElasticsearchSearchProjectionFactoryImpl searchProjectionFactory;
 
+	private final MetricRecorder queryLatencyRecorder;
+
 	SearchQueryFactoryImpl(SearchBackendContext searchBackendContext, ElasticsearchSearchTargetModel searchTargetModel,
-			ElasticsearchSearchProjectionFactoryImpl searchProjectionFactory) {
+			ElasticsearchSearchProjectionFactoryImpl searchProjectionFactory,
+			MetricRecorder queryLatencyRecorder) {
 		this.searchBackendContext = searchBackendContext;
 		this.searchTargetModel = searchTargetModel;
 		this.searchProjectionFactory = searchProjectionFactory;
+		this.queryLatencyRecorder = queryLatencyRecorder;
 	}
 
 	@Override
@@ -81,7 +86,8 @@ private HitExtractor<? super ProjectionHitCollector> createProjectionHitExtracto
 	private <C, T> SearchQueryBuilderImpl<C, T> createSearchQueryBuilder(
 			SessionContext sessionContext, HitExtractor<? super C> hitExtractor, HitAggregator<C, List<T>> hitAggregator) {
 		return searchBackendContext.createSearchQueryBuilder(
-				searchTargetModel.getElasticsearchIndexNames(),
+				searchTargetModel,
+				queryLatencyRecorder,
 				sessionContext,
 				hitExtractor, hitAggregator
 		);
@@ -7,10 +7,13 @@
 package org.hibernate.search.backend.elasticsearch.search.query.impl;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
 import org.hibernate.search.backend.elasticsearch.gson.impl.JsonObjectAccessor;
+import org.hibernate.search.backend.elasticsearch.search.aggregation.impl.ElasticsearchAggregation;
 import org.hibernate.search.backend.elasticsearch.search.extraction.impl.HitExtractor;
 import org.hibernate.search.backend.elasticsearch.search.projection.impl.SearchProjectionExecutionContext;
 import org.hibernate.search.backend.elasticsearch.work.impl.SearchResultExtractor;
@@ -32,18 +35,25 @@
 	private static final JsonAccessor<Long> HITS_TOTAL_ACCESSOR =
 			HITS_ACCESSOR.property( "total" ).asLong();
 
+	private static final JsonObjectAccessor AGGREGATIONS_ACCESSOR =
+			JsonAccessor.root().property( "aggregations" ).asObject();
+
 	private final HitExtractor<? super C> hitExtractor;
 	private final HitAggregator<C, List<T>> hitAggregator;
 
 	private final SearchProjectionExecutionContext searchProjectionExecutionContext;
 
+	private final List<ElasticsearchAggregation> aggregations;
+
 	public SearchResultExtractorImpl(
 			HitExtractor<? super C> hitExtractor,
 			HitAggregator<C, List<T>> hitAggregator,
-			SearchProjectionExecutionContext searchProjectionExecutionContext) {
+			SearchProjectionExecutionContext searchProjectionExecutionContext,
+			List<ElasticsearchAggregation> aggregations) {
 		this.hitExtractor = hitExtractor;
 		this.hitAggregator = hitAggregator;
 		this.searchProjectionExecutionContext = searchProjectionExecutionContext;
+		this.aggregations = aggregations;
 	}
 
 	@Override
@@ -61,6 +71,7 @@ public SearchResult<T> extract(JsonObject responseBody) {
 		}
 
 		final List<T> finalHits = Collections.unmodifiableList( hitAggregator.build() );
+		final Map<String, Map<Object, Long>> aggregationResults = extractAggregationResults( responseBody );
 		return new SearchResult<T>() {
 			@Override
 			public long getHitCount() {
@@ -71,7 +82,28 @@ public long getHitCount() {
 			public List<T> getHits() {
 				return finalHits;
 			}
+
+			@Override
+			public Map<String, Map<Object, Long>> getAggregations() {
+				return aggregationResults;
+			}
 		};
 	}
 
+	private Map<String, Map<Object, Long>> extractAggregationResults(JsonObject responseBody) {
+		if ( aggregations.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		JsonObject jsonAggregations = AGGREGATIONS_ACCESSOR.get( responseBody ).orElseGet( JsonObject::new );
+		Map<String, Map<Object, Long>> results = new LinkedHashMap<>();
+		for ( ElasticsearchAggregation aggregation : aggregations ) {
+			JsonElement aggregationResult = jsonAggregations.get( aggregation.getName() );
+			JsonObject aggregationResultObject = aggregationResult == null || !aggregationResult.isJsonObject()
+					? new JsonObject() : aggregationResult.getAsJsonObject();
+			results.put( aggregation.getName(),
+					Collections.unmodifiableMap( aggregation.extractResult( aggregationResultObject ) ) );
+		}
+		return Collections.unmodifiableMap( results );
+	}
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.work.impl;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+
+import com.google.gson.JsonObject;
+
+/**
+ * A work that can either be executed on its own,
+ * or be part of a {@code _bulk} request along with other bulkable works,
+ * see {@link ElasticsearchWorkFactory#bulk(java.util.List)}.
+ */
+public class BulkableElasticsearchWork implements ElasticsearchWork<Void> {
+
+	/**
+	 * A rough estimate of the size of the metadata of each work in a bulk request:
+	 * action, index name, type name, id, routing, and newlines.
+	 */
+	private static final int BULK_METADATA_SIZE_ESTIMATE = 128;
+
+	private final ElasticsearchRequest request;
+
+	private final JsonObject bulkMetadata;
+
+	private final SerializedJsonObject bulkSource;
+
+	public BulkableElasticsearchWork(ElasticsearchRequest request,
+			JsonObject bulkMetadata, SerializedJsonObject bulkSource) {
+		this.request = request;
+		this.bulkMetadata = bulkMetadata;
+		this.bulkSource = bulkSource;
+	}
+
+	@Override
+	public CompletableFuture<Void> execute(ElasticsearchWorkExecutionContext context) {
+		return context.getClient().submit( request ).thenApply( ignored -> null );
+	}
+
+	/**
+	 * @return The metadata line of this work in a {@code _bulk} request: action, index, id, ...
+	 */
+	public JsonObject getBulkMetadata() {
+		return bulkMetadata;
+	}
+
+	/**
+	 * @return The source line of this work in a {@code _bulk} request, or {@code null} if there is none.
+	 */
+	public SerializedJsonObject getBulkSource() {
+		return bulkSource;
+	}
+
+	/**
+	 * @return An estimate of the size of this work in a request, in bytes.
+	 */
+	public long getEstimatedSize() {
+		long size = BULK_METADATA_SIZE_ESTIMATE;
+		if ( bulkSource != null ) {
+			size += bulkSource.getUtf8Bytes().length;
+		}
+		return size;
+	}
+
+}
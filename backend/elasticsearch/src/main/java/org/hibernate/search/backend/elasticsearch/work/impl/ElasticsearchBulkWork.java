@@ -0,0 +1,164 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.work.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClientUtils;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.client.impl.Paths;
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonArrayAccessor;
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * A {@code _bulk} request executing multiple {@link BulkableElasticsearchWork bulkable works}.
+ * <p>
+ * Elasticsearch reports failures for each item of a bulk request,
+ * so the work only succeeds if every item succeeded.
+ * Items rejected because Elasticsearch is overloaded are sent again in a new bulk request,
+ * after the same backoff as rejected requests, see {@link ElasticsearchClient#retry(ElasticsearchRequest, int)}.
+ */
+public class ElasticsearchBulkWork implements ElasticsearchWork<Void> {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final JsonAccessor<Boolean> ERRORS_ACCESSOR = JsonAccessor.root().property( "errors" ).asBoolean();
+
+	private static final JsonArrayAccessor ITEMS_ACCESSOR = JsonAccessor.root().property( "items" ).asArray();
+
+	private static final JsonAccessor<JsonElement> ERROR_ACCESSOR = JsonAccessor.root().property( "error" );
+
+	private static final JsonAccessor<Integer> STATUS_ACCESSOR = JsonAccessor.root().property( "status" ).asInteger();
+
+	private static final JsonAccessor<String> ERROR_TYPE_ACCESSOR =
+			JsonAccessor.root().property( "error" ).property( "type" ).asString();
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private static final String REJECTED_EXECUTION_EXCEPTION_TYPE = "es_rejected_execution_exception";
+
+	private final List<Item> items;
+
+	public ElasticsearchBulkWork(Gson gson, List<BulkableElasticsearchWork> works) {
+		this.items = new ArrayList<>( works.size() );
+		for ( BulkableElasticsearchWork work : works ) {
+			// Serialize immediately, so that the metadata tree can be garbage-collected early
+			items.add( new Item( SerializedJsonObject.serialize( gson, work.getBulkMetadata() ), work.getBulkSource() ) );
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> execute(ElasticsearchWorkExecutionContext context) {
+		ElasticsearchClient client = context.getClient();
+		JsonArray failures = new JsonArray();
+		return client.submit( toRequest( items ) )
+				.thenCompose( response -> handleResponse( client, items, response, 0, failures ) );
+	}
+
+	/**
+	 * @param client The client to retry rejected items with.
+	 * @param sentItems The items sent in the request that yielded the given response.
+	 * @param response The response to a bulk request.
+	 * @param retryCount The number of times the sent items were already retried.
+	 * @param failures The results of failed items so far, to be completed with failures from the given response.
+	 * @return A future that will complete when all items either succeeded or failed.
+	 */
+	private CompletableFuture<Void> handleResponse(ElasticsearchClient client, List<Item> sentItems,
+			ElasticsearchResponse response, int retryCount, JsonArray failures) {
+		JsonObject body = response.getBody();
+		if ( !ElasticsearchClientUtils.isSuccessCode( response.getStatusCode() ) ) {
+			throw log.elasticsearchBulkRequestFailed( response.getStatusCode(), response.getStatusMessage(),
+					body == null ? null : ERROR_ACCESSOR.get( body ).orElse( null ) );
+		}
+		List<Item> rejectedItems = new ArrayList<>();
+		JsonArray rejections = new JsonArray();
+		if ( ERRORS_ACCESSOR.get( body ).orElse( false ) ) {
+			JsonArray itemResponses = ITEMS_ACCESSOR.get( body ).orElseGet( JsonArray::new );
+			// Elasticsearch returns the item results in the order the items were sent
+			for ( int i = 0; i < itemResponses.size(); i++ ) {
+				JsonObject itemResult = getItemResult( itemResponses.get( i ) );
+				if ( isRejection( itemResult ) ) {
+					rejectedItems.add( sentItems.get( i ) );
+					rejections.add( itemResult );
+				}
+				// Deleting a missing document yields a 404 status, but no error
+				else if ( ERROR_ACCESSOR.get( itemResult ).isPresent() ) {
+					failures.add( itemResult );
+				}
+			}
+		}
+		if ( !rejectedItems.isEmpty() ) {
+			CompletableFuture<ElasticsearchResponse> retry = client.retry( toRequest( rejectedItems ), retryCount );
+			if ( retry != null ) {
+				return retry.thenCompose(
+						retryResponse -> handleResponse( client, rejectedItems, retryResponse, retryCount + 1, failures )
+				);
+			}
+			// Too many retries: the rejections are failures
+			failures.addAll( rejections );
+		}
+		if ( failures.size() > 0 ) {
+			throw log.elasticsearchBulkItemsFailed( failures.size(), items.size(), failures );
+		}
+		return CompletableFuture.completedFuture( null );
+	}
+
+	private static boolean isRejection(JsonObject itemResult) {
+		return STATUS_ACCESSOR.get( itemResult ).map( status -> status == TOO_MANY_REQUESTS ).orElse( false )
+				|| ERROR_TYPE_ACCESSOR.get( itemResult ).map( REJECTED_EXECUTION_EXCEPTION_TYPE::equals ).orElse( false );
+	}
+
+	/**
+	 * @param itemResponse The response to an item of a bulk request,
+	 * e.g. <code>{"index": {"_id": "1", "status": 201}}</code>.
+	 * @return The result of the item, e.g. <code>{"_id": "1", "status": 201}</code>.
+	 */
+	private static JsonObject getItemResult(JsonElement itemResponse) {
+		for ( Map.Entry<String, JsonElement> entry : itemResponse.getAsJsonObject().entrySet() ) {
+			return entry.getValue().getAsJsonObject();
+		}
+		return new JsonObject();
+	}
+
+	private static ElasticsearchRequest toRequest(List<Item> items) {
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post()
+				.pathComponent( Paths._BULK );
+		builder.param( "refresh", true );
+		for ( Item item : items ) {
+			builder.body( item.metadata );
+			if ( item.source != null ) {
+				builder.body( item.source );
+			}
+		}
+		return builder.build();
+	}
+
+	private static final class Item {
+		private final SerializedJsonObject metadata;
+		private final SerializedJsonObject source;
+
+		private Item(SerializedJsonObject metadata, SerializedJsonObject source) {
+			this.metadata = metadata;
+			this.source = source;
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.work.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * A search work, which can either be executed on its own as a {@code _search} request,
+ * or be part of a {@code _msearch} request along with other search works,
+ * see {@link ElasticsearchWorkFactory#multiSearch(java.util.List)}.
+ */
+public class ElasticsearchSearchWork<T> implements ElasticsearchWork<T> {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final ElasticsearchRequest request;
+
+	private final JsonObject multiSearchHeader;
+
+	private final JsonObject multiSearchBody;
+
+	private final Function<JsonObject, T> resultFunction;
+
+	public ElasticsearchSearchWork(ElasticsearchRequest request,
+			JsonObject multiSearchHeader, JsonObject multiSearchBody,
+			Function<JsonObject, T> resultFunction) {
+		this.request = request;
+		this.multiSearchHeader = multiSearchHeader;
+		this.multiSearchBody = multiSearchBody;
+		this.resultFunction = resultFunction;
+	}
+
+	@Override
+	public CompletableFuture<T> execute(ElasticsearchWorkExecutionContext context) {
+		return context.getClient().submit( request )
+				.thenApply( ElasticsearchResponse::getBody )
+				.thenApply( this::handleResponse );
+	}
+
+	/**
+	 * @return The header of this search in a {@code _msearch} request: indexes, routing, ...
+	 */
+	public JsonObject getMultiSearchHeader() {
+		return multiSearchHeader;
+	}
+
+	/**
+	 * @return The body of this search in a {@code _msearch} request,
+	 * which includes the parameters passed as query parameters when the search is executed on its own.
+	 */
+	public JsonObject getMultiSearchBody() {
+		return multiSearchBody;
+	}
+
+	/**
+	 * @param responseBody The body of the response to this search,
+	 * or the item corresponding to this search in the body of a {@code _msearch} response.
+	 * @return The result of this work.
+	 * @throws org.hibernate.search.util.SearchException If the response is an error.
+	 */
+	public T handleResponse(JsonObject responseBody) {
+		JsonElement error = responseBody.get( "error" );
+		if ( error != null ) {
+			throw log.elasticsearchSearchFailed( error );
+		}
+		return resultFunction.apply( responseBody );
+	}
+
+}
@@ -6,6 +6,7 @@
  */
 package org.hibernate.search.backend.elasticsearch.work.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.hibernate.search.backend.elasticsearch.index.settings.impl.esnative.IndexSettings;
@@ -13,6 +14,7 @@
 import org.hibernate.search.backend.elasticsearch.document.model.impl.esnative.RootTypeMapping;
 import org.hibernate.search.engine.search.SearchResult;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 /**
@@ -26,18 +28,40 @@ public interface ElasticsearchWorkFactory {
 	ElasticsearchWork<?> createIndex(URLEncodedString indexName, URLEncodedString typeName, RootTypeMapping mapping,
 			IndexSettings settings);
 
-	ElasticsearchWork<?> add(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey, JsonObject document);
+	BulkableElasticsearchWork add(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey, JsonObject document);
 
-	ElasticsearchWork<?> update(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey, JsonObject document);
+	BulkableElasticsearchWork update(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey, JsonObject document);
 
-	ElasticsearchWork<?> delete(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey);
+	BulkableElasticsearchWork delete(URLEncodedString indexName, URLEncodedString typeName, String id, String routingKey);
+
+	/**
+	 * @param works The works to execute in a single request.
+	 * @return A work executing all the given works in a single {@code _bulk} request.
+	 */
+	ElasticsearchWork<?> bulk(List<BulkableElasticsearchWork> works);
+
+	/**
+	 * @param indexName The name of the index to purge.
+	 * @param query The query matching documents to delete, or {@code null} to delete all documents.
+	 * @return A work deleting all matching documents with a single {@code _delete_by_query} request,
+	 * returning the number of deleted documents.
+	 */
+	ElasticsearchWork<Long> purge(URLEncodedString indexName, JsonObject query);
 
 	ElasticsearchWork<?> flush(URLEncodedString indexName);
 
 	ElasticsearchWork<?> optimize(URLEncodedString indexName);
 
-	<T> ElasticsearchWork<SearchResult<T>> search(Set<URLEncodedString> indexNames, Set<String> routingKeys,
+	<T> ElasticsearchSearchWork<SearchResult<T>> search(Set<URLEncodedString> indexNames, Set<String> routingKeys,
 			JsonObject payload, SearchResultExtractor<T> searchResultExtractor,
 			Long offset, Long limit);
 
+	/**
+	 * @param searchWorks The search works to execute in a single request.
+	 * @return A work returning the items of the {@code _msearch} response, in the same order as the search works.
+	 */
+	ElasticsearchWork<JsonArray> multiSearch(List<ElasticsearchSearchWork<?>> searchWorks);
+
+	ElasticsearchWork<Long> count(Set<URLEncodedString> indexNames, Set<String> routingKeys, JsonObject payload);
+
 }
@@ -6,6 +6,11 @@
  */
 package org.hibernate.search.backend.elasticsearch.work.impl;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -15,9 +20,16 @@
 import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
 import org.hibernate.search.backend.elasticsearch.document.model.impl.esnative.RootTypeMapping;
 import org.hibernate.search.backend.elasticsearch.gson.impl.GsonProvider;
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonAccessor;
+import org.hibernate.search.backend.elasticsearch.gson.impl.JsonArrayAccessor;
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+import org.hibernate.search.backend.elasticsearch.logging.impl.Log;
 import org.hibernate.search.engine.search.SearchResult;
+import org.hibernate.search.util.impl.common.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 
@@ -26,10 +38,48 @@
  */
 public class StubElasticsearchWorkFactory implements ElasticsearchWorkFactory {
 
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final JsonAccessor<Long> COUNT_ACCESSOR = JsonAccessor.root().property( "count" ).asLong();
+
+	private static final JsonAccessor<Long> DELETED_ACCESSOR = JsonAccessor.root().property( "deleted" ).asLong();
+
+	private static final JsonArrayAccessor FAILURES_ACCESSOR = JsonAccessor.root().property( "failures" ).asArray();
+
+	/**
+	 * The parts of a search response that may be used when extracting results,
+	 * see {@link org.hibernate.search.backend.elasticsearch.search.query.impl.SearchResultExtractorImpl}.
+	 * Other parts (shards information, hit types, max score, ...) are filtered out by Elasticsearch.
+	 * Errors are kept so that they can still be reported.
+	 */
+	private static final List<String> SEARCH_RESPONSE_FILTER_PATHS = Collections.unmodifiableList( Arrays.asList(
+			"hits.total",
+			"hits.hits._index",
+			"hits.hits._id",
+			"hits.hits._score",
+			"hits.hits._source",
+			"hits.hits.fields",
+			"hits.hits.sort",
+			"aggregations",
+			"error",
+			"status"
+	) );
+
+	private static final String SEARCH_FILTER_PATH = String.join( ",", SEARCH_RESPONSE_FILTER_PATHS );
+
+	private static final String MULTI_SEARCH_FILTER_PATH = SEARCH_RESPONSE_FILTER_PATHS.stream()
+			.map( path -> "responses." + path )
+			.collect( Collectors.joining( "," ) );
+
+	private static final JsonArrayAccessor RESPONSES_ACCESSOR = JsonAccessor.root().property( "responses" ).asArray();
+
 	private final GsonProvider gsonProvider;
 
-	public StubElasticsearchWorkFactory(GsonProvider gsonProvider) {
+	private final int purgeSlices;
+
+	public StubElasticsearchWorkFactory(GsonProvider gsonProvider, int purgeSlices) {
 		this.gsonProvider = gsonProvider;
+		this.purgeSlices = purgeSlices;
 	}
 
 	@Override
@@ -59,47 +109,95 @@ public ElasticsearchWork<?> createIndex(URLEncodedString indexName, URLEncodedSt
 	}
 
 	@Override
-	public ElasticsearchWork<?> add(URLEncodedString indexName, URLEncodedString typeName,
+	public BulkableElasticsearchWork add(URLEncodedString indexName, URLEncodedString typeName,
 			String id, String routingKey, JsonObject document) {
-		ElasticsearchRequest.Builder builder = ElasticsearchRequest.put()
+		return index( indexName, typeName, id, routingKey, document );
+	}
+
+	@Override
+	public BulkableElasticsearchWork update(URLEncodedString indexName, URLEncodedString typeName,
+			String id, String routingKey, JsonObject document) {
+		return index( indexName, typeName, id, routingKey, document );
+	}
+
+	@Override
+	public BulkableElasticsearchWork delete(URLEncodedString indexName, URLEncodedString typeName,
+			String id, String routingKey) {
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.delete()
 				.pathComponent( indexName )
 				.pathComponent( typeName )
-				.pathComponent( URLEncodedString.fromString( id ) )
-				.body( document );
+				.pathComponent( URLEncodedString.fromString( id ) );
 		builder.param( "refresh", true );
 		if ( routingKey != null ) {
 			builder.param( "_routing", routingKey );
 		}
-		return new StubElasticsearchWork<>( builder.build() );
+		JsonObject bulkMetadata = createBulkMetadata( "delete", indexName, typeName, id, routingKey );
+		return new BulkableElasticsearchWork( builder.build(), bulkMetadata, null );
 	}
 
 	@Override
-	public ElasticsearchWork<?> update(URLEncodedString indexName, URLEncodedString typeName,
+	public ElasticsearchWork<?> bulk(List<BulkableElasticsearchWork> works) {
+		return new ElasticsearchBulkWork( gsonProvider.getGson(), works );
+	}
+
+	private BulkableElasticsearchWork index(URLEncodedString indexName, URLEncodedString typeName,
 			String id, String routingKey, JsonObject document) {
+		// Serialize immediately, so that the document tree can be garbage-collected early
+		SerializedJsonObject source = SerializedJsonObject.serialize( gsonProvider.getGson(), document );
 		ElasticsearchRequest.Builder builder = ElasticsearchRequest.put()
 				.pathComponent( indexName )
 				.pathComponent( typeName )
 				.pathComponent( URLEncodedString.fromString( id ) )
-				.body( document );
+				.body( source );
 		builder.param( "refresh", true );
 		if ( routingKey != null ) {
 			builder.param( "_routing", routingKey );
 		}
-		return new StubElasticsearchWork<>( builder.build() );
+		JsonObject bulkMetadata = createBulkMetadata( "index", indexName, typeName, id, routingKey );
+		return new BulkableElasticsearchWork( builder.build(), bulkMetadata, source );
 	}
 
-	@Override
-	public ElasticsearchWork<?> delete(URLEncodedString indexName, URLEncodedString typeName,
+	private static JsonObject createBulkMetadata(String action, URLEncodedString indexName, URLEncodedString typeName,
 			String id, String routingKey) {
-		ElasticsearchRequest.Builder builder = ElasticsearchRequest.delete()
-				.pathComponent( indexName )
-				.pathComponent( typeName )
-				.pathComponent( URLEncodedString.fromString( id ) );
-		builder.param( "refresh", true );
+		JsonObject actionMetadata = new JsonObject();
+		actionMetadata.addProperty( "_index", indexName.original );
+		actionMetadata.addProperty( "_type", typeName.original );
+		actionMetadata.addProperty( "_id", id );
 		if ( routingKey != null ) {
-			builder.param( "_routing", routingKey );
+			actionMetadata.addProperty( "_routing", routingKey );
 		}
-		return new StubElasticsearchWork<>( builder.build() );
+		JsonObject bulkMetadata = new JsonObject();
+		bulkMetadata.add( action, actionMetadata );
+		return bulkMetadata;
+	}
+
+	@Override
+	public ElasticsearchWork<Long> purge(URLEncodedString indexName, JsonObject query) {
+		JsonObject payload = new JsonObject();
+		if ( query == null ) {
+			JsonObject matchAllQuery = new JsonObject();
+			matchAllQuery.add( "match_all", new JsonObject() );
+			payload.add( "query", matchAllQuery );
+		}
+		else {
+			payload.add( "query", query );
+		}
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post()
+				.pathComponent( indexName )
+				.pathComponent( Paths._DELETE_BY_QUERY )
+				.body( payload );
+		// Documents updated concurrently will be purged by another purge, or are meant to stay in the index
+		builder.param( "conflicts", "proceed" );
+		// Each slice is processed in parallel, by a different task
+		builder.param( "slices", purgeSlices );
+		builder.param( "refresh", true );
+		return new StubElasticsearchWork<>( builder.build(), body -> {
+			JsonArray failures = FAILURES_ACCESSOR.get( body ).orElse( null );
+			if ( failures != null && failures.size() > 0 ) {
+				throw log.elasticsearchPurgeFailures( indexName.original, failures );
+			}
+			return DELETED_ACCESSOR.get( body ).orElse( 0L );
+		} );
 	}
 
 	@Override
@@ -125,23 +223,41 @@ public ElasticsearchWork<?> optimize(URLEncodedString indexName) {
 	}
 
 	@Override
-	public <T> ElasticsearchWork<SearchResult<T>> search(Set<URLEncodedString> indexNames, Set<String> routingKeys,
+	public <T> ElasticsearchSearchWork<SearchResult<T>> search(Set<URLEncodedString> indexNames, Set<String> routingKeys,
 			JsonObject payload, SearchResultExtractor<T> searchResultExtractor,
 			Long offset, Long limit) {
 		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post()
 				.multiValuedPathComponent( indexNames )
 				.pathComponent( Paths._SEARCH )
 				.body( payload );
+		builder.param( "filter_path", SEARCH_FILTER_PATH );
+
+		JsonObject multiSearchHeader = new JsonObject();
+		JsonArray multiSearchIndexNames = new JsonArray();
+		for ( URLEncodedString indexName : indexNames ) {
+			multiSearchIndexNames.add( indexName.original );
+		}
+		multiSearchHeader.add( "index", multiSearchIndexNames );
+
+		// In _msearch requests, offset and limit must be passed in the body
+		JsonObject multiSearchBody = new JsonObject();
+		for ( Map.Entry<String, JsonElement> entry : payload.entrySet() ) {
+			multiSearchBody.add( entry.getKey(), entry.getValue() );
+		}
 
 		if ( offset != null ) {
 			builder.param( "from", offset );
+			multiSearchBody.addProperty( "from", offset );
 		}
 		if ( limit != null ) {
 			builder.param( "size", limit );
+			multiSearchBody.addProperty( "size", limit );
 		}
 
 		if ( !routingKeys.isEmpty() ) {
-			builder.param( "_routing", routingKeys.stream().collect( Collectors.joining( "," ) ) );
+			String routing = routingKeys.stream().collect( Collectors.joining( "," ) );
+			builder.param( "_routing", routing );
+			multiSearchHeader.addProperty( "routing", routing );
 		}
 
 		/* TODO scroll
@@ -151,7 +267,35 @@ public <T> ElasticsearchWork<SearchResult<T>> search(Set<URLEncodedString> index
 		}
 		*/
 
-		return new StubElasticsearchWork<>( builder.build(), searchResultExtractor::extract );
+		return new ElasticsearchSearchWork<>( builder.build(), multiSearchHeader, multiSearchBody,
+				searchResultExtractor::extract );
+	}
+
+	@Override
+	public ElasticsearchWork<JsonArray> multiSearch(List<ElasticsearchSearchWork<?>> searchWorks) {
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post()
+				.pathComponent( Paths._MSEARCH );
+		builder.param( "filter_path", MULTI_SEARCH_FILTER_PATH );
+		for ( ElasticsearchSearchWork<?> searchWork : searchWorks ) {
+			builder.body( searchWork.getMultiSearchHeader() );
+			builder.body( searchWork.getMultiSearchBody() );
+		}
+		return new StubElasticsearchWork<>( builder.build(),
+				body -> RESPONSES_ACCESSOR.get( body ).orElseThrow( log::elasticsearchResponseMissingData ) );
+	}
+
+	@Override
+	public ElasticsearchWork<Long> count(Set<URLEncodedString> indexNames, Set<String> routingKeys, JsonObject payload) {
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post()
+				.multiValuedPathComponent( indexNames )
+				.pathComponent( Paths._COUNT )
+				.body( payload );
+
+		if ( !routingKeys.isEmpty() ) {
+			builder.param( "_routing", routingKeys.stream().collect( Collectors.joining( "," ) ) );
+		}
+
+		return new StubElasticsearchWork<>( builder.build(), body -> COUNT_ACCESSOR.get( body ).orElse( 0L ) );
 	}
 
 }
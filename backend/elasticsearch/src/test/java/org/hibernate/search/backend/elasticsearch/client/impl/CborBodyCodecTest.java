@@ -0,0 +1,116 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+public class CborBodyCodecTest {
+
+	private final Gson gson = new Gson();
+
+	@Test
+	public void roundTrip() throws IOException {
+		JsonObject object = new JsonObject();
+		object.addProperty( "string", "caf\u00e9 \ud83d\ude00" );
+		object.addProperty( "emptyString", "" );
+		object.addProperty( "smallInteger", 10 );
+		object.addProperty( "integer", 100_000 );
+		object.addProperty( "negativeInteger", -500 );
+		object.addProperty( "maxLong", Long.MAX_VALUE );
+		object.addProperty( "minLong", Long.MIN_VALUE );
+		object.addProperty( "double", 0.1d );
+		object.addProperty( "true", true );
+		object.addProperty( "false", false );
+		object.add( "null", JsonNull.INSTANCE );
+		JsonArray array = new JsonArray();
+		for ( int i = 0; i < 30; i++ ) {
+			array.add( "value" + i );
+		}
+		object.add( "array", array );
+		JsonObject nested = new JsonObject();
+		nested.addProperty( "foo", "bar" );
+		object.add( "object", nested );
+
+		assertThat( roundTrip( object ) ).isEqualTo( object );
+	}
+
+	@Test
+	public void roundTrip_parsedNumbers() throws IOException {
+		JsonObject object = new JsonParser().parse( "{\"integer\":42,\"decimal\":4.2,\"exponent\":1e3}" )
+				.getAsJsonObject();
+		JsonObject result = roundTrip( object );
+		assertThat( result.get( "integer" ).getAsLong() ).isEqualTo( 42L );
+		assertThat( result.get( "decimal" ).getAsDouble() ).isEqualTo( 4.2d );
+		assertThat( result.get( "exponent" ).getAsLong() ).isEqualTo( 1000L );
+	}
+
+	@Test
+	public void parse_indefiniteLength() throws IOException {
+		// {_ "a": 1, "b": [_ 2, 1.5], "c": (_ "fo" "o")}, with 1.5 as a half-precision float
+		byte[] bytes = new byte[] {
+				(byte) 0xbf,
+				0x61, 'a', 0x01,
+				0x61, 'b', (byte) 0x9f, 0x02, (byte) 0xf9, 0x3e, 0x00, (byte) 0xff,
+				0x61, 'c', 0x7f, 0x62, 'f', 'o', 0x61, 'o', (byte) 0xff,
+				(byte) 0xff
+		};
+		JsonObject result = parse( bytes );
+		assertThat( result.get( "a" ).getAsLong() ).isEqualTo( 1L );
+		assertThat( result.get( "b" ).getAsJsonArray().get( 0 ).getAsLong() ).isEqualTo( 2L );
+		assertThat( result.get( "b" ).getAsJsonArray().get( 1 ).getAsDouble() ).isEqualTo( 1.5d );
+		assertThat( result.get( "c" ).getAsString() ).isEqualTo( "foo" );
+	}
+
+	@Test
+	public void parse_json() throws IOException {
+		// Elasticsearch may send some responses as JSON regardless of the Accept header
+		JsonObject result = CborBodyCodec.INSTANCE.parse(
+				gson,
+				new ByteArrayInputStream( "{\"error\":\"foo\"}".getBytes( StandardCharsets.UTF_8 ) ),
+				ContentType.APPLICATION_JSON
+		);
+		assertThat( result.get( "error" ).getAsString() ).isEqualTo( "foo" );
+	}
+
+	@Test
+	public void toEntity_multipleParts() {
+		JsonObject object = new JsonObject();
+		object.addProperty( "foo", "bar" );
+		HttpEntity entity = CborBodyCodec.INSTANCE.toEntity( gson, Arrays.asList( object, object ) );
+		assertThat( entity.getContentType().getValue() ).startsWith( ContentType.APPLICATION_JSON.getMimeType() );
+	}
+
+	private JsonObject roundTrip(JsonObject object) throws IOException {
+		HttpEntity entity = CborBodyCodec.INSTANCE.toEntity( gson, Arrays.asList( object ) );
+		assertThat( entity.getContentType().getValue() ).isEqualTo( "application/cbor" );
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo( out );
+		return parse( out.toByteArray() );
+	}
+
+	private JsonObject parse(byte[] bytes) throws IOException {
+		return CborBodyCodec.INSTANCE.parse(
+				gson, new ByteArrayInputStream( bytes ), CborBodyCodec.INSTANCE.getContentType()
+		);
+	}
+}
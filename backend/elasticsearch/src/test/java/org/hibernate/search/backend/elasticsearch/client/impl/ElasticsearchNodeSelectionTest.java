@@ -0,0 +1,189 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.engine.metrics.spi.InMemorySearchMetrics;
+import org.hibernate.search.engine.metrics.spi.MetricSnapshot;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.util.impl.common.Closer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import org.apache.http.HttpHost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.elasticsearch.client.RestClient;
+
+public class ElasticsearchNodeSelectionTest {
+
+	private static final long SLOW_NODE_DELAY_MS = 300L;
+
+	private static final long PENALTY_DURATION_MS = 60_000L;
+
+	private final List<HttpServer> servers = new ArrayList<>();
+
+	private final InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+
+	private DefaultElasticsearchClient client;
+
+	@After
+	public void cleanup() throws IOException {
+		try ( Closer<IOException> closer = new Closer<>() ) {
+			closer.push( DefaultElasticsearchClient::close, client );
+			closer.pushAll( server -> server.shutdown( 0, TimeUnit.SECONDS ), servers );
+		}
+	}
+
+	@Test
+	public void slowNodeIsAvoided() throws IOException {
+		ElasticsearchNode fastNode = createNode( startServer( 0L ) );
+		ElasticsearchNode slowNode = createNode( startServer( SLOW_NODE_DELAY_MS ) );
+		client = createClient( fastNode, slowNode );
+
+		// Make sure connections are established, so that the first measured latencies are meaningful
+		fastNode.getRestClient().performRequest( "GET", "/" );
+		slowNode.getRestClient().performRequest( "GET", "/" );
+
+		for ( int i = 0; i < 20; i++ ) {
+			ElasticsearchResponse response = client.submit( ElasticsearchRequest.get().build() ).join();
+			assertThat( response.getStatusCode() ).isEqualTo( 200 );
+		}
+
+		// The slow node is only sampled once, then avoided
+		assertThat( slowNode.getRequestCount() ).isLessThanOrEqualTo( 2L );
+		assertThat( fastNode.getRequestCount() ).isGreaterThanOrEqualTo( 18L );
+		assertThat( slowNode.getAverageLatencyMillis() ).isGreaterThan( fastNode.getAverageLatencyMillis() );
+		assertThat( slowNode.getFailureCount() ).isEqualTo( 0L );
+
+		// Statistics are reported as metrics
+		assertThat( getNodeMetric( SearchMetricNames.NODE_REQUEST_COUNT, fastNode ) )
+				.isEqualTo( fastNode.getRequestCount() );
+		assertThat( getNodeMetric( SearchMetricNames.NODE_REQUEST_COUNT, slowNode ) )
+				.isEqualTo( slowNode.getRequestCount() );
+		assertThat( getNodeMetric( SearchMetricNames.NODE_AVERAGE_LATENCY, slowNode ) )
+				.isGreaterThan( getNodeMetric( SearchMetricNames.NODE_AVERAGE_LATENCY, fastNode ) );
+		assertThat( getNodeMetric( SearchMetricNames.NODE_IN_FLIGHT_REQUESTS, fastNode ) ).isEqualTo( 0L );
+	}
+
+	@Test
+	public void unreachableNodeIsFailedOverAndPenalized() throws IOException {
+		ElasticsearchNode healthyNode = createNode( startServer( 0L ) );
+		ElasticsearchNode unreachableNode = createNode( unusedPort() );
+		client = createClient( healthyNode, unreachableNode );
+
+		for ( int i = 0; i < 10; i++ ) {
+			ElasticsearchResponse response = client.submit( ElasticsearchRequest.get().build() ).join();
+			assertThat( response.getStatusCode() ).isEqualTo( 200 );
+		}
+
+		// The unreachable node is sampled once, then avoided until the end of the penalty
+		assertThat( unreachableNode.getRequestCount() ).isEqualTo( 1L );
+		assertThat( unreachableNode.getFailureCount() ).isEqualTo( 1L );
+		assertThat( unreachableNode.isPenalized() ).isTrue();
+		assertThat( healthyNode.getRequestCount() ).isEqualTo( 10L );
+		assertThat( healthyNode.isPenalized() ).isFalse();
+
+		// Statistics are reported as metrics
+		assertThat( getNodeMetric( SearchMetricNames.NODE_FAILURE_COUNT, unreachableNode ) ).isEqualTo( 1L );
+		assertThat( getNodeMetric( SearchMetricNames.NODE_PENALIZED, unreachableNode ) ).isEqualTo( 1L );
+		assertThat( getNodeMetric( SearchMetricNames.NODE_PENALIZED, healthyNode ) ).isEqualTo( 0L );
+	}
+
+	@Test
+	public void staleLatencyDecays() {
+		ElasticsearchNode slowNode = createNode( 9200 );
+		long start = System.nanoTime();
+		long end = start + TimeUnit.MILLISECONDS.toNanos( SLOW_NODE_DELAY_MS );
+		slowNode.recordLatency( start, end );
+
+		assertThat( slowNode.getDecayedLatencyNanos( end ) )
+				.isEqualTo( (double) TimeUnit.MILLISECONDS.toNanos( SLOW_NODE_DELAY_MS ) );
+		// The average is halved every second without a new sample
+		assertThat( slowNode.getDecayedLatencyNanos( end + TimeUnit.SECONDS.toNanos( 1 ) ) )
+				.isEqualTo( TimeUnit.MILLISECONDS.toNanos( SLOW_NODE_DELAY_MS ) / 2.0d );
+		// Eventually, the node looks fast enough to be sampled again
+		assertThat( slowNode.getDecayedLatencyNanos( end + TimeUnit.SECONDS.toNanos( 30 ) ) )
+				.isLessThan( (double) TimeUnit.MILLISECONDS.toNanos( 1 ) );
+
+		// New samples are averaged with the decayed value, not with the stale one
+		long newStart = end + TimeUnit.SECONDS.toNanos( 30 );
+		long newEnd = newStart + TimeUnit.MILLISECONDS.toNanos( 1 );
+		slowNode.recordLatency( newStart, newEnd );
+		assertThat( slowNode.getDecayedLatencyNanos( newEnd ) )
+				.isLessThan( (double) TimeUnit.MILLISECONDS.toNanos( 1 ) );
+	}
+
+	private long getNodeMetric(String nodeMetricName, ElasticsearchNode node) {
+		String metricName = SearchMetricNames.forNode( nodeMetricName, node.getHost() );
+		for ( MetricSnapshot snapshot : metrics.snapshot() ) {
+			if ( metricName.equals( snapshot.getMetricName() ) ) {
+				return snapshot.getSum();
+			}
+		}
+		fail( "No metric named " + metricName );
+		return -1L;
+	}
+
+	private int startServer(long delayMs) throws IOException {
+		HttpServer server = ServerBootstrap.bootstrap()
+				.setLocalAddress( InetAddress.getLoopbackAddress() )
+				.setListenerPort( 0 )
+				.registerHandler( "*", (request, response, context) -> {
+					try {
+						Thread.sleep( delayMs );
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					response.setStatusCode( 200 );
+					response.setEntity( new StringEntity( "{}", ContentType.APPLICATION_JSON ) );
+				} )
+				.create();
+		servers.add( server );
+		server.start();
+		return server.getLocalPort();
+	}
+
+	private static int unusedPort() throws IOException {
+		try ( ServerSocket socket = new ServerSocket( 0, 0, InetAddress.getLoopbackAddress() ) ) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static ElasticsearchNode createNode(int port) {
+		HttpHost host = new HttpHost( InetAddress.getLoopbackAddress(), port, "http" );
+		return new ElasticsearchNode( host, RestClient.builder( host ).build(), PENALTY_DURATION_MS );
+	}
+
+	private DefaultElasticsearchClient createClient(ElasticsearchNode ... nodes) {
+		return new DefaultElasticsearchClient(
+				null, null,
+				Arrays.asList( nodes ), PowerOfTwoChoicesNodeSelector.INSTANCE,
+				10, TimeUnit.SECONDS,
+				JsonBodyCodec.INSTANCE, false,
+				new ElasticsearchRequestThrottler( 10, 0, 100L, 1_000L ),
+				DefaultGsonProvider.create( GsonBuilder::new, false ),
+				metrics
+		);
+	}
+}
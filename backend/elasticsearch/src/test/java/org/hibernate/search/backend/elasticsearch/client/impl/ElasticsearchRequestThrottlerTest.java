@@ -0,0 +1,148 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.test.SubTest;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class ElasticsearchRequestThrottlerTest {
+
+	private ElasticsearchRequestThrottler throttler;
+
+	@After
+	public void closeThrottler() {
+		if ( throttler != null ) {
+			throttler.close();
+		}
+	}
+
+	@Test
+	public void retryRejections() {
+		throttler = new ElasticsearchRequestThrottler( 4, 5, 1L, 10L );
+		AtomicInteger attempts = new AtomicInteger();
+		ElasticsearchResponse response = throttler.submit( () -> {
+			if ( attempts.incrementAndGet() < 3 ) {
+				return CompletableFuture.completedFuture( new ElasticsearchResponse( 429, "Too Many Requests", null ) );
+			}
+			return CompletableFuture.completedFuture( new ElasticsearchResponse( 200, "OK", new JsonObject() ) );
+		} ).join();
+		assertThat( response.getStatusCode() ).isEqualTo( 200 );
+		assertThat( attempts.get() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void retryRejections_maxRetries() {
+		throttler = new ElasticsearchRequestThrottler( 4, 2, 1L, 10L );
+		AtomicInteger attempts = new AtomicInteger();
+		ElasticsearchResponse response = throttler.submit( () -> {
+			attempts.incrementAndGet();
+			return CompletableFuture.completedFuture( new ElasticsearchResponse( 429, "Too Many Requests", null ) );
+		} ).join();
+		// The last response is returned as is
+		assertThat( response.getStatusCode() ).isEqualTo( 429 );
+		assertThat( attempts.get() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void retry() {
+		throttler = new ElasticsearchRequestThrottler( 4, 2, 1L, 10L );
+		AtomicInteger attempts = new AtomicInteger();
+		Supplier<CompletableFuture<ElasticsearchResponse>> sender = () -> {
+			attempts.incrementAndGet();
+			return CompletableFuture.completedFuture( new ElasticsearchResponse( 200, "OK", new JsonObject() ) );
+		};
+
+		ElasticsearchResponse response = throttler.retry( sender, 0 ).join();
+		assertThat( response.getStatusCode() ).isEqualTo( 200 );
+		assertThat( attempts.get() ).isEqualTo( 1 );
+
+		// The retries of partially rejected requests count towards the maximum number of retries
+		assertThat( throttler.retry( sender, 2 ) ).isNull();
+		assertThat( attempts.get() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void close_scheduledRetry() {
+		throttler = new ElasticsearchRequestThrottler( 4, 5, 60_000L, 60_000L );
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<ElasticsearchResponse> result = throttler.submit( () -> {
+			if ( attempts.incrementAndGet() < 2 ) {
+				return CompletableFuture.completedFuture( new ElasticsearchResponse( 429, "Too Many Requests", null ) );
+			}
+			return CompletableFuture.completedFuture( new ElasticsearchResponse( 200, "OK", new JsonObject() ) );
+		} );
+
+		throttler.close();
+
+		// The result must not be left incomplete, whether or not the retry had a chance to start before closing
+		assertThat( result ).isDone();
+		if ( attempts.get() == 1 ) {
+			assertThat( result ).isCompletedExceptionally();
+			SubTest.expectException( "retry cancelled by close", result::join )
+					.assertThrown()
+					.hasCauseInstanceOf( SearchException.class )
+					.hasMessageContaining( "the Elasticsearch client was closed" );
+		}
+
+		// Retries are no longer scheduled after closing
+		assertThat( throttler.retry( () -> CompletableFuture.completedFuture( null ), 0 ) ).isNull();
+	}
+
+	@Test
+	public void concurrencyLimit() {
+		throttler = new ElasticsearchRequestThrottler( 2, 0, 1L, 10L );
+		List<CompletableFuture<ElasticsearchResponse>> pendingResponses = new ArrayList<>();
+		List<CompletableFuture<ElasticsearchResponse>> results = new ArrayList<>();
+		for ( int i = 0; i < 3; i++ ) {
+			results.add( throttler.submit( () -> {
+				CompletableFuture<ElasticsearchResponse> pendingResponse = new CompletableFuture<>();
+				pendingResponses.add( pendingResponse );
+				return pendingResponse;
+			} ) );
+		}
+		// Only two requests can be in flight at the same time
+		assertThat( pendingResponses ).hasSize( 2 );
+
+		pendingResponses.get( 0 ).complete( new ElasticsearchResponse( 200, "OK", new JsonObject() ) );
+		assertThat( results.get( 0 ) ).isCompleted();
+		assertThat( pendingResponses ).hasSize( 3 );
+	}
+
+	@Test
+	public void isRejection() {
+		assertThat( ElasticsearchRequestThrottler.isRejection(
+				new ElasticsearchResponse( 429, "Too Many Requests", null )
+		) ).isTrue();
+		assertThat( ElasticsearchRequestThrottler.isRejection(
+				new ElasticsearchResponse( 503, "Service Unavailable", new JsonParser().parse(
+						"{\"error\":{\"type\":\"es_rejected_execution_exception\"}}"
+				).getAsJsonObject() )
+		) ).isTrue();
+		assertThat( ElasticsearchRequestThrottler.isRejection(
+				new ElasticsearchResponse( 500, "Internal Server Error", new JsonParser().parse(
+						"{\"error\":\"some error\"}"
+				).getAsJsonObject() )
+		) ).isFalse();
+		assertThat( ElasticsearchRequestThrottler.isRejection(
+				new ElasticsearchResponse( 200, "OK", new JsonObject() )
+		) ).isFalse();
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpEntity;
+import org.apache.http.nio.ContentEncoder;
+
+public class GzipHttpEntityTest {
+
+	private final Gson gson = new Gson();
+
+	@Test
+	public void small() throws IOException {
+		JsonObject object = new JsonObject();
+		object.addProperty( "string", "caf\u00e9" );
+		assertRoundTrip( Arrays.asList( object ), Integer.MAX_VALUE );
+	}
+
+	@Test
+	public void flowControl() throws IOException {
+		List<JsonObject> objects = new ArrayList<>();
+		for ( int i = 0; i < 1_000; i++ ) {
+			JsonObject object = new JsonObject();
+			object.addProperty( "id", i );
+			object.addProperty( "text", "some highly compressible text, some highly compressible text " + i );
+			objects.add( object );
+		}
+		// Only accept a few bytes at a time, to force the entity to keep compressed bytes aside
+		assertRoundTrip( objects, 7 );
+	}
+
+	@Test
+	public void repeatable() throws IOException {
+		JsonObject object = new JsonObject();
+		object.addProperty( "string", "foo" );
+		GsonHttpEntity delegate = new GsonHttpEntity( gson, Arrays.asList( object ) );
+		GzipHttpEntity entity = new GzipHttpEntity( delegate );
+		byte[] expected = writeTo( delegate );
+		assertThat( decompress( produceContent( entity, 3 ) ) ).isEqualTo( expected );
+		assertThat( decompress( produceContent( entity, 3 ) ) ).isEqualTo( expected );
+	}
+
+	private void assertRoundTrip(List<JsonObject> objects, int maxBytesPerWrite) throws IOException {
+		// Non-serialized objects
+		GsonHttpEntity gsonEntity = new GsonHttpEntity( gson, objects );
+		byte[] expected = writeTo( gsonEntity );
+		assertThat( decompress( produceContent( new GzipHttpEntity( gsonEntity ), maxBytesPerWrite ) ) )
+				.isEqualTo( expected );
+		assertThat( decompress( writeTo( new GzipHttpEntity( gsonEntity ) ) ) )
+				.isEqualTo( expected );
+
+		// Serialized objects
+		List<SerializedJsonObject> serializedObjects = new ArrayList<>();
+		for ( JsonObject object : objects ) {
+			serializedObjects.add( SerializedJsonObject.serialize( gson, object ) );
+		}
+		SerializedJsonHttpEntity serializedEntity = new SerializedJsonHttpEntity( serializedObjects );
+		assertThat( decompress( produceContent( new GzipHttpEntity( serializedEntity ), maxBytesPerWrite ) ) )
+				.isEqualTo( expected );
+	}
+
+	private static byte[] writeTo(HttpEntity entity) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo( out );
+		return out.toByteArray();
+	}
+
+	private static byte[] produceContent(GzipHttpEntity entity, int maxBytesPerWrite) throws IOException {
+		LimitedContentEncoder encoder = new LimitedContentEncoder( maxBytesPerWrite );
+		int calls = 0;
+		while ( !encoder.isCompleted() ) {
+			encoder.resetLimit();
+			entity.produceContent( encoder, null );
+			assertThat( ++calls ).as( "Number of calls to produceContent()" ).isLessThan( 1_000_000 );
+		}
+		return encoder.out.toByteArray();
+	}
+
+	private static byte[] decompress(byte[] compressed) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try ( InputStream in = new GZIPInputStream( new ByteArrayInputStream( compressed ) ) ) {
+			byte[] buffer = new byte[1024];
+			int read;
+			while ( ( read = in.read( buffer ) ) >= 0 ) {
+				out.write( buffer, 0, read );
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Simulates flow control: accepts at most a given number of bytes between two calls to produceContent().
+	 */
+	private static class LimitedContentEncoder implements ContentEncoder {
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		private final int maxBytesPerCall;
+		private int remaining;
+		private boolean completed = false;
+
+		LimitedContentEncoder(int maxBytesPerCall) {
+			this.maxBytesPerCall = maxBytesPerCall;
+		}
+
+		void resetLimit() {
+			remaining = maxBytesPerCall;
+		}
+
+		@Override
+		public int write(ByteBuffer src) {
+			int length = Math.min( src.remaining(), remaining );
+			byte[] bytes = new byte[length];
+			src.get( bytes );
+			out.write( bytes, 0, length );
+			remaining -= length;
+			return length;
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return completed;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.nio.ContentEncoder;
+
+public class MetricRecordingHttpEntityTest {
+
+	private final Gson gson = new Gson();
+
+	private final List<Long> recordedValues = new ArrayList<>();
+
+	private final MetricRecorder recorder = recordedValues::add;
+
+	@Test
+	public void streamed() throws IOException {
+		MetricRecordingHttpEntity entity = new MetricRecordingHttpEntity(
+				new GzipHttpEntity( new GsonHttpEntity( gson, createObjects( 1_000 ) ) ), recorder
+		);
+		// The length is not known in advance...
+		assertThat( entity.getContentLength() ).isEqualTo( -1L );
+
+		// ... but bytes are counted as they are produced, even when flow control pushes back
+		byte[] content = produceContent( entity, 7 );
+		assertThat( recordedValues ).containsExactly( (long) content.length );
+
+		// Each production of the content is recorded
+		produceContent( entity, 1024 );
+		assertThat( recordedValues ).containsExactly( (long) content.length, (long) content.length );
+	}
+
+	@Test
+	public void writeTo() throws IOException {
+		MetricRecordingHttpEntity entity = new MetricRecordingHttpEntity(
+				new GsonHttpEntity( gson, createObjects( 1_000 ) ), recorder
+		);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo( out );
+		assertThat( recordedValues ).containsExactly( (long) out.size() );
+	}
+
+	@Test
+	public void notProducer() throws IOException {
+		byte[] bytes = new byte[10_000];
+		MetricRecordingHttpEntity entity = new MetricRecordingHttpEntity( new ByteArrayEntity( bytes ), recorder );
+		assertThat( produceContent( entity, 100 ) ).hasSize( bytes.length );
+		assertThat( recordedValues ).containsExactly( (long) bytes.length );
+	}
+
+	private static List<JsonObject> createObjects(int count) {
+		List<JsonObject> objects = new ArrayList<>();
+		for ( int i = 0; i < count; i++ ) {
+			JsonObject object = new JsonObject();
+			object.addProperty( "id", i );
+			object.addProperty( "text", "some text " + i );
+			objects.add( object );
+		}
+		return objects;
+	}
+
+	private static byte[] produceContent(MetricRecordingHttpEntity entity, int maxBytesPerWrite) throws IOException {
+		LimitedContentEncoder encoder = new LimitedContentEncoder( maxBytesPerWrite );
+		int calls = 0;
+		while ( !encoder.isCompleted() ) {
+			encoder.resetLimit();
+			entity.produceContent( encoder, null );
+			assertThat( ++calls ).as( "Number of calls to produceContent()" ).isLessThan( 1_000_000 );
+		}
+		return encoder.out.toByteArray();
+	}
+
+	/**
+	 * Simulates flow control: accepts at most a given number of bytes between two calls to produceContent().
+	 */
+	private static class LimitedContentEncoder implements ContentEncoder {
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		private final int maxBytesPerCall;
+		private int remaining;
+		private boolean completed = false;
+
+		LimitedContentEncoder(int maxBytesPerCall) {
+			this.maxBytesPerCall = maxBytesPerCall;
+		}
+
+		void resetLimit() {
+			remaining = maxBytesPerCall;
+		}
+
+		@Override
+		public int write(ByteBuffer src) {
+			int length = Math.min( src.remaining(), remaining );
+			byte[] bytes = new byte[length];
+			src.get( bytes );
+			out.write( bytes, 0, length );
+			remaining -= length;
+			return length;
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return completed;
+		}
+	}
+}
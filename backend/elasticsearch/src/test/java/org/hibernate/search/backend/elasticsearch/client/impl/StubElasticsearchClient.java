@@ -0,0 +1,72 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A client recording the requests it receives,
+ * and answering them synchronously with the responses returned by a given function.
+ * <p>
+ * Retries are executed immediately, without any backoff.
+ */
+public class StubElasticsearchClient implements ElasticsearchClient {
+
+	private final Function<ElasticsearchRequest, ElasticsearchResponse> responder;
+
+	private final int maxRetries;
+
+	private final List<ElasticsearchRequest> requests = new ArrayList<>();
+
+	public StubElasticsearchClient(Function<ElasticsearchRequest, ElasticsearchResponse> responder) {
+		this( responder, 0 );
+	}
+
+	public StubElasticsearchClient(Function<ElasticsearchRequest, ElasticsearchResponse> responder, int maxRetries) {
+		this.responder = responder;
+		this.maxRetries = maxRetries;
+	}
+
+	@Override
+	public CompletableFuture<ElasticsearchResponse> submit(ElasticsearchRequest request) {
+		synchronized ( requests ) {
+			requests.add( request );
+		}
+		try {
+			return CompletableFuture.completedFuture( responder.apply( request ) );
+		}
+		catch (RuntimeException e) {
+			CompletableFuture<ElasticsearchResponse> future = new CompletableFuture<>();
+			future.completeExceptionally( e );
+			return future;
+		}
+	}
+
+	@Override
+	public CompletableFuture<ElasticsearchResponse> retry(ElasticsearchRequest request, int retryCount) {
+		return retryCount < maxRetries ? submit( request ) : null;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> clientClass) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() {
+		// Nothing to do
+	}
+
+	public List<ElasticsearchRequest> getRequests() {
+		synchronized ( requests ) {
+			return new ArrayList<>( requests );
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.gson.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+public class SerializedJsonObjectTest {
+
+	private final Gson gson = new GsonBuilder().serializeNulls().create();
+
+	@Test
+	public void ascii() {
+		JsonObject object = new JsonObject();
+		object.addProperty( "string", "foo \"bar\"" );
+		object.addProperty( "integer", 42 );
+		object.add( "null", JsonNull.INSTANCE );
+		assertSameAsGson( object );
+	}
+
+	@Test
+	public void multiByteCharacters() {
+		JsonObject object = new JsonObject();
+		object.addProperty( "twoBytes", "caf\u00e9" );
+		object.addProperty( "threeBytes", "\u20ac \u6f22\u5b57" );
+		// U+1F600, encoded as a surrogate pair
+		object.addProperty( "fourBytes", "smile \ud83d\ude00" );
+		assertSameAsGson( object );
+	}
+
+	@Test
+	public void invalidSurrogates() {
+		JsonObject object = new JsonObject();
+		object.addProperty( "loneHigh", "a\ud83db" );
+		object.addProperty( "loneLow", "a\ude00b" );
+		object.addProperty( "highAtEnd", "a\ud83d" );
+		assertSameAsGson( object );
+	}
+
+	@Test
+	public void large() {
+		JsonObject object = new JsonObject();
+		JsonArray array = new JsonArray();
+		for ( int i = 0; i < 10_000; i++ ) {
+			array.add( "value \u00e9\u20ac " + i );
+		}
+		object.add( "array", array );
+		assertSameAsGson( object );
+		// Check that the thread-local buffer is correctly reset after a large document
+		assertSameAsGson( new JsonObject() );
+	}
+
+	@Test
+	public void toJsonObject() {
+		JsonObject object = new JsonObject();
+		object.addProperty( "string", "caf\u00e9" );
+		assertThat( SerializedJsonObject.serialize( gson, object ).toJsonObject() ).isEqualTo( object );
+	}
+
+	private void assertSameAsGson(JsonObject object) {
+		byte[] expected = gson.toJson( object ).getBytes( StandardCharsets.UTF_8 );
+		assertThat( SerializedJsonObject.serialize( gson, object ).getUtf8Bytes() ).isEqualTo( expected );
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.index.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.client.impl.StubElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.backend.elasticsearch.multitenancy.impl.NoMultiTenancyStrategyImpl;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.ElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.IndexingBackpressure;
+import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchWork;
+import org.hibernate.search.backend.elasticsearch.work.impl.StubElasticsearchWorkFactory;
+import org.hibernate.search.engine.backend.index.spi.DocumentReferenceProvider;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+public class ElasticsearchIndexWorkPlanTest {
+
+	private static final URLEncodedString INDEX_NAME = URLEncodedString.fromString( "index" );
+	private static final URLEncodedString TYPE_NAME = URLEncodedString.fromString( "type" );
+
+	private final StubElasticsearchWorkFactory factory =
+			new StubElasticsearchWorkFactory( DefaultGsonProvider.create( GsonBuilder::new, false ), 1 );
+
+	private final StubElasticsearchClient client = new StubElasticsearchClient( this::respond );
+
+	private final List<ElasticsearchWork<?>> submittedWorks = new ArrayList<>();
+
+	@Test
+	public void toBulks_maxBulkSize() {
+		ElasticsearchIndexWorkPlan workPlan = createWorkPlan( 3, Long.MAX_VALUE );
+		addDocuments( workPlan, 7 );
+		workPlan.execute().join();
+
+		assertThat( getDocumentCountPerRequest() ).containsExactly( 3, 3, 1 );
+	}
+
+	@Test
+	public void toBulks_maxBulkBytes() {
+		long documentSize = factory.add( INDEX_NAME, TYPE_NAME, "0", null, new JsonObject() ).getEstimatedSize();
+		// Room for two documents, but not three
+		ElasticsearchIndexWorkPlan workPlan = createWorkPlan( 100, 3 * documentSize - 1 );
+		addDocuments( workPlan, 5 );
+		workPlan.execute().join();
+
+		assertThat( getDocumentCountPerRequest() ).containsExactly( 2, 2, 1 );
+	}
+
+	@Test
+	public void toBulks_workLargerThanMaxBulkBytes() {
+		// Works larger than the limit must still be executed, alone in their bulk
+		ElasticsearchIndexWorkPlan workPlan = createWorkPlan( 100, 1L );
+		addDocuments( workPlan, 2 );
+		workPlan.execute().join();
+
+		assertThat( getDocumentCountPerRequest() ).containsExactly( 1, 1 );
+	}
+
+	private ElasticsearchIndexWorkPlan createWorkPlan(int maxBulkSize, long maxBulkBytes) {
+		return new ElasticsearchIndexWorkPlan( factory, new NoMultiTenancyStrategyImpl(), new RecordingOrchestrator(),
+				maxBulkSize, maxBulkBytes, new IndexingBackpressure( Long.MAX_VALUE ),
+				new ElasticsearchIndexWorkPlanMetrics( SearchMetrics.noOp(), INDEX_NAME.original ),
+				INDEX_NAME, TYPE_NAME, () -> null );
+	}
+
+	private static void addDocuments(ElasticsearchIndexWorkPlan workPlan, int count) {
+		for ( int i = 0; i < count; i++ ) {
+			workPlan.add( referenceProvider( String.valueOf( i ) ), document -> { } );
+		}
+	}
+
+	/**
+	 * Execute the submitted works and return the number of documents sent in each resulting request.
+	 */
+	private List<Integer> getDocumentCountPerRequest() {
+		for ( ElasticsearchWork<?> work : submittedWorks ) {
+			work.execute( () -> client ).join();
+		}
+		List<Integer> result = new ArrayList<>();
+		for ( ElasticsearchRequest request : client.getRequests() ) {
+			if ( request.getPath().equals( "/_bulk" ) ) {
+				// One metadata line and one source line per document
+				result.add( request.getSerializedBodyParts().size() / 2 );
+			}
+			else {
+				result.add( 1 );
+			}
+		}
+		return result;
+	}
+
+	private ElasticsearchResponse respond(ElasticsearchRequest request) {
+		JsonObject body = new JsonObject();
+		body.addProperty( "errors", false );
+		return new ElasticsearchResponse( 200, "OK", body );
+	}
+
+	private static DocumentReferenceProvider referenceProvider(String id) {
+		return new DocumentReferenceProvider() {
+			@Override
+			public String getIdentifier() {
+				return id;
+			}
+
+			@Override
+			public String getRoutingKey() {
+				return null;
+			}
+		};
+	}
+
+	private class RecordingOrchestrator implements ElasticsearchWorkOrchestrator {
+		@Override
+		public <T> CompletableFuture<T> submit(ElasticsearchWork<T> work) {
+			submittedWorks.add( work );
+			return CompletableFuture.completedFuture( null );
+		}
+
+		@Override
+		public CompletableFuture<?> submit(List<ElasticsearchWork<?>> works) {
+			submittedWorks.addAll( works );
+			return CompletableFuture.completedFuture( null );
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.orchestration.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+public class IndexingBackpressureTest {
+
+	private final IndexingBackpressure backpressure = new IndexingBackpressure( 100L );
+
+	@Test
+	public void acquire_withinBudget() {
+		backpressure.acquire( 40L, 2 );
+		backpressure.acquire( 60L, 3 );
+
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 100L );
+		assertThat( backpressure.getQueueDepth() ).isEqualTo( 5 );
+
+		backpressure.release( 40L, 2 );
+
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 60L );
+		assertThat( backpressure.getQueueDepth() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void acquire_blocksUntilRelease() throws Exception {
+		backpressure.acquire( 80L, 1 );
+
+		CompletableFuture<?> blocked = CompletableFuture.runAsync( () -> backpressure.acquire( 30L, 1 ) );
+		assertBlocked( blocked );
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 80L );
+
+		backpressure.release( 80L, 1 );
+
+		blocked.get( 10, TimeUnit.SECONDS );
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 30L );
+		assertThat( backpressure.getQueueDepth() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void acquire_largerThanBudget() throws Exception {
+		// Works larger than the budget are accepted when nothing else is in flight...
+		backpressure.acquire( 500L, 1 );
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 500L );
+
+		// ... but block everything else until they complete
+		CompletableFuture<?> blocked = CompletableFuture.runAsync( () -> backpressure.acquire( 1L, 1 ) );
+		assertBlocked( blocked );
+
+		backpressure.release( 500L, 1 );
+
+		blocked.get( 10, TimeUnit.SECONDS );
+		assertThat( backpressure.getInFlightBytes() ).isEqualTo( 1L );
+	}
+
+	private static void assertBlocked(CompletableFuture<?> future) throws Exception {
+		try {
+			future.get( 200, TimeUnit.MILLISECONDS );
+		}
+		catch (TimeoutException e) {
+			// Expected
+			return;
+		}
+		fail( "acquire() should have blocked" );
+	}
+
+}
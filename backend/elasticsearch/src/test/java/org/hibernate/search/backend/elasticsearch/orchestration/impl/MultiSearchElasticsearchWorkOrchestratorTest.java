@@ -0,0 +1,224 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.orchestration.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.client.impl.StubElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.backend.elasticsearch.work.impl.ElasticsearchSearchWork;
+import org.hibernate.search.backend.elasticsearch.work.impl.StubElasticsearchWorkFactory;
+import org.hibernate.search.engine.metrics.spi.InMemorySearchMetrics;
+import org.hibernate.search.engine.metrics.spi.MetricSnapshot;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.test.SubTest;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+public class MultiSearchElasticsearchWorkOrchestratorTest {
+
+	private static final String FAILING_INDEX = "failing";
+
+	private final StubElasticsearchClient client = new StubElasticsearchClient( this::respond );
+
+	private MultiSearchElasticsearchWorkOrchestrator orchestrator;
+
+	@After
+	public void closeOrchestrator() {
+		if ( orchestrator != null ) {
+			orchestrator.close();
+		}
+	}
+
+	@Test
+	public void window() {
+		orchestrator = createOrchestrator( 50L, 10 );
+
+		CompletableFuture<String> future1 = orchestrator.submit( search( "index1" ) );
+		CompletableFuture<String> future2 = orchestrator.submit( search( FAILING_INDEX ) );
+		CompletableFuture<String> future3 = orchestrator.submit( search( "index3" ) );
+
+		assertThat( future1.join() ).isEqualTo( "index1" );
+		assertThat( future3.join() ).isEqualTo( "index3" );
+		SubTest.expectException( "search with an error", future2::join )
+				.assertThrown()
+				.isInstanceOf( CompletionException.class )
+				.hasCauseInstanceOf( SearchException.class )
+				// The message of a CompletionException includes the message of its cause
+				.hasMessageContaining( "Elasticsearch search request failed" )
+				.hasMessageContaining( "some reason" );
+
+		List<ElasticsearchRequest> requests = client.getRequests();
+		assertThat( requests ).hasSize( 1 );
+		ElasticsearchRequest request = requests.get( 0 );
+		assertThat( request.getPath() ).isEqualTo( "/_msearch" );
+		// One header and one body per search, in the order the searches were submitted
+		assertThat( request.getBodyParts() ).hasSize( 6 );
+		assertThat( getIndexName( request.getBodyParts().get( 0 ) ) ).isEqualTo( "index1" );
+		assertThat( getIndexName( request.getBodyParts().get( 2 ) ) ).isEqualTo( FAILING_INDEX );
+		assertThat( getIndexName( request.getBodyParts().get( 4 ) ) ).isEqualTo( "index3" );
+	}
+
+	@Test
+	public void maxBatchSize() {
+		// The window is long enough that only reaching the max batch size can trigger execution
+		orchestrator = createOrchestrator( 60_000L, 2 );
+
+		CompletableFuture<String> future1 = orchestrator.submit( search( "index1" ) );
+		assertThat( future1 ).isNotDone();
+		CompletableFuture<String> future2 = orchestrator.submit( search( "index2" ) );
+
+		assertThat( future1.join() ).isEqualTo( "index1" );
+		assertThat( future2.join() ).isEqualTo( "index2" );
+		assertThat( client.getRequests() ).hasSize( 1 );
+		assertThat( client.getRequests().get( 0 ).getPath() ).isEqualTo( "/_msearch" );
+	}
+
+	@Test
+	public void singleSearch() {
+		orchestrator = createOrchestrator( 10L, 10 );
+
+		assertThat( orchestrator.submit( search( "index1" ) ).join() ).isEqualTo( "index1" );
+
+		// A single search is not worth a _msearch request
+		assertThat( client.getRequests() ).hasSize( 1 );
+		assertThat( client.getRequests().get( 0 ).getPath() ).isEqualTo( "/index1/_search" );
+	}
+
+	@Test
+	public void noWindow() {
+		orchestrator = createOrchestrator( 0L, 10 );
+
+		CompletableFuture<String> future1 = orchestrator.submit( search( "index1" ) );
+		// Executed immediately from the submitting thread
+		assertThat( client.getRequests() ).hasSize( 1 );
+		CompletableFuture<String> future2 = orchestrator.submit( search( "index2" ) );
+		assertThat( client.getRequests() ).hasSize( 2 );
+
+		assertThat( future1.join() ).isEqualTo( "index1" );
+		assertThat( future2.join() ).isEqualTo( "index2" );
+		assertThat( client.getRequests().get( 0 ).getPath() ).isEqualTo( "/index1/_search" );
+		assertThat( client.getRequests().get( 1 ).getPath() ).isEqualTo( "/index2/_search" );
+	}
+
+	@Test
+	public void queueDepth() {
+		CompletableFuture<Void> responsesAvailable = new CompletableFuture<>();
+		// Responses are only available once we say so, to observe searches in flight
+		StubElasticsearchClient slowClient = new StubElasticsearchClient( this::respond ) {
+			@Override
+			public CompletableFuture<ElasticsearchResponse> submit(ElasticsearchRequest request) {
+				CompletableFuture<ElasticsearchResponse> response = super.submit( request );
+				return responsesAvailable.thenCompose( ignored -> response );
+			}
+		};
+		InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+		orchestrator = createOrchestrator( slowClient, 60_000L, 2, metrics );
+		assertThat( getQueueDepth( metrics ) ).isEqualTo( 0L );
+
+		// Waiting for the end of the window
+		CompletableFuture<String> future1 = orchestrator.submit( search( "index1" ) );
+		assertThat( getQueueDepth( metrics ) ).isEqualTo( 1L );
+
+		// Sent to Elasticsearch, waiting for the response
+		CompletableFuture<String> future2 = orchestrator.submit( search( "index2" ) );
+		assertThat( slowClient.getRequests() ).hasSize( 1 );
+		assertThat( future1 ).isNotDone();
+		assertThat( getQueueDepth( metrics ) ).isEqualTo( 2L );
+
+		responsesAvailable.complete( null );
+		assertThat( future1.join() ).isEqualTo( "index1" );
+		assertThat( future2.join() ).isEqualTo( "index2" );
+		assertThat( getQueueDepth( metrics ) ).isEqualTo( 0L );
+	}
+
+	private MultiSearchElasticsearchWorkOrchestrator createOrchestrator(long windowMillis, int maxBatchSize) {
+		return createOrchestrator( client, windowMillis, maxBatchSize, SearchMetrics.noOp() );
+	}
+
+	private static MultiSearchElasticsearchWorkOrchestrator createOrchestrator(ElasticsearchClient client,
+			long windowMillis, int maxBatchSize, SearchMetrics metrics) {
+		StubElasticsearchWorkFactory workFactory =
+				new StubElasticsearchWorkFactory( DefaultGsonProvider.create( GsonBuilder::new, false ), 1 );
+		return new MultiSearchElasticsearchWorkOrchestrator( client, workFactory, windowMillis, maxBatchSize, metrics );
+	}
+
+	private static long getQueueDepth(InMemorySearchMetrics metrics) {
+		for ( MetricSnapshot snapshot : metrics.snapshot() ) {
+			if ( SearchMetricNames.QUERY_QUEUE_DEPTH.equals( snapshot.getMetricName() ) ) {
+				return snapshot.getSum();
+			}
+		}
+		fail( "No metric named " + SearchMetricNames.QUERY_QUEUE_DEPTH );
+		return -1L;
+	}
+
+	private static ElasticsearchSearchWork<String> search(String indexName) {
+		ElasticsearchRequest request = ElasticsearchRequest.post()
+				.pathComponent( URLEncodedString.fromString( indexName ) )
+				.pathComponent( URLEncodedString.fromString( "_search" ) )
+				.body( new JsonObject() )
+				.build();
+		JsonObject header = new JsonObject();
+		header.addProperty( "index", indexName );
+		return new ElasticsearchSearchWork<>( request, header, new JsonObject(),
+				responseBody -> responseBody.get( "index" ).getAsString() );
+	}
+
+	private static String getIndexName(JsonObject multiSearchHeader) {
+		return multiSearchHeader.get( "index" ).getAsString();
+	}
+
+	private ElasticsearchResponse respond(ElasticsearchRequest request) {
+		if ( !request.getPath().equals( "/_msearch" ) ) {
+			String indexName = request.getPath().split( "/" )[1];
+			return new ElasticsearchResponse( 200, "OK", searchResponse( indexName ) );
+		}
+
+		JsonArray responses = new JsonArray();
+		List<JsonObject> bodyParts = request.getBodyParts();
+		for ( int i = 0; i < bodyParts.size(); i += 2 ) {
+			String indexName = getIndexName( bodyParts.get( i ) );
+			if ( FAILING_INDEX.equals( indexName ) ) {
+				JsonObject error = new JsonObject();
+				error.addProperty( "type", "query_shard_exception" );
+				error.addProperty( "reason", "some reason" );
+				JsonObject response = new JsonObject();
+				response.add( "error", error );
+				response.addProperty( "status", 400 );
+				responses.add( response );
+			}
+			else {
+				responses.add( searchResponse( indexName ) );
+			}
+		}
+		JsonObject body = new JsonObject();
+		body.add( "responses", responses );
+		return new ElasticsearchResponse( 200, "OK", body );
+	}
+
+	private static JsonObject searchResponse(String indexName) {
+		JsonObject body = new JsonObject();
+		body.addProperty( "index", indexName );
+		return body;
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.search.query.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.search.backend.elasticsearch.analysis.model.impl.ElasticsearchAnalysisDefinitionRegistry;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.client.impl.StubElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.document.model.dsl.impl.ElasticsearchIndexSchemaRootNodeBuilder;
+import org.hibernate.search.backend.elasticsearch.document.model.impl.ElasticsearchIndexModel;
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.backend.elasticsearch.index.settings.impl.ElasticsearchIndexSettingsBuilder;
+import org.hibernate.search.backend.elasticsearch.multitenancy.impl.NoMultiTenancyStrategyImpl;
+import org.hibernate.search.backend.elasticsearch.orchestration.impl.StubElasticsearchWorkOrchestrator;
+import org.hibernate.search.backend.elasticsearch.search.impl.ElasticsearchSearchTargetModel;
+import org.hibernate.search.backend.elasticsearch.search.projection.impl.ElasticsearchSearchProjectionFactoryImpl;
+import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.backend.elasticsearch.work.impl.StubElasticsearchWorkFactory;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.engine.search.SearchResult;
+import org.hibernate.search.engine.search.query.spi.HitAggregator;
+import org.hibernate.search.engine.search.query.spi.ProjectionHitCollector;
+import org.hibernate.search.engine.search.query.spi.ReferenceHitCollector;
+import org.hibernate.search.engine.search.query.spi.SearchQueryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Checks the search requests sent to Elasticsearch,
+ * and the extraction of hits from responses filtered as requested.
+ */
+public class ElasticsearchSearchRequestTest {
+
+	private static final String INDEX_NAME = "indexName";
+	private static final String ELASTICSEARCH_INDEX_NAME = "index";
+	private static final String STRING_FIELD = "string";
+
+	/**
+	 * A response as filtered by Elasticsearch according to the filter_path parameter:
+	 * no shard information, no hit type, no max score.
+	 */
+	private static final String FILTERED_RESPONSE = "{'hits': {'total': 2, 'hits': ["
+			+ "{'_index': 'index', '_id': '1', '_score': 1.5, '_source': {'string': 'text1'}},"
+			+ "{'_index': 'index', '_id': '2', '_score': 0.5, '_source': {'string': 'text2'}}"
+			+ "]}}";
+
+	private final StubElasticsearchClient client = new StubElasticsearchClient(
+			request -> new ElasticsearchResponse( 200, "OK", new JsonParser().parse( FILTERED_RESPONSE ).getAsJsonObject() )
+	);
+
+	private SearchQueryFactoryImpl queryFactory;
+	private ElasticsearchSearchProjectionFactoryImpl projectionFactory;
+
+	@Before
+	public void setup() {
+		NoMultiTenancyStrategyImpl multiTenancyStrategy = new NoMultiTenancyStrategyImpl();
+		ElasticsearchIndexSchemaRootNodeBuilder schemaRootNodeBuilder =
+				new ElasticsearchIndexSchemaRootNodeBuilder( INDEX_NAME, multiTenancyStrategy );
+		schemaRootNodeBuilder.addField( STRING_FIELD ).asString().createAccessor();
+		ElasticsearchIndexModel indexModel = new ElasticsearchIndexModel(
+				INDEX_NAME, URLEncodedString.fromString( ELASTICSEARCH_INDEX_NAME ),
+				schemaRootNodeBuilder,
+				new ElasticsearchIndexSettingsBuilder( new ElasticsearchAnalysisDefinitionRegistry() )
+		);
+		ElasticsearchSearchTargetModel targetModel =
+				new ElasticsearchSearchTargetModel( Collections.singleton( indexModel ) );
+
+		SearchBackendContext backendContext = new SearchBackendContext(
+				EventContexts.fromBackendName( "backendName" ),
+				new StubElasticsearchWorkFactory( DefaultGsonProvider.create( GsonBuilder::new, false ), 1 ),
+				elasticsearchIndexName -> INDEX_NAME,
+				multiTenancyStrategy,
+				new StubElasticsearchWorkOrchestrator( client )
+		);
+		projectionFactory = new ElasticsearchSearchProjectionFactoryImpl(
+				backendContext.getSearchProjectionBackendContext(), targetModel
+		);
+		queryFactory = new SearchQueryFactoryImpl( backendContext, targetModel, projectionFactory,
+				value -> { } );
+	}
+
+	@Test
+	public void references() {
+		SearchQueryBuilder<List<Object>, ?> builder = queryFactory.asReferences(
+				() -> null, new RecordingHitAggregator<>()
+		);
+		SearchResult<List<Object>> result = execute( builder );
+
+		ElasticsearchRequest request = getSingleRequest();
+		assertThat( request.getPath() ).isEqualTo( "/index/_search" );
+		assertThat( request.getParameters().get( "filter_path" ).split( "," ) )
+				.contains( "hits.total", "hits.hits._index", "hits.hits._id", "error" )
+				.doesNotContain( "hits.max_score", "hits.hits._type", "_shards" );
+		// References only need the index name and id of each hit
+		assertThat( request.getBodyParts() ).hasSize( 1 );
+		assertThat( request.getBodyParts().get( 0 ).get( "_source" ).getAsBoolean() ).isFalse();
+
+		assertThat( result.getHitCount() ).isEqualTo( 2L );
+		assertThat( result.getHits() ).hasSize( 2 );
+		assertReference( result.getHits().get( 0 ).get( 0 ), "1" );
+		assertReference( result.getHits().get( 1 ).get( 0 ), "2" );
+	}
+
+	@Test
+	public void projections() {
+		SearchQueryBuilder<List<Object>, ?> builder = queryFactory.asProjections(
+				() -> null, new RecordingHitAggregator<>(),
+				projectionFactory.field( STRING_FIELD, String.class ).build(),
+				projectionFactory.score().build(),
+				projectionFactory.reference().build()
+		);
+		SearchResult<List<Object>> result = execute( builder );
+
+		ElasticsearchRequest request = getSingleRequest();
+		assertThat( request.getParameters().get( "filter_path" ).split( "," ) )
+				.contains( "hits.hits._source", "hits.hits._score" );
+		// Only the projected fields are requested
+		JsonObject body = request.getBodyParts().get( 0 );
+		assertThat( body.get( "_source" ).isJsonArray() ).isTrue();
+		assertThat( body.get( "_source" ).getAsJsonArray().size() ).isEqualTo( 1 );
+		assertThat( body.get( "_source" ).getAsJsonArray().get( 0 ).getAsString() ).isEqualTo( STRING_FIELD );
+
+		assertThat( result.getHits() ).hasSize( 2 );
+		List<Object> firstHit = result.getHits().get( 0 );
+		assertThat( firstHit.subList( 0, 2 ) ).containsExactly( "text1", 1.5f );
+		assertReference( firstHit.get( 2 ), "1" );
+		List<Object> secondHit = result.getHits().get( 1 );
+		assertThat( secondHit.subList( 0, 2 ) ).containsExactly( "text2", 0.5f );
+		assertReference( secondHit.get( 2 ), "2" );
+	}
+
+	private static SearchResult<List<Object>> execute(SearchQueryBuilder<List<Object>, ?> builder) {
+		SearchQuery<List<Object>> query = builder.build( q -> q );
+		return query.execute();
+	}
+
+	private ElasticsearchRequest getSingleRequest() {
+		List<ElasticsearchRequest> requests = client.getRequests();
+		assertThat( requests ).hasSize( 1 );
+		return requests.get( 0 );
+	}
+
+	private static void assertReference(Object reference, String expectedId) {
+		assertThat( reference ).isInstanceOf( DocumentReference.class );
+		assertThat( ( (DocumentReference) reference ).getIndexName() ).isEqualTo( INDEX_NAME );
+		assertThat( ( (DocumentReference) reference ).getId() ).isEqualTo( expectedId );
+	}
+
+	/**
+	 * Collects the elements of each hit in a list.
+	 */
+	private static class RecordingHitAggregator<C extends ReferenceHitCollector>
+			implements HitAggregator<C, List<List<Object>>>, ProjectionHitCollector {
+
+		private final List<List<Object>> hits = new ArrayList<>();
+
+		@Override
+		public void init(int expectedHitCount) {
+			hits.clear();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked") // This class implements all collector types
+		public C nextCollector() {
+			hits.add( new ArrayList<>() );
+			return (C) this;
+		}
+
+		@Override
+		public List<List<Object>> build() {
+			return hits;
+		}
+
+		@Override
+		public void collectProjection(Object projection) {
+			hits.get( hits.size() - 1 ).add( projection );
+		}
+
+		@Override
+		public void collectReference(DocumentReference reference) {
+			collectProjection( reference );
+		}
+
+		@Override
+		public void collectForLoading(DocumentReference reference) {
+			collectProjection( reference );
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.elasticsearch.work.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.client.impl.StubElasticsearchClient;
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.test.SubTest;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+public class ElasticsearchBulkWorkTest {
+
+	private static final URLEncodedString INDEX_NAME = URLEncodedString.fromString( "index" );
+	private static final URLEncodedString TYPE_NAME = URLEncodedString.fromString( "type" );
+
+	private final StubElasticsearchWorkFactory factory =
+			new StubElasticsearchWorkFactory( DefaultGsonProvider.create( GsonBuilder::new, false ), 1 );
+
+	@Test
+	public void success() {
+		StubElasticsearchClient client = new StubElasticsearchClient( request -> bulkResponse(
+				item( "index", "1", 201, null ),
+				// Deleting a missing document is not an error
+				item( "delete", "2", 404, null )
+		) );
+
+		createBulk( "1", "2" ).execute( () -> client ).join();
+
+		assertThat( client.getRequests() ).hasSize( 1 );
+		assertThat( client.getRequests().get( 0 ).getPath() ).isEqualTo( "/_bulk" );
+	}
+
+	@Test
+	public void itemFailure() {
+		StubElasticsearchClient client = new StubElasticsearchClient( request -> bulkResponse(
+				item( "index", "1", 201, null ),
+				item( "index", "2", 400, "mapper_parsing_exception" )
+		) );
+
+		SubTest.expectException( "bulk with a failed item", createBulk( "1", "2" ).execute( () -> client )::join )
+				.assertThrown()
+				.isInstanceOf( CompletionException.class )
+				.hasCauseInstanceOf( SearchException.class )
+				.hasMessageContaining( "failures for 1 out of 2 works" )
+				.hasMessageContaining( "mapper_parsing_exception" );
+	}
+
+	@Test
+	public void requestFailure() {
+		StubElasticsearchClient client = new StubElasticsearchClient(
+				request -> new ElasticsearchResponse( 400, "Bad Request", new JsonObject() )
+		);
+
+		SubTest.expectException( "bulk with an invalid request", createBulk( "1", "2" ).execute( () -> client )::join )
+				.assertThrown()
+				.isInstanceOf( CompletionException.class )
+				.hasCauseInstanceOf( SearchException.class )
+				.hasMessageContaining( "status 400 'Bad Request'" );
+	}
+
+	@Test
+	public void itemRejection_retryRejectedItemsOnly() {
+		AtomicInteger attempts = new AtomicInteger();
+		StubElasticsearchClient client = new StubElasticsearchClient( request -> {
+			switch ( attempts.incrementAndGet() ) {
+				case 1:
+					return bulkResponse(
+							item( "index", "1", 201, null ),
+							item( "index", "2", 429, "es_rejected_execution_exception" ),
+							item( "index", "3", 429, "es_rejected_execution_exception" )
+					);
+				case 2:
+					return bulkResponse(
+							item( "index", "2", 201, null ),
+							item( "index", "3", 429, "es_rejected_execution_exception" )
+					);
+				default:
+					return bulkResponse( item( "index", "3", 201, null ) );
+			}
+		}, 5 );
+
+		createBulk( "1", "2", "3" ).execute( () -> client ).join();
+
+		List<ElasticsearchRequest> requests = client.getRequests();
+		assertThat( requests ).hasSize( 3 );
+		// One metadata line and one source line per document
+		assertThat( requests.get( 0 ).getSerializedBodyParts() ).hasSize( 6 );
+		assertThat( requests.get( 1 ).getSerializedBodyParts() )
+				.containsExactlyElementsOf( requests.get( 0 ).getSerializedBodyParts().subList( 2, 6 ) );
+		assertThat( requests.get( 2 ).getSerializedBodyParts() )
+				.containsExactlyElementsOf( requests.get( 0 ).getSerializedBodyParts().subList( 4, 6 ) );
+	}
+
+	@Test
+	public void itemRejection_maxRetries() {
+		AtomicInteger attempts = new AtomicInteger();
+		StubElasticsearchClient client = new StubElasticsearchClient( request -> {
+			if ( attempts.incrementAndGet() == 1 ) {
+				return bulkResponse(
+						item( "index", "1", 201, null ),
+						item( "index", "2", 429, "es_rejected_execution_exception" ),
+						item( "index", "3", 400, "mapper_parsing_exception" )
+				);
+			}
+			else {
+				return bulkResponse( item( "index", "2", 429, "es_rejected_execution_exception" ) );
+			}
+		}, 2 );
+
+		ElasticsearchWork<?> bulk = createBulk( "1", "2", "3" );
+		SubTest.expectException( "bulk with items rejected too many times", bulk.execute( () -> client )::join )
+				.assertThrown()
+				.isInstanceOf( CompletionException.class )
+				.hasCauseInstanceOf( SearchException.class )
+				// The item that failed is not retried, and is reported along with the item that was rejected too many times
+				.hasMessageContaining( "failures for 2 out of 3 works" )
+				.hasMessageContaining( "mapper_parsing_exception" )
+				.hasMessageContaining( "es_rejected_execution_exception" );
+
+		// The initial request and two retries
+		List<ElasticsearchRequest> requests = client.getRequests();
+		assertThat( requests ).hasSize( 3 );
+		assertThat( requests.get( 2 ).getSerializedBodyParts() )
+				.containsExactlyElementsOf( requests.get( 0 ).getSerializedBodyParts().subList( 2, 4 ) );
+	}
+
+	private ElasticsearchWork<?> createBulk(String... ids) {
+		List<BulkableElasticsearchWork> works = new ArrayList<>();
+		for ( String id : ids ) {
+			works.add( factory.add( INDEX_NAME, TYPE_NAME, id, null, new JsonObject() ) );
+		}
+		return factory.bulk( works );
+	}
+
+	static ElasticsearchResponse bulkResponse(JsonObject... items) {
+		JsonObject body = new JsonObject();
+		JsonArray itemsArray = new JsonArray();
+		boolean errors = false;
+		for ( JsonObject item : items ) {
+			itemsArray.add( item );
+			errors = errors || item.entrySet().iterator().next().getValue().getAsJsonObject().has( "error" );
+		}
+		body.addProperty( "errors", errors );
+		body.add( "items", itemsArray );
+		return new ElasticsearchResponse( 200, "OK", body );
+	}
+
+	static JsonObject item(String action, String id, int status, String errorType) {
+		JsonObject result = new JsonObject();
+		result.addProperty( "_id", id );
+		result.addProperty( "status", status );
+		if ( errorType != null ) {
+			JsonObject error = new JsonObject();
+			error.addProperty( "type", errorType );
+			result.add( "error", error );
+		}
+		JsonObject item = new JsonObject();
+		item.add( action, result );
+		return item;
+	}
+
+}
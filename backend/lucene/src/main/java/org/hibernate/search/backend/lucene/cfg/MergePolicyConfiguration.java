@@ -0,0 +1,45 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.cfg;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public enum MergePolicyConfiguration {
+
+	/**
+	 * Merges segments of roughly equal size, regardless of the order in which they were written.
+	 */
+	TIERED("tiered"),
+
+	/**
+	 * Merges adjacent segments whose size, in bytes, fall within the same logarithmic level.
+	 */
+	LOG_BYTE_SIZE("log_byte_size");
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final String externalRepresentation;
+
+	private MergePolicyConfiguration(String externalRepresentation) {
+		this.externalRepresentation = externalRepresentation;
+	}
+
+	public static MergePolicyConfiguration fromExternalRepresentation(String mergePolicy) {
+		if ( TIERED.externalRepresentation.equals( mergePolicy ) ) {
+			return TIERED;
+		}
+		else if ( LOG_BYTE_SIZE.externalRepresentation.equals( mergePolicy ) ) {
+			return LOG_BYTE_SIZE;
+		}
+		else {
+			throw log.unknownMergePolicyConfiguration( mergePolicy );
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.cfg;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public enum ReplicationRoleConfiguration {
+
+	/**
+	 * The index is not replicated.
+	 */
+	NONE("none"),
+
+	/**
+	 * The index is written to locally, and each commit is published to the shared directory.
+	 */
+	PRIMARY("primary"),
+
+	/**
+	 * The index cannot be written to, and is kept up-to-date by copying the commits published to the shared directory.
+	 */
+	REPLICA("replica");
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final String externalRepresentation;
+
+	private ReplicationRoleConfiguration(String externalRepresentation) {
+		this.externalRepresentation = externalRepresentation;
+	}
+
+	public static ReplicationRoleConfiguration fromExternalRepresentation(String role) {
+		if ( NONE.externalRepresentation.equals( role ) ) {
+			return NONE;
+		}
+		else if ( PRIMARY.externalRepresentation.equals( role ) ) {
+			return PRIMARY;
+		}
+		else if ( REPLICA.externalRepresentation.equals( role ) ) {
+			return REPLICA;
+		}
+		else {
+			throw log.unknownReplicationRoleConfiguration( role );
+		}
+	}
+}
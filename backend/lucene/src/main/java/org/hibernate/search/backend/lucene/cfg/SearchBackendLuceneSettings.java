@@ -21,14 +21,171 @@ private SearchBackendLuceneSettings() {
 	 */
 	public static final String LUCENE_VERSION = "lucene_version";
 
+	/**
+	 * The directory provider, i.e. where and how index files are stored.
+	 * <p>
+	 * Expects one of {@code local_directory} (memory-mapped files in the root directory),
+	 * {@code local_nio_directory} (files in the root directory, accessed through NIO, for environments
+	 * where memory mapping is restricted) or {@code local_heap} (in the JVM heap, lost on shutdown,
+	 * for ephemeral or test indexes).
+	 * <p>
+	 * Can be overridden for a given index by setting {@code index.<index name>.lucene.directory_provider}.
+	 */
 	public static final String LUCENE_DIRECTORY_PROVIDER = "lucene.directory_provider";
 
 	public static final String LUCENE_ROOT_DIRECTORY = "lucene.root_directory";
 
+	/**
+	 * Whether newly flushed segments should be cached in memory,
+	 * so that near-real-time readers do not need to read them back from the filesystem.
+	 * <p>
+	 * Only useful with a filesystem-based directory provider.
+	 * Defaults to {@code false}.
+	 * Can be overridden for a given index.
+	 */
+	public static final String LUCENE_NRT_CACHING_ENABLED = "lucene.nrt_caching.enabled";
+
+	/**
+	 * The size above which flushed or merged segments bypass the NRT cache, in megabytes.
+	 * <p>
+	 * Only used when {@link #LUCENE_NRT_CACHING_ENABLED} is {@code true}.
+	 * Defaults to {@link Defaults#LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB}.
+	 */
+	public static final String LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB = "lucene.nrt_caching.max_merge_size_mb";
+
+	/**
+	 * The maximum total size of the segments kept in the NRT cache, in megabytes.
+	 * <p>
+	 * Only used when {@link #LUCENE_NRT_CACHING_ENABLED} is {@code true}.
+	 * Defaults to {@link Defaults#LUCENE_NRT_CACHING_MAX_CACHED_MB}.
+	 */
+	public static final String LUCENE_NRT_CACHING_MAX_CACHED_MB = "lucene.nrt_caching.max_cached_mb";
+
 	public static final String MULTI_TENANCY_STRATEGY = "multi_tenancy_strategy";
 
 	public static final String ANALYSIS_CONFIGURER = "analysis_configurer";
 
+	/**
+	 * The maximum number of query results to keep in the query result cache.
+	 * <p>
+	 * Entries are evicted in least-recently-used order once this size is reached,
+	 * and are automatically ignored once the indexes they were computed on change.
+	 * Defaults to {@code 0}, which disables the cache.
+	 */
+	public static final String QUERY_RESULT_CACHE_MAX_ENTRIES = "query_result_cache.max_entries";
+
+	/**
+	 * Whether the doc values of sortable and aggregable fields should be loaded
+	 * when new segments are flushed or merged, and when the index is opened,
+	 * so that the first queries after a change do not pay for page faults and lazy loading.
+	 * <p>
+	 * This is an index-level setting: set it with {@code index.<index name>.lucene.warm_up.doc_values},
+	 * or {@code index.default.lucene.warm_up.doc_values} for all indexes.
+	 * Defaults to {@code false}.
+	 */
+	public static final String WARM_UP_DOC_VALUES = "lucene.warm_up.doc_values";
+
+	/**
+	 * A reference to a {@link org.hibernate.search.backend.lucene.index.LuceneIndexWarmer}
+	 * to call on new segments before they are exposed to queries.
+	 * <p>
+	 * This is an index-level setting: set it with {@code index.<index name>.lucene.warm_up.warmer},
+	 * or {@code index.default.lucene.warm_up.warmer} for all indexes.
+	 * No warmer is used by default.
+	 */
+	public static final String WARM_UP_WARMER = "lucene.warm_up.warmer";
+
+	/**
+	 * The merge policy, i.e. how segments are selected for merging.
+	 * <p>
+	 * Expects a {@link MergePolicyConfiguration} value, in its external representation
+	 * ({@code tiered} or {@code log_byte_size}).
+	 * Defaults to {@link Defaults#MERGE_POLICY}.
+	 * <p>
+	 * This is an index-level setting, like all the {@code lucene.merge.*} settings:
+	 * set it with {@code index.<index name>.lucene.merge.policy},
+	 * or {@code index.default.lucene.merge.policy} for all indexes.
+	 */
+	public static final String MERGE_POLICY = "lucene.merge.policy";
+
+	/**
+	 * The maximum size of segments produced by background merges, in megabytes.
+	 * <p>
+	 * Defaults to the default of the selected merge policy.
+	 */
+	public static final String MERGE_MAX_MERGED_SEGMENT_MB = "lucene.merge.max_merged_segment_mb";
+
+	/**
+	 * The maximum number of threads merging segments of the index concurrently.
+	 * <p>
+	 * Defaults to a value that depends on the number of processors.
+	 */
+	public static final String MERGE_MAX_THREAD_COUNT = "lucene.merge.max_thread_count";
+
+	/**
+	 * The maximum rate at which merges write to the index while queries are being executed on it,
+	 * in megabytes per second.
+	 * <p>
+	 * Merges are not throttled when no query is being executed.
+	 * By default, merges are not throttled based on query activity.
+	 */
+	public static final String MERGE_QUERY_TIME_IO_LIMIT_MB_PER_SEC = "lucene.merge.query_time_io_limit_mb_per_sec";
+
+	/**
+	 * Whether segments should be merged when the index has not received any write for some time,
+	 * so as to keep the segment count, and thus the cost of queries, low.
+	 * <p>
+	 * Defaults to {@code false}.
+	 */
+	public static final String MERGE_IDLE_OPTIMIZER_ENABLED = "lucene.merge.idle_optimizer.enabled";
+
+	/**
+	 * How long an index must go without any write before the idle optimizer merges its segments,
+	 * in milliseconds.
+	 * <p>
+	 * Defaults to {@link Defaults#MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS}.
+	 */
+	public static final String MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS = "lucene.merge.idle_optimizer.idle_time_ms";
+
+	/**
+	 * The number of segments above which the idle optimizer merges segments,
+	 * and down to which it merges them.
+	 * <p>
+	 * Defaults to {@link Defaults#MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT}.
+	 */
+	public static final String MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT = "lucene.merge.idle_optimizer.max_segment_count";
+
+	/**
+	 * The role of the index in the replication of its segments between nodes.
+	 * <p>
+	 * Expects a {@link ReplicationRoleConfiguration} value, in its external representation
+	 * ({@code none}, {@code primary} or {@code replica}).
+	 * Defaults to {@link Defaults#REPLICATION_ROLE}.
+	 * <p>
+	 * A primary index publishes each of its commits to the shared directory;
+	 * a replica index cannot be written to, and copies the segments of new commits from the shared directory.
+	 * <p>
+	 * This is an index-level setting, like all the {@code lucene.replication.*} settings:
+	 * set it with {@code index.<index name>.lucene.replication.role},
+	 * or {@code index.default.lucene.replication.role} for all indexes.
+	 */
+	public static final String REPLICATION_ROLE = "lucene.replication.role";
+
+	/**
+	 * The root of the filesystem location shared by the primary and replicas of replicated indexes.
+	 * Each index is published to a sub-directory named after the index.
+	 * <p>
+	 * Required when {@link #REPLICATION_ROLE} is not {@code none}.
+	 */
+	public static final String REPLICATION_SHARED_DIRECTORY = "lucene.replication.shared_directory";
+
+	/**
+	 * The interval between two checks of the shared directory for new commits by replicas, in milliseconds.
+	 * <p>
+	 * Defaults to {@link Defaults#REPLICATION_REFRESH_INTERVAL_MS}.
+	 */
+	public static final String REPLICATION_REFRESH_INTERVAL_MS = "lucene.replication.refresh_interval_ms";
+
 	/**
 	 * Default values for the different settings if no values are given.
 	 */
@@ -46,5 +203,27 @@ private Defaults() {
 		public static final Version LUCENE_VERSION = Version.LATEST;
 
 		public static final MultiTenancyStrategyConfiguration MULTI_TENANCY_STRATEGY = MultiTenancyStrategyConfiguration.NONE;
+
+		public static final int QUERY_RESULT_CACHE_MAX_ENTRIES = 0;
+
+		public static final boolean LUCENE_NRT_CACHING_ENABLED = false;
+
+		public static final double LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB = 5.0;
+
+		public static final double LUCENE_NRT_CACHING_MAX_CACHED_MB = 60.0;
+
+		public static final boolean WARM_UP_DOC_VALUES = false;
+
+		public static final MergePolicyConfiguration MERGE_POLICY = MergePolicyConfiguration.TIERED;
+
+		public static final boolean MERGE_IDLE_OPTIMIZER_ENABLED = false;
+
+		public static final long MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS = 60_000L;
+
+		public static final int MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT = 5;
+
+		public static final ReplicationRoleConfiguration REPLICATION_ROLE = ReplicationRoleConfiguration.NONE;
+
+		public static final long REPLICATION_REFRESH_INTERVAL_MS = 1_000L;
 	}
 }
@@ -8,6 +8,7 @@
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
@@ -75,6 +76,10 @@ public LuceneIndexSchemaFieldNode<?> getFieldNode(String absoluteFieldPath) {
 		return fieldNodes.get( absoluteFieldPath );
 	}
 
+	public Set<String> getFieldPaths() {
+		return fieldNodes.keySet();
+	}
+
 	public LuceneIndexSchemaObjectNode getObjectNode(String absolutePath) {
 		return objectNodes.get( absolutePath );
 	}
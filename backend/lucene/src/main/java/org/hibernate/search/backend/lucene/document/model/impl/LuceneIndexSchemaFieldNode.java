@@ -10,6 +10,7 @@
 import java.util.Objects;
 
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.types.aggregation.impl.LuceneFieldAggregationFactory;
 import org.hibernate.search.backend.lucene.types.codec.impl.LuceneFieldCodec;
 import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
 import org.hibernate.search.backend.lucene.types.predicate.impl.LuceneFieldPredicateBuilderFactory;
@@ -42,10 +43,13 @@
 
 	private final LuceneFieldProjectionBuilderFactory projectionBuilderFactory;
 
+	private final LuceneFieldAggregationFactory aggregationFactory;
+
 	public LuceneIndexSchemaFieldNode(LuceneIndexSchemaObjectNode parent, String relativeFieldName,
 			LuceneFieldConverter<F, ?> converter, LuceneFieldCodec<F> codec,
 			LuceneFieldPredicateBuilderFactory predicateBuilderFactory, LuceneFieldSortContributor sortContributor,
-			LuceneFieldProjectionBuilderFactory projectionBuilderFactory) {
+			LuceneFieldProjectionBuilderFactory projectionBuilderFactory,
+			LuceneFieldAggregationFactory aggregationFactory) {
 		this.parent = parent;
 		this.relativeFieldName = relativeFieldName;
 		this.absoluteFieldPath = parent.getAbsolutePath( relativeFieldName );
@@ -54,6 +58,7 @@ public LuceneIndexSchemaFieldNode(LuceneIndexSchemaObjectNode parent, String rel
 		this.predicateBuilderFactory = predicateBuilderFactory;
 		this.sortContributor = sortContributor;
 		this.projectionBuilderFactory = projectionBuilderFactory;
+		this.aggregationFactory = aggregationFactory;
 	}
 
 	public LuceneIndexSchemaObjectNode getParent() {
@@ -97,12 +102,21 @@ public LuceneFieldProjectionBuilderFactory getProjectionBuilderFactory() {
 		return projectionBuilderFactory;
 	}
 
+	public LuceneFieldAggregationFactory getAggregationFactory() {
+		if ( aggregationFactory == null ) {
+			throw log.unsupportedDSLAggregations( getEventContext() );
+		}
+		return aggregationFactory;
+	}
+
 	public boolean isCompatibleWith(LuceneIndexSchemaFieldNode<?> other) {
 		return converter.isDslCompatibleWith( other.converter )
 				&& Objects.equals( codec, other.codec )
 				&& predicateBuilderFactory.isDslCompatibleWith( other.predicateBuilderFactory )
 				&& Objects.equals( sortContributor, other.sortContributor )
-				&& projectionBuilderFactory.isDslCompatibleWith( other.projectionBuilderFactory );
+				&& projectionBuilderFactory.isDslCompatibleWith( other.projectionBuilderFactory )
+				&& ( aggregationFactory == null ? other.aggregationFactory == null
+						: other.aggregationFactory != null && aggregationFactory.isDslCompatibleWith( other.aggregationFactory ) );
 	}
 
 	@Override
@@ -115,6 +129,7 @@ public String toString() {
 				.append( ", predicateBuilderFactory=" ).append( predicateBuilderFactory )
 				.append( ", sortContributor=" ).append( sortContributor )
 				.append( ", projectionBuilderFactory=" ).append( projectionBuilderFactory )
+				.append( ", aggregationFactory=" ).append( aggregationFactory )
 				.append( "]" );
 		return sb.toString();
 	}
@@ -26,11 +26,19 @@ public static LuceneIndexSchemaObjectNode root() {
 
 	private final ObjectFieldStorage storage;
 
+	private final String nestedDocumentPath;
+
 	public LuceneIndexSchemaObjectNode(LuceneIndexSchemaObjectNode parent, String absolutePath,
 			ObjectFieldStorage storage) {
 		this.parent = parent;
 		this.absolutePath = absolutePath;
 		this.storage = storage;
+		if ( ObjectFieldStorage.NESTED.equals( storage ) ) {
+			this.nestedDocumentPath = absolutePath;
+		}
+		else {
+			this.nestedDocumentPath = parent == null ? null : parent.nestedDocumentPath;
+		}
 	}
 
 	public LuceneIndexSchemaObjectNode getParent() {
@@ -49,6 +57,14 @@ public ObjectFieldStorage getStorage() {
 		return storage;
 	}
 
+	/**
+	 * @return The absolute path of the closest nested object containing this node, possibly this node itself,
+	 * or {@code null} if this node is stored in the main document.
+	 */
+	public String getNestedDocumentPath() {
+		return nestedDocumentPath;
+	}
+
 	@Override
 		public String toString() {
 			return getClass().getSimpleName() + "[absolutePath=" + absolutePath + ", storage=" + storage + "]";
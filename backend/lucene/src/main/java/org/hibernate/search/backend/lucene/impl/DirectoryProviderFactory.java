@@ -0,0 +1,158 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.backend.lucene.index.impl.DirectoryProvider;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+/**
+ * Creates the directory provider of the backend,
+ * and of each index that overrides the directory settings of the backend.
+ */
+class DirectoryProviderFactory {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final ConfigurationProperty<Optional<String>> DIRECTORY_PROVIDER =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER )
+					.asString()
+					.build();
+
+	private static final ConfigurationProperty<Path> ROOT_DIRECTORY =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_ROOT_DIRECTORY )
+					.as( Path.class, Paths::get )
+					.withDefault( () -> Paths.get( "." ) )
+					.build();
+
+	private static final ConfigurationProperty<Boolean> NRT_CACHING_ENABLED =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_NRT_CACHING_ENABLED )
+					.asBoolean()
+					.withDefault( SearchBackendLuceneSettings.Defaults.LUCENE_NRT_CACHING_ENABLED )
+					.build();
+
+	private static final ConfigurationProperty<Double> NRT_CACHING_MAX_MERGE_SIZE_MB =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB )
+					.as( Double.class, Double::valueOf )
+					.withDefault( SearchBackendLuceneSettings.Defaults.LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB )
+					.build();
+
+	private static final ConfigurationProperty<Double> NRT_CACHING_MAX_CACHED_MB =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_CACHED_MB )
+					.as( Double.class, Double::valueOf )
+					.withDefault( SearchBackendLuceneSettings.Defaults.LUCENE_NRT_CACHING_MAX_CACHED_MB )
+					.build();
+
+	private final EventContext backendContext;
+	private final ConfigurationPropertySource backendPropertySource;
+	private final DirectoryProvider backendDirectoryProvider;
+
+	DirectoryProviderFactory(EventContext backendContext, ConfigurationPropertySource backendPropertySource) {
+		this.backendContext = backendContext;
+		this.backendPropertySource = backendPropertySource;
+		// Fail fast if the backend settings are invalid, even if all indexes override them
+		this.backendDirectoryProvider = create( backendContext, backendPropertySource );
+	}
+
+	@Override
+	public String toString() {
+		return backendDirectoryProvider.toString();
+	}
+
+	/**
+	 * @param indexName The name of the index.
+	 * @param indexPropertySource The configuration of the index,
+	 * which may override the directory settings of the backend.
+	 * @return The directory provider to use for the given index.
+	 */
+	DirectoryProvider createForIndex(String indexName, ConfigurationPropertySource indexPropertySource) {
+		if ( !overridesDirectorySettings( indexPropertySource ) ) {
+			return backendDirectoryProvider;
+		}
+		EventContext indexContext = backendContext.append( EventContexts.fromIndexName( indexName ) );
+		return create( indexContext, indexPropertySource.withFallback( backendPropertySource ) );
+	}
+
+	private static boolean overridesDirectorySettings(ConfigurationPropertySource indexPropertySource) {
+		for ( String key : new String[] {
+				SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER,
+				SearchBackendLuceneSettings.LUCENE_ROOT_DIRECTORY,
+				SearchBackendLuceneSettings.LUCENE_NRT_CACHING_ENABLED,
+				SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB,
+				SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_CACHED_MB
+		} ) {
+			if ( indexPropertySource.get( key ).isPresent() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static DirectoryProvider create(EventContext eventContext, ConfigurationPropertySource propertySource) {
+		DirectoryProvider directoryProvider = createUncached( eventContext, propertySource );
+		if ( NRT_CACHING_ENABLED.get( propertySource ) ) {
+			directoryProvider = new NRTCachingDirectoryProvider(
+					directoryProvider,
+					NRT_CACHING_MAX_MERGE_SIZE_MB.get( propertySource ),
+					NRT_CACHING_MAX_CACHED_MB.get( propertySource )
+			);
+		}
+		return directoryProvider;
+	}
+
+	private static DirectoryProvider createUncached(EventContext eventContext, ConfigurationPropertySource propertySource) {
+		// TODO be more clever about the type, also supports providing a class
+		Optional<String> directoryProviderProperty = DIRECTORY_PROVIDER.get( propertySource );
+
+		if ( !directoryProviderProperty.isPresent() ) {
+			throw log.undefinedLuceneDirectoryProvider( eventContext );
+		}
+
+		String directoryProviderString = directoryProviderProperty.get();
+
+		switch ( directoryProviderString ) {
+			case "local_directory":
+				// TODO GSM: implement the checks properly
+				return new MMapDirectoryProvider( eventContext, initializeRootDirectory( eventContext, propertySource ) );
+			case "local_nio_directory":
+				return new NIOFSDirectoryProvider( eventContext, initializeRootDirectory( eventContext, propertySource ) );
+			case "local_heap":
+				return new LocalHeapDirectoryProvider();
+			default:
+				throw log.unrecognizedLuceneDirectoryProvider( directoryProviderString, eventContext );
+		}
+	}
+
+	private static Path initializeRootDirectory(EventContext eventContext, ConfigurationPropertySource propertySource) {
+		Path rootDirectory = ROOT_DIRECTORY.get( propertySource ).toAbsolutePath();
+		if ( Files.exists( rootDirectory ) ) {
+			if ( !Files.isDirectory( rootDirectory ) || !Files.isWritable( rootDirectory ) ) {
+				throw log.localDirectoryBackendRootDirectoryNotWritableDirectory( rootDirectory, eventContext );
+			}
+		}
+		else {
+			try {
+				Files.createDirectories( rootDirectory );
+			}
+			catch (Exception e) {
+				throw log.unableToCreateRootDirectoryForLocalDirectoryBackend( rootDirectory, eventContext, e );
+			}
+		}
+		return rootDirectory;
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.impl;
+
+import org.hibernate.search.backend.lucene.index.impl.DirectoryProvider;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+
+/**
+ * A directory provider storing indexes in the JVM heap.
+ * <p>
+ * Indexes are lost when the index manager is closed,
+ * so this is only suitable for ephemeral or test indexes.
+ */
+class LocalHeapDirectoryProvider implements DirectoryProvider {
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+
+	@Override
+	public Directory createDirectory(String indexName) {
+		return new RAMDirectory();
+	}
+}
@@ -7,9 +7,6 @@
 package org.hibernate.search.backend.lucene.impl;
 
 import java.lang.invoke.MethodHandles;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Optional;
@@ -20,11 +17,11 @@
 import org.hibernate.search.backend.lucene.analysis.model.impl.LuceneAnalysisDefinitionRegistry;
 import org.hibernate.search.backend.lucene.cfg.MultiTenancyStrategyConfiguration;
 import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
-import org.hibernate.search.backend.lucene.index.impl.DirectoryProvider;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.backend.lucene.multitenancy.impl.DiscriminatorMultiTenancyStrategyImpl;
 import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.lucene.multitenancy.impl.NoMultiTenancyStrategyImpl;
+import org.hibernate.search.backend.lucene.search.query.impl.LuceneQueryResultCache;
 import org.hibernate.search.backend.lucene.work.impl.StubLuceneWorkFactory;
 import org.hibernate.search.engine.backend.spi.BackendImplementor;
 import org.hibernate.search.engine.backend.spi.BackendFactory;
@@ -52,23 +49,18 @@ public class LuceneBackendFactory implements BackendFactory {
 					.as( Version.class, LuceneBackendFactory::parseLuceneVersion )
 					.build();
 
-	private static final ConfigurationProperty<Optional<String>> DIRECTORY_PROVIDER =
-			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER )
-					.asString()
-					.build();
-
-	private static final ConfigurationProperty<Path> ROOT_DIRECTORY =
-			ConfigurationProperty.forKey( SearchBackendLuceneSettings.LUCENE_ROOT_DIRECTORY )
-					.as( Path.class, Paths::get )
-					.withDefault( () -> Paths.get( "." ) )
-					.build();
-
 	private static final ConfigurationProperty<MultiTenancyStrategyConfiguration> MULTI_TENANCY_STRATEGY =
 			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MULTI_TENANCY_STRATEGY )
 					.as( MultiTenancyStrategyConfiguration.class, MultiTenancyStrategyConfiguration::fromExternalRepresentation )
 					.withDefault( SearchBackendLuceneSettings.Defaults.MULTI_TENANCY_STRATEGY )
 					.build();
 
+	private static final ConfigurationProperty<Integer> QUERY_RESULT_CACHE_MAX_ENTRIES =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.QUERY_RESULT_CACHE_MAX_ENTRIES )
+					.asInteger()
+					.withDefault( SearchBackendLuceneSettings.Defaults.QUERY_RESULT_CACHE_MAX_ENTRIES )
+					.build();
+
 	@Override
 	public BackendImplementor<?> create(String name, BackendBuildContext buildContext,
 			ConfigurationPropertySource propertySource) {
@@ -76,7 +68,7 @@ public BackendImplementor<?> create(String name, BackendBuildContext buildContex
 
 		Version luceneVersion = getLuceneVersion( backendContext, propertySource );
 
-		DirectoryProvider directoryProvider = getDirectoryProvider( backendContext, propertySource );
+		DirectoryProviderFactory directoryProviderFactory = new DirectoryProviderFactory( backendContext, propertySource );
 
 		MultiTenancyStrategy multiTenancyStrategy = getMultiTenancyStrategy( backendContext, propertySource );
 
@@ -86,10 +78,12 @@ public BackendImplementor<?> create(String name, BackendBuildContext buildContex
 
 		return new LuceneBackendImpl(
 				name,
-				directoryProvider,
+				directoryProviderFactory,
 				new StubLuceneWorkFactory( multiTenancyStrategy ),
 				analysisDefinitionRegistry,
-				multiTenancyStrategy
+				multiTenancyStrategy,
+				LuceneQueryResultCache.create( QUERY_RESULT_CACHE_MAX_ENTRIES.get( propertySource ) ),
+				buildContext.getServiceManager().getMetrics()
 		);
 	}
 
@@ -110,27 +104,6 @@ private Version getLuceneVersion(EventContext backendContext, ConfigurationPrope
 		return luceneVersion;
 	}
 
-	private DirectoryProvider getDirectoryProvider(EventContext backendContext, ConfigurationPropertySource propertySource) {
-		// TODO be more clever about the type, also supports providing a class
-		Optional<String> directoryProviderProperty = DIRECTORY_PROVIDER.get( propertySource );
-
-		if ( !directoryProviderProperty.isPresent() ) {
-			throw log.undefinedLuceneDirectoryProvider( backendContext );
-		}
-
-		String directoryProviderString = directoryProviderProperty.get();
-
-		if ( "local_directory".equals( directoryProviderString ) ) {
-			// TODO GSM: implement the checks properly
-			Path rootDirectory = ROOT_DIRECTORY.get( propertySource ).toAbsolutePath();
-
-			initializeRootDirectory( rootDirectory, backendContext );
-			return new MMapDirectoryProvider( backendContext, rootDirectory );
-		}
-
-		throw log.unrecognizedLuceneDirectoryProvider( directoryProviderString, backendContext );
-	}
-
 	private MultiTenancyStrategy getMultiTenancyStrategy(EventContext backendContext, ConfigurationPropertySource propertySource) {
 		MultiTenancyStrategyConfiguration multiTenancyStrategyConfiguration = MULTI_TENANCY_STRATEGY.get( propertySource );
 
@@ -182,22 +155,6 @@ private LuceneAnalysisDefinitionRegistry getAnalysisDefinitionRegistry(EventCont
 		}
 	}
 
-	private void initializeRootDirectory(Path rootDirectory, EventContext eventContext) {
-		if ( Files.exists( rootDirectory ) ) {
-			if ( !Files.isDirectory( rootDirectory ) || !Files.isWritable( rootDirectory ) ) {
-				throw log.localDirectoryBackendRootDirectoryNotWritableDirectory( rootDirectory, eventContext );
-			}
-		}
-		else {
-			try {
-				Files.createDirectories( rootDirectory );
-			}
-			catch (Exception e) {
-				throw log.unableToCreateRootDirectoryForLocalDirectoryBackend( rootDirectory, eventContext, e );
-			}
-		}
-	}
-
 	private static Version parseLuceneVersion(String versionString) {
 		try {
 			return Version.parseLeniently( versionString );
@@ -7,10 +7,12 @@
 package org.hibernate.search.backend.lucene.impl;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Optional;
 
 import org.hibernate.search.backend.lucene.analysis.model.impl.LuceneAnalysisDefinitionRegistry;
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
 import org.hibernate.search.backend.lucene.document.model.dsl.impl.LuceneIndexSchemaRootNodeBuilder;
-import org.hibernate.search.backend.lucene.index.impl.DirectoryProvider;
+import org.hibernate.search.backend.lucene.index.LuceneIndexWarmer;
 import org.hibernate.search.engine.backend.Backend;
 import org.hibernate.search.engine.backend.index.spi.IndexManagerBuilder;
 import org.hibernate.search.backend.lucene.LuceneBackend;
@@ -21,13 +23,19 @@
 import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.lucene.orchestration.impl.LuceneQueryWorkOrchestrator;
 import org.hibernate.search.backend.lucene.orchestration.impl.StubLuceneQueryWorkOrchestrator;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
+import org.hibernate.search.backend.lucene.search.query.impl.LuceneQueryResultCache;
 import org.hibernate.search.backend.lucene.search.query.impl.SearchBackendContext;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
 import org.hibernate.search.engine.backend.spi.BackendImplementor;
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
+import org.hibernate.search.engine.environment.bean.BeanProvider;
 import org.hibernate.search.engine.backend.spi.BackendBuildContext;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.impl.common.Closer;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -38,9 +46,15 @@ public class LuceneBackendImpl implements BackendImplementor<LuceneRootDocumentB
 
 	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
 
+	private static final ConfigurationProperty<Boolean> WARM_UP_DOC_VALUES =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.WARM_UP_DOC_VALUES )
+					.asBoolean()
+					.withDefault( SearchBackendLuceneSettings.Defaults.WARM_UP_DOC_VALUES )
+					.build();
+
 	private final String name;
 
-	private final DirectoryProvider directoryProvider;
+	private final DirectoryProviderFactory directoryProviderFactory;
 
 	private final LuceneAnalysisDefinitionRegistry analysisDefinitionRegistry;
 
@@ -49,26 +63,33 @@ public class LuceneBackendImpl implements BackendImplementor<LuceneRootDocumentB
 
 	private final EventContext eventContext;
 	private final IndexingBackendContext indexingContext;
+	private final LuceneBlockJoinFilters blockJoinFilters;
 	private final SearchBackendContext searchContext;
 
-	LuceneBackendImpl(String name, DirectoryProvider directoryProvider, LuceneWorkFactory workFactory,
+	LuceneBackendImpl(String name, DirectoryProviderFactory directoryProviderFactory, LuceneWorkFactory workFactory,
 			LuceneAnalysisDefinitionRegistry analysisDefinitionRegistry,
-			MultiTenancyStrategy multiTenancyStrategy) {
+			MultiTenancyStrategy multiTenancyStrategy,
+			LuceneQueryResultCache queryResultCache,
+			SearchMetrics metrics) {
 		this.name = name;
-		this.directoryProvider = directoryProvider;
+		this.directoryProviderFactory = directoryProviderFactory;
 
 		this.analysisDefinitionRegistry = analysisDefinitionRegistry;
 
-		this.queryOrchestrator = new StubLuceneQueryWorkOrchestrator();
+		this.queryOrchestrator = new StubLuceneQueryWorkOrchestrator( metrics );
+		if ( queryResultCache.isEnabled() ) {
+			metrics.gauge( SearchMetricNames.QUERY_RESULT_CACHE_HITS, null, queryResultCache::getHitCount );
+			metrics.gauge( SearchMetricNames.QUERY_RESULT_CACHE_MISSES, null, queryResultCache::getMissCount );
+		}
 		this.multiTenancyStrategy = multiTenancyStrategy;
 
 		this.eventContext = EventContexts.fromBackendName( name );
 		this.indexingContext = new IndexingBackendContext(
-				eventContext, directoryProvider,
-				workFactory, multiTenancyStrategy
+				eventContext, workFactory, multiTenancyStrategy, metrics
 		);
+		this.blockJoinFilters = new LuceneBlockJoinFilters();
 		this.searchContext = new SearchBackendContext(
-				eventContext, workFactory, multiTenancyStrategy, queryOrchestrator
+				eventContext, workFactory, multiTenancyStrategy, queryResultCache, blockJoinFilters, queryOrchestrator
 		);
 	}
 
@@ -107,14 +128,28 @@ public IndexManagerBuilder<LuceneRootDocumentBuilder> createIndexManagerBuilder(
 		 */
 		return new LuceneIndexManagerBuilder(
 				indexingContext, searchContext,
-				indexName, indexSchemaRootNodeBuilder
+				indexName, indexSchemaRootNodeBuilder,
+				directoryProviderFactory.createForIndex( indexName, propertySource ),
+				WARM_UP_DOC_VALUES.get( propertySource ),
+				getIndexWarmer( context, propertySource ),
+				propertySource
 		);
 	}
 
+	private LuceneIndexWarmer getIndexWarmer(BackendBuildContext context, ConfigurationPropertySource propertySource) {
+		BeanProvider beanProvider = context.getServiceManager().getBeanProvider();
+		ConfigurationProperty<Optional<LuceneIndexWarmer>> warmerProperty =
+				ConfigurationProperty.forKey( SearchBackendLuceneSettings.WARM_UP_WARMER )
+						.as( LuceneIndexWarmer.class, reference -> beanProvider.getBean( reference, LuceneIndexWarmer.class ) )
+						.build();
+		return warmerProperty.get( propertySource ).orElse( null );
+	}
+
 	@Override
 	public void close() {
 		try ( Closer<RuntimeException> closer = new Closer<>() ) {
 			closer.push( LuceneQueryWorkOrchestrator::close, queryOrchestrator );
+			closer.push( LuceneBlockJoinFilters::close, blockJoinFilters );
 		}
 	}
 
@@ -123,7 +158,7 @@ public String toString() {
 		return new StringBuilder( getClass().getSimpleName() )
 				.append( "[" )
 				.append( "name=" ).append( name ).append( ", " )
-				.append( "directoryProvider=" ).append( directoryProvider )
+				.append( "directoryProvider=" ).append( directoryProviderFactory )
 				.append( "]" )
 				.toString();
 	}
@@ -0,0 +1,31 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.hibernate.search.util.EventContext;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.NIOFSDirectory;
+
+/**
+ * A filesystem directory provider that does not rely on memory mapping,
+ * for environments where virtual address space or mmap calls are restricted.
+ */
+class NIOFSDirectoryProvider extends AbstractLocalDirectoryProvider {
+
+	NIOFSDirectoryProvider(EventContext backendContext, Path rootDirectory) {
+		super( backendContext, rootDirectory );
+	}
+
+	@Override
+	protected Directory createDirectory(Path directoryPath) throws IOException {
+		return new NIOFSDirectory( directoryPath );
+	}
+}
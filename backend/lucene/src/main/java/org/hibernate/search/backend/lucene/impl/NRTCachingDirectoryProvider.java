@@ -0,0 +1,49 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.impl;
+
+import java.io.IOException;
+
+import org.hibernate.search.backend.lucene.index.impl.DirectoryProvider;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.NRTCachingDirectory;
+
+/**
+ * A directory provider wrapping the directories of another provider
+ * in order to keep small, freshly flushed segments in memory.
+ * <p>
+ * This saves small file writes and fsyncs when near-real-time readers are opened frequently;
+ * cached files are written to the underlying directory when they are merged or committed.
+ */
+class NRTCachingDirectoryProvider implements DirectoryProvider {
+
+	private final DirectoryProvider delegate;
+	private final double maxMergeSizeMB;
+	private final double maxCachedMB;
+
+	NRTCachingDirectoryProvider(DirectoryProvider delegate, double maxMergeSizeMB, double maxCachedMB) {
+		this.delegate = delegate;
+		this.maxMergeSizeMB = maxMergeSizeMB;
+		this.maxCachedMB = maxCachedMB;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() +
+				"[" +
+				"delegate=" + delegate +
+				", maxMergeSizeMB=" + maxMergeSizeMB +
+				", maxCachedMB=" + maxCachedMB +
+				"]";
+	}
+
+	@Override
+	public Directory createDirectory(String indexName) throws IOException {
+		return new NRTCachingDirectory( delegate.createDirectory( indexName ), maxMergeSizeMB, maxCachedMB );
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index;
+
+import java.io.IOException;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+
+import org.apache.lucene.search.IndexSearcher;
+
+/**
+ * A warmer for new segments of a Lucene index,
+ * called before the segments are exposed to queries.
+ * <p>
+ * Typically used to run a few representative queries,
+ * so that the first user queries after a change do not pay for page faults and lazy loading.
+ * <p>
+ * Users can select a warmer through the
+ * {@link SearchBackendLuceneSettings#WARM_UP_WARMER configuration properties}.
+ */
+public interface LuceneIndexWarmer {
+
+	/**
+	 * @param indexName The name of the index the new segment belongs to.
+	 * @param segmentSearcher A searcher on the new segment only.
+	 * @throws IOException If the warm-up failed. The segment will still be exposed to queries.
+	 */
+	void warm(String indexName, IndexSearcher segmentSearcher) throws IOException;
+
+}
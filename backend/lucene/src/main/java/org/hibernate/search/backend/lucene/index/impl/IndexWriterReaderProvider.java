@@ -0,0 +1,67 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+
+/**
+ * Provides near-real-time readers opened from the index writer,
+ * which include the changes that have not been committed yet.
+ */
+class IndexWriterReaderProvider implements ReaderProvider {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final EventContext eventContext;
+	private final IndexWriter indexWriter;
+	private final LuceneIndexMergeManager mergeManager;
+	private final LuceneIndexReaderWarmer readerWarmer;
+
+	IndexWriterReaderProvider(EventContext eventContext, IndexWriter indexWriter,
+			LuceneIndexMergeManager mergeManager, LuceneIndexReaderWarmer readerWarmer) {
+		this.eventContext = eventContext;
+		this.indexWriter = indexWriter;
+		this.mergeManager = mergeManager;
+		this.readerWarmer = readerWarmer;
+	}
+
+	@Override
+	public IndexReader openIndexReader() {
+		try {
+			DirectoryReader reader = DirectoryReader.open( indexWriter );
+			if ( readerWarmer != null ) {
+				readerWarmer.warmNewSegments( reader );
+			}
+			mergeManager.onReaderOpened( reader );
+			return reader;
+		}
+		catch (IOException e) {
+			throw log.unableToCreateIndexReader( eventContext, e );
+		}
+	}
+
+	@Override
+	public void closeIndexReader(IndexReader reader) {
+		mergeManager.onReaderClosed();
+		try {
+			reader.close();
+		}
+		catch (IOException e) {
+			log.unableToCloseIndexReader( eventContext, e );
+		}
+	}
+}
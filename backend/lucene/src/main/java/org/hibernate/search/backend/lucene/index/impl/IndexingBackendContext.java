@@ -6,33 +6,31 @@
  */
 package org.hibernate.search.backend.lucene.index.impl;
 
-import java.io.IOException;
-
 import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
 import org.hibernate.search.backend.lucene.document.impl.LuceneRootDocumentBuilder;
 import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.lucene.orchestration.impl.LuceneIndexWorkOrchestrator;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.EventContext;
 
-import org.apache.lucene.store.Directory;
-
 public class IndexingBackendContext {
 	private final EventContext eventContext;
 
-	private final DirectoryProvider directoryProvider;
 	private final LuceneWorkFactory workFactory;
 	private final MultiTenancyStrategy multiTenancyStrategy;
+	private final SearchMetrics metrics;
 
 	public IndexingBackendContext(EventContext eventContext,
-			DirectoryProvider directoryProvider,
 			LuceneWorkFactory workFactory,
-			MultiTenancyStrategy multiTenancyStrategy) {
+			MultiTenancyStrategy multiTenancyStrategy,
+			SearchMetrics metrics) {
 		this.eventContext = eventContext;
-		this.directoryProvider = directoryProvider;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 		this.workFactory = workFactory;
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -44,16 +42,16 @@ EventContext getEventContext() {
 		return eventContext;
 	}
 
-	Directory createDirectory(String indexName) throws IOException {
-		return directoryProvider.createDirectory( indexName );
+	SearchMetrics getMetrics() {
+		return metrics;
 	}
 
 	IndexWorkPlan<LuceneRootDocumentBuilder> createWorkPlan(
-			LuceneIndexWorkOrchestrator orchestrator,
+			LuceneIndexWorkOrchestrator orchestrator, MetricRecorder documentBuildTimeRecorder,
 			String indexName, SessionContext sessionContext) {
 		multiTenancyStrategy.checkTenantId( sessionContext.getTenantIdentifier(), eventContext );
 
-		return new LuceneIndexWorkPlan( workFactory, multiTenancyStrategy, orchestrator,
+		return new LuceneIndexWorkPlan( workFactory, multiTenancyStrategy, orchestrator, documentBuildTimeRecorder,
 				indexName, sessionContext );
 	}
 }
@@ -8,16 +8,27 @@
 
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Optional;
 
 import org.hibernate.search.engine.backend.document.model.dsl.spi.IndexSchemaRootNodeBuilder;
 import org.hibernate.search.engine.backend.index.spi.IndexManagerBuilder;
 import org.hibernate.search.backend.lucene.document.impl.LuceneRootDocumentBuilder;
 import org.hibernate.search.backend.lucene.document.model.dsl.impl.LuceneIndexSchemaRootNodeBuilder;
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexModel;
+import org.hibernate.search.backend.lucene.cfg.ReplicationRoleConfiguration;
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.backend.lucene.index.LuceneIndexWarmer;
+import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.backend.lucene.search.query.impl.SearchBackendContext;
+import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 import org.hibernate.search.util.impl.common.SuppressingCloser;
 
@@ -32,20 +43,48 @@ public class LuceneIndexManagerBuilder implements IndexManagerBuilder<LuceneRoot
 
 	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
 
+	private static final ConfigurationProperty<ReplicationRoleConfiguration> REPLICATION_ROLE =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.REPLICATION_ROLE )
+					.as( ReplicationRoleConfiguration.class, ReplicationRoleConfiguration::fromExternalRepresentation )
+					.withDefault( SearchBackendLuceneSettings.Defaults.REPLICATION_ROLE )
+					.build();
+
+	private static final ConfigurationProperty<Optional<Path>> REPLICATION_SHARED_DIRECTORY =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.REPLICATION_SHARED_DIRECTORY )
+					.as( Path.class, Paths::get )
+					.build();
+
+	private static final ConfigurationProperty<Long> REPLICATION_REFRESH_INTERVAL_MS =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.REPLICATION_REFRESH_INTERVAL_MS )
+					.asLong()
+					.withDefault( SearchBackendLuceneSettings.Defaults.REPLICATION_REFRESH_INTERVAL_MS )
+					.build();
+
 	private final IndexingBackendContext indexingBackendContext;
 	private final SearchBackendContext searchBackendContext;
 
 	private final String indexName;
 	private final LuceneIndexSchemaRootNodeBuilder schemaRootNodeBuilder;
+	private final DirectoryProvider directoryProvider;
+	private final boolean warmUpDocValues;
+	private final LuceneIndexWarmer warmer;
+	private final ConfigurationPropertySource propertySource;
 
 	public LuceneIndexManagerBuilder(IndexingBackendContext indexingBackendContext,
 			SearchBackendContext searchBackendContext,
 			String indexName,
-			LuceneIndexSchemaRootNodeBuilder indexSchemaRootNodeBuilder) {
+			LuceneIndexSchemaRootNodeBuilder indexSchemaRootNodeBuilder,
+			DirectoryProvider directoryProvider,
+			boolean warmUpDocValues, LuceneIndexWarmer warmer,
+			ConfigurationPropertySource propertySource) {
 		this.indexingBackendContext = indexingBackendContext;
 		this.searchBackendContext = searchBackendContext;
 		this.indexName = indexName;
 		this.schemaRootNodeBuilder = indexSchemaRootNodeBuilder;
+		this.directoryProvider = directoryProvider;
+		this.warmUpDocValues = warmUpDocValues;
+		this.warmer = warmer;
+		this.propertySource = propertySource;
 	}
 
 	@Override
@@ -60,34 +99,101 @@ public IndexSchemaRootNodeBuilder getSchemaRootNodeBuilder() {
 
 	@Override
 	public LuceneIndexManagerImpl build() {
+		ReplicationRoleConfiguration replicationRole = REPLICATION_ROLE.get( propertySource );
+		Path sharedDirectoryRoot = null;
+		if ( !ReplicationRoleConfiguration.NONE.equals( replicationRole ) ) {
+			sharedDirectoryRoot = REPLICATION_SHARED_DIRECTORY.get( propertySource )
+					.orElseThrow( () -> log.undefinedReplicationSharedDirectory( getEventContext() ) );
+		}
+
 		LuceneIndexModel model = null;
+		Directory directory = null;
+		LuceneIndexMergeManager mergeManager = null;
+		LuceneIndexPublisher publisher = null;
+		LuceneIndexReplica replica = null;
 		IndexWriter indexWriter = null;
 		try {
 			model = new LuceneIndexModel( indexName, schemaRootNodeBuilder );
-			indexWriter = createIndexWriter( model );
-			return new LuceneIndexManagerImpl(
-					indexingBackendContext, searchBackendContext, indexName, model, indexWriter
+			directory = createDirectory();
+			LuceneIndexReaderWarmer readerWarmer = createReaderWarmer( model );
+
+			if ( ReplicationRoleConfiguration.REPLICA.equals( replicationRole ) ) {
+				replica = LuceneIndexReplica.create(
+						getEventContext(), indexName, directory, sharedDirectoryRoot,
+						REPLICATION_REFRESH_INTERVAL_MS.get( propertySource ), readerWarmer,
+						indexingBackendContext.getMetrics().recorder( SearchMetricNames.REFRESH_DURATION, indexName )
+				);
+				// Existing segments are warmed up when the replica starts
+				replica.start();
+				return LuceneIndexManagerImpl.forReplica(
+						indexingBackendContext, searchBackendContext, indexName, model, directory, replica
+				);
+			}
+
+			mergeManager = LuceneIndexMergeManager.create(
+					getEventContext(), indexName, propertySource, indexingBackendContext.getMetrics()
+			);
+			if ( ReplicationRoleConfiguration.PRIMARY.equals( replicationRole ) ) {
+				publisher = LuceneIndexPublisher.create( getEventContext(), indexName, directory, sharedDirectoryRoot );
+			}
+			indexWriter = createIndexWriter( model, directory, mergeManager, publisher, readerWarmer );
+			mergeManager.start( indexWriter );
+			LuceneIndexManagerImpl indexManager = LuceneIndexManagerImpl.forIndexWriter(
+					indexingBackendContext, searchBackendContext, indexName, model, indexWriter,
+					mergeManager, readerWarmer, publisher
 			);
+			if ( readerWarmer != null ) {
+				// Warm up the segments that already exist, so that the first queries do not pay for it
+				ReaderProvider readerProvider = indexManager.getReaderProvider();
+				readerProvider.closeIndexReader( readerProvider.openIndexReader() );
+			}
+			return indexManager;
 		}
 		catch (RuntimeException e) {
 			new SuppressingCloser( e )
 					.push( model )
-					.push( indexWriter );
+					.push( mergeManager )
+					.push( indexWriter )
+					.push( publisher )
+					.push( replica )
+					.push( directory );
 			throw e;
 		}
 	}
 
-	private IndexWriter createIndexWriter(LuceneIndexModel model) {
+	private LuceneIndexReaderWarmer createReaderWarmer(LuceneIndexModel model) {
+		if ( !warmUpDocValues && warmer == null ) {
+			return null;
+		}
+		return new LuceneIndexReaderWarmer(
+				getEventContext(), indexName,
+				warmUpDocValues ? model.getFieldPaths() : Collections.emptySet(),
+				warmer
+		);
+	}
+
+	private Directory createDirectory() {
+		try {
+			return directoryProvider.createDirectory( indexName );
+		}
+		catch (IOException | RuntimeException e) {
+			throw log.unableToCreateIndexWriter( getEventContext(), e );
+		}
+	}
+
+	private IndexWriter createIndexWriter(LuceneIndexModel model, Directory directory,
+			LuceneIndexMergeManager mergeManager, LuceneIndexPublisher publisher,
+			LuceneIndexReaderWarmer readerWarmer) {
 		IndexWriterConfig indexWriterConfig = new IndexWriterConfig( model.getScopedAnalyzer() );
+		mergeManager.configure( indexWriterConfig );
+		if ( publisher != null ) {
+			publisher.configure( indexWriterConfig );
+		}
+		if ( readerWarmer != null ) {
+			indexWriterConfig.setMergedSegmentWarmer( readerWarmer );
+		}
 		try {
-			Directory directory = indexingBackendContext.createDirectory( indexName );
-			try {
-				return new IndexWriter( directory, indexWriterConfig );
-			}
-			catch (RuntimeException e) {
-				new SuppressingCloser( e ).push( directory );
-				throw e;
-			}
+			return new IndexWriter( directory, indexWriterConfig );
 		}
 		catch (IOException | RuntimeException e) {
 			throw log.unableToCreateIndexWriter( getEventContext(), e );
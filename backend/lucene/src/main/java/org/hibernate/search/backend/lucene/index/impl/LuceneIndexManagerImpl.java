@@ -24,21 +24,22 @@
 import org.hibernate.search.engine.common.spi.SessionContext;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.SearchException;
 import org.hibernate.search.util.impl.common.Closer;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.Directory;
 
 
 /**
  * @author Guillaume Smet
  */
-// TODO in the end the IndexManager won't implement ReaderProvider as it's far more complex than that
 class LuceneIndexManagerImpl
-		implements IndexManagerImplementor<LuceneRootDocumentBuilder>, LuceneIndexManager, ReaderProvider {
+		implements IndexManagerImplementor<LuceneRootDocumentBuilder>, LuceneIndexManager {
 
 	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
 
@@ -48,32 +49,97 @@
 	private final String indexName;
 	private final LuceneIndexModel model;
 
+	private final Directory directory;
+	// The following are null for replica indexes, which cannot be written to
 	private final LuceneIndexWorkOrchestrator workPlanOrchestrator;
 	private final LuceneIndexWorkOrchestrator streamOrchestrator;
 	private final IndexWriter indexWriter;
+	private final LuceneIndexMergeManager mergeManager;
+	// Null unless the index is a replication primary
+	private final LuceneIndexPublisher publisher;
+	// Null unless the index is a replica
+	private final LuceneIndexReplica replica;
+	private final ReaderProvider readerProvider;
+
+	private final MetricRecorder documentBuildTimeRecorder;
+	private final MetricRecorder queryLatencyRecorder;
+	private final MetricRecorder objectLoadingTimeRecorder;
+
+	static LuceneIndexManagerImpl forIndexWriter(IndexingBackendContext indexingBackendContext,
+			SearchBackendContext searchBackendContext,
+			String indexName, LuceneIndexModel model, IndexWriter indexWriter,
+			LuceneIndexMergeManager mergeManager, LuceneIndexReaderWarmer readerWarmer,
+			LuceneIndexPublisher publisher) {
+		IndexWriterReaderProvider readerProvider = new IndexWriterReaderProvider(
+				indexingBackendContext.getEventContext().append( EventContexts.fromIndexName( indexName ) ),
+				indexWriter, mergeManager, readerWarmer
+		);
+		return new LuceneIndexManagerImpl(
+				indexingBackendContext, searchBackendContext, indexName, model, indexWriter.getDirectory(),
+				indexWriter, mergeManager, publisher, null, readerProvider
+		);
+	}
 
-	LuceneIndexManagerImpl(IndexingBackendContext indexingBackendContext,
+	static LuceneIndexManagerImpl forReplica(IndexingBackendContext indexingBackendContext,
 			SearchBackendContext searchBackendContext,
-			String indexName, LuceneIndexModel model, IndexWriter indexWriter) {
+			String indexName, LuceneIndexModel model, Directory directory, LuceneIndexReplica replica) {
+		return new LuceneIndexManagerImpl(
+				indexingBackendContext, searchBackendContext, indexName, model, directory,
+				null, null, null, replica, replica
+		);
+	}
+
+	private LuceneIndexManagerImpl(IndexingBackendContext indexingBackendContext,
+			SearchBackendContext searchBackendContext,
+			String indexName, LuceneIndexModel model, Directory directory, IndexWriter indexWriter,
+			LuceneIndexMergeManager mergeManager, LuceneIndexPublisher publisher, LuceneIndexReplica replica,
+			ReaderProvider readerProvider) {
 		this.indexingBackendContext = indexingBackendContext;
 		this.searchBackendContext = searchBackendContext;
 
 		this.indexName = indexName;
 		this.model = model;
 
-		this.workPlanOrchestrator = new StubLuceneIndexWorkOrchestrator( indexWriter );
-		this.streamOrchestrator = new StubLuceneIndexWorkOrchestrator( indexWriter );
+		SearchMetrics metrics = indexingBackendContext.getMetrics();
+		this.directory = directory;
+		if ( indexWriter != null ) {
+			this.workPlanOrchestrator = new StubLuceneIndexWorkOrchestrator( indexWriter, indexName, metrics );
+			this.streamOrchestrator = new StubLuceneIndexWorkOrchestrator( indexWriter, indexName, metrics );
+		}
+		else {
+			this.workPlanOrchestrator = null;
+			this.streamOrchestrator = null;
+		}
 		this.indexWriter = indexWriter;
+		this.mergeManager = mergeManager;
+		this.publisher = publisher;
+		this.replica = replica;
+		this.readerProvider = readerProvider;
+
+		this.documentBuildTimeRecorder = metrics.recorder( SearchMetricNames.DOCUMENT_BUILD_TIME, indexName );
+		this.queryLatencyRecorder = metrics.recorder( SearchMetricNames.QUERY_LATENCY, indexName );
+		this.objectLoadingTimeRecorder = metrics.recorder( SearchMetricNames.OBJECT_LOADING_TIME, indexName );
 	}
 
 	LuceneIndexModel getModel() {
 		return model;
 	}
 
+	MetricRecorder getQueryLatencyRecorder() {
+		return queryLatencyRecorder;
+	}
+
+	MetricRecorder getObjectLoadingTimeRecorder() {
+		return objectLoadingTimeRecorder;
+	}
+
 	@Override
 	public IndexWorkPlan<LuceneRootDocumentBuilder> createWorkPlan(SessionContext sessionContext) {
+		if ( workPlanOrchestrator == null ) {
+			throw log.cannotWriteToReplicaIndex( getBackendAndIndexEventContext() );
+		}
 		return indexingBackendContext.createWorkPlan(
-				workPlanOrchestrator, indexName, sessionContext
+				workPlanOrchestrator, documentBuildTimeRecorder, indexName, sessionContext
 		);
 	}
 
@@ -108,8 +174,14 @@ public void close() {
 		try ( Closer<IOException> closer = new Closer<>() ) {
 			closer.push( LuceneIndexWorkOrchestrator::close, workPlanOrchestrator );
 			closer.push( LuceneIndexWorkOrchestrator::close, streamOrchestrator );
+			closer.push( LuceneIndexMergeManager::close, mergeManager );
 			// Close the index writer after the orchestrators, when we're sure all works have been performed
 			closer.push( IndexWriter::close, indexWriter );
+			// Close the publisher after the index writer, so that the last commit gets published
+			closer.push( LuceneIndexPublisher::close, publisher );
+			closer.push( LuceneIndexReplica::close, replica );
+			// The index writer does not close its directory, and some directories hold resources (memory, cached files)
+			closer.push( Directory::close, directory );
 			closer.push( LuceneIndexModel::close, model );
 		}
 		catch (IOException | RuntimeException e) {
@@ -118,27 +190,7 @@ public void close() {
 	}
 
 	ReaderProvider getReaderProvider() {
-		return this;
-	}
-
-	@Override
-	public IndexReader openIndexReader() {
-		try {
-			return DirectoryReader.open( indexWriter );
-		}
-		catch (IOException e) {
-			throw log.unableToCreateIndexReader( getBackendAndIndexEventContext(), e );
-		}
-	}
-
-	@Override
-	public void closeIndexReader(IndexReader reader) {
-		try {
-			reader.close();
-		}
-		catch (IOException e) {
-			log.unableToCloseIndexReader( getBackendAndIndexEventContext(), e );
-		}
+		return readerProvider;
 	}
 
 	@Override
@@ -0,0 +1,254 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.lucene.cfg.MergePolicyConfiguration;
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.util.AssertionFailure;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.Executors;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.TieredMergePolicy;
+
+/**
+ * Manages the merges of the segments of an index:
+ * merge policy and scheduler, throttling while queries are executed,
+ * and merges of the segments of idle indexes.
+ */
+class LuceneIndexMergeManager implements AutoCloseable {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final ConfigurationProperty<MergePolicyConfiguration> MERGE_POLICY =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_POLICY )
+					.as( MergePolicyConfiguration.class, MergePolicyConfiguration::fromExternalRepresentation )
+					.withDefault( SearchBackendLuceneSettings.Defaults.MERGE_POLICY )
+					.build();
+
+	private static final ConfigurationProperty<Optional<Double>> MAX_MERGED_SEGMENT_MB =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_MAX_MERGED_SEGMENT_MB )
+					.as( Double.class, Double::valueOf )
+					.build();
+
+	private static final ConfigurationProperty<Optional<Integer>> MAX_THREAD_COUNT =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_MAX_THREAD_COUNT )
+					.asInteger()
+					.build();
+
+	private static final ConfigurationProperty<Optional<Double>> QUERY_TIME_IO_LIMIT_MB_PER_SEC =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_QUERY_TIME_IO_LIMIT_MB_PER_SEC )
+					.as( Double.class, Double::valueOf )
+					.build();
+
+	private static final ConfigurationProperty<Boolean> IDLE_OPTIMIZER_ENABLED =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_ENABLED )
+					.asBoolean()
+					.withDefault( SearchBackendLuceneSettings.Defaults.MERGE_IDLE_OPTIMIZER_ENABLED )
+					.build();
+
+	private static final ConfigurationProperty<Long> IDLE_OPTIMIZER_IDLE_TIME_MS =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS )
+					.asLong()
+					.withDefault( SearchBackendLuceneSettings.Defaults.MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS )
+					.build();
+
+	private static final ConfigurationProperty<Integer> IDLE_OPTIMIZER_MAX_SEGMENT_COUNT =
+			ConfigurationProperty.forKey( SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT )
+					.asInteger()
+					.withDefault( SearchBackendLuceneSettings.Defaults.MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT )
+					.build();
+
+	static LuceneIndexMergeManager create(EventContext eventContext, String indexName,
+			ConfigurationPropertySource propertySource, SearchMetrics metrics) {
+		MergePolicy mergePolicy = createMergePolicy( eventContext, propertySource );
+
+		LuceneIndexMergeScheduler mergeScheduler = new LuceneIndexMergeScheduler(
+				metrics.recorder( SearchMetricNames.MERGE_DURATION, indexName ),
+				QUERY_TIME_IO_LIMIT_MB_PER_SEC.get( propertySource ).orElse( null )
+		);
+		Optional<Integer> maxThreadCount = MAX_THREAD_COUNT.get( propertySource );
+		if ( maxThreadCount.isPresent() ) {
+			// Same ratio between merges and threads as Lucene's defaults
+			mergeScheduler.setMaxMergesAndThreads( maxThreadCount.get() + 5, maxThreadCount.get() );
+		}
+
+		LuceneIndexMergeManager mergeManager = new LuceneIndexMergeManager(
+				eventContext, indexName, mergePolicy, mergeScheduler,
+				IDLE_OPTIMIZER_ENABLED.get( propertySource ),
+				IDLE_OPTIMIZER_IDLE_TIME_MS.get( propertySource ),
+				IDLE_OPTIMIZER_MAX_SEGMENT_COUNT.get( propertySource )
+		);
+		metrics.gauge( SearchMetricNames.SEGMENT_COUNT, indexName, () -> mergeManager.lastObservedSegmentCount );
+		return mergeManager;
+	}
+
+	private static MergePolicy createMergePolicy(EventContext eventContext, ConfigurationPropertySource propertySource) {
+		MergePolicyConfiguration mergePolicyConfiguration = MERGE_POLICY.get( propertySource );
+		Optional<Double> maxMergedSegmentMB = MAX_MERGED_SEGMENT_MB.get( propertySource );
+		switch ( mergePolicyConfiguration ) {
+			case TIERED:
+				TieredMergePolicy tieredMergePolicy = new TieredMergePolicy();
+				maxMergedSegmentMB.ifPresent( tieredMergePolicy::setMaxMergedSegmentMB );
+				return tieredMergePolicy;
+			case LOG_BYTE_SIZE:
+				LogByteSizeMergePolicy logByteSizeMergePolicy = new LogByteSizeMergePolicy();
+				maxMergedSegmentMB.ifPresent( logByteSizeMergePolicy::setMaxMergeMB );
+				return logByteSizeMergePolicy;
+			default:
+				throw new AssertionFailure( String.format(
+						Locale.ROOT, "Unsupported merge policy '%1$s'. %2$s",
+						mergePolicyConfiguration,
+						eventContext.render()
+				) );
+		}
+	}
+
+	private final EventContext eventContext;
+	private final String indexName;
+	private final MergePolicy mergePolicy;
+	private final LuceneIndexMergeScheduler mergeScheduler;
+
+	private final boolean idleOptimizerEnabled;
+	private final long idleOptimizerIdleTimeMs;
+	private final int idleOptimizerMaxSegmentCount;
+
+	private volatile int lastObservedSegmentCount;
+	private volatile boolean closed = false;
+
+	private IndexWriter indexWriter;
+	private ScheduledExecutorService idleOptimizerExecutor;
+	// Only accessed from the idle optimizer thread
+	private long lastCheckedSequenceNumber = -1L;
+
+	private LuceneIndexMergeManager(EventContext eventContext, String indexName,
+			MergePolicy mergePolicy, LuceneIndexMergeScheduler mergeScheduler,
+			boolean idleOptimizerEnabled, long idleOptimizerIdleTimeMs, int idleOptimizerMaxSegmentCount) {
+		this.eventContext = eventContext;
+		this.indexName = indexName;
+		this.mergePolicy = mergePolicy;
+		this.mergeScheduler = mergeScheduler;
+		this.idleOptimizerEnabled = idleOptimizerEnabled;
+		this.idleOptimizerIdleTimeMs = idleOptimizerIdleTimeMs;
+		this.idleOptimizerMaxSegmentCount = idleOptimizerMaxSegmentCount;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"indexName=" + indexName +
+				", mergePolicy=" + mergePolicy +
+				", idleOptimizerEnabled=" + idleOptimizerEnabled +
+				"]";
+	}
+
+	void configure(IndexWriterConfig indexWriterConfig) {
+		indexWriterConfig.setMergePolicy( mergePolicy );
+		indexWriterConfig.setMergeScheduler( mergeScheduler );
+	}
+
+	void start(IndexWriter indexWriter) {
+		this.indexWriter = indexWriter;
+		if ( idleOptimizerEnabled ) {
+			idleOptimizerExecutor = Executors.newScheduledThreadPool( "Lucene idle optimizer for index " + indexName );
+			idleOptimizerExecutor.scheduleWithFixedDelay(
+					this::optimizeIfIdle, idleOptimizerIdleTimeMs, idleOptimizerIdleTimeMs, TimeUnit.MILLISECONDS
+			);
+		}
+	}
+
+	/**
+	 * Must be called before a reader is exposed to a query.
+	 */
+	void onReaderOpened(IndexReader reader) {
+		mergeScheduler.onQueryStart();
+		lastObservedSegmentCount = reader.leaves().size();
+	}
+
+	/**
+	 * Must be called after a reader exposed to a query is closed.
+	 */
+	void onReaderClosed() {
+		mergeScheduler.onQueryEnd();
+	}
+
+	/**
+	 * Must be called before the index writer is closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		if ( idleOptimizerExecutor != null ) {
+			/*
+			 * Do not interrupt the idle optimizer:
+			 * interrupting a thread performing I/O closes the underlying channel with some directories (NIOFS),
+			 * which would break the index writer.
+			 * The optimizer checks the closed flag before each step instead,
+			 * and the index writer waits for running merges when it is closed.
+			 */
+			idleOptimizerExecutor.shutdown();
+			try {
+				idleOptimizerExecutor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void optimizeIfIdle() {
+		if ( closed ) {
+			return;
+		}
+		long sequenceNumber = indexWriter.getMaxCompletedSequenceNumber();
+		if ( sequenceNumber != lastCheckedSequenceNumber ) {
+			// The index was written to since the last check: it is not idle
+			lastCheckedSequenceNumber = sequenceNumber;
+			return;
+		}
+		try {
+			int segmentCount;
+			try ( DirectoryReader reader = DirectoryReader.open( indexWriter ) ) {
+				segmentCount = reader.leaves().size();
+			}
+			lastObservedSegmentCount = segmentCount;
+			if ( segmentCount > idleOptimizerMaxSegmentCount && !closed ) {
+				// Concurrent writes are still allowed; they will just delay the next idle optimization
+				indexWriter.forceMerge( idleOptimizerMaxSegmentCount, true );
+				if ( !closed ) {
+					indexWriter.commit();
+				}
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			if ( !closed ) {
+				log.unableToOptimizeIdleIndex( eventContext, e );
+			}
+		}
+		finally {
+			lastCheckedSequenceNumber = indexWriter.getMaxCompletedSequenceNumber();
+		}
+	}
+}
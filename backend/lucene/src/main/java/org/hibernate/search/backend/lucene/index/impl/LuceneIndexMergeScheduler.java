@@ -0,0 +1,128 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.RateLimitedIndexOutput;
+import org.apache.lucene.store.RateLimiter;
+
+/**
+ * A merge scheduler that records the duration of merges,
+ * and optionally throttles merges while queries are being executed on the index.
+ * <p>
+ * Query-time throttling comes on top of the automatic I/O throttling of {@link ConcurrentMergeScheduler}.
+ */
+class LuceneIndexMergeScheduler extends ConcurrentMergeScheduler {
+
+	private final MetricRecorder mergeDurationRecorder;
+	private final QueryTimeRateLimiter queryTimeRateLimiter;
+
+	private final AtomicInteger activeQueryCount = new AtomicInteger();
+
+	/**
+	 * @param mergeDurationRecorder A recorder for the duration of each merge.
+	 * @param queryTimeIOLimitMBPerSec The maximum rate at which merges can write while queries are executed,
+	 * or {@code null} not to throttle merges based on query activity.
+	 */
+	LuceneIndexMergeScheduler(MetricRecorder mergeDurationRecorder, Double queryTimeIOLimitMBPerSec) {
+		this.mergeDurationRecorder = mergeDurationRecorder;
+		this.queryTimeRateLimiter = queryTimeIOLimitMBPerSec == null
+				? null : new QueryTimeRateLimiter( queryTimeIOLimitMBPerSec );
+	}
+
+	void onQueryStart() {
+		activeQueryCount.incrementAndGet();
+	}
+
+	void onQueryEnd() {
+		activeQueryCount.decrementAndGet();
+	}
+
+	@Override
+	protected void doMerge(IndexWriter writer, MergePolicy.OneMerge merge) throws IOException {
+		long startTime = System.nanoTime();
+		try {
+			super.doMerge( writer, merge );
+		}
+		finally {
+			mergeDurationRecorder.recordNanosSince( startTime );
+		}
+	}
+
+	@Override
+	public Directory wrapForMerge(MergePolicy.OneMerge merge, Directory in) {
+		Directory wrapped = super.wrapForMerge( merge, in );
+		if ( queryTimeRateLimiter == null ) {
+			return wrapped;
+		}
+		return new QueryTimeRateLimitedDirectory( wrapped, queryTimeRateLimiter );
+	}
+
+	private static final class QueryTimeRateLimitedDirectory extends FilterDirectory {
+		private final RateLimiter rateLimiter;
+
+		QueryTimeRateLimitedDirectory(Directory in, RateLimiter rateLimiter) {
+			super( in );
+			this.rateLimiter = rateLimiter;
+		}
+
+		@Override
+		public IndexOutput createOutput(String name, IOContext context) throws IOException {
+			return new RateLimitedIndexOutput( rateLimiter, in.createOutput( name, context ) );
+		}
+	}
+
+	/**
+	 * A rate limiter that only pauses while queries are being executed.
+	 * <p>
+	 * Shared by all merges of the index, so that the limit applies to their total write rate.
+	 */
+	private final class QueryTimeRateLimiter extends RateLimiter {
+		private final RateLimiter.SimpleRateLimiter delegate;
+
+		QueryTimeRateLimiter(double mbPerSec) {
+			this.delegate = new RateLimiter.SimpleRateLimiter( mbPerSec );
+		}
+
+		@Override
+		public void setMBPerSec(double mbPerSec) {
+			delegate.setMBPerSec( mbPerSec );
+		}
+
+		@Override
+		public double getMBPerSec() {
+			return activeQueryCount.get() > 0 ? delegate.getMBPerSec() : Double.POSITIVE_INFINITY;
+		}
+
+		@Override
+		public long pause(long bytes) throws IOException {
+			if ( activeQueryCount.get() > 0 ) {
+				return delegate.pause( bytes );
+			}
+			else {
+				return 0L;
+			}
+		}
+
+		@Override
+		public long getMinPauseCheckBytes() {
+			// Always use the throttled value, so that merges notice quickly when queries start
+			return delegate.getMinPauseCheckBytes();
+		}
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.Executors;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.NIOFSDirectory;
+
+/**
+ * Publishes the commits of a primary index to the replication shared directory,
+ * from which {@link LuceneIndexReplica replicas} copy them.
+ * <p>
+ * Only the files that are not in the shared directory yet are copied:
+ * since segment files are immutable, this usually means only the segments written or merged since the last commit.
+ * The segments file, which references all the files of a commit, is copied last and under a temporary name,
+ * then atomically renamed, so that replicas never see a commit whose files are incomplete.
+ */
+class LuceneIndexPublisher implements AutoCloseable {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	static final String PENDING_FILE_PREFIX = "pending_";
+
+	/**
+	 * The number of commits kept in the shared directory.
+	 * Keeping the previous commit leaves time for replicas to finish copying it
+	 * when a new one is published.
+	 */
+	private static final int RETAINED_COMMIT_COUNT = 2;
+
+	static LuceneIndexPublisher create(EventContext eventContext, String indexName, Directory localDirectory,
+			Path sharedDirectoryRoot) {
+		Path sharedDirectoryPath = sharedDirectoryRoot.resolve( indexName );
+		Directory sharedDirectory;
+		try {
+			Files.createDirectories( sharedDirectoryPath );
+			sharedDirectory = new NIOFSDirectory( sharedDirectoryPath );
+		}
+		catch (IOException | RuntimeException e) {
+			throw log.unableToAccessReplicationSharedDirectory( sharedDirectoryPath, eventContext, e );
+		}
+		return new LuceneIndexPublisher( eventContext, indexName, localDirectory, sharedDirectory );
+	}
+
+	private final EventContext eventContext;
+	private final Directory localDirectory;
+	private final Directory sharedDirectory;
+	private final SnapshotDeletionPolicy deletionPolicy;
+	private final ExecutorService publishingExecutor;
+	private final AtomicBoolean publishingScheduled = new AtomicBoolean( false );
+
+	// Only accessed from the publishing thread
+	private long lastPublishedGeneration = -1L;
+
+	private LuceneIndexPublisher(EventContext eventContext, String indexName,
+			Directory localDirectory, Directory sharedDirectory) {
+		this.eventContext = eventContext;
+		this.localDirectory = localDirectory;
+		this.sharedDirectory = sharedDirectory;
+		this.deletionPolicy = new PublishingDeletionPolicy();
+		this.publishingExecutor = Executors.newFixedThreadPool( 1, "Lucene commit publisher for index " + indexName );
+	}
+
+	void configure(IndexWriterConfig indexWriterConfig) {
+		indexWriterConfig.setIndexDeletionPolicy( deletionPolicy );
+	}
+
+	/**
+	 * Must be called after the index writer is closed,
+	 * so that the last commit gets published, but before the local directory is closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		publishingExecutor.shutdown();
+		try {
+			publishingExecutor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		sharedDirectory.close();
+	}
+
+	private void schedulePublishing() {
+		// Commits that happen while publishing is pending will be published together
+		if ( publishingScheduled.compareAndSet( false, true ) ) {
+			publishingExecutor.execute( this::publishLatestCommit );
+		}
+	}
+
+	private void publishLatestCommit() {
+		publishingScheduled.set( false );
+		IndexCommit commit;
+		try {
+			// Prevents the index writer from deleting the files of the commit while we copy them
+			commit = deletionPolicy.snapshot();
+		}
+		catch (IllegalStateException e) {
+			// No commit yet
+			return;
+		}
+		catch (IOException e) {
+			log.unableToPublishCommit( eventContext, e );
+			return;
+		}
+		try {
+			if ( commit.getGeneration() > lastPublishedGeneration ) {
+				publish( commit );
+				lastPublishedGeneration = commit.getGeneration();
+				deleteUnretainedFiles();
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			log.unableToPublishCommit( eventContext, e );
+		}
+		finally {
+			try {
+				deletionPolicy.release( commit );
+			}
+			catch (IOException | RuntimeException e) {
+				log.unableToPublishCommit( eventContext, e );
+			}
+		}
+	}
+
+	private void publish(IndexCommit commit) throws IOException {
+		String segmentsFileName = commit.getSegmentsFileName();
+		Set<String> sharedFiles = new HashSet<>();
+		Collections.addAll( sharedFiles, sharedDirectory.listAll() );
+
+		List<String> copiedFiles = new ArrayList<>();
+		for ( String fileName : commit.getFileNames() ) {
+			if ( fileName.equals( segmentsFileName ) ) {
+				continue;
+			}
+			if ( sharedFiles.contains( fileName ) ) {
+				if ( hasSameChecksum( fileName ) ) {
+					continue;
+				}
+				// Leftover of a failed publication
+				sharedDirectory.deleteFile( fileName );
+			}
+			sharedDirectory.copyFrom( localDirectory, fileName, fileName, IOContext.READONCE );
+			copiedFiles.add( fileName );
+		}
+		sharedDirectory.sync( copiedFiles );
+
+		String pendingSegmentsFileName = PENDING_FILE_PREFIX + segmentsFileName;
+		if ( sharedFiles.contains( pendingSegmentsFileName ) ) {
+			sharedDirectory.deleteFile( pendingSegmentsFileName );
+		}
+		sharedDirectory.copyFrom( localDirectory, segmentsFileName, pendingSegmentsFileName, IOContext.READONCE );
+		sharedDirectory.sync( Collections.singleton( pendingSegmentsFileName ) );
+		sharedDirectory.rename( pendingSegmentsFileName, segmentsFileName );
+		sharedDirectory.syncMetaData();
+	}
+
+	private boolean hasSameChecksum(String fileName) throws IOException {
+		try ( IndexInput localInput = localDirectory.openInput( fileName, IOContext.READONCE );
+				IndexInput sharedInput = sharedDirectory.openInput( fileName, IOContext.READONCE ) ) {
+			return localInput.length() == sharedInput.length()
+					&& CodecUtil.retrieveChecksum( localInput ) == CodecUtil.retrieveChecksum( sharedInput );
+		}
+		catch (CorruptIndexException e) {
+			return false;
+		}
+	}
+
+	private void deleteUnretainedFiles() throws IOException {
+		String[] sharedFiles = sharedDirectory.listAll();
+		List<Long> generations = new ArrayList<>();
+		for ( String fileName : sharedFiles ) {
+			if ( fileName.startsWith( IndexFileNames.SEGMENTS + "_" ) ) {
+				generations.add( SegmentInfos.generationFromSegmentsFileName( fileName ) );
+			}
+		}
+		generations.sort( Collections.reverseOrder() );
+
+		Set<String> retainedFiles = new HashSet<>();
+		for ( Long generation : generations.subList( 0, Math.min( RETAINED_COMMIT_COUNT, generations.size() ) ) ) {
+			String segmentsFileName = IndexFileNames.fileNameFromGeneration( IndexFileNames.SEGMENTS, "", generation );
+			Collection<String> commitFiles = SegmentInfos.readCommit( sharedDirectory, segmentsFileName ).files( true );
+			retainedFiles.addAll( commitFiles );
+		}
+
+		for ( String fileName : sharedFiles ) {
+			if ( !retainedFiles.contains( fileName ) ) {
+				sharedDirectory.deleteFile( fileName );
+			}
+		}
+	}
+
+	private class PublishingDeletionPolicy extends SnapshotDeletionPolicy {
+
+		private PublishingDeletionPolicy() {
+			super( new KeepOnlyLastCommitDeletionPolicy() );
+		}
+
+		@Override
+		public synchronized void onInit(List<? extends IndexCommit> commits) throws IOException {
+			super.onInit( commits );
+			if ( !commits.isEmpty() ) {
+				// Make sure replicas get the commits made while this node was offline
+				schedulePublishing();
+			}
+		}
+
+		@Override
+		public synchronized void onCommit(List<? extends IndexCommit> commits) throws IOException {
+			super.onCommit( commits );
+			schedulePublishing();
+		}
+	}
+}
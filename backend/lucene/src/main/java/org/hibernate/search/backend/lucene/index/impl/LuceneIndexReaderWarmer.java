@@ -0,0 +1,190 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.search.backend.lucene.index.LuceneIndexWarmer;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+
+/**
+ * Warms up each segment of an index once, before it is exposed to queries.
+ * <p>
+ * Merged segments are warmed up by the index writer, through {@link IndexWriter.IndexReaderWarmer}.
+ * Flushed segments, and segments that existed when the index was opened, are warmed up
+ * when a reader including them is first opened.
+ * This relies on the index writer pooling segment readers once a near-real-time reader has been opened,
+ * so that data loaded while warming up is kept for the following readers.
+ * <p>
+ * Different segments are warmed up concurrently;
+ * concurrent attempts to warm up the same segment wait for the first one to complete.
+ */
+class LuceneIndexReaderWarmer implements IndexWriter.IndexReaderWarmer {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final EventContext eventContext;
+	private final String indexName;
+	private final Set<String> docValuesFieldPaths;
+	private final LuceneIndexWarmer userWarmer;
+
+	/**
+	 * The warm-ups of each segment, started or completed, by segment core key.
+	 * Entries are removed when the segment core is closed.
+	 */
+	private final ConcurrentMap<IndexReader.CacheKey, CompletableFuture<?>> segmentWarmUps = new ConcurrentHashMap<>();
+
+	/**
+	 * @param eventContext The event context of the index, for error reporting.
+	 * @param indexName The name of the index.
+	 * @param docValuesFieldPaths The paths of the fields whose doc values should be loaded, possibly empty.
+	 * @param userWarmer A user-provided warmer, or {@code null}.
+	 */
+	LuceneIndexReaderWarmer(EventContext eventContext, String indexName,
+			Set<String> docValuesFieldPaths, LuceneIndexWarmer userWarmer) {
+		this.eventContext = eventContext;
+		this.indexName = indexName;
+		this.docValuesFieldPaths = docValuesFieldPaths;
+		this.userWarmer = userWarmer;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"indexName=" + indexName +
+				", docValuesFieldPaths=" + docValuesFieldPaths +
+				", userWarmer=" + userWarmer +
+				"]";
+	}
+
+	/**
+	 * Called by the index writer on merged segments.
+	 */
+	@Override
+	public void warm(LeafReader reader) {
+		warmIfNecessary( reader );
+	}
+
+	/**
+	 * Warms up the segments of the given reader that have not been warmed up yet.
+	 * <p>
+	 * Blocks until all these segments have been warmed up,
+	 * including those being warmed up by concurrent calls.
+	 *
+	 * @param reader A reader that is about to be exposed to queries.
+	 */
+	void warmNewSegments(IndexReader reader) {
+		for ( LeafReaderContext leafContext : reader.leaves() ) {
+			warmIfNecessary( leafContext.reader() );
+		}
+	}
+
+	private void warmIfNecessary(LeafReader reader) {
+		IndexReader.CacheHelper cacheHelper = reader.getCoreCacheHelper();
+		if ( cacheHelper == null ) {
+			// Segments of a writer always have a core cache key, but other readers may not
+			warmSegment( reader );
+			return;
+		}
+		IndexReader.CacheKey segmentKey = cacheHelper.getKey();
+		CompletableFuture<Void> warmUp = new CompletableFuture<>();
+		CompletableFuture<?> existingWarmUp = segmentWarmUps.putIfAbsent( segmentKey, warmUp );
+		if ( existingWarmUp != null ) {
+			existingWarmUp.join();
+			return;
+		}
+		try {
+			cacheHelper.addClosedListener( segmentWarmUps::remove );
+			warmSegment( reader );
+		}
+		finally {
+			warmUp.complete( null );
+		}
+	}
+
+	private void warmSegment(LeafReader reader) {
+		try {
+			warmDocValues( reader );
+			if ( userWarmer != null ) {
+				userWarmer.warm( indexName, new IndexSearcher( reader ) );
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			// Warming up is only an optimization: do not prevent merges or queries
+			log.unableToWarmUpSegment( eventContext, e );
+		}
+	}
+
+	private void warmDocValues(LeafReader reader) throws IOException {
+		for ( String fieldPath : docValuesFieldPaths ) {
+			FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo( fieldPath );
+			if ( fieldInfo == null ) {
+				// No document in this segment has a value for this field
+				continue;
+			}
+			switch ( fieldInfo.getDocValuesType() ) {
+				case NUMERIC:
+					NumericDocValues numeric = reader.getNumericDocValues( fieldPath );
+					while ( numeric.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+						numeric.longValue();
+					}
+					break;
+				case SORTED:
+					SortedDocValues sorted = reader.getSortedDocValues( fieldPath );
+					while ( sorted.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+						sorted.ordValue();
+					}
+					break;
+				case SORTED_NUMERIC:
+					SortedNumericDocValues sortedNumeric = reader.getSortedNumericDocValues( fieldPath );
+					while ( sortedNumeric.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+						for ( int i = 0; i < sortedNumeric.docValueCount(); i++ ) {
+							sortedNumeric.nextValue();
+						}
+					}
+					break;
+				case SORTED_SET:
+					SortedSetDocValues sortedSet = reader.getSortedSetDocValues( fieldPath );
+					while ( sortedSet.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+						while ( sortedSet.nextOrd() != SortedSetDocValues.NO_MORE_ORDS ) {
+							// Just load the ordinals
+						}
+					}
+					break;
+				case BINARY:
+					BinaryDocValues binary = reader.getBinaryDocValues( fieldPath );
+					while ( binary.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+						binary.binaryValue();
+					}
+					break;
+				case NONE:
+				default:
+					break;
+			}
+		}
+	}
+}
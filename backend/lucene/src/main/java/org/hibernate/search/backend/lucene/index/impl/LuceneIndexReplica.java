@@ -0,0 +1,306 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.index.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.util.EventContext;
+import org.hibernate.search.util.impl.common.Executors;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.NIOFSDirectory;
+
+/**
+ * Keeps a local copy of an index up-to-date with the commits {@link LuceneIndexPublisher published}
+ * to the replication shared directory, and provides readers on that local copy.
+ * <p>
+ * Only the files that are missing from the local copy are copied, and each of them is verified against its checksum
+ * before the new commit is exposed to queries.
+ * Queries are never blocked by the copy: they keep using the previous reader
+ * until the new one is fully opened and warmed up, at which point the two are swapped.
+ */
+class LuceneIndexReplica implements ReaderProvider, AutoCloseable {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	static LuceneIndexReplica create(EventContext eventContext, String indexName,
+			Directory localDirectory, Path sharedDirectoryRoot, long refreshIntervalMs,
+			LuceneIndexReaderWarmer readerWarmer, MetricRecorder refreshDurationRecorder) {
+		Path sharedDirectoryPath = sharedDirectoryRoot.resolve( indexName );
+		Directory sharedDirectory;
+		try {
+			Files.createDirectories( sharedDirectoryPath );
+			sharedDirectory = new NIOFSDirectory( sharedDirectoryPath );
+		}
+		catch (IOException | RuntimeException e) {
+			throw log.unableToAccessReplicationSharedDirectory( sharedDirectoryPath, eventContext, e );
+		}
+		return new LuceneIndexReplica( eventContext, indexName, localDirectory, sharedDirectory,
+				refreshIntervalMs, readerWarmer, refreshDurationRecorder );
+	}
+
+	private final EventContext eventContext;
+	private final String indexName;
+	private final Directory localDirectory;
+	private final Directory sharedDirectory;
+	private final long refreshIntervalMs;
+	private final LuceneIndexReaderWarmer readerWarmer;
+	private final MetricRecorder refreshDurationRecorder;
+
+	private volatile DirectoryReader currentReader;
+
+	// Only accessed while holding the lock on this object
+	private long currentGeneration = -1L;
+	private ScheduledExecutorService refreshExecutor;
+
+	private LuceneIndexReplica(EventContext eventContext, String indexName,
+			Directory localDirectory, Directory sharedDirectory, long refreshIntervalMs,
+			LuceneIndexReaderWarmer readerWarmer, MetricRecorder refreshDurationRecorder) {
+		this.eventContext = eventContext;
+		this.indexName = indexName;
+		this.localDirectory = localDirectory;
+		this.sharedDirectory = sharedDirectory;
+		this.refreshIntervalMs = refreshIntervalMs;
+		this.readerWarmer = readerWarmer;
+		this.refreshDurationRecorder = refreshDurationRecorder;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"indexName=" + indexName +
+				", sharedDirectory=" + sharedDirectory +
+				"]";
+	}
+
+	synchronized void start() {
+		try {
+			// Expose the local copy right away, even if the shared directory is not reachable
+			String[] localFiles = localDirectory.listAll();
+			if ( SegmentInfos.getLastCommitSegmentsFileName( localFiles ) != null ) {
+				currentGeneration = SegmentInfos.getLastCommitGeneration( localFiles );
+				swapReader( DirectoryReader.open( localDirectory ) );
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			log.unableToRefreshReplica( eventContext, e );
+		}
+		refreshIfPossible();
+		refreshExecutor = Executors.newScheduledThreadPool( "Lucene replica refresh for index " + indexName );
+		refreshExecutor.scheduleWithFixedDelay(
+				this::refreshIfPossible, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS
+		);
+	}
+
+	@Override
+	public IndexReader openIndexReader() {
+		while ( true ) {
+			DirectoryReader reader = currentReader;
+			if ( reader == null ) {
+				// Nothing was published yet: behave as an empty index
+				try {
+					return new MultiReader();
+				}
+				catch (IOException e) {
+					throw log.unableToCreateIndexReader( eventContext, e );
+				}
+			}
+			if ( reader.tryIncRef() ) {
+				return reader;
+			}
+			// The reader was swapped and closed in the meantime: try again with the new one
+		}
+	}
+
+	@Override
+	public void closeIndexReader(IndexReader reader) {
+		try {
+			reader.decRef();
+		}
+		catch (IOException e) {
+			log.unableToCloseIndexReader( eventContext, e );
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if ( refreshExecutor != null ) {
+			refreshExecutor.shutdownNow();
+			try {
+				refreshExecutor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		DirectoryReader reader = currentReader;
+		currentReader = null;
+		try {
+			if ( reader != null ) {
+				reader.decRef();
+			}
+		}
+		finally {
+			sharedDirectory.close();
+		}
+	}
+
+	private synchronized void refreshIfPossible() {
+		long start = System.nanoTime();
+		try {
+			if ( refresh() ) {
+				refreshDurationRecorder.recordNanosSince( start );
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			if ( !Thread.currentThread().isInterrupted() ) {
+				log.unableToRefreshReplica( eventContext, e );
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if a new commit was copied, {@code false} if the local copy was already up-to-date.
+	 */
+	private boolean refresh() throws IOException {
+		String segmentsFileName = SegmentInfos.getLastCommitSegmentsFileName( sharedDirectory.listAll() );
+		if ( segmentsFileName == null ) {
+			// Nothing was published yet
+			return false;
+		}
+		long generation = SegmentInfos.generationFromSegmentsFileName( segmentsFileName );
+		if ( generation <= currentGeneration ) {
+			return false;
+		}
+
+		// Also verifies the checksum of the segments file
+		SegmentInfos segmentInfos = SegmentInfos.readCommit( sharedDirectory, segmentsFileName );
+		Set<String> localFiles = new HashSet<>();
+		Collections.addAll( localFiles, localDirectory.listAll() );
+
+		List<String> copiedFiles = new ArrayList<>();
+		for ( String fileName : segmentInfos.files( false ) ) {
+			if ( localFiles.contains( fileName ) ) {
+				if ( hasSameChecksum( fileName ) ) {
+					continue;
+				}
+				// Leftover of a failed copy
+				localDirectory.deleteFile( fileName );
+			}
+			copyAndVerify( fileName, fileName );
+			copiedFiles.add( fileName );
+		}
+		localDirectory.sync( copiedFiles );
+
+		// Copy the segments file last, and atomically, so that the local copy always contains a complete commit
+		String pendingSegmentsFileName = LuceneIndexPublisher.PENDING_FILE_PREFIX + segmentsFileName;
+		if ( localFiles.contains( pendingSegmentsFileName ) ) {
+			localDirectory.deleteFile( pendingSegmentsFileName );
+		}
+		copyAndVerify( segmentsFileName, pendingSegmentsFileName );
+		localDirectory.sync( Collections.singleton( pendingSegmentsFileName ) );
+		localDirectory.rename( pendingSegmentsFileName, segmentsFileName );
+		localDirectory.syncMetaData();
+		currentGeneration = generation;
+
+		DirectoryReader reader = currentReader;
+		DirectoryReader newReader = reader == null
+				? DirectoryReader.open( localDirectory )
+				: DirectoryReader.openIfChanged( reader );
+		if ( newReader != null ) {
+			swapReader( newReader );
+		}
+
+		deleteUnreferencedLocalFiles( segmentInfos.files( true ) );
+		return true;
+	}
+
+	private void copyAndVerify(String sourceFileName, String targetFileName) throws IOException {
+		localDirectory.copyFrom( sharedDirectory, sourceFileName, targetFileName, IOContext.READONCE );
+		try ( IndexInput input = localDirectory.openInput( targetFileName, IOContext.READONCE ) ) {
+			CodecUtil.checksumEntireFile( input );
+		}
+		catch (CorruptIndexException e) {
+			// Do not keep a corrupt copy around: it will be copied again on the next attempt
+			try {
+				localDirectory.deleteFile( targetFileName );
+			}
+			catch (IOException | RuntimeException e2) {
+				e.addSuppressed( e2 );
+			}
+			throw e;
+		}
+	}
+
+	private boolean hasSameChecksum(String fileName) throws IOException {
+		try ( IndexInput localInput = localDirectory.openInput( fileName, IOContext.READONCE );
+				IndexInput sharedInput = sharedDirectory.openInput( fileName, IOContext.READONCE ) ) {
+			return localInput.length() == sharedInput.length()
+					&& CodecUtil.retrieveChecksum( localInput ) == CodecUtil.retrieveChecksum( sharedInput );
+		}
+		catch (CorruptIndexException e) {
+			return false;
+		}
+	}
+
+	private void swapReader(DirectoryReader newReader) throws IOException {
+		if ( readerWarmer != null ) {
+			readerWarmer.warmNewSegments( newReader );
+		}
+		DirectoryReader oldReader = currentReader;
+		currentReader = newReader;
+		if ( oldReader != null ) {
+			// The old reader will actually be closed when the last query using it releases it
+			oldReader.decRef();
+		}
+	}
+
+	private void deleteUnreferencedLocalFiles(Collection<String> referencedFiles) {
+		String[] localFiles;
+		try {
+			localFiles = localDirectory.listAll();
+		}
+		catch (IOException e) {
+			// Will be done on the next refresh
+			return;
+		}
+		for ( String fileName : localFiles ) {
+			if ( referencedFiles.contains( fileName ) ) {
+				continue;
+			}
+			try {
+				localDirectory.deleteFile( fileName );
+			}
+			catch (IOException | RuntimeException e) {
+				// The file may still be open by a reader, depending on the platform: will be deleted on the next refresh
+			}
+		}
+	}
+}
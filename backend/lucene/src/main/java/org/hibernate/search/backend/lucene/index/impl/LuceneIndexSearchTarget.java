@@ -16,6 +16,8 @@
 import org.hibernate.search.backend.lucene.search.query.impl.LuceneSearchTargetContext;
 import org.hibernate.search.backend.lucene.search.query.impl.SearchBackendContext;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.MetricRecordingObjectLoader;
 import org.hibernate.search.engine.search.DocumentReference;
 import org.hibernate.search.engine.search.ObjectLoader;
 import org.hibernate.search.engine.search.dsl.query.SearchQueryResultDefinitionContext;
@@ -31,11 +33,16 @@ class LuceneIndexSearchTarget extends IndexSearchTargetBase {
 
 	private final LuceneSearchTargetModel searchTargetModel;
 	private final SearchTargetContext<?> searchTargetContext;
+	private final MetricRecorder objectLoadingTimeRecorder;
 
 	LuceneIndexSearchTarget(SearchBackendContext searchBackendContext,
-			Set<LuceneIndexModel> indexModels, Set<ReaderProvider> readerProviders) {
+			Set<LuceneIndexModel> indexModels, Set<ReaderProvider> readerProviders,
+			MetricRecorder queryLatencyRecorder, MetricRecorder objectLoadingTimeRecorder) {
 		this.searchTargetModel = new LuceneSearchTargetModel( indexModels, readerProviders );
-		this.searchTargetContext = new LuceneSearchTargetContext( searchBackendContext, searchTargetModel );
+		this.searchTargetContext = new LuceneSearchTargetContext(
+				searchBackendContext, searchTargetModel, queryLatencyRecorder
+		);
+		this.objectLoadingTimeRecorder = objectLoadingTimeRecorder;
 	}
 
 	@Override
@@ -44,7 +51,8 @@ public <R, O> SearchQueryResultDefinitionContext<R, O> query(
 			Function<DocumentReference, R> documentReferenceTransformer,
 			ObjectLoader<R, O> objectLoader) {
 		return new SearchQueryResultDefinitionContextImpl<>( searchTargetContext, context,
-				documentReferenceTransformer, objectLoader );
+				documentReferenceTransformer,
+				MetricRecordingObjectLoader.wrap( objectLoader, objectLoadingTimeRecorder ) );
 	}
 
 	@Override
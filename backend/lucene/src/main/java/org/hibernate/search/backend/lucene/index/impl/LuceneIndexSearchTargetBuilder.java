@@ -17,6 +17,7 @@
 import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.backend.lucene.search.query.impl.SearchBackendContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
 
@@ -57,7 +58,17 @@ public IndexSearchTarget build() {
 		Set<ReaderProvider> readerProviders = indexManagers.stream().map( LuceneIndexManagerImpl::getReaderProvider )
 				.collect( Collectors.toCollection( LinkedHashSet::new ) );
 
-		return new LuceneIndexSearchTarget( searchBackendContext, indexModels, readerProviders );
+		MetricRecorder queryLatencyRecorder = MetricRecorder.composite(
+				indexManagers.stream().map( LuceneIndexManagerImpl::getQueryLatencyRecorder )
+						.collect( Collectors.toList() )
+		);
+		MetricRecorder objectLoadingTimeRecorder = MetricRecorder.composite(
+				indexManagers.stream().map( LuceneIndexManagerImpl::getObjectLoadingTimeRecorder )
+						.collect( Collectors.toList() )
+		);
+
+		return new LuceneIndexSearchTarget( searchBackendContext, indexModels, readerProviders,
+				queryLatencyRecorder, objectLoadingTimeRecorder );
 	}
 
 	@Override
@@ -20,6 +20,7 @@
 import org.hibernate.search.backend.lucene.work.impl.LuceneIndexWork;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 
 
 /**
@@ -30,17 +31,19 @@ class LuceneIndexWorkPlan implements IndexWorkPlan<LuceneRootDocumentBuilder> {
 	private final LuceneWorkFactory factory;
 	private final MultiTenancyStrategy multiTenancyStrategy;
 	private final LuceneIndexWorkOrchestrator orchestrator;
+	private final MetricRecorder documentBuildTimeRecorder;
 	private final String indexName;
 	private final String tenantId;
 
 	private final List<LuceneIndexWork<?>> works = new ArrayList<>();
 
 	LuceneIndexWorkPlan(LuceneWorkFactory factory, MultiTenancyStrategy multiTenancyStrategy,
-			LuceneIndexWorkOrchestrator orchestrator,
+			LuceneIndexWorkOrchestrator orchestrator, MetricRecorder documentBuildTimeRecorder,
 			String indexName, SessionContext sessionContext) {
 		this.factory = factory;
 		this.multiTenancyStrategy = multiTenancyStrategy;
 		this.orchestrator = orchestrator;
+		this.documentBuildTimeRecorder = documentBuildTimeRecorder;
 		this.indexName = indexName;
 		this.tenantId = sessionContext.getTenantIdentifier();
 	}
@@ -51,9 +54,7 @@ public void add(DocumentReferenceProvider referenceProvider,
 		String id = referenceProvider.getIdentifier();
 		String routingKey = referenceProvider.getRoutingKey();
 
-		LuceneRootDocumentBuilder builder = new LuceneRootDocumentBuilder();
-		documentContributor.contribute( builder );
-		LuceneIndexEntry indexEntry = builder.build( indexName, multiTenancyStrategy, tenantId, id );
+		LuceneIndexEntry indexEntry = buildIndexEntry( id, documentContributor );
 
 		collect( factory.add( indexName, tenantId, id, routingKey, indexEntry ) );
 		// FIXME remove this explicit commit
@@ -66,9 +67,7 @@ public void update(DocumentReferenceProvider referenceProvider,
 		String id = referenceProvider.getIdentifier();
 		String routingKey = referenceProvider.getRoutingKey();
 
-		LuceneRootDocumentBuilder builder = new LuceneRootDocumentBuilder();
-		documentContributor.contribute( builder );
-		LuceneIndexEntry indexEntry = builder.build( indexName, multiTenancyStrategy, tenantId, id );
+		LuceneIndexEntry indexEntry = buildIndexEntry( id, documentContributor );
 
 		collect( factory.update( indexName, tenantId, id, routingKey, indexEntry ) );
 		// FIXME remove this explicit commit
@@ -85,6 +84,18 @@ public void delete(DocumentReferenceProvider referenceProvider) {
 		collect( factory.commit( indexName ) );
 	}
 
+	@Override
+	public void purge() {
+		/*
+		 * Works collected so far would be purged anyway:
+		 * drop them, so that multiple purges result in a single deletion.
+		 */
+		works.clear();
+		collect( factory.purge( indexName, tenantId ) );
+		// FIXME remove this explicit commit
+		collect( factory.commit( indexName ) );
+	}
+
 	@Override
 	public void prepare() {
 		// Nothing to do: we only have to send the works to the orchestrator
@@ -101,6 +112,16 @@ public CompletableFuture<?> execute() {
 		}
 	}
 
+	private LuceneIndexEntry buildIndexEntry(String id,
+			DocumentContributor<LuceneRootDocumentBuilder> documentContributor) {
+		long startTime = System.nanoTime();
+		LuceneRootDocumentBuilder builder = new LuceneRootDocumentBuilder();
+		documentContributor.contribute( builder );
+		LuceneIndexEntry indexEntry = builder.build( indexName, multiTenancyStrategy, tenantId, id );
+		documentBuildTimeRecorder.recordNanosSince( startTime );
+		return indexEntry;
+	}
+
 	private void collect(LuceneIndexWork<?> work) {
 		works.add( work );
 	}
@@ -372,4 +372,62 @@ SearchException invalidProjectionInvalidType(String absoluteFieldPath,
 
 	@Message(id = ID_OFFSET_2 + 57, value = "This field does not support projections.")
 	SearchException unsupportedDSLProjections(@Param EventContext context);
+
+	@Message(id = ID_OFFSET_2 + 58,
+			value = "No value was bound to search parameter '%1$s'. Use setParameter(...) on the query before executing it.")
+	SearchException unboundSearchParameter(String parameterName);
+
+	@Message(id = ID_OFFSET_2 + 59, value = "This field does not support aggregations.")
+	SearchException unsupportedDSLAggregations(@Param EventContext context);
+
+	@Message(id = ID_OFFSET_2 + 60,
+			value = "Range aggregations are not supported by this field's type. Use a numeric or temporal field.")
+	SearchException rangeAggregationNotSupportedByFieldType(@Param EventContext context);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = ID_OFFSET_2 + 61,
+			value = "Unable to warm up a segment; it will be exposed to queries without warm-up. %1$s")
+	void unableToWarmUpSegment(@FormatWith(EventContextFormatter.class) EventContext context, @Cause Exception e);
+
+	@Message(id = ID_OFFSET_2 + 62,
+			value = "Unknown merge policy '%1$s'.")
+	SearchException unknownMergePolicyConfiguration(String mergePolicy);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = ID_OFFSET_2 + 63,
+			value = "Unable to merge the segments of an idle index. %1$s")
+	void unableToOptimizeIdleIndex(@FormatWith(EventContextFormatter.class) EventContext context, @Cause Exception e);
+
+	@Message(id = ID_OFFSET_2 + 64,
+			value = "Unknown replication role '%1$s'.")
+	SearchException unknownReplicationRoleConfiguration(String role);
+
+	@Message(id = ID_OFFSET_2 + 65,
+			value = "Undefined shared directory for a replicated index."
+					+ " Set the 'lucene.replication.shared_directory' property.")
+	SearchException undefinedReplicationSharedDirectory(@Param EventContext context);
+
+	@Message(id = ID_OFFSET_2 + 66,
+			value = "Unable to access the replication shared directory '%1$s'.")
+	SearchException unableToAccessReplicationSharedDirectory(Path path, @Param EventContext context, @Cause Exception e);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = ID_OFFSET_2 + 67,
+			value = "Unable to publish a commit to the replication shared directory;"
+					+ " it will be published along with the next commit. %1$s")
+	void unableToPublishCommit(@FormatWith(EventContextFormatter.class) EventContext context, @Cause Exception e);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = ID_OFFSET_2 + 68,
+			value = "Unable to copy the latest commit from the replication shared directory;"
+					+ " queries will keep using the previous commit until the next attempt. %1$s")
+	void unableToRefreshReplica(@FormatWith(EventContextFormatter.class) EventContext context, @Cause Exception e);
+
+	@Message(id = ID_OFFSET_2 + 69,
+			value = "Cannot write to a replica index. Send indexing works to the node hosting the primary index.")
+	SearchException cannotWriteToReplicaIndex(@Param EventContext context);
+
+	@Message(id = ID_OFFSET_2 + 70,
+			value = "Unable to purge the index for tenant identifier '%1$s'.")
+	SearchException unableToPurgeIndex(String tenantId, @Param EventContext context, @Cause Exception e);
 }
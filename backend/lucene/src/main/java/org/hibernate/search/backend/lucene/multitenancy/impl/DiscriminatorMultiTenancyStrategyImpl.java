@@ -14,6 +14,7 @@
 import org.hibernate.search.backend.lucene.util.impl.LuceneFields;
 import org.hibernate.search.backend.lucene.work.impl.QueryBasedDeleteEntryLuceneWork;
 import org.hibernate.search.backend.lucene.work.impl.QueryBasedUpdateEntryLuceneWork;
+import org.hibernate.search.backend.lucene.work.impl.TermBasedPurgeLuceneWork;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -51,6 +52,11 @@ public QueryBasedDeleteEntryLuceneWork createDeleteEntryLuceneWork(String indexN
 		return new QueryBasedDeleteEntryLuceneWork( indexName, tenantId, id );
 	}
 
+	@Override
+	public TermBasedPurgeLuceneWork createPurgeLuceneWork(String indexName, String tenantId) {
+		return new TermBasedPurgeLuceneWork( indexName, tenantId );
+	}
+
 	@Override
 	public void checkTenantId(String tenantId, EventContext backendContext) {
 		if ( tenantId == null ) {
@@ -10,6 +10,7 @@
 import org.apache.lucene.search.Query;
 import org.hibernate.search.backend.lucene.document.impl.LuceneIndexEntry;
 import org.hibernate.search.backend.lucene.work.impl.AbstractDeleteEntryLuceneWork;
+import org.hibernate.search.backend.lucene.work.impl.AbstractPurgeLuceneWork;
 import org.hibernate.search.backend.lucene.work.impl.AbstractUpdateEntryLuceneWork;
 import org.hibernate.search.backend.lucene.work.impl.LuceneIndexWork;
 import org.hibernate.search.util.EventContext;
@@ -71,4 +72,13 @@ public interface MultiTenancyStrategy {
 	 * @return The delete {@link LuceneIndexWork}.
 	 */
 	AbstractDeleteEntryLuceneWork createDeleteEntryLuceneWork(String indexName, String tenantId, String id);
+
+	/**
+	 * Creates the according purge {@link LuceneIndexWork}.
+	 *
+	 * @param indexName The index name.
+	 * @param tenantId The tenant id.
+	 * @return The purge {@link LuceneIndexWork}.
+	 */
+	AbstractPurgeLuceneWork createPurgeLuceneWork(String indexName, String tenantId);
 }
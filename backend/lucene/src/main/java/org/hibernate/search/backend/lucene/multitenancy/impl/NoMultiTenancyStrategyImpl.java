@@ -12,6 +12,7 @@
 import org.apache.lucene.search.Query;
 import org.hibernate.search.backend.lucene.document.impl.LuceneIndexEntry;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.work.impl.DeleteAllPurgeLuceneWork;
 import org.hibernate.search.backend.lucene.work.impl.TermBasedDeleteEntryLuceneWork;
 import org.hibernate.search.backend.lucene.work.impl.TermBasedUpdateEntryLuceneWork;
 import org.hibernate.search.util.EventContext;
@@ -46,6 +47,11 @@ public TermBasedDeleteEntryLuceneWork createDeleteEntryLuceneWork(String indexNa
 		return new TermBasedDeleteEntryLuceneWork( indexName, tenantId, id );
 	}
 
+	@Override
+	public DeleteAllPurgeLuceneWork createPurgeLuceneWork(String indexName, String tenantId) {
+		return new DeleteAllPurgeLuceneWork( indexName, tenantId );
+	}
+
 	@Override
 	public void checkTenantId(String tenantId, EventContext backendContext) {
 		if ( tenantId != null ) {
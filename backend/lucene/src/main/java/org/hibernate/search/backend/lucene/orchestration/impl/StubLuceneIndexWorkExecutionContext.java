@@ -8,6 +8,7 @@
 
 import org.apache.lucene.index.IndexWriter;
 import org.hibernate.search.backend.lucene.work.impl.LuceneIndexWorkExecutionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 
 /**
  * @author Guillaume Smet
@@ -15,13 +16,20 @@
 public class StubLuceneIndexWorkExecutionContext implements LuceneIndexWorkExecutionContext {
 
 	private final IndexWriter indexWriter;
+	private final MetricRecorder commitDurationRecorder;
 
-	public StubLuceneIndexWorkExecutionContext(IndexWriter indexWriter) {
+	public StubLuceneIndexWorkExecutionContext(IndexWriter indexWriter, MetricRecorder commitDurationRecorder) {
 		this.indexWriter = indexWriter;
+		this.commitDurationRecorder = commitDurationRecorder;
 	}
 
 	@Override
 	public IndexWriter getIndexWriter() {
 		return indexWriter;
 	}
+
+	@Override
+	public MetricRecorder getCommitDurationRecorder() {
+		return commitDurationRecorder;
+	}
 }
@@ -8,9 +8,13 @@
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.lucene.index.IndexWriter;
 import org.hibernate.search.backend.lucene.work.impl.LuceneIndexWork;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.impl.common.Futures;
 
 
@@ -22,11 +26,20 @@ public class StubLuceneIndexWorkOrchestrator implements LuceneIndexWorkOrchestra
 
 	private final StubLuceneIndexWorkExecutionContext context;
 
+	private final MetricRecorder batchSizeRecorder;
+	private final MetricRecorder latencyRecorder;
+	private final AtomicInteger pendingWorkCount = new AtomicInteger();
+
 	// Protected by synchronization on updates
 	private CompletableFuture<?> latestFuture = CompletableFuture.completedFuture( null );
 
-	public StubLuceneIndexWorkOrchestrator(IndexWriter indexWriter) {
-		this.context = new StubLuceneIndexWorkExecutionContext( indexWriter );
+	public StubLuceneIndexWorkOrchestrator(IndexWriter indexWriter, String indexName, SearchMetrics metrics) {
+		this.context = new StubLuceneIndexWorkExecutionContext(
+				indexWriter, metrics.recorder( SearchMetricNames.COMMIT_DURATION, indexName )
+		);
+		this.batchSizeRecorder = metrics.recorder( SearchMetricNames.INDEXING_BATCH_SIZE, indexName );
+		this.latencyRecorder = metrics.recorder( SearchMetricNames.INDEXING_LATENCY, indexName );
+		metrics.gauge( SearchMetricNames.INDEXING_QUEUE_DEPTH, indexName, pendingWorkCount::get );
 	}
 
 	@Override
@@ -36,16 +49,25 @@ public void close() {
 
 	@Override
 	public synchronized <T> CompletableFuture<T> submit(LuceneIndexWork<T> work) {
+		long startTime = System.nanoTime();
+		pendingWorkCount.incrementAndGet();
 		CompletableFuture<T> future = latestFuture.thenCompose( Futures.safeComposer(
 				ignored -> work.execute( context )
 		) );
 		// Ignore errors from this work in future works and during close(): error handling is the client's responsibility.
-		latestFuture = future.exceptionally( ignore -> null );
+		latestFuture = future.handle( (ignored, throwable) -> {
+			onCompletion( startTime, 1 );
+			return null;
+		} );
 		return future;
 	}
 
 	@Override
 	public synchronized CompletableFuture<?> submit(List<LuceneIndexWork<?>> works) {
+		long startTime = System.nanoTime();
+		int workCount = works.size();
+		batchSizeRecorder.record( workCount );
+		pendingWorkCount.addAndGet( workCount );
 		CompletableFuture<?> future = latestFuture;
 		for ( LuceneIndexWork<?> work : works ) {
 			future = future.thenCompose( Futures.safeComposer(
@@ -53,7 +75,15 @@ public synchronized CompletableFuture<?> submit(List<LuceneIndexWork<?>> works)
 			) );
 		}
 		// Ignore errors from this work in future works and during close(): error handling is the client's responsibility.
-		latestFuture = future.exceptionally( ignore -> null );
+		latestFuture = future.handle( (ignored, throwable) -> {
+			onCompletion( startTime, workCount );
+			return null;
+		} );
 		return future;
 	}
+
+	private void onCompletion(long startTime, int workCount) {
+		pendingWorkCount.addAndGet( -workCount );
+		latencyRecorder.recordNanosSince( startTime );
+	}
 }
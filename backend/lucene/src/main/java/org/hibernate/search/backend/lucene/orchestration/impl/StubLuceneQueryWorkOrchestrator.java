@@ -8,8 +8,11 @@
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.search.backend.lucene.work.impl.LuceneQueryWork;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.impl.common.Futures;
 
 
@@ -21,11 +24,14 @@ public class StubLuceneQueryWorkOrchestrator implements LuceneQueryWorkOrchestra
 
 	private final StubLuceneQueryWorkExecutionContext context;
 
+	private final AtomicInteger pendingWorkCount = new AtomicInteger();
+
 	// Protected by synchronization on updates
 	private CompletableFuture<?> latestFuture = CompletableFuture.completedFuture( null );
 
-	public StubLuceneQueryWorkOrchestrator() {
+	public StubLuceneQueryWorkOrchestrator(SearchMetrics metrics) {
 		this.context = new StubLuceneQueryWorkExecutionContext();
+		metrics.gauge( SearchMetricNames.QUERY_QUEUE_DEPTH, null, pendingWorkCount::get );
 	}
 
 	@Override
@@ -35,16 +41,22 @@ public void close() {
 
 	@Override
 	public synchronized <T> CompletableFuture<T> submit(LuceneQueryWork<T> work) {
+		pendingWorkCount.incrementAndGet();
 		CompletableFuture<T> future = latestFuture.thenCompose( Futures.safeComposer(
 				ignored -> work.execute( context )
 		) );
 		// Ignore errors from this work in future works and during close(): error handling is the client's responsibility.
-		latestFuture = future.exceptionally( ignore -> null );
+		latestFuture = future.handle( (ignored, throwable) -> {
+			pendingWorkCount.decrementAndGet();
+			return null;
+		} );
 		return future;
 	}
 
 	@Override
 	public synchronized CompletableFuture<?> submit(List<LuceneQueryWork<?>> works) {
+		int workCount = works.size();
+		pendingWorkCount.addAndGet( workCount );
 		CompletableFuture<?> future = latestFuture;
 		for ( LuceneQueryWork<?> work : works ) {
 			future = future.thenCompose( Futures.safeComposer(
@@ -52,7 +64,10 @@ public synchronized CompletableFuture<?> submit(List<LuceneQueryWork<?>> works)
 			) );
 		}
 		// Ignore errors from this work in future works and during close(): error handling is the client's responsibility.
-		latestFuture = future.exceptionally( ignore -> null );
+		latestFuture = future.handle( (ignored, throwable) -> {
+			pendingWorkCount.addAndGet( -workCount );
+			return null;
+		} );
 		return future;
 	}
 }
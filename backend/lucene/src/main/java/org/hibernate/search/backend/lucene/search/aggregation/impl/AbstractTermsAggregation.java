@@ -0,0 +1,76 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+abstract class AbstractTermsAggregation<K extends Comparable<? super K>> implements LuceneAggregation {
+
+	private final String name;
+
+	final String absoluteFieldPath;
+
+	private final int maxTermCount;
+
+	private final Function<K, Object> termConverter;
+
+	AbstractTermsAggregation(String name, String absoluteFieldPath, int maxTermCount,
+			Function<K, Object> termConverter) {
+		this.name = name;
+		this.absoluteFieldPath = absoluteFieldPath;
+		this.maxTermCount = maxTermCount;
+		this.termConverter = termConverter;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[name=" + name + ", field=" + absoluteFieldPath
+				+ ", maxTermCount=" + maxTermCount + "]";
+	}
+
+	/**
+	 * @param terms The count of each term, in no particular order.
+	 * @return The {@code maxTermCount} most frequent terms, converted, most frequent first.
+	 * Terms with the same count are sorted by natural order.
+	 */
+	final Map<Object, Long> extractTopTerms(List<TermCount<K>> terms) {
+		terms.sort( null );
+		int resultSize = Math.min( terms.size(), maxTermCount );
+		Map<Object, Long> result = new LinkedHashMap<>( resultSize * 2 );
+		for ( TermCount<K> term : terms.subList( 0, resultSize ) ) {
+			result.put( termConverter.apply( term.term ), term.count );
+		}
+		return result;
+	}
+
+	static final class TermCount<K extends Comparable<? super K>> implements Comparable<TermCount<K>> {
+		private final K term;
+		private final long count;
+
+		TermCount(K term, long count) {
+			this.term = term;
+			this.count = count;
+		}
+
+		@Override
+		public int compareTo(TermCount<K> other) {
+			int result = Long.compare( other.count, count );
+			if ( result == 0 ) {
+				result = term.compareTo( other.term );
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+/**
+ * A map from long keys to counts, using open addressing with linear probing,
+ * so that counting a value requires neither boxing nor allocation.
+ */
+final class LongCountMap {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private long[] keys;
+	private long[] counts;
+	private boolean[] used;
+	private int size;
+	private int resizeThreshold;
+
+	LongCountMap() {
+		allocate( INITIAL_CAPACITY );
+	}
+
+	void increment(long key) {
+		int mask = keys.length - 1;
+		int slot = hash( key ) & mask;
+		while ( used[slot] ) {
+			if ( keys[slot] == key ) {
+				++counts[slot];
+				return;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		used[slot] = true;
+		keys[slot] = key;
+		counts[slot] = 1L;
+		if ( ++size > resizeThreshold ) {
+			resize();
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	void forEach(EntryConsumer consumer) {
+		for ( int slot = 0; slot < keys.length; slot++ ) {
+			if ( used[slot] ) {
+				consumer.accept( keys[slot], counts[slot] );
+			}
+		}
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		long[] oldCounts = counts;
+		boolean[] oldUsed = used;
+		allocate( oldKeys.length * 2 );
+		int mask = keys.length - 1;
+		for ( int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++ ) {
+			if ( oldUsed[oldSlot] ) {
+				int slot = hash( oldKeys[oldSlot] ) & mask;
+				while ( used[slot] ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				used[slot] = true;
+				keys[slot] = oldKeys[oldSlot];
+				counts[slot] = oldCounts[oldSlot];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		counts = new long[capacity];
+		used = new boolean[capacity];
+		// Keep the load factor at 0.5 at most, so that probing sequences stay short
+		resizeThreshold = capacity / 2;
+	}
+
+	private static int hash(long key) {
+		// Spread the bits: values of a field are often close to each other (e.g. epoch days)
+		long mixed = key * 0x9E3779B97F4A7C15L;
+		return (int) ( mixed ^ ( mixed >>> 32 ) );
+	}
+
+	@FunctionalInterface
+	interface EntryConsumer {
+		void accept(long key, long count);
+	}
+}
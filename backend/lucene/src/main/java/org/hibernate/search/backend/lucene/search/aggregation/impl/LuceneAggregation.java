@@ -0,0 +1,21 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+/**
+ * An aggregation computed while collecting the matching documents of a query.
+ * <p>
+ * Aggregations are immutable and can be shared between executions of the same query:
+ * all the mutable state lives in the collector returned by {@link #createCollector()}.
+ */
+public interface LuceneAggregation {
+
+	String getName();
+
+	LuceneAggregationCollector createCollector();
+
+}
@@ -0,0 +1,22 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.lucene.search.Collector;
+
+public interface LuceneAggregationCollector extends Collector {
+
+	/**
+	 * @return The result of the aggregation, to be called once all the documents have been collected.
+	 * @throws IOException If an error occurs while reading the index.
+	 */
+	Map<Object, Long> toResult() throws IOException;
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.search.SimpleCollector;
+import org.hibernate.search.engine.search.SearchAggregationRange;
+
+/**
+ * A range aggregation on a numeric field (integer, date, ...), relying on the numeric doc values of the field.
+ */
+public class NumericRangeAggregation implements LuceneAggregation {
+
+	private final String name;
+
+	private final String absoluteFieldPath;
+
+	private final List<SearchAggregationRange> ranges;
+
+	// Inclusive bounds, encoded the same way as the doc values
+	private final long[] lowerBounds;
+	private final long[] upperBounds;
+
+	/**
+	 * @param name The name of the aggregation.
+	 * @param absoluteFieldPath The absolute path of the field.
+	 * @param ranges The ranges, as requested by the user.
+	 * @param lowerBounds The inclusive lower bound of each range, encoded the same way as the doc values.
+	 * @param upperBounds The inclusive upper bound of each range, encoded the same way as the doc values.
+	 */
+	public NumericRangeAggregation(String name, String absoluteFieldPath, List<SearchAggregationRange> ranges,
+			long[] lowerBounds, long[] upperBounds) {
+		this.name = name;
+		this.absoluteFieldPath = absoluteFieldPath;
+		this.ranges = ranges;
+		this.lowerBounds = lowerBounds;
+		this.upperBounds = upperBounds;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public LuceneAggregationCollector createCollector() {
+		return new RangeCollector();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[name=" + name + ", field=" + absoluteFieldPath
+				+ ", ranges=" + ranges + "]";
+	}
+
+	private class RangeCollector extends SimpleCollector implements LuceneAggregationCollector {
+
+		private final long[] counts = new long[ranges.size()];
+
+		private NumericDocValues segmentValues;
+
+		@Override
+		protected void doSetNextReader(LeafReaderContext context) throws IOException {
+			segmentValues = DocValues.getNumeric( context.reader(), absoluteFieldPath );
+		}
+
+		@Override
+		public void collect(int doc) throws IOException {
+			if ( segmentValues.advanceExact( doc ) ) {
+				long value = segmentValues.longValue();
+				// Ranges may overlap: a document must be counted in every matching range
+				for ( int i = 0; i < counts.length; i++ ) {
+					if ( lowerBounds[i] <= value && value <= upperBounds[i] ) {
+						++counts[i];
+					}
+				}
+			}
+		}
+
+		@Override
+		public boolean needsScores() {
+			return false;
+		}
+
+		@Override
+		public Map<Object, Long> toResult() {
+			Map<Object, Long> result = new LinkedHashMap<>( counts.length * 2 );
+			for ( int i = 0; i < counts.length; i++ ) {
+				result.put( ranges.get( i ), counts[i] );
+			}
+			return result;
+		}
+	}
+}
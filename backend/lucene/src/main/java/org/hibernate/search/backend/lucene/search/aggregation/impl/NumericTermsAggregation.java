@@ -0,0 +1,65 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.search.SimpleCollector;
+
+/**
+ * A terms aggregation on a numeric field (integer, date, ...), relying on the numeric doc values of the field.
+ */
+public class NumericTermsAggregation extends AbstractTermsAggregation<Long> {
+
+	public NumericTermsAggregation(String name, String absoluteFieldPath, int maxTermCount,
+			Function<Long, Object> termConverter) {
+		super( name, absoluteFieldPath, maxTermCount, termConverter );
+	}
+
+	@Override
+	public LuceneAggregationCollector createCollector() {
+		return new TermsCollector();
+	}
+
+	private class TermsCollector extends SimpleCollector implements LuceneAggregationCollector {
+
+		private final LongCountMap counts = new LongCountMap();
+
+		private NumericDocValues segmentValues;
+
+		@Override
+		protected void doSetNextReader(LeafReaderContext context) throws IOException {
+			segmentValues = DocValues.getNumeric( context.reader(), absoluteFieldPath );
+		}
+
+		@Override
+		public void collect(int doc) throws IOException {
+			if ( segmentValues.advanceExact( doc ) ) {
+				counts.increment( segmentValues.longValue() );
+			}
+		}
+
+		@Override
+		public boolean needsScores() {
+			return false;
+		}
+
+		@Override
+		public Map<Object, Long> toResult() {
+			List<TermCount<Long>> terms = new ArrayList<>( counts.size() );
+			counts.forEach( (term, count) -> terms.add( new TermCount<>( term, count ) ) );
+			return extractTopTerms( terms );
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.aggregation.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.search.SimpleCollector;
+
+/**
+ * A terms aggregation on a string field, relying on the sorted doc values of the field.
+ * <p>
+ * Documents are counted per ordinal within each segment, which only involves an array increment per document;
+ * ordinals are resolved to their term only once per segment, when moving to the next segment.
+ */
+public class StringTermsAggregation extends AbstractTermsAggregation<String> {
+
+	public StringTermsAggregation(String name, String absoluteFieldPath, int maxTermCount,
+			Function<String, Object> termConverter) {
+		super( name, absoluteFieldPath, maxTermCount, termConverter );
+	}
+
+	@Override
+	public LuceneAggregationCollector createCollector() {
+		return new TermsCollector();
+	}
+
+	private class TermsCollector extends SimpleCollector implements LuceneAggregationCollector {
+
+		private final Map<String, Long> counts = new HashMap<>();
+
+		private SortedDocValues segmentValues;
+		private int[] segmentOrdinalCounts;
+
+		@Override
+		protected void doSetNextReader(LeafReaderContext context) throws IOException {
+			flushSegmentCounts();
+			segmentValues = DocValues.getSorted( context.reader(), absoluteFieldPath );
+			segmentOrdinalCounts = new int[segmentValues.getValueCount()];
+		}
+
+		@Override
+		public void collect(int doc) throws IOException {
+			if ( segmentValues.advanceExact( doc ) ) {
+				++segmentOrdinalCounts[segmentValues.ordValue()];
+			}
+		}
+
+		@Override
+		public boolean needsScores() {
+			return false;
+		}
+
+		@Override
+		public Map<Object, Long> toResult() throws IOException {
+			flushSegmentCounts();
+			List<TermCount<String>> terms = new ArrayList<>( counts.size() );
+			for ( Map.Entry<String, Long> entry : counts.entrySet() ) {
+				terms.add( new TermCount<>( entry.getKey(), entry.getValue() ) );
+			}
+			return extractTopTerms( terms );
+		}
+
+		private void flushSegmentCounts() throws IOException {
+			if ( segmentValues == null ) {
+				return;
+			}
+			for ( int ordinal = 0; ordinal < segmentOrdinalCounts.length; ordinal++ ) {
+				int count = segmentOrdinalCounts[ordinal];
+				if ( count > 0 ) {
+					counts.merge( segmentValues.lookupOrd( ordinal ).utf8ToString(), (long) count, Long::sum );
+				}
+			}
+			segmentValues = null;
+			segmentOrdinalCounts = null;
+		}
+	}
+}
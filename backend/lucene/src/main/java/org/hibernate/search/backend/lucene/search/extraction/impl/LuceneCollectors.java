@@ -6,6 +6,11 @@
  */
 package org.hibernate.search.backend.lucene.search.extraction.impl;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopDocsCollector;
@@ -19,11 +24,14 @@ public class LuceneCollectors {
 
 	private final Collector compositeCollector;
 
+	private final List<TopDocsDistances> topDocsDistances;
+
 	LuceneCollectors(TopDocsCollector<?> topDocsCollector, TotalHitCountCollector totalHitCountCollector,
-			Collector compositeCollector) {
+			Collector compositeCollector, List<TopDocsDistances> topDocsDistances) {
 		this.topDocsCollector = topDocsCollector;
 		this.totalHitCountCollector = totalHitCountCollector;
 		this.compositeCollector = compositeCollector;
+		this.topDocsDistances = topDocsDistances == null ? Collections.emptyList() : topDocsDistances;
 	}
 
 	public long getTotalHits() {
@@ -43,6 +51,19 @@ public TopDocs getTopDocs(long firstResultIndex, Long maxResultsCount) {
 		}
 	}
 
+	/**
+	 * Load the values that are only computed for the top documents, once the search has been executed.
+	 *
+	 * @param indexReader The index reader the search was executed on.
+	 * @param topDocs The top documents, as returned by {@link #getTopDocs(long, Long)}.
+	 * @throws IOException If an error occurs while reading the index.
+	 */
+	public void loadTopDocsValues(IndexReader indexReader, TopDocs topDocs) throws IOException {
+		for ( TopDocsDistances distances : topDocsDistances ) {
+			distances.load( indexReader, topDocs );
+		}
+	}
+
 	public Collector getCompositeCollector() {
 		return compositeCollector;
 	}
@@ -16,6 +16,7 @@
 import org.apache.lucene.search.TopFieldCollector;
 import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
+import org.hibernate.search.backend.lucene.util.impl.GeoPointDistances;
 import org.hibernate.search.engine.spatial.GeoPoint;
 
 public class LuceneCollectorsBuilder {
@@ -30,6 +31,8 @@ public class LuceneCollectorsBuilder {
 
 	private List<Collector> luceneCollectors = new ArrayList<>();
 
+	private List<TopDocsDistances> topDocsDistances;
+
 	public LuceneCollectorsBuilder(Sort sort, int maxDocs) {
 		this.sort = sort;
 		this.maxDocs = maxDocs;
@@ -39,7 +42,7 @@ public LuceneCollectorsBuilder(Sort sort, int maxDocs) {
 	}
 
 	public void requireTopDocsCollector() {
-		if ( maxDocs > 0 ) {
+		if ( maxDocs > 0 && topDocsCollector == null ) {
 			topDocsCollector = createTopDocsCollector( sort, maxDocs );
 			luceneCollectors.add( topDocsCollector );
 		}
@@ -49,10 +52,16 @@ public void addCollector(Collector collector) {
 		luceneCollectors.add( collector );
 	}
 
-	public DistanceCollector addDistanceCollector(String absoluteFieldPath, GeoPoint center) {
-		DistanceCollector distanceCollector = new DistanceCollector( absoluteFieldPath, center, maxDocs );
-		luceneCollectors.add( distanceCollector );
-		return distanceCollector;
+	public TopDocsDistances requireTopDocsDistances(String absoluteFieldPath, GeoPoint center) {
+		requireTopDocsCollector();
+
+		TopDocsDistances distances = new TopDocsDistances( absoluteFieldPath, center,
+				GeoPointDistances.findDistanceSortFieldIndex( sort, absoluteFieldPath, center ) );
+		if ( topDocsDistances == null ) {
+			topDocsDistances = new ArrayList<>( 3 );
+		}
+		topDocsDistances.add( distances );
+		return distances;
 	}
 
 	public LuceneCollectors build() {
@@ -65,7 +74,7 @@ public LuceneCollectors build() {
 			compositeCollector = MultiCollector.wrap( luceneCollectors );
 		}
 
-		return new LuceneCollectors( topDocsCollector, totalHitCountCollector, compositeCollector );
+		return new LuceneCollectors( topDocsCollector, totalHitCountCollector, compositeCollector, topDocsDistances );
 	}
 
 	private static TopDocsCollector<?> createTopDocsCollector(Sort sort, int maxDocs) {
@@ -0,0 +1,153 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.extraction.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.hibernate.search.backend.lucene.util.impl.GeoPointDistances;
+import org.hibernate.search.engine.spatial.GeoPoint;
+import org.hibernate.search.util.SearchException;
+
+/**
+ * Distances between a center and the values of a geo point field, for the top documents of a search only.
+ * <p>
+ * Distances are computed once the top documents are known, so that we only read the doc values
+ * of the documents we will actually return, instead of those of every matching document.
+ * When the search is sorted by distance to the same center on the same field,
+ * the distances computed by the sort are reused and doc values are not read at all.
+ * <p>
+ * Values are stored in primitive arrays, in the order of the top documents,
+ * with {@link Double#NaN} denoting a document without any value for the field.
+ *
+ * @author Sanne Grinovero
+ * @author Nicolas Helleringer
+ */
+public class TopDocsDistances {
+
+	private static final int[] EMPTY_DOC_IDS = new int[0];
+	private static final double[] EMPTY_DISTANCES = new double[0];
+
+	private final String absoluteFieldPath;
+	private final GeoPoint center;
+	private final int sortFieldIndex;
+
+	private int[] docIds = EMPTY_DOC_IDS;
+	private double[] distances = EMPTY_DISTANCES;
+
+	/*
+	 * Hits are usually extracted in the order of the top docs,
+	 * so we keep track of the position of the last requested document
+	 * to make lookups O(1) in most cases.
+	 */
+	private int nextPosition = 0;
+
+	TopDocsDistances(String absoluteFieldPath, GeoPoint center, int sortFieldIndex) {
+		this.absoluteFieldPath = absoluteFieldPath;
+		this.center = center;
+		this.sortFieldIndex = sortFieldIndex;
+	}
+
+	/**
+	 * @param docId The (top-level) id of a document from the top documents.
+	 * @return The distance in meters, or {@code null} if the document does not have any value for the field.
+	 */
+	public Double getDistance(int docId) {
+		double distance = distances[getPosition( docId )];
+		return Double.isNaN( distance ) ? null : distance;
+	}
+
+	void load(IndexReader indexReader, TopDocs topDocs) throws IOException {
+		nextPosition = 0;
+		if ( topDocs == null || topDocs.scoreDocs.length == 0 ) {
+			docIds = EMPTY_DOC_IDS;
+			distances = EMPTY_DISTANCES;
+			return;
+		}
+
+		ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+		docIds = new int[scoreDocs.length];
+		distances = new double[scoreDocs.length];
+		for ( int i = 0; i < scoreDocs.length; i++ ) {
+			docIds[i] = scoreDocs[i].doc;
+		}
+
+		if ( sortFieldIndex >= 0 ) {
+			loadFromSortValues( scoreDocs );
+		}
+		else {
+			loadFromDocValues( indexReader );
+		}
+	}
+
+	private void loadFromSortValues(ScoreDoc[] scoreDocs) {
+		for ( int i = 0; i < scoreDocs.length; i++ ) {
+			double distance = (Double) ( (FieldDoc) scoreDocs[i] ).fields[sortFieldIndex];
+			// The distance sort uses positive infinity for documents without a value
+			distances[i] = Double.isInfinite( distance ) ? Double.NaN : distance;
+		}
+	}
+
+	private void loadFromDocValues(IndexReader indexReader) throws IOException {
+		/*
+		 * Doc values must be read in increasing doc id order,
+		 * so we sort the positions by doc id, packing both in a long to avoid any boxing.
+		 */
+		long[] docIdsAndPositions = new long[docIds.length];
+		for ( int i = 0; i < docIds.length; i++ ) {
+			docIdsAndPositions[i] = ( (long) docIds[i] << 32 ) | i;
+		}
+		Arrays.sort( docIdsAndPositions );
+
+		List<LeafReaderContext> leaves = indexReader.leaves();
+		LeafReaderContext currentLeaf = null;
+		SortedNumericDocValues geoPointValues = null;
+		for ( long docIdAndPosition : docIdsAndPositions ) {
+			int docId = (int) ( docIdAndPosition >>> 32 );
+			int position = (int) docIdAndPosition;
+
+			if ( currentLeaf == null || docId >= currentLeaf.docBase + currentLeaf.reader().maxDoc() ) {
+				currentLeaf = leaves.get( ReaderUtil.subIndex( docId, leaves ) );
+				geoPointValues = DocValues.getSortedNumeric( currentLeaf.reader(), absoluteFieldPath );
+			}
+
+			if ( geoPointValues.advanceExact( docId - currentLeaf.docBase ) ) {
+				distances[position] = GeoPointDistances.computeDistanceInMeters( geoPointValues.nextValue(), center );
+			}
+			else {
+				distances[position] = Double.NaN;
+			}
+		}
+	}
+
+	private int getPosition(int docId) {
+		int position = nextPosition;
+		if ( position >= docIds.length || docIds[position] != docId ) {
+			position = -1;
+			for ( int i = 0; i < docIds.length; i++ ) {
+				if ( docIds[i] == docId ) {
+					position = i;
+					break;
+				}
+			}
+			if ( position < 0 ) {
+				throw new SearchException( "Unexpected index: this documentId was not collected" );
+			}
+		}
+		nextPosition = position + 1;
+		return position;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.FixedBitSet;
+
+/**
+ * A {@link BitSetProducer} caching the documents matching a query for each segment.
+ * <p>
+ * Entries are keyed by segment core,
+ * so they stay valid as long as the segment is part of the index,
+ * and they are evicted as soon as the segment is closed, e.g. after a merge followed by a reader refresh.
+ * Deleted documents are not taken into account, as for Lucene's {@code QueryBitSetProducer}.
+ */
+final class CachingBitSetProducer implements BitSetProducer {
+
+	/*
+	 * Placeholder for segments without any matching document,
+	 * since null values are not allowed in a ConcurrentHashMap.
+	 */
+	private static final BitSet NO_MATCH = new FixedBitSet( 0 );
+
+	private final Query query;
+
+	private final Map<IndexReader.CacheKey, BitSet> cache = new ConcurrentHashMap<>();
+
+	CachingBitSetProducer(Query query) {
+		this.query = query;
+	}
+
+	@Override
+	public BitSet getBitSet(LeafReaderContext context) throws IOException {
+		IndexReader.CacheHelper cacheHelper = context.reader().getCoreCacheHelper();
+		if ( cacheHelper == null ) {
+			// This reader cannot be cached, e.g. because it filters documents on the fly
+			return compute( context );
+		}
+
+		IndexReader.CacheKey key = cacheHelper.getKey();
+		BitSet bitSet = cache.get( key );
+		if ( bitSet == null ) {
+			BitSet computed = compute( context );
+			bitSet = computed == null ? NO_MATCH : computed;
+			if ( cache.putIfAbsent( key, bitSet ) == null ) {
+				// The segment core is referenced by the reader we're using, so it cannot be closed yet
+				cacheHelper.addClosedListener( cache::remove );
+			}
+		}
+		return bitSet == NO_MATCH ? null : bitSet;
+	}
+
+	void clear() {
+		cache.clear();
+	}
+
+	int getCachedSegmentCount() {
+		return cache.size();
+	}
+
+	private BitSet compute(LeafReaderContext context) throws IOException {
+		IndexReaderContext topLevelContext = ReaderUtil.getTopLevelContext( context );
+		IndexSearcher searcher = new IndexSearcher( topLevelContext );
+		searcher.setQueryCache( null );
+		Weight weight = searcher.createWeight( searcher.rewrite( query ), false, 1f );
+		Scorer scorer = weight.scorer( context );
+		if ( scorer == null ) {
+			return null;
+		}
+		return BitSet.of( scorer.iterator(), context.reader().maxDoc() );
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if ( obj == this ) {
+			return true;
+		}
+		if ( obj == null || obj.getClass() != getClass() ) {
+			return false;
+		}
+		return query.equals( ( (CachingBitSetProducer) obj ).query );
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * getClass().hashCode() + query.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[query=" + query + "]";
+	}
+}
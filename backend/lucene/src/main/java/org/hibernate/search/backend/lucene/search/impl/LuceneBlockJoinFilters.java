@@ -0,0 +1,54 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.lucene.search.join.BitSetProducer;
+
+/**
+ * The parent and child filters of block joins, shared across the queries of a backend
+ * so that their per-segment bitsets are only computed once per segment.
+ * <p>
+ * Cached bitsets are released when the backend is closed.
+ */
+public final class LuceneBlockJoinFilters {
+
+	private final CachingBitSetProducer mainDocumentFilter =
+			new CachingBitSetProducer( LuceneQueries.mainDocumentQuery() );
+
+	private final ConcurrentMap<String, CachingBitSetProducer> nestedDocumentPathFilters = new ConcurrentHashMap<>();
+
+	public BitSetProducer mainDocumentFilter() {
+		return mainDocumentFilter;
+	}
+
+	public BitSetProducer nestedDocumentPathFilter(String absoluteFieldPath) {
+		return nestedDocumentPathFilters.computeIfAbsent(
+				absoluteFieldPath, path -> new CachingBitSetProducer( LuceneQueries.nestedDocumentPathQuery( path ) )
+		);
+	}
+
+	/**
+	 * @param nestedDocumentPath The absolute path of the nested document, or {@code null} for the main document.
+	 * @return A filter matching the documents at the given level of nesting,
+	 * to be used as the parent filter in block joins.
+	 */
+	public BitSetProducer parentDocumentFilter(String nestedDocumentPath) {
+		return nestedDocumentPath == null ? mainDocumentFilter : nestedDocumentPathFilter( nestedDocumentPath );
+	}
+
+	public void close() {
+		mainDocumentFilter.clear();
+		for ( CachingBitSetProducer filter : nestedDocumentPathFilters.values() ) {
+			filter.clear();
+		}
+		nestedDocumentPathFilters.clear();
+	}
+
+}
@@ -13,6 +13,7 @@
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
+import org.hibernate.search.backend.lucene.search.predicate.impl.LuceneSearchPredicateBuilder;
 import org.hibernate.search.backend.lucene.search.predicate.impl.LuceneSearchPredicateCollector;
 import org.hibernate.search.backend.lucene.search.sort.impl.LuceneSearchSortCollector;
 
@@ -23,11 +24,19 @@
 		implements LuceneSearchPredicateCollector, LuceneSearchSortCollector {
 
 	private Query luceneQueryPredicate;
+	private LuceneSearchPredicateBuilder parameterizedPredicateBuilder;
 	private List<SortField> sortFields;
 
 	@Override
 	public void collectPredicate(Query luceneQuery) {
 		this.luceneQueryPredicate = luceneQuery;
+		this.parameterizedPredicateBuilder = null;
+	}
+
+	@Override
+	public void collectParameterizedPredicate(LuceneSearchPredicateBuilder builder) {
+		this.luceneQueryPredicate = null;
+		this.parameterizedPredicateBuilder = builder;
 	}
 
 	@Override
@@ -54,6 +63,14 @@ public Query toLuceneQueryPredicate() {
 		return luceneQueryPredicate;
 	}
 
+	/**
+	 * @return The builder of the predicate if it depends on search parameters, {@code null} otherwise.
+	 * When this is not {@code null}, {@link #toLuceneQueryPredicate()} returns {@code null}.
+	 */
+	public LuceneSearchPredicateBuilder toParameterizedPredicateBuilder() {
+		return parameterizedPredicateBuilder;
+	}
+
 	public List<SortField> toLuceneSortFields() {
 		return sortFields;
 	}
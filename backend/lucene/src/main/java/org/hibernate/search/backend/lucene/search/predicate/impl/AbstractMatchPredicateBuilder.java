@@ -8,9 +8,11 @@
 
 import java.lang.invoke.MethodHandles;
 
+import org.apache.lucene.search.Query;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchParameter;
 import org.hibernate.search.engine.search.predicate.spi.MatchPredicateBuilder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -23,7 +25,9 @@
 	protected final String absoluteFieldPath;
 	private final LuceneFieldConverter<?, T> converter;
 
-	protected T value;
+	private T value;
+
+	private SearchParameter valueParameter;
 
 	protected AbstractMatchPredicateBuilder(String absoluteFieldPath, LuceneFieldConverter<?, T> converter) {
 		this.absoluteFieldPath = absoluteFieldPath;
@@ -32,8 +36,30 @@ protected AbstractMatchPredicateBuilder(String absoluteFieldPath, LuceneFieldCon
 
 	@Override
 	public void value(Object value) {
+		if ( value instanceof SearchParameter ) {
+			this.valueParameter = (SearchParameter) value;
+		}
+		else {
+			this.value = convertFromDsl( value );
+		}
+	}
+
+	@Override
+	public boolean isParameterized() {
+		return valueParameter != null;
+	}
+
+	@Override
+	protected final Query doBuild(LuceneSearchPredicateContext context) {
+		T resolvedValue = valueParameter == null ? value : convertFromDsl( context.getParameterValue( valueParameter ) );
+		return doBuild( context, resolvedValue );
+	}
+
+	protected abstract Query doBuild(LuceneSearchPredicateContext context, T value);
+
+	private T convertFromDsl(Object value) {
 		try {
-			this.value = converter.convertFromDsl( value );
+			return converter.convertFromDsl( value );
 		}
 		catch (RuntimeException e) {
 			throw log.cannotConvertDslParameter(
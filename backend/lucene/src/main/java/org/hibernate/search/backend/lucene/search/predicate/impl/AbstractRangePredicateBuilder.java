@@ -8,9 +8,11 @@
 
 import java.lang.invoke.MethodHandles;
 
+import org.apache.lucene.search.Query;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
 import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchParameter;
 import org.hibernate.search.engine.search.predicate.spi.RangePredicateBuilder;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -24,11 +26,15 @@
 
 	protected final LuceneFieldConverter<?, F> converter;
 
-	protected F lowerLimit;
+	private F lowerLimit;
+
+	private SearchParameter lowerLimitParameter;
 
 	protected boolean excludeLowerLimit = false;
 
-	protected F upperLimit;
+	private F upperLimit;
+
+	private SearchParameter upperLimitParameter;
 
 	protected boolean excludeUpperLimit = false;
 
@@ -39,13 +45,11 @@ protected AbstractRangePredicateBuilder(String absoluteFieldPath, LuceneFieldCon
 
 	@Override
 	public void lowerLimit(Object value) {
-		try {
-			lowerLimit = converter.convertFromDsl( value );
+		if ( value instanceof SearchParameter ) {
+			lowerLimitParameter = (SearchParameter) value;
 		}
-		catch (RuntimeException e) {
-			throw log.cannotConvertDslParameter(
-					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
-			);
+		else {
+			lowerLimit = convertFromDsl( value );
 		}
 	}
 
@@ -56,13 +60,11 @@ public void excludeLowerLimit() {
 
 	@Override
 	public void upperLimit(Object value) {
-		try {
-			upperLimit = converter.convertFromDsl( value );
+		if ( value instanceof SearchParameter ) {
+			upperLimitParameter = (SearchParameter) value;
 		}
-		catch (RuntimeException e) {
-			throw log.cannotConvertDslParameter(
-					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
-			);
+		else {
+			upperLimit = convertFromDsl( value );
 		}
 	}
 
@@ -70,4 +72,31 @@ public void upperLimit(Object value) {
 	public void excludeUpperLimit() {
 		excludeUpperLimit = true;
 	}
+
+	@Override
+	public boolean isParameterized() {
+		return lowerLimitParameter != null || upperLimitParameter != null;
+	}
+
+	@Override
+	protected final Query doBuild(LuceneSearchPredicateContext context) {
+		F resolvedLowerLimit = lowerLimitParameter == null ? lowerLimit
+				: convertFromDsl( context.getParameterValue( lowerLimitParameter ) );
+		F resolvedUpperLimit = upperLimitParameter == null ? upperLimit
+				: convertFromDsl( context.getParameterValue( upperLimitParameter ) );
+		return doBuild( context, resolvedLowerLimit, resolvedUpperLimit );
+	}
+
+	protected abstract Query doBuild(LuceneSearchPredicateContext context, F lowerLimit, F upperLimit);
+
+	private F convertFromDsl(Object value) {
+		try {
+			return converter.convertFromDsl( value );
+		}
+		catch (RuntimeException e) {
+			throw log.cannotConvertDslParameter(
+					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+			);
+		}
+	}
 }
@@ -40,5 +40,26 @@ public final Query build(LuceneSearchPredicateContext context) {
 		}
 	}
 
+	@Override
+	public final LuceneSearchPredicateBuilder prebuild(LuceneSearchPredicateContext context) {
+		if ( !isParameterized() ) {
+			Query query = build( context );
+			return ignored -> query;
+		}
+		AbstractSearchPredicateBuilder prebuilt = doPrebuild( context );
+		prebuilt.boost = boost;
+		return prebuilt;
+	}
+
 	protected abstract Query doBuild(LuceneSearchPredicateContext context);
+
+	/**
+	 * @param context The context this builder will be built in.
+	 * @return A builder equivalent to this one, with its non-parameterized children prebuilt.
+	 * Only called when {@link #isParameterized()} returns {@code true}.
+	 * Leaf builders, which do not have children, return themselves.
+	 */
+	protected AbstractSearchPredicateBuilder doPrebuild(LuceneSearchPredicateContext context) {
+		return this;
+	}
 }
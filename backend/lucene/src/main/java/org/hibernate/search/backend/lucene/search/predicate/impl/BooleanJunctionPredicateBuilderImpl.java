@@ -98,6 +98,23 @@ private void addMinimumShouldMatchConstraint(int ignoreConstraintCeiling,
 		}
 	}
 
+	@Override
+	public boolean isParameterized() {
+		return isParameterized( mustClauseBuilders ) || isParameterized( mustNotClauseBuilders )
+				|| isParameterized( shouldClauseBuilders ) || isParameterized( filterClauseBuilders );
+	}
+
+	@Override
+	protected AbstractSearchPredicateBuilder doPrebuild(LuceneSearchPredicateContext context) {
+		BooleanJunctionPredicateBuilderImpl prebuilt = new BooleanJunctionPredicateBuilderImpl();
+		prebuilt.mustClauseBuilders = prebuild( context, mustClauseBuilders );
+		prebuilt.mustNotClauseBuilders = prebuild( context, mustNotClauseBuilders );
+		prebuilt.shouldClauseBuilders = prebuild( context, shouldClauseBuilders );
+		prebuilt.filterClauseBuilders = prebuild( context, filterClauseBuilders );
+		prebuilt.minimumShouldMatchConstraints = minimumShouldMatchConstraints;
+		return prebuilt;
+	}
+
 	@Override
 	protected Query doBuild(LuceneSearchPredicateContext context) {
 		BooleanQuery.Builder booleanQueryBuilder = new BooleanQuery.Builder();
@@ -140,6 +157,32 @@ private void contributeQueries(LuceneSearchPredicateContext context,
 		}
 	}
 
+	private static List<LuceneSearchPredicateBuilder> prebuild(LuceneSearchPredicateContext context,
+			List<LuceneSearchPredicateBuilder> clauseBuilders) {
+		if ( clauseBuilders == null ) {
+			return null;
+		}
+
+		List<LuceneSearchPredicateBuilder> prebuilt = new ArrayList<>( clauseBuilders.size() );
+		for ( LuceneSearchPredicateBuilder clauseBuilder : clauseBuilders ) {
+			prebuilt.add( clauseBuilder.prebuild( context ) );
+		}
+		return prebuilt;
+	}
+
+	private static boolean isParameterized(List<LuceneSearchPredicateBuilder> clauseBuilders) {
+		if ( clauseBuilders == null ) {
+			return false;
+		}
+
+		for ( LuceneSearchPredicateBuilder clauseBuilder : clauseBuilders ) {
+			if ( clauseBuilder.isParameterized() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean isOnlyMustNot() {
 		return mustNotClauseBuilders != null && !mustNotClauseBuilders.isEmpty()
 				&& ( mustClauseBuilders == null || mustClauseBuilders.isEmpty() )
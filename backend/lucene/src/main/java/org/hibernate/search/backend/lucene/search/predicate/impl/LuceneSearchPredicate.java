@@ -23,4 +23,14 @@ public Query build(LuceneSearchPredicateContext context) {
 		return delegate.build( context );
 	}
 
+	@Override
+	public boolean isParameterized() {
+		return delegate.isParameterized();
+	}
+
+	@Override
+	public LuceneSearchPredicateBuilder prebuild(LuceneSearchPredicateContext context) {
+		return delegate.prebuild( context );
+	}
+
 }
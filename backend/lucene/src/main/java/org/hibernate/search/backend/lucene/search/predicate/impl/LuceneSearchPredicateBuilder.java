@@ -12,4 +12,25 @@ public interface LuceneSearchPredicateBuilder {
 
 	Query build(LuceneSearchPredicateContext context);
 
+	/**
+	 * @return {@code true} if the built query depends on search parameters,
+	 * in which case it must be built again every time the parameter values change.
+	 */
+	default boolean isParameterized() {
+		return false;
+	}
+
+	/**
+	 * @param context The context this builder will be built in.
+	 * @return A builder equivalent to this one, where every query that does not depend on search parameters
+	 * has been built once and for all, so that building it again only converts the parameterized leaves.
+	 */
+	default LuceneSearchPredicateBuilder prebuild(LuceneSearchPredicateContext context) {
+		if ( isParameterized() ) {
+			return this;
+		}
+		Query query = build( context );
+		return ignored -> query;
+	}
+
 }
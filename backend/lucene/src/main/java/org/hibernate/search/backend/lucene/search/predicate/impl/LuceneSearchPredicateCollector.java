@@ -20,4 +20,11 @@
 public interface LuceneSearchPredicateCollector {
 
 	void collectPredicate(Query luceneQuery);
+
+	/**
+	 * Collect a predicate whose query can only be built once search parameters are bound.
+	 *
+	 * @param builder A builder for which {@link LuceneSearchPredicateBuilder#isParameterized()} returns {@code true}.
+	 */
+	void collectParameterizedPredicate(LuceneSearchPredicateBuilder builder);
 }
@@ -6,21 +6,51 @@
  */
 package org.hibernate.search.backend.lucene.search.predicate.impl;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.Map;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.engine.search.SearchParameter;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
 public class LuceneSearchPredicateContext {
 
-	private static final LuceneSearchPredicateContext ROOT = new LuceneSearchPredicateContext( null );
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private static final LuceneSearchPredicateContext ROOT = new LuceneSearchPredicateContext( null, Collections.emptyMap() );
 
 	private final String nestedPath;
 
-	public LuceneSearchPredicateContext(String nestedPath) {
+	private final Map<String, Object> parameters;
+
+	private LuceneSearchPredicateContext(String nestedPath, Map<String, Object> parameters) {
 		this.nestedPath = nestedPath;
+		this.parameters = parameters;
 	}
 
 	public String getNestedPath() {
 		return nestedPath;
 	}
 
+	public LuceneSearchPredicateContext nested(String nestedPath) {
+		return new LuceneSearchPredicateContext( nestedPath, parameters );
+	}
+
+	public Object getParameterValue(SearchParameter parameter) {
+		String name = parameter.getName();
+		Object value = parameters.get( name );
+		if ( value == null && !parameters.containsKey( name ) ) {
+			throw log.unboundSearchParameter( name );
+		}
+		return value;
+	}
+
 	public static LuceneSearchPredicateContext root() {
 		return ROOT;
 	}
+
+	public static LuceneSearchPredicateContext root(Map<String, Object> parameters) {
+		return new LuceneSearchPredicateContext( null, parameters );
+	}
 }
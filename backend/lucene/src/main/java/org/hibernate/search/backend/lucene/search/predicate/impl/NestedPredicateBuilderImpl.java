@@ -6,13 +6,13 @@
  */
 package org.hibernate.search.backend.lucene.search.predicate.impl;
 
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.impl.LuceneQueries;
 import org.hibernate.search.engine.search.predicate.spi.NestedPredicateBuilder;
 
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.join.QueryBitSetProducer;
 import org.apache.lucene.search.join.ScoreMode;
 import org.apache.lucene.search.join.ToParentBlockJoinQuery;
 
@@ -23,11 +23,14 @@
 class NestedPredicateBuilderImpl extends AbstractSearchPredicateBuilder
 		implements NestedPredicateBuilder<LuceneSearchPredicateBuilder> {
 
+	private final LuceneBlockJoinFilters blockJoinFilters;
+
 	private final String absoluteFieldPath;
 
 	private LuceneSearchPredicateBuilder nestedBuilder;
 
-	NestedPredicateBuilderImpl(String absoluteFieldPath) {
+	NestedPredicateBuilderImpl(LuceneBlockJoinFilters blockJoinFilters, String absoluteFieldPath) {
+		this.blockJoinFilters = blockJoinFilters;
 		this.absoluteFieldPath = absoluteFieldPath;
 	}
 
@@ -36,24 +39,30 @@ public void nested(LuceneSearchPredicateBuilder nestedBuilder) {
 		this.nestedBuilder = nestedBuilder;
 	}
 
+	@Override
+	public boolean isParameterized() {
+		return nestedBuilder.isParameterized();
+	}
+
+	@Override
+	protected AbstractSearchPredicateBuilder doPrebuild(LuceneSearchPredicateContext context) {
+		NestedPredicateBuilderImpl prebuilt = new NestedPredicateBuilderImpl( blockJoinFilters, absoluteFieldPath );
+		prebuilt.nestedBuilder = nestedBuilder.prebuild( context.nested( absoluteFieldPath ) );
+		return prebuilt;
+	}
+
 	@Override
 	protected Query doBuild(LuceneSearchPredicateContext context) {
-		LuceneSearchPredicateContext childContext = new LuceneSearchPredicateContext( absoluteFieldPath );
+		LuceneSearchPredicateContext childContext = context.nested( absoluteFieldPath );
 
 		BooleanQuery.Builder childQueryBuilder = new BooleanQuery.Builder();
 		childQueryBuilder.add( LuceneQueries.childDocumentQuery(), Occur.FILTER );
 		childQueryBuilder.add( LuceneQueries.nestedDocumentPathQuery( absoluteFieldPath ), Occur.FILTER );
 		childQueryBuilder.add( nestedBuilder.build( childContext ), Occur.MUST );
 
-		Query parentQuery;
-		if ( context.getNestedPath() == null ) {
-			parentQuery = LuceneQueries.mainDocumentQuery();
-		}
-		else {
-			parentQuery = LuceneQueries.nestedDocumentPathQuery( context.getNestedPath() );
-		}
-
 		// TODO at some point we should have a parameter for the score mode
-		return new ToParentBlockJoinQuery( childQueryBuilder.build(), new QueryBitSetProducer( parentQuery ), ScoreMode.Avg );
+		return new ToParentBlockJoinQuery(
+				childQueryBuilder.build(), blockJoinFilters.parentDocumentFilter( context.getNestedPath() ), ScoreMode.Avg
+		);
 	}
 }
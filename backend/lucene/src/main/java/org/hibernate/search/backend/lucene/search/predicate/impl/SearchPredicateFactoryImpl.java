@@ -9,6 +9,7 @@
 import java.lang.invoke.MethodHandles;
 
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchTargetModel;
 import org.hibernate.search.engine.search.SearchPredicate;
 import org.hibernate.search.engine.search.predicate.spi.BooleanJunctionPredicateBuilder;
@@ -32,8 +33,11 @@ public class SearchPredicateFactoryImpl implements LuceneSearchPredicateFactory
 
 	private final LuceneSearchTargetModel searchTargetModel;
 
-	public SearchPredicateFactoryImpl(LuceneSearchTargetModel searchTargetModel) {
+	private final LuceneBlockJoinFilters blockJoinFilters;
+
+	public SearchPredicateFactoryImpl(LuceneSearchTargetModel searchTargetModel, LuceneBlockJoinFilters blockJoinFilters) {
 		this.searchTargetModel = searchTargetModel;
+		this.blockJoinFilters = blockJoinFilters;
 	}
 
 	@Override
@@ -52,7 +56,12 @@ public LuceneSearchPredicateBuilder toImplementation(SearchPredicate predicate)
 	@Override
 	public void contribute(LuceneSearchPredicateCollector collector,
 			LuceneSearchPredicateBuilder builder) {
-		collector.collectPredicate( builder.build( LuceneSearchPredicateContext.root() ) );
+		if ( builder.isParameterized() ) {
+			collector.collectParameterizedPredicate( builder );
+		}
+		else {
+			collector.collectPredicate( builder.build( LuceneSearchPredicateContext.root() ) );
+		}
 	}
 
 	@Override
@@ -95,7 +104,7 @@ public SpatialWithinBoundingBoxPredicateBuilder<LuceneSearchPredicateBuilder> sp
 	@Override
 	public NestedPredicateBuilder<LuceneSearchPredicateBuilder> nested(String absoluteFieldPath) {
 		searchTargetModel.checkNestedField( absoluteFieldPath );
-		return new NestedPredicateBuilderImpl( absoluteFieldPath );
+		return new NestedPredicateBuilderImpl( blockJoinFilters, absoluteFieldPath );
 	}
 
 	@Override
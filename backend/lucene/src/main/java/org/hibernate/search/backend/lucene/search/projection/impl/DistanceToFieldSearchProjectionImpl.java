@@ -8,9 +8,9 @@
 
 import java.util.Set;
 
-import org.hibernate.search.backend.lucene.search.extraction.impl.DistanceCollector;
 import org.hibernate.search.backend.lucene.search.extraction.impl.LuceneCollectorsBuilder;
 import org.hibernate.search.backend.lucene.search.extraction.impl.LuceneResult;
+import org.hibernate.search.backend.lucene.search.extraction.impl.TopDocsDistances;
 import org.hibernate.search.engine.search.query.spi.ProjectionHitCollector;
 import org.hibernate.search.engine.spatial.DistanceUnit;
 import org.hibernate.search.engine.spatial.GeoPoint;
@@ -23,7 +23,7 @@ class DistanceToFieldSearchProjectionImpl implements LuceneSearchProjection<Doub
 
 	private final DistanceUnit unit;
 
-	private DistanceCollector distanceCollector;
+	private TopDocsDistances distances;
 
 	DistanceToFieldSearchProjectionImpl(String absoluteFieldPath, GeoPoint center, DistanceUnit unit) {
 		this.absoluteFieldPath = absoluteFieldPath;
@@ -33,7 +33,7 @@ class DistanceToFieldSearchProjectionImpl implements LuceneSearchProjection<Doub
 
 	@Override
 	public void contributeCollectors(LuceneCollectorsBuilder luceneCollectorBuilder) {
-		this.distanceCollector = luceneCollectorBuilder.addDistanceCollector( absoluteFieldPath, center );
+		this.distances = luceneCollectorBuilder.requireTopDocsDistances( absoluteFieldPath, center );
 	}
 
 	@Override
@@ -43,7 +43,7 @@ public void contributeFields(Set<String> absoluteFieldPaths) {
 
 	@Override
 	public void extract(ProjectionHitCollector collector, LuceneResult documentResult) {
-		collector.collectProjection( unit.fromMeters( distanceCollector.getDistance( documentResult.getDocId() ) ) );
+		collector.collectProjection( unit.fromMeters( distances.getDistance( documentResult.getDocId() ) ) );
 	}
 
 	@Override
@@ -0,0 +1,172 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.query.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+
+/**
+ * A size-bounded, LRU cache of the top documents of Lucene queries.
+ * <p>
+ * Keys include the version of every index reader the query was executed on,
+ * so that entries are never returned after a refresh: they simply stop being used
+ * and end up being evicted.
+ * <p>
+ * Only the total hit count and the top documents (ids, scores and sort values) are cached:
+ * hits are still extracted for each execution, since extraction may involve loading
+ * objects from the session of the caller.
+ */
+public class LuceneQueryResultCache {
+
+	private static final LuceneQueryResultCache DISABLED = new LuceneQueryResultCache( 0 );
+
+	public static LuceneQueryResultCache create(int maxEntries) {
+		return maxEntries > 0 ? new LuceneQueryResultCache( maxEntries ) : DISABLED;
+	}
+
+	private final int maxEntries;
+
+	private final Map<Key, Entry> entries;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	private LuceneQueryResultCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = maxEntries > 0 ? new LinkedHashMap<Key, Entry>( 16, 0.75f, true ) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > LuceneQueryResultCache.this.maxEntries;
+			}
+		} : null;
+	}
+
+	public boolean isEnabled() {
+		return entries != null;
+	}
+
+	Entry get(Key key) {
+		if ( key == null || entries == null ) {
+			return null;
+		}
+		Entry entry;
+		synchronized ( entries ) {
+			entry = entries.get( key );
+		}
+		if ( entry != null ) {
+			hitCount.increment();
+		}
+		else {
+			missCount.increment();
+		}
+		return entry;
+	}
+
+	void put(Key key, long totalHits, TopDocs topDocs) {
+		if ( key == null || entries == null ) {
+			return;
+		}
+		Entry entry = new Entry( totalHits, topDocs );
+		synchronized ( entries ) {
+			entries.put( key, entry );
+		}
+	}
+
+	/**
+	 * @return The number of executions whose results were found in the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return The number of executions of cacheable queries whose results were not found in the cache.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[maxEntries=" + maxEntries + "]";
+	}
+
+	static final class Key {
+
+		private final Set<String> indexNames;
+		private final long[] readerVersions;
+		private final Query luceneQuery;
+		private final Sort luceneSort;
+		private final long firstResultIndex;
+		private final long maxResultsCount;
+		private final int hashCode;
+
+		Key(Set<String> indexNames, long[] readerVersions, Query luceneQuery, Sort luceneSort,
+				long firstResultIndex, long maxResultsCount) {
+			this.indexNames = indexNames;
+			this.readerVersions = readerVersions;
+			this.luceneQuery = luceneQuery;
+			this.luceneSort = luceneSort;
+			this.firstResultIndex = firstResultIndex;
+			this.maxResultsCount = maxResultsCount;
+			this.hashCode = Objects.hash( indexNames, Arrays.hashCode( readerVersions ), luceneQuery, luceneSort,
+					firstResultIndex, maxResultsCount );
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( obj == this ) {
+				return true;
+			}
+			if ( !( obj instanceof Key ) ) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+
+			return hashCode == other.hashCode
+					&& firstResultIndex == other.firstResultIndex
+					&& maxResultsCount == other.maxResultsCount
+					&& Arrays.equals( readerVersions, other.readerVersions )
+					&& Objects.equals( indexNames, other.indexNames )
+					&& Objects.equals( luceneSort, other.luceneSort )
+					&& Objects.equals( luceneQuery, other.luceneQuery );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	static final class Entry {
+
+		private final long totalHits;
+		private final TopDocs topDocs;
+
+		private Entry(long totalHits, TopDocs topDocs) {
+			this.totalHits = totalHits;
+			this.topDocs = topDocs;
+		}
+
+		long getTotalHits() {
+			return totalHits;
+		}
+
+		TopDocs getTopDocs() {
+			return topDocs;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.query.impl;
+
+import java.util.Map;
+
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
+import org.hibernate.search.backend.lucene.search.impl.LuceneQueries;
+import org.hibernate.search.backend.lucene.search.predicate.impl.LuceneSearchPredicateBuilder;
+import org.hibernate.search.backend.lucene.search.predicate.impl.LuceneSearchPredicateContext;
+
+/**
+ * The Lucene query executed by a {@link LuceneSearchQuery}.
+ * <p>
+ * Queries that do not use search parameters are built once, when the search query is built.
+ * Queries that do are only built when executed, from the predicate builders
+ * that were retained for that purpose: the DSL is not involved again,
+ * and subtrees that do not depend on parameters are {@link LuceneSearchPredicateBuilder#prebuild(LuceneSearchPredicateContext) prebuilt},
+ * so only the leaf queries depending on parameters and their parent junctions need to be built.
+ */
+abstract class LuceneQueryTemplate {
+
+	static LuceneQueryTemplate create(Query predicate, LuceneSearchPredicateBuilder parameterizedPredicateBuilder,
+			MultiTenancyStrategy multiTenancyStrategy, String tenantId) {
+		if ( parameterizedPredicateBuilder != null ) {
+			return new Parameterized( parameterizedPredicateBuilder, multiTenancyStrategy, tenantId );
+		}
+		else {
+			return new Static( decorate( predicate, multiTenancyStrategy, tenantId ) );
+		}
+	}
+
+	abstract Query toLuceneQuery(Map<String, Object> parameters);
+
+	private static Query decorate(Query predicate, MultiTenancyStrategy multiTenancyStrategy, String tenantId) {
+		BooleanQuery.Builder luceneQueryBuilder = new BooleanQuery.Builder();
+		luceneQueryBuilder.add( predicate, Occur.MUST );
+		luceneQueryBuilder.add( LuceneQueries.mainDocumentQuery(), Occur.FILTER );
+
+		return multiTenancyStrategy.decorateLuceneQuery( luceneQueryBuilder.build(), tenantId );
+	}
+
+	private static final class Static extends LuceneQueryTemplate {
+
+		private final Query luceneQuery;
+
+		private Static(Query luceneQuery) {
+			this.luceneQuery = luceneQuery;
+		}
+
+		@Override
+		Query toLuceneQuery(Map<String, Object> parameters) {
+			return luceneQuery;
+		}
+	}
+
+	private static final class Parameterized extends LuceneQueryTemplate {
+
+		private final LuceneSearchPredicateBuilder predicateBuilder;
+		private final MultiTenancyStrategy multiTenancyStrategy;
+		private final String tenantId;
+
+		private Parameterized(LuceneSearchPredicateBuilder predicateBuilder,
+				MultiTenancyStrategy multiTenancyStrategy, String tenantId) {
+			this.predicateBuilder = predicateBuilder.prebuild( LuceneSearchPredicateContext.root() );
+			this.multiTenancyStrategy = multiTenancyStrategy;
+			this.tenantId = tenantId;
+		}
+
+		@Override
+		Query toLuceneQuery(Map<String, Object> parameters) {
+			Query predicate = predicateBuilder.build( LuceneSearchPredicateContext.root( parameters ) );
+			return decorate( predicate, multiTenancyStrategy, tenantId );
+		}
+	}
+}
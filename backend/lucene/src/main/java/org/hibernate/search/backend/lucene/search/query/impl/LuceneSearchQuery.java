@@ -6,15 +6,19 @@
  */
 package org.hibernate.search.backend.lucene.search.query.impl;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
 import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
 import org.hibernate.search.backend.lucene.orchestration.impl.LuceneQueryWorkOrchestrator;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
 import org.hibernate.search.backend.lucene.search.extraction.impl.HitExtractor;
 import org.hibernate.search.backend.lucene.work.impl.LuceneQueryWork;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.SearchResult;
 
@@ -28,25 +32,34 @@
 	private final LuceneWorkFactory workFactory;
 	private final Set<String> indexNames;
 	private final Set<ReaderProvider> readerProviders;
-	private final Query luceneQuery;
+	private final LuceneQueryTemplate queryTemplate;
 	private final Sort luceneSort;
+	private final List<LuceneAggregation> aggregations;
 	private final HitExtractor<?> hitExtractor;
 	private final SearchResultExtractor<T> searchResultExtractor;
+	private final LuceneQueryResultCache queryResultCache;
+	private final MetricRecorder latencyRecorder;
+	private final Map<String, Object> parameters = new HashMap<>();
 
 	private Long firstResultIndex = 0L;
 	private Long maxResultsCount;
 
 	public LuceneSearchQuery(LuceneQueryWorkOrchestrator queryOrchestrator,
 			LuceneWorkFactory workFactory, Set<String> indexNames, Set<ReaderProvider> readerProviders,
-			Query luceneQuery, Sort luceneSort, HitExtractor<?> hitExtractor, SearchResultExtractor<T> searchResultExtractor) {
+			LuceneQueryTemplate queryTemplate, Sort luceneSort, List<LuceneAggregation> aggregations,
+			HitExtractor<?> hitExtractor, SearchResultExtractor<T> searchResultExtractor,
+			LuceneQueryResultCache queryResultCache, MetricRecorder latencyRecorder) {
 		this.queryOrchestrator = queryOrchestrator;
 		this.workFactory = workFactory;
 		this.indexNames = indexNames;
 		this.readerProviders = readerProviders;
-		this.luceneQuery = luceneQuery;
+		this.queryTemplate = queryTemplate;
 		this.luceneSort = luceneSort;
+		this.aggregations = aggregations;
 		this.hitExtractor = hitExtractor;
 		this.searchResultExtractor = searchResultExtractor;
+		this.queryResultCache = queryResultCache;
+		this.latencyRecorder = latencyRecorder;
 	}
 
 	@Override
@@ -59,9 +72,14 @@ public void setMaxResults(Long maxResultsCount) {
 		this.maxResultsCount = maxResultsCount;
 	}
 
+	@Override
+	public void setParameter(String name, Object value) {
+		parameters.put( name, value );
+	}
+
 	@Override
 	public String getQueryString() {
-		return luceneQuery.toString();
+		return queryTemplate.toLuceneQuery( parameters ).toString();
 	}
 
 	@Override
@@ -71,12 +89,30 @@ public String toString() {
 
 	@Override
 	public SearchResult<T> execute() {
-		LuceneQueryWork<SearchResult<T>> work = workFactory.search( new LuceneSearcher<T>(
+		long startTime = System.nanoTime();
+		LuceneQueryWork<SearchResult<T>> work = workFactory.search( createSearcher() );
+		SearchResult<T> result = queryOrchestrator.submit( work ).join();
+		latencyRecorder.recordNanosSince( startTime );
+		return result;
+	}
+
+	@Override
+	public long executeCount() {
+		long startTime = System.nanoTime();
+		LuceneQueryWork<Long> work = workFactory.count( createSearcher() );
+		long count = queryOrchestrator.submit( work ).join();
+		latencyRecorder.recordNanosSince( startTime );
+		return count;
+	}
+
+	private LuceneSearcher<T> createSearcher() {
+		return new LuceneSearcher<T>(
 				indexNames,
 				readerProviders,
-				luceneQuery, luceneSort,
+				queryTemplate.toLuceneQuery( parameters ), luceneSort,
+				aggregations,
 				firstResultIndex, maxResultsCount,
-				hitExtractor, searchResultExtractor ) );
-		return queryOrchestrator.submit( work ).join();
+				hitExtractor, searchResultExtractor,
+				queryResultCache );
 	}
 }
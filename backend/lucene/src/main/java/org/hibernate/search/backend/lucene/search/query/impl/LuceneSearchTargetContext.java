@@ -11,6 +11,7 @@
 import org.hibernate.search.backend.lucene.search.predicate.impl.SearchPredicateFactoryImpl;
 import org.hibernate.search.backend.lucene.search.projection.impl.LuceneSearchProjectionFactoryImpl;
 import org.hibernate.search.backend.lucene.search.sort.impl.SearchSortFactoryImpl;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.dsl.spi.SearchTargetContext;
 
 /**
@@ -24,11 +25,14 @@
 	private final SearchQueryFactoryImpl searchQueryFactory;
 	private final LuceneSearchProjectionFactoryImpl searchProjectionFactory;
 
-	public LuceneSearchTargetContext(SearchBackendContext searchBackendContext, LuceneSearchTargetModel searchTargetModel) {
-		this.searchPredicateFactory = new SearchPredicateFactoryImpl( searchTargetModel );
-		this.searchSortFactory = new SearchSortFactoryImpl( searchTargetModel );
+	public LuceneSearchTargetContext(SearchBackendContext searchBackendContext, LuceneSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder) {
+		this.searchPredicateFactory = new SearchPredicateFactoryImpl( searchTargetModel,
+				searchBackendContext.getBlockJoinFilters() );
+		this.searchSortFactory = new SearchSortFactoryImpl( searchTargetModel, searchBackendContext.getBlockJoinFilters() );
 		this.searchProjectionFactory = new LuceneSearchProjectionFactoryImpl( searchTargetModel );
-		this.searchQueryFactory = new SearchQueryFactoryImpl( searchBackendContext, searchTargetModel, this.searchProjectionFactory );
+		this.searchQueryFactory = new SearchQueryFactoryImpl( searchBackendContext, searchTargetModel,
+				this.searchProjectionFactory, queryLatencyRecorder );
 	}
 
 	@Override
@@ -7,15 +7,25 @@
 package org.hibernate.search.backend.lucene.search.query.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
 import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregationCollector;
 import org.hibernate.search.backend.lucene.search.extraction.impl.HitExtractor;
 import org.hibernate.search.backend.lucene.search.extraction.impl.LuceneCollectors;
 import org.hibernate.search.backend.lucene.search.extraction.impl.LuceneCollectorsBuilder;
+import org.hibernate.search.backend.lucene.search.reader.impl.ManagedMultiReader;
 import org.hibernate.search.backend.lucene.search.reader.impl.MultiReaderFactory;
 import org.hibernate.search.engine.logging.spi.EventContexts;
 import org.hibernate.search.engine.search.SearchResult;
@@ -31,6 +41,7 @@
 
 	private final Query luceneQuery;
 	private final Sort luceneSort;
+	private final List<LuceneAggregation> aggregations;
 
 	private final long firstResultIndex;
 	private final Long maxResultsCount;
@@ -38,35 +49,68 @@
 	private final HitExtractor<?> hitExtractor;
 	private final SearchResultExtractor<T> searchResultExtractor;
 
+	private final LuceneQueryResultCache queryResultCache;
+
 	public LuceneSearcher(Set<String> indexNames,
 			Set<ReaderProvider> readerProviders,
 			Query luceneQuery,
 			Sort luceneSort,
+			List<LuceneAggregation> aggregations,
 			Long firstResultIndex,
 			Long maxResultsCount,
 			HitExtractor<?> hitExtractor,
-			SearchResultExtractor<T> searchResultExtractor) {
+			SearchResultExtractor<T> searchResultExtractor,
+			LuceneQueryResultCache queryResultCache) {
 		this.indexNames = indexNames;
 		this.indexSearcher = new IndexSearcher( MultiReaderFactory.openReader( indexNames, readerProviders ) );
 		this.luceneQuery = luceneQuery;
 		this.luceneSort = luceneSort;
+		this.aggregations = aggregations;
 		this.firstResultIndex = firstResultIndex == null ? 0L : firstResultIndex.longValue();
 		this.maxResultsCount = maxResultsCount;
 		this.hitExtractor = hitExtractor;
 		this.searchResultExtractor = searchResultExtractor;
+		this.queryResultCache = queryResultCache;
 	}
 
 	public SearchResult<T> execute() throws IOException {
 		// TODO GSM implement timeout handling by wrapping the collector with the timeout limiting one
 
+		LuceneQueryResultCache.Key cacheKey = createCacheKey();
+		LuceneQueryResultCache.Entry cachedEntry = queryResultCache.get( cacheKey );
+		if ( cachedEntry != null ) {
+			return extractCachedResult( cachedEntry );
+		}
+
 		LuceneCollectorsBuilder luceneCollectorsBuilder = new LuceneCollectorsBuilder( luceneSort, getMaxDocs() );
 		hitExtractor.contributeCollectors( luceneCollectorsBuilder );
+		List<LuceneAggregationCollector> aggregationCollectors = new ArrayList<>( aggregations.size() );
+		for ( LuceneAggregation aggregation : aggregations ) {
+			LuceneAggregationCollector aggregationCollector = aggregation.createCollector();
+			aggregationCollectors.add( aggregationCollector );
+			luceneCollectorsBuilder.addCollector( aggregationCollector );
+		}
 		LuceneCollectors luceneCollectors = luceneCollectorsBuilder.build();
 
 		indexSearcher.search( luceneQuery, luceneCollectors.getCompositeCollector() );
 
-		return searchResultExtractor.extract( indexSearcher, luceneCollectors.getTotalHits(),
-				luceneCollectors.getTopDocs( firstResultIndex, maxResultsCount ) );
+		long totalHits = luceneCollectors.getTotalHits();
+		TopDocs topDocs = luceneCollectors.getTopDocs( firstResultIndex, maxResultsCount );
+
+		if ( topDocs != null ) {
+			queryResultCache.put( cacheKey, totalHits, topDocs );
+		}
+
+		luceneCollectors.loadTopDocsValues( indexSearcher.getIndexReader(), topDocs );
+
+		return searchResultExtractor.extract( indexSearcher, totalHits, topDocs,
+				extractAggregationResults( aggregationCollectors ) );
+	}
+
+	public long count() throws IOException {
+		// IndexSearcher.count() takes shortcuts when possible, e.g. using the number of docs of a segment
+		// when the query matches all documents, and never scores nor collects any hit.
+		return indexSearcher.count( luceneQuery );
 	}
 
 	public Query getLuceneQuery() {
@@ -86,6 +130,54 @@ public void close() {
 		MultiReaderFactory.closeReader( indexSearcher.getIndexReader() );
 	}
 
+	private SearchResult<T> extractCachedResult(LuceneQueryResultCache.Entry cachedEntry) throws IOException {
+		// The search is skipped: only the values loaded for the top docs are needed, not the top docs collector
+		LuceneCollectorsBuilder luceneCollectorsBuilder = new LuceneCollectorsBuilder( luceneSort, 0 );
+		hitExtractor.contributeCollectors( luceneCollectorsBuilder );
+		LuceneCollectors luceneCollectors = luceneCollectorsBuilder.build();
+
+		TopDocs topDocs = cachedEntry.getTopDocs();
+		luceneCollectors.loadTopDocsValues( indexSearcher.getIndexReader(), topDocs );
+
+		// Queries with aggregations are never cached
+		return searchResultExtractor.extract( indexSearcher, cachedEntry.getTotalHits(), topDocs,
+				Collections.emptyMap() );
+	}
+
+	private LuceneQueryResultCache.Key createCacheKey() {
+		// Results without a limit could hold on to a lot of memory: do not cache them
+		// Aggregations are computed while collecting, so a cache hit would leave them empty: do not cache them either
+		if ( !queryResultCache.isEnabled() || maxResultsCount == null || !aggregations.isEmpty() ) {
+			return null;
+		}
+
+		IndexReader indexReader = indexSearcher.getIndexReader();
+		if ( !( indexReader instanceof ManagedMultiReader ) ) {
+			return null;
+		}
+
+		long[] readerVersions = ( (ManagedMultiReader) indexReader ).getSubReaderVersions();
+		if ( readerVersions == null ) {
+			return null;
+		}
+
+		return new LuceneQueryResultCache.Key( indexNames, readerVersions, luceneQuery, luceneSort,
+				firstResultIndex, maxResultsCount );
+	}
+
+	private Map<String, Map<Object, Long>> extractAggregationResults(
+			List<LuceneAggregationCollector> aggregationCollectors) throws IOException {
+		if ( aggregationCollectors.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		Map<String, Map<Object, Long>> results = new LinkedHashMap<>();
+		for ( int i = 0; i < aggregationCollectors.size(); i++ ) {
+			results.put( aggregations.get( i ).getName(),
+					Collections.unmodifiableMap( aggregationCollectors.get( i ).toResult() ) );
+		}
+		return Collections.unmodifiableMap( results );
+	}
+
 	private int getMaxDocs() {
 		// FIXME this is very naive for now, we will probably need to implement some scrolling in the collector
 		// as it is done in Search 5.
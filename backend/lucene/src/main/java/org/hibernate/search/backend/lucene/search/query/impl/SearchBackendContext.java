@@ -13,9 +13,11 @@
 import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.lucene.orchestration.impl.LuceneQueryWorkOrchestrator;
 import org.hibernate.search.backend.lucene.search.extraction.impl.HitExtractor;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchTargetModel;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.util.EventContext;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
 
@@ -24,15 +26,21 @@ public class SearchBackendContext {
 
 	private final LuceneWorkFactory workFactory;
 	private final MultiTenancyStrategy multiTenancyStrategy;
+	private final LuceneQueryResultCache queryResultCache;
+	private final LuceneBlockJoinFilters blockJoinFilters;
 
 	private final LuceneQueryWorkOrchestrator orchestrator;
 
 	public SearchBackendContext(EventContext eventContext,
 			LuceneWorkFactory workFactory,
 			MultiTenancyStrategy multiTenancyStrategy,
+			LuceneQueryResultCache queryResultCache,
+			LuceneBlockJoinFilters blockJoinFilters,
 			LuceneQueryWorkOrchestrator orchestrator) {
 		this.eventContext = eventContext;
 		this.multiTenancyStrategy = multiTenancyStrategy;
+		this.queryResultCache = queryResultCache;
+		this.blockJoinFilters = blockJoinFilters;
 		this.workFactory = workFactory;
 		this.orchestrator = orchestrator;
 	}
@@ -46,8 +54,13 @@ public EventContext getEventContext() {
 		return eventContext;
 	}
 
+	LuceneBlockJoinFilters getBlockJoinFilters() {
+		return blockJoinFilters;
+	}
+
 	<C, T> SearchQueryBuilderImpl<C, T> createSearchQueryBuilder(
 			LuceneSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder,
 			SessionContext sessionContext,
 			HitExtractor<? super C> hitExtractor,
 			HitAggregator<C, List<T>> hitAggregator) {
@@ -60,7 +73,9 @@ <C, T> SearchQueryBuilderImpl<C, T> createSearchQueryBuilder(
 				workFactory,
 				orchestrator,
 				multiTenancyStrategy,
+				queryResultCache,
 				searchTargetModel,
+				queryLatencyRecorder,
 				sessionContext,
 				new ReusableDocumentStoredFieldVisitor( storedFields ),
 				hitExtractor,
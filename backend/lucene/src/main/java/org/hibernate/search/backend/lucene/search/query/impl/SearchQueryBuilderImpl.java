@@ -6,44 +6,49 @@
  */
 package org.hibernate.search.backend.lucene.search.query.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
 import org.hibernate.search.backend.lucene.multitenancy.impl.MultiTenancyStrategy;
 import org.hibernate.search.backend.lucene.orchestration.impl.LuceneQueryWorkOrchestrator;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
 import org.hibernate.search.backend.lucene.search.extraction.impl.HitExtractor;
-import org.hibernate.search.backend.lucene.search.impl.LuceneQueries;
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchQueryElementCollector;
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchTargetModel;
 import org.hibernate.search.backend.lucene.work.impl.LuceneWorkFactory;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.search.SearchAggregationRange;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
 import org.hibernate.search.engine.search.query.spi.SearchQueryBuilder;
 
-import org.apache.lucene.search.BooleanClause.Occur;
-import org.apache.lucene.search.BooleanQuery;
-
 class SearchQueryBuilderImpl<C, T>
 		implements SearchQueryBuilder<T, LuceneSearchQueryElementCollector> {
 
 	private final LuceneWorkFactory workFactory;
 	private final LuceneQueryWorkOrchestrator queryOrchestrator;
 	private final MultiTenancyStrategy multiTenancyStrategy;
+	private final LuceneQueryResultCache queryResultCache;
 
 	private final LuceneSearchTargetModel searchTargetModel;
+	private final MetricRecorder queryLatencyRecorder;
 	private final String tenantId;
 
 	private final ReusableDocumentStoredFieldVisitor storedFieldVisitor;
 	private final HitExtractor<? super C> hitExtractor;
 	private final HitAggregator<C, List<T>> hitAggregator;
 	private final LuceneSearchQueryElementCollector elementCollector;
+	private final List<LuceneAggregation> aggregations = new ArrayList<>();
 
 	SearchQueryBuilderImpl(
 			LuceneWorkFactory workFactory,
 			LuceneQueryWorkOrchestrator queryOrchestrator,
 			MultiTenancyStrategy multiTenancyStrategy,
+			LuceneQueryResultCache queryResultCache,
 			LuceneSearchTargetModel searchTargetModel,
+			MetricRecorder queryLatencyRecorder,
 			SessionContext sessionContext,
 			ReusableDocumentStoredFieldVisitor storedFieldVisitor,
 			HitExtractor<? super C> hitExtractor,
@@ -51,8 +56,10 @@
 		this.workFactory = workFactory;
 		this.queryOrchestrator = queryOrchestrator;
 		this.multiTenancyStrategy = multiTenancyStrategy;
+		this.queryResultCache = queryResultCache;
 
 		this.searchTargetModel = searchTargetModel;
+		this.queryLatencyRecorder = queryLatencyRecorder;
 		this.tenantId = sessionContext.getTenantIdentifier();
 
 		this.elementCollector = new LuceneSearchQueryElementCollector();
@@ -72,18 +79,33 @@ public void addRoutingKey(String routingKey) {
 		throw new UnsupportedOperationException( "Routing keys are not supported by the Lucene backend yet." );
 	}
 
+	@Override
+	public void addTermsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		aggregations.add( searchTargetModel.getSchemaNode( absoluteFieldPath ).getAggregationFactory()
+				.createTermsAggregation( name, absoluteFieldPath, maxTermCount ) );
+	}
+
+	@Override
+	public void addRangeAggregation(String name, String absoluteFieldPath, List<SearchAggregationRange> ranges) {
+		aggregations.add( searchTargetModel.getSchemaNode( absoluteFieldPath ).getAggregationFactory()
+				.createRangeAggregation( name, absoluteFieldPath, ranges ) );
+	}
+
 	private SearchQuery<T> build() {
 		SearchResultExtractor<T> searchResultExtractor = new SearchResultExtractorImpl<>( storedFieldVisitor, hitExtractor, hitAggregator );
 
-		BooleanQuery.Builder luceneQueryBuilder = new BooleanQuery.Builder();
-		luceneQueryBuilder.add( elementCollector.toLuceneQueryPredicate(), Occur.MUST );
-		luceneQueryBuilder.add( LuceneQueries.mainDocumentQuery(), Occur.FILTER );
+		LuceneQueryTemplate queryTemplate = LuceneQueryTemplate.create(
+				elementCollector.toLuceneQueryPredicate(), elementCollector.toParameterizedPredicateBuilder(),
+				multiTenancyStrategy, tenantId
+		);
 
 		return new LuceneSearchQuery<T>( queryOrchestrator, workFactory,
 				searchTargetModel.getIndexNames(), searchTargetModel.getReaderProviders(),
-				multiTenancyStrategy.decorateLuceneQuery( luceneQueryBuilder.build(), tenantId ),
+				queryTemplate,
 				elementCollector.toLuceneSort(),
-				hitExtractor, searchResultExtractor );
+				aggregations,
+				hitExtractor, searchResultExtractor,
+				queryResultCache, queryLatencyRecorder );
 	}
 
 	@Override
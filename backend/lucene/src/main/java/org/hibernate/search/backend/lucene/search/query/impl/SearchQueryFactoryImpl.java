@@ -17,6 +17,7 @@
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchTargetModel;
 import org.hibernate.search.backend.lucene.search.projection.impl.LuceneSearchProjectionFactoryImpl;
 import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.engine.search.SearchProjection;
 import org.hibernate.search.engine.search.query.spi.ReferenceHitCollector;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
@@ -34,12 +35,16 @@
 
 	private final LuceneSearchProjectionFactoryImpl searchProjectionFactory;
 
+	private final MetricRecorder queryLatencyRecorder;
+
 	SearchQueryFactoryImpl(SearchBackendContext searchBackendContext,
 			LuceneSearchTargetModel searchTargetModel,
-			LuceneSearchProjectionFactoryImpl searchProjectionFactory) {
+			LuceneSearchProjectionFactoryImpl searchProjectionFactory,
+			MetricRecorder queryLatencyRecorder) {
 		this.searchBackendContext = searchBackendContext;
 		this.searchTargetModel = searchTargetModel;
 		this.searchProjectionFactory = searchProjectionFactory;
+		this.queryLatencyRecorder = queryLatencyRecorder;
 	}
 
 	@Override
@@ -80,7 +85,7 @@ private HitExtractor<? super ProjectionHitCollector> createProjectionHitExtracto
 	private <C, T> SearchQueryBuilderImpl<C, T> createSearchQueryBuilder(
 			SessionContext sessionContext, HitExtractor<? super C> hitExtractor, HitAggregator<C, List<T>> hitAggregator) {
 		return searchBackendContext.createSearchQueryBuilder(
-				searchTargetModel, sessionContext, hitExtractor, hitAggregator
+				searchTargetModel, queryLatencyRecorder, sessionContext, hitExtractor, hitAggregator
 		);
 	}
 }
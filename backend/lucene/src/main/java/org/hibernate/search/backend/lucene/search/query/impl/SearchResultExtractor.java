@@ -7,6 +7,7 @@
 package org.hibernate.search.backend.lucene.search.query.impl;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.TopDocs;
@@ -14,6 +15,7 @@
 
 public interface SearchResultExtractor<T> {
 
-	SearchResult<T> extract(IndexSearcher indexSearcher, long totalHits, TopDocs topDocs) throws IOException;
+	SearchResult<T> extract(IndexSearcher indexSearcher, long totalHits, TopDocs topDocs,
+			Map<String, Map<Object, Long>> aggregationResults) throws IOException;
 
 }
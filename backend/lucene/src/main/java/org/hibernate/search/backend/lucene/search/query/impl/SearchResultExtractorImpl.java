@@ -9,6 +9,7 @@
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.search.IndexSearcher;
@@ -37,7 +38,8 @@ public SearchResultExtractorImpl(
 	}
 
 	@Override
-	public SearchResult<T> extract(IndexSearcher indexSearcher, long totalHits, TopDocs topDocs) throws IOException {
+	public SearchResult<T> extract(IndexSearcher indexSearcher, long totalHits, TopDocs topDocs,
+			Map<String, Map<Object, Long>> aggregationResults) throws IOException {
 		List<T> finalHits = extractHits( indexSearcher, topDocs );
 
 		return new SearchResult<T>() {
@@ -51,6 +53,11 @@ public long getHitCount() {
 			public List<T> getHits() {
 				return finalHits;
 			}
+
+			@Override
+			public Map<String, Map<Object, Long>> getAggregations() {
+				return aggregationResults;
+			}
 		};
 	}
 
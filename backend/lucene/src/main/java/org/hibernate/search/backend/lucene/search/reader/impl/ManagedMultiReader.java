@@ -12,6 +12,7 @@
 import java.util.List;
 import java.util.Set;
 
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.MultiReader;
 import org.hibernate.search.backend.lucene.index.spi.ReaderProvider;
@@ -66,6 +67,23 @@ protected synchronized void doClose() throws IOException {
 		}
 	}
 
+	/**
+	 * @return The version of each sub-reader, which changes whenever the content of the index changes,
+	 * or {@code null} if one of the sub-readers does not expose a version.
+	 */
+	public long[] getSubReaderVersions() {
+		List<? extends IndexReader> subReaders = getSequentialSubReaders();
+		long[] versions = new long[subReaders.size()];
+		for ( int i = 0; i < versions.length; i++ ) {
+			IndexReader subReader = subReaders.get( i );
+			if ( !( subReader instanceof DirectoryReader ) ) {
+				return null;
+			}
+			versions[i] = ( (DirectoryReader) subReader ).getVersion();
+		}
+		return versions;
+	}
+
 	// Exposed only for testing
 	public List<? extends IndexReader> getSubReaders() {
 		return getSequentialSubReaders();
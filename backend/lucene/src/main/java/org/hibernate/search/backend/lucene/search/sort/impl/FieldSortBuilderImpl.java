@@ -9,6 +9,7 @@
 import java.lang.invoke.MethodHandles;
 
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
 import org.hibernate.search.backend.lucene.types.sort.impl.LuceneFieldSortContributor;
 import org.hibernate.search.backend.lucene.types.sort.impl.SortMissingValue;
@@ -23,15 +24,21 @@ class FieldSortBuilderImpl extends AbstractSearchSortBuilder
 
 	private final String absoluteFieldPath;
 
+	private final String nestedDocumentPath;
+
+	private final LuceneBlockJoinFilters blockJoinFilters;
+
 	private final LuceneFieldConverter<?, ?> fieldConverter;
 
 	private final LuceneFieldSortContributor fieldSortContributor;
 
 	private Object missingValue;
 
-	FieldSortBuilderImpl(String absoluteFieldPath, LuceneFieldConverter<?, ?> fieldConverter,
-			LuceneFieldSortContributor fieldSortContributor) {
+	FieldSortBuilderImpl(String absoluteFieldPath, String nestedDocumentPath, LuceneBlockJoinFilters blockJoinFilters,
+			LuceneFieldConverter<?, ?> fieldConverter, LuceneFieldSortContributor fieldSortContributor) {
 		this.absoluteFieldPath = absoluteFieldPath;
+		this.nestedDocumentPath = nestedDocumentPath;
+		this.blockJoinFilters = blockJoinFilters;
 		this.fieldConverter = fieldConverter;
 		this.fieldSortContributor = fieldSortContributor;
 	}
@@ -60,6 +67,7 @@ public void missingAs(Object value) {
 
 	@Override
 	public void buildAndAddTo(LuceneSearchSortCollector collector) {
-		fieldSortContributor.contribute( collector, absoluteFieldPath, order, missingValue );
+		fieldSortContributor.contribute( collector, absoluteFieldPath, nestedDocumentPath, blockJoinFilters, order,
+				missingValue );
 	}
 }
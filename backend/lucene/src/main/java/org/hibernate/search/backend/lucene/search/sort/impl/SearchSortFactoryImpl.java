@@ -12,6 +12,7 @@
 
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexSchemaFieldNode;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.impl.LuceneSearchTargetModel;
 import org.hibernate.search.engine.search.SearchSort;
 import org.hibernate.search.engine.search.sort.spi.DistanceSortBuilder;
@@ -32,8 +33,11 @@ public class SearchSortFactoryImpl implements LuceneSearchSortFactory {
 
 	private final LuceneSearchTargetModel searchTargetModel;
 
-	public SearchSortFactoryImpl(LuceneSearchTargetModel searchTargetModel) {
+	private final LuceneBlockJoinFilters blockJoinFilters;
+
+	public SearchSortFactoryImpl(LuceneSearchTargetModel searchTargetModel, LuceneBlockJoinFilters blockJoinFilters) {
 		this.searchTargetModel = searchTargetModel;
+		this.blockJoinFilters = blockJoinFilters;
 	}
 
 	@Override
@@ -67,6 +71,8 @@ public FieldSortBuilder<LuceneSearchSortBuilder> field(String absoluteFieldPath)
 
 		return new FieldSortBuilderImpl(
 				absoluteFieldPath,
+				schemaNode.getParent().getNestedDocumentPath(),
+				blockJoinFilters,
 				schemaNode.getConverter(),
 				schemaNode.getSortContributor()
 		);
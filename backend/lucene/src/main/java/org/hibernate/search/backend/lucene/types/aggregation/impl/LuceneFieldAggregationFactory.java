@@ -0,0 +1,22 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.types.aggregation.impl;
+
+import java.util.List;
+
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
+import org.hibernate.search.engine.search.SearchAggregationRange;
+
+public interface LuceneFieldAggregationFactory {
+
+	LuceneAggregation createTermsAggregation(String name, String absoluteFieldPath, int maxTermCount);
+
+	LuceneAggregation createRangeAggregation(String name, String absoluteFieldPath,
+			List<SearchAggregationRange> ranges);
+
+	boolean isDslCompatibleWith(LuceneFieldAggregationFactory other);
+}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.types.aggregation.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.NumericRangeAggregation;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.NumericTermsAggregation;
+import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchAggregationRange;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+/**
+ * An aggregation factory for fields whose doc values are numeric (integers, dates, ...).
+ *
+ * @param <F> The type of field values.
+ */
+public final class NumericFieldAggregationFactory<F> implements LuceneFieldAggregationFactory {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final LuceneFieldConverter<F, ? extends Number> converter;
+
+	private final LongFunction<F> docValueDecoder;
+
+	/**
+	 * @param converter The converter of the field, whose {@code convertFromDsl} method must return
+	 * values encoded the same way as the doc values.
+	 * @param docValueDecoder A function turning a doc value back into a field value.
+	 */
+	public NumericFieldAggregationFactory(LuceneFieldConverter<F, ? extends Number> converter,
+			LongFunction<F> docValueDecoder) {
+		this.converter = converter;
+		this.docValueDecoder = docValueDecoder;
+	}
+
+	@Override
+	public LuceneAggregation createTermsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		return new NumericTermsAggregation( name, absoluteFieldPath, maxTermCount,
+				docValue -> converter.convertFromProjection( docValueDecoder.apply( docValue ) ) );
+	}
+
+	@Override
+	public LuceneAggregation createRangeAggregation(String name, String absoluteFieldPath,
+			List<SearchAggregationRange> ranges) {
+		long[] lowerBounds = new long[ranges.size()];
+		long[] upperBounds = new long[ranges.size()];
+		for ( int i = 0; i < ranges.size(); i++ ) {
+			SearchAggregationRange range = ranges.get( i );
+			lowerBounds[i] = range.getFrom() == null ? Long.MIN_VALUE
+					: convertFromDsl( absoluteFieldPath, range.getFrom() );
+			// The upper bound is exclusive
+			upperBounds[i] = range.getTo() == null ? Long.MAX_VALUE
+					: convertFromDsl( absoluteFieldPath, range.getTo() ) - 1;
+		}
+		return new NumericRangeAggregation( name, absoluteFieldPath, ranges, lowerBounds, upperBounds );
+	}
+
+	private long convertFromDsl(String absoluteFieldPath, Object value) {
+		try {
+			return converter.convertFromDsl( value ).longValue();
+		}
+		catch (RuntimeException e) {
+			throw log.cannotConvertDslParameter(
+					e.getMessage(), e, EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+			);
+		}
+	}
+
+	@Override
+	public boolean isDslCompatibleWith(LuceneFieldAggregationFactory obj) {
+		if ( this == obj ) {
+			return true;
+		}
+		if ( !( obj instanceof NumericFieldAggregationFactory ) ) {
+			return false;
+		}
+
+		NumericFieldAggregationFactory<?> other = (NumericFieldAggregationFactory<?>) obj;
+
+		return converter.isDslCompatibleWith( other.converter );
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.types.aggregation.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.LuceneAggregation;
+import org.hibernate.search.backend.lucene.search.aggregation.impl.StringTermsAggregation;
+import org.hibernate.search.backend.lucene.types.converter.impl.LuceneFieldConverter;
+import org.hibernate.search.engine.logging.spi.EventContexts;
+import org.hibernate.search.engine.search.SearchAggregationRange;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public final class StringFieldAggregationFactory implements LuceneFieldAggregationFactory {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final LuceneFieldConverter<String, ?> converter;
+
+	public StringFieldAggregationFactory(LuceneFieldConverter<String, ?> converter) {
+		this.converter = converter;
+	}
+
+	@Override
+	public LuceneAggregation createTermsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		return new StringTermsAggregation( name, absoluteFieldPath, maxTermCount, converter::convertFromProjection );
+	}
+
+	@Override
+	public LuceneAggregation createRangeAggregation(String name, String absoluteFieldPath,
+			List<SearchAggregationRange> ranges) {
+		throw log.rangeAggregationNotSupportedByFieldType(
+				EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
+		);
+	}
+
+	@Override
+	public boolean isDslCompatibleWith(LuceneFieldAggregationFactory obj) {
+		if ( this == obj ) {
+			return true;
+		}
+		if ( !( obj instanceof StringFieldAggregationFactory ) ) {
+			return false;
+		}
+
+		StringFieldAggregationFactory other = (StringFieldAggregationFactory) obj;
+
+		return converter.isDslCompatibleWith( other.converter );
+	}
+}
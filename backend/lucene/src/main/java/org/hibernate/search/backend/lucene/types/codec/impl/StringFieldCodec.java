@@ -6,7 +6,9 @@
  */
 package org.hibernate.search.backend.lucene.types.codec.impl;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
@@ -20,12 +22,27 @@
 
 public final class StringFieldCodec implements LuceneFieldCodec<String> {
 
+	/**
+	 * The maximum number of normalized values cached for each field.
+	 * Low-cardinality fields will end up with all their values cached;
+	 * for high-cardinality fields, the cache simply stops growing.
+	 */
+	private static final int NORMALIZED_VALUE_CACHE_MAX_SIZE = 1_000;
+
+	/**
+	 * The maximum length of values to cache, so that long values do not hog memory.
+	 */
+	private static final int NORMALIZED_VALUE_CACHE_MAX_VALUE_LENGTH = 256;
+
 	private final Sortable sortable;
 
 	private final FieldType fieldType;
 
 	private final Analyzer normalizer;
 
+	// Cached values are shared between documents: they must never be mutated
+	private final Map<String, BytesRef> normalizedValueCache = new ConcurrentHashMap<>();
+
 	public StringFieldCodec(Sortable sortable, FieldType fieldType, Analyzer normalizer) {
 		this.sortable = sortable;
 		this.fieldType = fieldType;
@@ -45,16 +62,31 @@ public void encode(LuceneDocumentBuilder documentBuilder, String absoluteFieldPa
 			case NO:
 				break;
 			case YES:
-				documentBuilder.addField( new SortedDocValuesField(
-						absoluteFieldPath,
-						new BytesRef(
-								normalizer != null ? AnalyzerUtils.normalize( normalizer, absoluteFieldPath, value ) :
-										value )
-				) );
+				BytesRef normalizedValue = normalize( absoluteFieldPath, value );
+				if ( normalizedValue != null ) {
+					documentBuilder.addField( new SortedDocValuesField( absoluteFieldPath, normalizedValue ) );
+				}
 				break;
 		}
 	}
 
+	private BytesRef normalize(String absoluteFieldPath, String value) {
+		BytesRef normalizedValue = normalizedValueCache.get( value );
+		if ( normalizedValue != null ) {
+			return normalizedValue;
+		}
+
+		normalizedValue = normalizer != null
+				? AnalyzerUtils.normalizeToBytesRef( normalizer, absoluteFieldPath, value )
+				: new BytesRef( value );
+
+		if ( normalizedValue != null && value.length() <= NORMALIZED_VALUE_CACHE_MAX_VALUE_LENGTH
+				&& normalizedValueCache.size() < NORMALIZED_VALUE_CACHE_MAX_SIZE ) {
+			normalizedValueCache.putIfAbsent( value, normalizedValue );
+		}
+		return normalizedValue;
+	}
+
 	@Override
 	public String decode(Document document, String absoluteFieldPath) {
 		return document.get( absoluteFieldPath );
@@ -83,7 +83,8 @@ public void contribute(LuceneIndexSchemaNodeCollector collector, LuceneIndexSche
 				codec,
 				null,
 				null,
-				new StandardFieldProjectionBuilderFactory<>( codec, converter )
+				new StandardFieldProjectionBuilderFactory<>( codec, converter ),
+				null
 		);
 
 		helper.initialize( new LuceneIndexFieldAccessor<>( schemaNode ) );
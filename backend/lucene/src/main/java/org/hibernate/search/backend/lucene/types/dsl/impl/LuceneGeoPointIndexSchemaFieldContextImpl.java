@@ -53,7 +53,8 @@ protected void contribute(IndexSchemaFieldDefinitionHelper<GeoPoint> helper, Luc
 				codec,
 				GeoPointFieldPredicateBuilderFactory.INSTANCE,
 				GeoPointFieldSortContributor.INSTANCE,
-				new GeoPointFieldProjectionBuilderFactory<>( codec, converter )
+				new GeoPointFieldProjectionBuilderFactory<>( codec, converter ),
+				null
 		);
 
 		helper.initialize( new LuceneIndexFieldAccessor<>( schemaNode ) );
@@ -12,6 +12,7 @@
 import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
 import org.hibernate.search.backend.lucene.document.impl.LuceneIndexFieldAccessor;
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexSchemaFieldNode;
+import org.hibernate.search.backend.lucene.types.aggregation.impl.NumericFieldAggregationFactory;
 import org.hibernate.search.backend.lucene.types.codec.impl.IntegerFieldCodec;
 import org.hibernate.search.backend.lucene.types.converter.impl.StandardFieldConverter;
 import org.hibernate.search.backend.lucene.types.predicate.impl.IntegerFieldPredicateBuilderFactory;
@@ -50,7 +51,8 @@ protected void contribute(IndexSchemaFieldDefinitionHelper<Integer> helper, Luce
 				codec,
 				new IntegerFieldPredicateBuilderFactory( converter ),
 				IntegerFieldSortContributor.INSTANCE,
-				new StandardFieldProjectionBuilderFactory<>( codec, converter )
+				new StandardFieldProjectionBuilderFactory<>( codec, converter ),
+				new NumericFieldAggregationFactory<>( converter, docValue -> (int) docValue )
 		);
 
 		helper.initialize( new LuceneIndexFieldAccessor<>( schemaNode ) );
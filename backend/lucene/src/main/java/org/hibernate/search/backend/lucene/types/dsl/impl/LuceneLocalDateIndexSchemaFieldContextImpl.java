@@ -15,6 +15,7 @@
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexSchemaFieldNode;
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexSchemaNodeCollector;
 import org.hibernate.search.backend.lucene.document.model.impl.LuceneIndexSchemaObjectNode;
+import org.hibernate.search.backend.lucene.types.aggregation.impl.NumericFieldAggregationFactory;
 import org.hibernate.search.backend.lucene.types.codec.impl.LocalDateFieldCodec;
 import org.hibernate.search.backend.lucene.types.converter.impl.LocalDateFieldConverter;
 import org.hibernate.search.backend.lucene.types.predicate.impl.LocalDateFieldPredicateBuilderFactory;
@@ -52,7 +53,8 @@ protected void contribute(IndexSchemaFieldDefinitionHelper<LocalDate> helper, Lu
 				codec,
 				new LocalDateFieldPredicateBuilderFactory( converter ),
 				LocalDateFieldSortContributor.INSTANCE,
-				new StandardFieldProjectionBuilderFactory<>( codec, converter )
+				new StandardFieldProjectionBuilderFactory<>( codec, converter ),
+				new NumericFieldAggregationFactory<>( converter, LocalDate::ofEpochDay )
 		);
 
 		helper.initialize( new LuceneIndexFieldAccessor<>( schemaNode ) );
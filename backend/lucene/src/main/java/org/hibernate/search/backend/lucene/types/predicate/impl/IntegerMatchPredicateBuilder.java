@@ -20,7 +20,7 @@ class IntegerMatchPredicateBuilder extends AbstractMatchPredicateBuilder<Integer
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, Integer value) {
 		return IntPoint.newExactQuery( absoluteFieldPath, value );
 	}
 }
@@ -20,7 +20,7 @@ class IntegerRangePredicateBuilder extends AbstractRangePredicateBuilder<Integer
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, Integer lowerLimit, Integer upperLimit) {
 		return IntPoint.newRangeQuery(
 				absoluteFieldPath,
 				getLowerValue( lowerLimit, excludeLowerLimit ),
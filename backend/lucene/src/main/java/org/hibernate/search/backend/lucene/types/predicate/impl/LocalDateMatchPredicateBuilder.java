@@ -22,7 +22,7 @@ class LocalDateMatchPredicateBuilder extends AbstractMatchPredicateBuilder<Local
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, Long value) {
 		return LongPoint.newExactQuery( absoluteFieldPath, value );
 	}
 }
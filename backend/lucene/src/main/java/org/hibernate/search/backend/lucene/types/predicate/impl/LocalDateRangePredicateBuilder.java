@@ -20,7 +20,7 @@ class LocalDateRangePredicateBuilder extends AbstractRangePredicateBuilder<Long>
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, Long lowerLimit, Long upperLimit) {
 		return LongPoint.newRangeQuery(
 				absoluteFieldPath,
 				getLowerValue( lowerLimit, excludeLowerLimit ),
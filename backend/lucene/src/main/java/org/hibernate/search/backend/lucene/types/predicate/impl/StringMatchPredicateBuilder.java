@@ -29,7 +29,7 @@ class StringMatchPredicateBuilder extends AbstractMatchPredicateBuilder<String,
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, String value) {
 		if ( queryBuilder != null ) {
 			Query analyzed = queryBuilder.createBooleanQuery( absoluteFieldPath, value );
 			if ( analyzed == null ) {
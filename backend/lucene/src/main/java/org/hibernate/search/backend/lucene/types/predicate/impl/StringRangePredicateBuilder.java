@@ -22,7 +22,7 @@ class StringRangePredicateBuilder extends AbstractRangePredicateBuilder<String>
 	}
 
 	@Override
-	protected Query doBuild(LuceneSearchPredicateContext context) {
+	protected Query doBuild(LuceneSearchPredicateContext context, String lowerLimit, String upperLimit) {
 		// Note that a range query only makes sense if only one token is returned by the analyzer
 		// and we should even consider forcing having a normalizer here, instead of supporting
 		// range queries on analyzed fields.
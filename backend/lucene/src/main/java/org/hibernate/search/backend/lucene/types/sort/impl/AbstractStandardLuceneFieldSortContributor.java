@@ -9,7 +9,9 @@
 import java.lang.invoke.MethodHandles;
 
 import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.join.ToParentBlockJoinSortField;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.sort.impl.LuceneSearchSortCollector;
 import org.hibernate.search.engine.logging.spi.EventContexts;
 import org.hibernate.search.engine.search.dsl.sort.SortOrder;
@@ -29,6 +31,29 @@ protected AbstractStandardLuceneFieldSortContributor(Object sortMissingValueFirs
 		this.sortMissingValueLastPlaceholder = sortMissingValueLastPlaceholder;
 	}
 
+	/**
+	 * Creates a sort field, joining the nested documents to their main document if necessary.
+	 * <p>
+	 * When sorting on a field of a nested document, the main document is sorted according to
+	 * the minimum value of its nested documents in ascending order, and the maximum value in descending order.
+	 */
+	protected SortField createSortField(String absoluteFieldPath, String nestedDocumentPath,
+			LuceneBlockJoinFilters blockJoinFilters, SortField.Type type, SortOrder order) {
+		boolean reverse = order == SortOrder.DESC;
+		if ( nestedDocumentPath == null ) {
+			return new SortField( absoluteFieldPath, type, reverse );
+		}
+		else {
+			/*
+			 * Nested documents are indexed in the same block as their main document, before it,
+			 * including nested documents of nested documents:
+			 * joining directly to the main documents works for every level of nesting.
+			 */
+			return new ToParentBlockJoinSortField( absoluteFieldPath, type, reverse,
+					blockJoinFilters.mainDocumentFilter(), blockJoinFilters.nestedDocumentPathFilter( nestedDocumentPath ) );
+		}
+	}
+
 	protected void setEffectiveMissingValue(SortField sortField, Object missingValue, SortOrder order) {
 		if ( missingValue == null ) {
 			return;
@@ -8,9 +8,10 @@
 
 import java.lang.invoke.MethodHandles;
 
-import org.apache.lucene.document.LatLonDocValuesField;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.sort.impl.LuceneSearchSortCollector;
+import org.hibernate.search.backend.lucene.util.impl.GeoPointDistances;
 import org.hibernate.search.engine.logging.spi.EventContexts;
 import org.hibernate.search.engine.search.dsl.sort.SortOrder;
 import org.hibernate.search.engine.spatial.GeoPoint;
@@ -26,7 +27,8 @@ private GeoPointFieldSortContributor() {
 	}
 
 	@Override
-	public void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, SortOrder order, Object missingValue) {
+	public void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, String nestedDocumentPath,
+			LuceneBlockJoinFilters blockJoinFilters, SortOrder order, Object missingValue) {
 		throw log.traditionalSortNotSupportedByGeoPoint(
 				EventContexts.fromIndexFieldAbsolutePath( absoluteFieldPath )
 		);
@@ -34,7 +36,7 @@ public void contribute(LuceneSearchSortCollector collector, String absoluteField
 
 	@Override
 	public void contributeDistanceSort(LuceneSearchSortCollector collector, String absoluteFieldPath, GeoPoint location, SortOrder order) {
-		collector.collectSortField( LatLonDocValuesField.newDistanceSort( absoluteFieldPath, location.getLatitude(), location.getLongitude() ) );
+		collector.collectSortField( GeoPointDistances.createDistanceSortField( absoluteFieldPath, location ) );
 	}
 
 }
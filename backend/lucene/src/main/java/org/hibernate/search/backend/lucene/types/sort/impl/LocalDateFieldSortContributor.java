@@ -7,6 +7,7 @@
 package org.hibernate.search.backend.lucene.types.sort.impl;
 
 import org.apache.lucene.search.SortField;
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.sort.impl.LuceneSearchSortCollector;
 import org.hibernate.search.engine.search.dsl.sort.SortOrder;
 
@@ -19,8 +20,10 @@ private LocalDateFieldSortContributor() {
 	}
 
 	@Override
-	public void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, SortOrder order, Object missingValue) {
-		SortField sortField = new SortField( absoluteFieldPath, SortField.Type.LONG, order == SortOrder.DESC ? true : false );
+	public void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, String nestedDocumentPath,
+			LuceneBlockJoinFilters blockJoinFilters, SortOrder order, Object missingValue) {
+		SortField sortField = createSortField( absoluteFieldPath, nestedDocumentPath, blockJoinFilters,
+				SortField.Type.LONG, order );
 		setEffectiveMissingValue( sortField, missingValue, order );
 
 		collector.collectSortField( sortField );
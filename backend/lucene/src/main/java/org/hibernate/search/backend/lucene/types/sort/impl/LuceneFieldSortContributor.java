@@ -6,13 +6,24 @@
  */
 package org.hibernate.search.backend.lucene.types.sort.impl;
 
+import org.hibernate.search.backend.lucene.search.impl.LuceneBlockJoinFilters;
 import org.hibernate.search.backend.lucene.search.sort.impl.LuceneSearchSortCollector;
 import org.hibernate.search.engine.search.dsl.sort.SortOrder;
 import org.hibernate.search.engine.spatial.GeoPoint;
 
 public interface LuceneFieldSortContributor {
 
-	void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, SortOrder order, Object missingValue);
+	/**
+	 * @param collector The collector to contribute the sort field to.
+	 * @param absoluteFieldPath The absolute path of the field to sort on.
+	 * @param nestedDocumentPath The absolute path of the nested document holding the field,
+	 * or {@code null} if the field is stored in the main document.
+	 * @param blockJoinFilters The filters to use when joining nested documents to their main document.
+	 * @param order The sort order.
+	 * @param missingValue The value to use for documents without a value, or a {@link SortMissingValue} placeholder.
+	 */
+	void contribute(LuceneSearchSortCollector collector, String absoluteFieldPath, String nestedDocumentPath,
+			LuceneBlockJoinFilters blockJoinFilters, SortOrder order, Object missingValue);
 
 	void contributeDistanceSort(LuceneSearchSortCollector collector, String absoluteFieldPath, GeoPoint location, SortOrder order);
 
@@ -7,12 +7,13 @@
 package org.hibernate.search.backend.lucene.util.impl;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.lang.invoke.MethodHandles;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
 import org.hibernate.search.util.SearchException;
 import org.hibernate.search.util.impl.common.LoggerFactory;
@@ -26,6 +27,8 @@ public final class AnalyzerUtils {
 
 	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
 
+	private static final ThreadLocal<BytesRefBuilder> NORMALIZATION_BUFFER = ThreadLocal.withInitial( BytesRefBuilder::new );
+
 	private AnalyzerUtils() {
 		// Not used
 	}
@@ -41,7 +44,8 @@ private AnalyzerUtils() {
 	 * @throws SearchException if a problem occurs when analyzing the sortable field's value.
 	 */
 	public static String normalize(Analyzer analyzer, String fieldName, String text) {
-		final TokenStream stream = analyzer.tokenStream( fieldName, new StringReader( text ) );
+		// Passing a String rather than a Reader allows the analyzer to reuse its reader
+		final TokenStream stream = analyzer.tokenStream( fieldName, text );
 		try {
 			try {
 				String firstToken = null;
@@ -66,4 +70,49 @@ public static String normalize(Analyzer analyzer, String fieldName, String text)
 			throw log.couldNotNormalizeField( fieldName, e );
 		}
 	}
+
+	/**
+	 * Returns the UTF-8 bytes of the first token resulting from the analysis,
+	 * logging a warning if there are more than one token.
+	 * <p>
+	 * Unlike {@link #normalize(Analyzer, String, String)}, the token is encoded directly from the analyzer's buffer
+	 * through a per-thread buffer, without creating an intermediary string.
+	 *
+	 * @param analyzer the Lucene analyzer to use
+	 * @param fieldName the name of the field: might affect the analyzer behavior
+	 * @param text the value to analyze
+	 * @return the first token resulting from the analysis, or {@code null} if there is no token.
+	 * The returned {@link BytesRef} does not share its bytes with any buffer.
+	 *
+	 * @throws SearchException if a problem occurs when analyzing the sortable field's value.
+	 */
+	public static BytesRef normalizeToBytesRef(Analyzer analyzer, String fieldName, String text) {
+		final TokenStream stream = analyzer.tokenStream( fieldName, text );
+		try {
+			try {
+				BytesRef firstToken = null;
+				CharTermAttribute term = stream.addAttribute( CharTermAttribute.class );
+				stream.reset();
+				if ( stream.incrementToken() ) {
+					BytesRefBuilder buffer = NORMALIZATION_BUFFER.get();
+					buffer.copyChars( term.buffer(), 0, term.length() );
+					// Copy, since the buffer will be reused and the document may be indexed later
+					firstToken = buffer.toBytesRef();
+					if ( stream.incrementToken() ) {
+						log.multipleTermsDetectedDuringNormalization( fieldName );
+					}
+					else {
+						stream.end();
+					}
+				}
+				return firstToken;
+			}
+			finally {
+				stream.close();
+			}
+		}
+		catch (SearchException | IOException e) {
+			throw log.couldNotNormalizeField( fieldName, e );
+		}
+	}
 }
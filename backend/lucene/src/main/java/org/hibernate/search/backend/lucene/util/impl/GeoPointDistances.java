@@ -0,0 +1,63 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.util.impl;
+
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.geo.GeoEncodingUtils;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.util.SloppyMath;
+import org.hibernate.search.engine.spatial.GeoPoint;
+
+/**
+ * Helpers to compute distances from the {@link LatLonDocValuesField} doc values of geo point fields.
+ * <p>
+ * Distance sorts and distance projections both rely on these methods,
+ * so that a distance projection can reuse the values computed by a distance sort on the same field and center.
+ */
+public final class GeoPointDistances {
+
+	private GeoPointDistances() {
+	}
+
+	public static SortField createDistanceSortField(String absoluteFieldPath, GeoPoint center) {
+		return LatLonDocValuesField.newDistanceSort( absoluteFieldPath, center.getLatitude(), center.getLongitude() );
+	}
+
+	/**
+	 * @param sort The sort, may be {@code null}.
+	 * @param absoluteFieldPath The absolute path of the geo point field.
+	 * @param center The center from which distances are computed.
+	 * @return The index of the distance sort field on the given field and center in the given sort,
+	 * or {@code -1} if there isn't any.
+	 */
+	public static int findDistanceSortFieldIndex(Sort sort, String absoluteFieldPath, GeoPoint center) {
+		if ( sort == null ) {
+			return -1;
+		}
+
+		SortField expectedSortField = createDistanceSortField( absoluteFieldPath, center );
+		SortField[] sortFields = sort.getSort();
+		for ( int i = 0; i < sortFields.length; i++ ) {
+			if ( expectedSortField.equals( sortFields[i] ) ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param encodedValue A value from the {@link LatLonDocValuesField} doc values.
+	 * @param center The center from which the distance is computed.
+	 * @return The distance between the center and the encoded point, in meters.
+	 */
+	public static double computeDistanceInMeters(long encodedValue, GeoPoint center) {
+		double latitude = GeoEncodingUtils.decodeLatitude( (int) ( encodedValue >> 32 ) );
+		double longitude = GeoEncodingUtils.decodeLongitude( (int) ( encodedValue & 0xFFFFFFFF ) );
+		return SloppyMath.haversinMeters( center.getLatitude(), center.getLongitude(), latitude, longitude );
+	}
+}
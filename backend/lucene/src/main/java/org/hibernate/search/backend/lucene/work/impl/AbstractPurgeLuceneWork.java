@@ -0,0 +1,59 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.work.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.lucene.index.IndexWriter;
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.util.impl.common.Futures;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+/**
+ * A work deleting all the documents of an index, or of a tenant in an index.
+ */
+public abstract class AbstractPurgeLuceneWork extends AbstractLuceneWork<Long> {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final String tenantId;
+
+	public AbstractPurgeLuceneWork(String indexName, String tenantId) {
+		super( "purge", indexName );
+		this.tenantId = tenantId;
+	}
+
+	@Override
+	public CompletableFuture<Long> execute(LuceneIndexWorkExecutionContext context) {
+		// FIXME for now everything is blocking here, we need a non blocking wrapper on top of the IndexWriter
+		return Futures.create( () -> CompletableFuture.completedFuture( purge( context.getIndexWriter() ) ) );
+	}
+
+	private Long purge(IndexWriter indexWriter) {
+		try {
+			return doPurge( indexWriter, tenantId );
+		}
+		catch (IOException e) {
+			throw log.unableToPurgeIndex( tenantId, getEventContext(), e );
+		}
+	}
+
+	protected abstract long doPurge(IndexWriter indexWriter, String tenantId) throws IOException;
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder( getClass().getSimpleName() )
+				.append( "[" )
+				.append( "type=" ).append( workType )
+				.append( ", indexName=" ).append( indexName )
+				.append( ", tenantId=" ).append( tenantId )
+				.append( "]" );
+		return sb.toString();
+	}
+}
@@ -12,6 +12,7 @@
 
 import org.apache.lucene.index.IndexWriter;
 import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
 import org.hibernate.search.util.impl.common.Futures;
 import org.hibernate.search.util.impl.common.LoggerFactory;
 
@@ -29,12 +30,15 @@ public CommitIndexLuceneWork(String indexName) {
 	@Override
 	public CompletableFuture<Long> execute(LuceneIndexWorkExecutionContext context) {
 		// FIXME for now everything is blocking here, we need a non blocking wrapper on top of the IndexWriter
-		return Futures.create( () -> commitIndex( context.getIndexWriter() ) );
+		return Futures.create( () -> commitIndex( context.getIndexWriter(), context.getCommitDurationRecorder() ) );
 	}
 
-	private CompletableFuture<Long> commitIndex(IndexWriter indexWriter) {
+	private CompletableFuture<Long> commitIndex(IndexWriter indexWriter, MetricRecorder commitDurationRecorder) {
 		try {
-			return CompletableFuture.completedFuture( indexWriter.commit() );
+			long startTime = System.nanoTime();
+			long sequenceNumber = indexWriter.commit();
+			commitDurationRecorder.recordNanosSince( startTime );
+			return CompletableFuture.completedFuture( sequenceNumber );
 		}
 		catch (IOException e) {
 			throw log.unableToCommitIndex( getEventContext(), e );
@@ -0,0 +1,54 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.work.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.search.backend.lucene.logging.impl.Log;
+import org.hibernate.search.backend.lucene.search.query.impl.LuceneSearcher;
+import org.hibernate.search.util.impl.common.Futures;
+import org.hibernate.search.util.impl.common.LoggerFactory;
+
+public class CountQueryLuceneWork implements LuceneQueryWork<Long> {
+
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
+	private final LuceneSearcher<?> searcher;
+
+	public CountQueryLuceneWork(LuceneSearcher<?> searcher) {
+		this.searcher = searcher;
+	}
+
+	@Override
+	public CompletableFuture<Long> execute(LuceneQueryWorkExecutionContext context) {
+		// FIXME for now everything is blocking here, we need a non blocking wrapper on top of the IndexWriter
+		return Futures.create( () -> CompletableFuture.completedFuture( executeCount( searcher ) ) );
+	}
+
+	private Long executeCount(LuceneSearcher<?> searcher) {
+		try {
+			return searcher.count();
+		}
+		catch (IOException e) {
+			throw log.ioExceptionOnQueryExecution( searcher.getLuceneQuery(), searcher.getEventContext(), e );
+		}
+		finally {
+			searcher.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder( getClass().getSimpleName() )
+				.append( "[" )
+				.append( "searcher=" ).append( searcher )
+				.append( "]" );
+		return sb.toString();
+	}
+}
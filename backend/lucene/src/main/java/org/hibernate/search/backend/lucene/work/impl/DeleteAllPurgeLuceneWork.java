@@ -0,0 +1,28 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.work.impl;
+
+import java.io.IOException;
+
+import org.apache.lucene.index.IndexWriter;
+
+/**
+ * A purge dropping all the segments of the index, without looking at documents.
+ * <p>
+ * Only suitable when the index is not shared between tenants.
+ */
+public class DeleteAllPurgeLuceneWork extends AbstractPurgeLuceneWork {
+
+	public DeleteAllPurgeLuceneWork(String indexName, String tenantId) {
+		super( indexName, tenantId );
+	}
+
+	@Override
+	protected long doPurge(IndexWriter indexWriter, String tenantId) throws IOException {
+		return indexWriter.deleteAll();
+	}
+}
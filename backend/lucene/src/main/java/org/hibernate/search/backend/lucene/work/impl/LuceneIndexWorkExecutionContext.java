@@ -6,6 +6,8 @@
  */
 package org.hibernate.search.backend.lucene.work.impl;
 
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+
 import org.apache.lucene.index.IndexWriter;
 
 /**
@@ -14,4 +16,6 @@
 public interface LuceneIndexWorkExecutionContext {
 
 	IndexWriter getIndexWriter();
+
+	MetricRecorder getCommitDurationRecorder();
 }
@@ -21,6 +21,8 @@ LuceneIndexWork<?> update(String indexName, String tenantId, String id, String r
 
 	LuceneIndexWork<?> delete(String indexName, String tenantId, String id, String routingKey);
 
+	LuceneIndexWork<?> purge(String indexName, String tenantId);
+
 	LuceneIndexWork<?> commit(String indexName);
 
 	LuceneIndexWork<?> flush(String indexName);
@@ -28,4 +30,6 @@ LuceneIndexWork<?> update(String indexName, String tenantId, String id, String r
 	LuceneIndexWork<?> optimize(String indexName);
 
 	<T> ExecuteQueryLuceneWork<T> search(LuceneSearcher<T> luceneSearcher);
+
+	CountQueryLuceneWork count(LuceneSearcher<?> luceneSearcher);
 }
@@ -38,6 +38,11 @@ public LuceneIndexWork<?> delete(String indexName, String tenantId, String id, S
 		return multiTenancyStrategy.createDeleteEntryLuceneWork( indexName, tenantId, id );
 	}
 
+	@Override
+	public LuceneIndexWork<?> purge(String indexName, String tenantId) {
+		return multiTenancyStrategy.createPurgeLuceneWork( indexName, tenantId );
+	}
+
 	@Override
 	public LuceneIndexWork<?> flush(String indexName) {
 		return new FlushIndexLuceneWork( indexName );
@@ -57,4 +62,9 @@ public LuceneIndexWork<?> optimize(String indexName) {
 	public <T> ExecuteQueryLuceneWork<T> search(LuceneSearcher<T> luceneSearcher) {
 		return new ExecuteQueryLuceneWork<T>( luceneSearcher );
 	}
+
+	@Override
+	public CountQueryLuceneWork count(LuceneSearcher<?> luceneSearcher) {
+		return new CountQueryLuceneWork( luceneSearcher );
+	}
 }
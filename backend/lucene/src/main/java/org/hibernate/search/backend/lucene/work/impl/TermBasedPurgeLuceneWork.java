@@ -0,0 +1,29 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.work.impl;
+
+import java.io.IOException;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.hibernate.search.backend.lucene.util.impl.LuceneFields;
+
+/**
+ * A purge deleting the documents of a single tenant, nested documents included,
+ * with a single buffered term deletion.
+ */
+public class TermBasedPurgeLuceneWork extends AbstractPurgeLuceneWork {
+
+	public TermBasedPurgeLuceneWork(String indexName, String tenantId) {
+		super( indexName, tenantId );
+	}
+
+	@Override
+	protected long doPurge(IndexWriter indexWriter, String tenantId) throws IOException {
+		return indexWriter.deleteDocuments( new Term( LuceneFields.tenantIdFieldName(), tenantId ) );
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.lucene.search.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.search.backend.lucene.util.impl.LuceneFields;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BitSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LuceneBlockJoinFiltersTest {
+
+	private static final String NESTED_PATH = "nested";
+
+	private final LuceneBlockJoinFilters filters = new LuceneBlockJoinFilters();
+
+	private Directory directory;
+	private IndexWriter indexWriter;
+	private DirectoryReader reader;
+
+	@Before
+	public void setup() throws IOException {
+		directory = new RAMDirectory();
+		indexWriter = new IndexWriter( directory, new IndexWriterConfig( new StandardAnalyzer() ) );
+		// One segment per block
+		addBlock( 2 );
+		addBlock( 1 );
+		reader = DirectoryReader.open( directory );
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		filters.close();
+		reader.close();
+		indexWriter.close();
+		directory.close();
+	}
+
+	@Test
+	public void reuseAcrossQueries() throws IOException {
+		BitSetProducer filter = filters.nestedDocumentPathFilter( NESTED_PATH );
+		assertThat( reader.leaves() ).hasSize( 2 );
+
+		List<BitSet> bitSets = getBitSets( filter );
+		assertThat( bitSets.get( 0 ).cardinality() ).isEqualTo( 2 );
+		assertThat( bitSets.get( 1 ).cardinality() ).isEqualTo( 1 );
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 2 );
+
+		// Another query on the same path reuses the same filter, and thus the same bitsets
+		BitSetProducer otherQueryFilter = filters.nestedDocumentPathFilter( NESTED_PATH );
+		assertThat( otherQueryFilter ).isSameAs( filter );
+		List<BitSet> otherQueryBitSets = getBitSets( otherQueryFilter );
+		assertThat( otherQueryBitSets.get( 0 ) ).isSameAs( bitSets.get( 0 ) );
+		assertThat( otherQueryBitSets.get( 1 ) ).isSameAs( bitSets.get( 1 ) );
+
+		// The main document filter is shared too
+		BitSetProducer mainDocumentFilter = filters.parentDocumentFilter( null );
+		assertThat( mainDocumentFilter ).isSameAs( filters.mainDocumentFilter() );
+		assertThat( getBitSets( mainDocumentFilter ).get( 0 ).cardinality() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void evictionAfterMergeAndRefresh() throws IOException {
+		BitSetProducer filter = filters.nestedDocumentPathFilter( NESTED_PATH );
+		getBitSets( filter );
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 2 );
+
+		indexWriter.forceMerge( 1 );
+		indexWriter.commit();
+		DirectoryReader refreshedReader = DirectoryReader.openIfChanged( reader );
+		assertThat( refreshedReader ).isNotNull();
+		// Still in use: nothing is evicted
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 2 );
+
+		reader.close();
+		reader = refreshedReader;
+		// The merged segments were closed along with the old reader
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 0 );
+
+		assertThat( reader.leaves() ).hasSize( 1 );
+		assertThat( getBitSets( filter ).get( 0 ).cardinality() ).isEqualTo( 3 );
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void close() throws IOException {
+		BitSetProducer filter = filters.nestedDocumentPathFilter( NESTED_PATH );
+		getBitSets( filter );
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 2 );
+
+		filters.close();
+
+		assertThat( getCachedSegmentCount( filter ) ).isEqualTo( 0 );
+		assertThat( filters.nestedDocumentPathFilter( NESTED_PATH ) ).isNotSameAs( filter );
+	}
+
+	private void addBlock(int nestedDocumentCount) throws IOException {
+		List<Document> block = new ArrayList<>();
+		// Nested documents are indexed before their main document
+		for ( int i = 0; i < nestedDocumentCount; i++ ) {
+			Document nestedDocument = new Document();
+			nestedDocument.add( new StringField( LuceneFields.typeFieldName(), LuceneFields.TYPE_CHILD_DOCUMENT, Store.NO ) );
+			nestedDocument.add( new StringField( LuceneFields.nestedDocumentPathFieldName(), NESTED_PATH, Store.NO ) );
+			block.add( nestedDocument );
+		}
+		Document mainDocument = new Document();
+		mainDocument.add( new StringField( LuceneFields.typeFieldName(), LuceneFields.TYPE_MAIN_DOCUMENT, Store.NO ) );
+		block.add( mainDocument );
+		indexWriter.addDocuments( block );
+		indexWriter.commit();
+	}
+
+	private List<BitSet> getBitSets(BitSetProducer filter) throws IOException {
+		List<BitSet> bitSets = new ArrayList<>();
+		for ( LeafReaderContext leaf : reader.leaves() ) {
+			bitSets.add( filter.getBitSet( leaf ) );
+		}
+		return bitSets;
+	}
+
+	private static int getCachedSegmentCount(BitSetProducer filter) {
+		return ( (CachingBitSetProducer) filter ).getCachedSegmentCount();
+	}
+
+}
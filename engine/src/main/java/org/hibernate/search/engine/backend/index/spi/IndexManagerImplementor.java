@@ -6,6 +6,8 @@
  */
 package org.hibernate.search.engine.backend.index.spi;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.hibernate.search.engine.backend.document.DocumentElement;
 import org.hibernate.search.engine.backend.index.IndexManager;
 import org.hibernate.search.engine.common.spi.SessionContext;
@@ -22,6 +24,19 @@
 	 */
 	IndexManager toAPI();
 
+	/**
+	 * Start the index manager, e.g. create the index if necessary.
+	 * <p>
+	 * This method is called once, after all index managers were built,
+	 * and the engine only waits for the returned future after all index managers were started,
+	 * so that backends can initialize all their indexes concurrently.
+	 *
+	 * @return A future that will complete when the index manager is ready to be used.
+	 */
+	default CompletableFuture<?> start() {
+		return CompletableFuture.completedFuture( null );
+	}
+
 	IndexWorkPlan<D> createWorkPlan(SessionContext sessionContext);
 
 	IndexSearchTargetBuilder createSearchTarget();
@@ -46,6 +46,16 @@
 	 */
 	void delete(DocumentReferenceProvider documentReferenceProvider);
 
+	/**
+	 * Delete all documents from the index.
+	 * <p>
+	 * When multi-tenancy is enabled, only documents of the tenant this work plan was created for are deleted.
+	 * <p>
+	 * Works added to this plan before this call are made irrelevant by the purge,
+	 * so implementations are free to drop them and to coalesce multiple purges into one.
+	 */
+	void purge();
+
 	/**
 	 * Prepare the work plan execution, i.e. execute as much as possible without writing to the index.
 	 * <p>
@@ -7,8 +7,11 @@
 package org.hibernate.search.engine.common.impl;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.hibernate.search.engine.backend.document.DocumentElement;
 import org.hibernate.search.engine.backend.document.model.dsl.spi.IndexSchemaRootNodeBuilder;
@@ -20,6 +23,7 @@
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
 import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
 import org.hibernate.search.engine.environment.bean.BeanProvider;
+import org.hibernate.search.engine.logging.spi.EventContexts;
 import org.hibernate.search.engine.backend.spi.BackendBuildContext;
 import org.hibernate.search.engine.mapper.mapping.building.impl.RootIndexModelBindingContext;
 import org.hibernate.search.engine.mapper.mapping.building.spi.IndexManagerBuildingState;
@@ -87,11 +91,48 @@ Map<String, IndexManagerImplementor<?>> getIndexManagersByName() {
 		return indexManagersByName;
 	}
 
+	/**
+	 * Start all index managers, then wait for all of them to be started.
+	 * <p>
+	 * Index managers are all started before we wait for any of them,
+	 * so that backends can perform index initialization (which may involve remote calls) concurrently.
+	 * Failures are collected per index.
+	 */
+	void startIndexManagers() {
+		Map<String, CompletableFuture<?>> futures = new LinkedHashMap<>();
+		for ( Map.Entry<String, IndexMappingBuildingStateImpl<?>> entry : indexManagerBuildingStateByName.entrySet() ) {
+			String indexName = entry.getKey();
+			try {
+				futures.put( indexName, entry.getValue().getBuilt().start() );
+			}
+			catch (RuntimeException e) {
+				collectIndexFailure( indexName, e );
+			}
+		}
+		for ( Map.Entry<String, CompletableFuture<?>> entry : futures.entrySet() ) {
+			try {
+				entry.getValue().join();
+			}
+			catch (CompletionException e) {
+				collectIndexFailure( entry.getKey(), e.getCause() == null ? e : e.getCause() );
+			}
+			catch (RuntimeException e) {
+				collectIndexFailure( entry.getKey(), e );
+			}
+		}
+	}
+
 	void closeOnFailure(SuppressingCloser closer) {
 		closer.pushAll( state -> state.closeOnFailure( closer ), indexManagerBuildingStateByName.values() );
 		closer.pushAll( BackendBuildingState::closeOnFailure, backendBuildingStateByName.values() );
 	}
 
+	private void collectIndexFailure(String indexName, Throwable failure) {
+		rootBuildContext.getFailureCollector()
+				.withContext( EventContexts.fromIndexName( indexName ) )
+				.add( failure );
+	}
+
 	private BackendBuildingState<?> createBackend(String backendName) {
 		ConfigurationPropertySource backendPropertySource = propertySource.withMask( "backend." + backendName );
 		// TODO more checks on the backend type (non-null, non-empty)
@@ -49,6 +49,7 @@
 import org.hibernate.search.engine.mapper.mapping.spi.MappingImplementor;
 import org.hibernate.search.engine.mapper.mapping.spi.MappingKey;
 import org.hibernate.search.engine.mapper.model.spi.MappableTypeModel;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.util.AssertionFailure;
 import org.hibernate.search.util.SearchException;
 import org.hibernate.search.util.impl.common.LoggerFactory;
@@ -67,6 +68,7 @@ public class SearchIntegrationBuilderImpl implements SearchIntegrationBuilder {
 	private ClassResolver classResolver;
 	private ResourceResolver resourceResolver;
 	private BeanResolver beanResolver;
+	private SearchMetrics metrics;
 	private boolean frozen = false;
 
 	public SearchIntegrationBuilderImpl(ConfigurationPropertySource mainPropertySource) {
@@ -91,6 +93,12 @@ public SearchIntegrationBuilder setBeanResolver(BeanResolver beanResolver) {
 		return this;
 	}
 
+	@Override
+	public SearchIntegrationBuilder setMetrics(SearchMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
 	@Override
 	public SearchIntegrationBuilder setProperty(String name, String value) {
 		this.overriddenProperties.setProperty( name, value );
@@ -157,7 +165,11 @@ public SearchIntegration build() {
 			}
 
 			BeanProvider beanProvider = new BeanProviderImpl( beanResolver );
-			ServiceManager serviceManager = new ServiceManagerImpl( classResolver, resourceResolver, beanProvider );
+			if ( metrics == null ) {
+				metrics = SearchMetrics.noOp();
+			}
+
+			ServiceManager serviceManager = new ServiceManagerImpl( classResolver, resourceResolver, beanProvider, metrics );
 			RootBuildContext rootBuildContext = new RootBuildContext( serviceManager, failureCollector );
 
 			ConfigurationPropertySource propertySource;
@@ -202,6 +214,12 @@ public SearchIntegration build() {
 			failureCollector.checkNoFailure();
 			checkingRootFailures = false;
 
+			// Fourth phase: start index managers, concurrently
+			indexManagerBuildingStateHolder.startIndexManagers();
+			checkingRootFailures = true;
+			failureCollector.checkNoFailure();
+			checkingRootFailures = false;
+
 			return new SearchIntegrationImpl(
 					beanResolver,
 					mappings,
@@ -13,6 +13,7 @@
 import org.hibernate.search.engine.environment.classpath.spi.ResourceResolver;
 import org.hibernate.search.engine.mapper.mapping.building.spi.MappingInitiator;
 import org.hibernate.search.engine.mapper.mapping.spi.MappingKey;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 
 /**
  * @author Yoann Rodiere
@@ -25,6 +26,12 @@ public interface SearchIntegrationBuilder {
 
 	SearchIntegrationBuilder setBeanResolver(BeanResolver beanResolver);
 
+	/**
+	 * @param metrics The metrics to report to. Defaults to {@link SearchMetrics#noOp()}.
+	 * @return {@code this}, for call chaining.
+	 */
+	SearchIntegrationBuilder setMetrics(SearchMetrics metrics);
+
 	SearchIntegrationBuilder setProperty(String name, String value);
 
 	SearchIntegrationBuilder setProperties(Properties properties);
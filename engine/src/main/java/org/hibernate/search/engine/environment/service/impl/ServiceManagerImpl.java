@@ -10,6 +10,7 @@
 import org.hibernate.search.engine.environment.classpath.spi.ClassResolver;
 import org.hibernate.search.engine.environment.classpath.spi.ResourceResolver;
 import org.hibernate.search.engine.environment.service.spi.ServiceManager;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 
 
 /**
@@ -20,12 +21,14 @@ public class ServiceManagerImpl implements ServiceManager {
 	private final ClassResolver classResolver;
 	private final ResourceResolver resourceResolver;
 	private final BeanProvider beanProvider;
+	private final SearchMetrics metrics;
 
 	public ServiceManagerImpl(ClassResolver classResolver, ResourceResolver resourceResolver,
-			BeanProvider beanProvider) {
+			BeanProvider beanProvider, SearchMetrics metrics) {
 		this.classResolver = classResolver;
 		this.resourceResolver = resourceResolver;
 		this.beanProvider = beanProvider;
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -43,4 +46,9 @@ public BeanProvider getBeanProvider() {
 		return beanProvider;
 	}
 
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
 }
@@ -10,6 +10,7 @@
 import org.hibernate.search.engine.environment.bean.BeanProvider;
 import org.hibernate.search.engine.environment.classpath.spi.ClassResolver;
 import org.hibernate.search.engine.environment.classpath.spi.ResourceResolver;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 
 /**
  * @author Yoann Rodiere
@@ -22,4 +23,6 @@ public interface ServiceManager {
 
 	BeanProvider getBeanProvider();
 
+	SearchMetrics getMetrics();
+
 }
@@ -179,4 +179,8 @@ SearchException relativeFieldNameCannotContainDot(String relativeFieldName,
 					+ " If you want to ignore this, use .extension().ifSupported(...).orElse(ignored -> { })."
 	)
 	SearchException dslExtensionNoMatch(List<?> attemptedExtensions);
+
+	@Message(id = ID_OFFSET_2 + 27,
+			value = "Multiple aggregations named '%1$s' in the same query. Aggregation names must be unique.")
+	SearchException duplicateAggregationName(String name);
 }
@@ -0,0 +1,32 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.impl;
+
+import java.util.function.LongSupplier;
+
+import org.hibernate.search.engine.metrics.spi.MetricRecorder;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+
+public final class NoOpSearchMetrics implements SearchMetrics {
+
+	public static final NoOpSearchMetrics INSTANCE = new NoOpSearchMetrics();
+
+	public static final MetricRecorder NO_OP_RECORDER = value -> { };
+
+	private NoOpSearchMetrics() {
+	}
+
+	@Override
+	public MetricRecorder recorder(String metricName, String indexName) {
+		return NO_OP_RECORDER;
+	}
+
+	@Override
+	public void gauge(String metricName, String indexName, LongSupplier valueSupplier) {
+		// Nothing to do
+	}
+}
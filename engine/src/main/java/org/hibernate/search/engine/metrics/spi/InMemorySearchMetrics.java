@@ -0,0 +1,93 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics kept in memory, in histograms, and exported on demand through {@link #snapshot()}.
+ * <p>
+ * Integrators can pass an instance to
+ * {@link org.hibernate.search.engine.common.spi.SearchIntegrationBuilder#setMetrics(SearchMetrics)}
+ * and periodically export snapshots to their monitoring system.
+ */
+public final class InMemorySearchMetrics implements SearchMetrics {
+
+	// Use a ConcurrentHashMap: registration may happen concurrently when starting index managers
+	private final Map<MetricKey, LongHistogram> histograms = new ConcurrentHashMap<>();
+	private final Map<MetricKey, List<LongSupplier>> gauges = new ConcurrentHashMap<>();
+
+	@Override
+	public MetricRecorder recorder(String metricName, String indexName) {
+		return histograms.computeIfAbsent( new MetricKey( metricName, indexName ), ignored -> new LongHistogram() );
+	}
+
+	@Override
+	public void gauge(String metricName, String indexName, LongSupplier valueSupplier) {
+		List<LongSupplier> suppliers =
+				gauges.computeIfAbsent( new MetricKey( metricName, indexName ), ignored -> new ArrayList<>() );
+		synchronized ( suppliers ) {
+			suppliers.add( valueSupplier );
+		}
+	}
+
+	/**
+	 * @return A snapshot of every metric registered so far.
+	 * Gauges registered multiple times for the same metric and index are summed.
+	 */
+	public List<MetricSnapshot> snapshot() {
+		List<MetricSnapshot> result = new ArrayList<>();
+		for ( Map.Entry<MetricKey, LongHistogram> entry : histograms.entrySet() ) {
+			MetricKey key = entry.getKey();
+			result.add( entry.getValue().snapshot( key.metricName, key.indexName ) );
+		}
+		for ( Map.Entry<MetricKey, List<LongSupplier>> entry : gauges.entrySet() ) {
+			MetricKey key = entry.getKey();
+			long value = 0L;
+			List<LongSupplier> suppliers = entry.getValue();
+			synchronized ( suppliers ) {
+				for ( LongSupplier supplier : suppliers ) {
+					value += supplier.getAsLong();
+				}
+			}
+			result.add( MetricSnapshot.ofGauge( key.metricName, key.indexName, value ) );
+		}
+		return result;
+	}
+
+	private static final class MetricKey {
+		private final String metricName;
+		private final String indexName;
+
+		private MetricKey(String metricName, String indexName) {
+			this.metricName = metricName;
+			this.indexName = indexName;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( obj == this ) {
+				return true;
+			}
+			if ( obj == null || obj.getClass() != getClass() ) {
+				return false;
+			}
+			MetricKey other = (MetricKey) obj;
+			return metricName.equals( other.metricName ) && Objects.equals( indexName, other.indexName );
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash( metricName, indexName );
+		}
+	}
+}
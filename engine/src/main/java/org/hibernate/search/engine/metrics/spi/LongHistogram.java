@@ -0,0 +1,103 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative long values.
+ * <p>
+ * Values are counted in buckets whose bounds grow exponentially:
+ * each power of two is split into {@value #SUB_BUCKET_COUNT} buckets of equal width,
+ * so that percentiles are computed with a relative error of at most 25%,
+ * over the whole range of long values, using a fixed amount of memory.
+ * Recording a value only involves atomic operations on pre-allocated memory.
+ */
+final class LongHistogram implements MetricRecorder {
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+	/*
+	 * Values below SUB_BUCKET_COUNT each get their own bucket,
+	 * then each power of two from SUB_BUCKET_BITS to 62 gets SUB_BUCKET_COUNT buckets.
+	 */
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + ( Long.SIZE - 1 - SUB_BUCKET_BITS ) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray( BUCKET_COUNT );
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong( 0L );
+
+	@Override
+	public void record(long value) {
+		long nonNegativeValue = Math.max( 0L, value );
+		buckets.incrementAndGet( bucketIndex( nonNegativeValue ) );
+		sum.add( nonNegativeValue );
+		long currentMax = max.get();
+		while ( nonNegativeValue > currentMax && !max.compareAndSet( currentMax, nonNegativeValue ) ) {
+			currentMax = max.get();
+		}
+	}
+
+	MetricSnapshot snapshot(String metricName, String indexName) {
+		long[] bucketCounts = new long[BUCKET_COUNT];
+		long countSum = 0L;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			bucketCounts[i] = buckets.get( i );
+			countSum += bucketCounts[i];
+		}
+		// Use the sum of bucket counts rather than the counter, so that percentiles are consistent
+		long totalCount = countSum;
+		long maxValue = max.get();
+		return new MetricSnapshot( metricName, indexName, totalCount, sum.sum(), maxValue,
+				percentile -> valueAtPercentile( bucketCounts, totalCount, maxValue, percentile ) );
+	}
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKET_COUNT ) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+		int subBucket = (int) ( value >>> ( exponent - SUB_BUCKET_BITS ) ) & SUB_BUCKET_MASK;
+		return ( exponent - SUB_BUCKET_BITS + 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * @param index A bucket index.
+	 * @return The highest value counted in that bucket.
+	 */
+	static long bucketUpperBound(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		long subBucket = index & SUB_BUCKET_MASK;
+		long lowerBound = ( SUB_BUCKET_COUNT + subBucket ) << ( exponent - SUB_BUCKET_BITS );
+		long width = 1L << ( exponent - SUB_BUCKET_BITS );
+		// Beware of overflows for the very last bucket
+		return lowerBound + ( width - 1 );
+	}
+
+	private static long valueAtPercentile(long[] bucketCounts, long totalCount, long maxValue, double percentile) {
+		if ( totalCount == 0L ) {
+			return 0L;
+		}
+		long rank = (long) Math.ceil( percentile / 100.0d * totalCount );
+		rank = Math.min( Math.max( rank, 1L ), totalCount );
+		long cumulativeCount = 0L;
+		for ( int i = 0; i < bucketCounts.length; i++ ) {
+			cumulativeCount += bucketCounts[i];
+			if ( cumulativeCount >= rank ) {
+				return Math.min( bucketUpperBound( i ), maxValue );
+			}
+		}
+		return maxValue;
+	}
+}
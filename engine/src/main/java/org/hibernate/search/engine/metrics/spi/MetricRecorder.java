@@ -0,0 +1,62 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.Collection;
+
+import org.hibernate.search.engine.metrics.impl.NoOpSearchMetrics;
+
+/**
+ * Records values for a given metric.
+ * <p>
+ * Implementations must be thread-safe,
+ * and should not lock nor allocate memory when recording a value.
+ */
+public interface MetricRecorder {
+
+	/**
+	 * @param value The value to record. Durations are expressed in nanoseconds.
+	 */
+	void record(long value);
+
+	/**
+	 * Record the time elapsed since the given start time.
+	 *
+	 * @param startNanos A start time as returned by {@link System#nanoTime()}.
+	 */
+	default void recordNanosSince(long startNanos) {
+		record( System.nanoTime() - startNanos );
+	}
+
+	/**
+	 * @return A recorder ignoring every value.
+	 * This is the recorder returned by {@link SearchMetrics#noOp()},
+	 * so callers can compare recorders to it by reference
+	 * to skip the work needed to compute values that would be ignored.
+	 */
+	static MetricRecorder noOp() {
+		return NoOpSearchMetrics.NO_OP_RECORDER;
+	}
+
+	/**
+	 * @param recorders A collection of recorders.
+	 * @return A recorder forwarding each value to all the given recorders,
+	 * for operations involving multiple indexes.
+	 */
+	static MetricRecorder composite(Collection<? extends MetricRecorder> recorders) {
+		if ( recorders.size() == 1 ) {
+			return recorders.iterator().next();
+		}
+		MetricRecorder[] recorderArray = recorders.toArray( new MetricRecorder[0] );
+		return value -> {
+			for ( MetricRecorder recorder : recorderArray ) {
+				recorder.record( value );
+			}
+		};
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.List;
+
+import org.hibernate.search.engine.search.ObjectLoader;
+
+/**
+ * An object loader recording the time spent loading objects.
+ *
+ * @param <R> The type of references.
+ * @param <O> The type of loaded objects.
+ */
+public final class MetricRecordingObjectLoader<R, O> implements ObjectLoader<R, O> {
+
+	/**
+	 * @param delegate The loader to delegate to.
+	 * @param loadingTimeRecorder The recorder for the time spent in the delegate.
+	 * @param <R> The type of references.
+	 * @param <O> The type of loaded objects.
+	 * @return A loader recording the time spent in the given loader,
+	 * or the given loader itself if it does not load anything.
+	 */
+	public static <R, O> ObjectLoader<R, O> wrap(ObjectLoader<R, O> delegate, MetricRecorder loadingTimeRecorder) {
+		if ( delegate == ObjectLoader.identity() ) {
+			// Nothing to measure
+			return delegate;
+		}
+		return new MetricRecordingObjectLoader<>( delegate, loadingTimeRecorder );
+	}
+
+	private final ObjectLoader<R, O> delegate;
+	private final MetricRecorder loadingTimeRecorder;
+
+	private MetricRecordingObjectLoader(ObjectLoader<R, O> delegate, MetricRecorder loadingTimeRecorder) {
+		this.delegate = delegate;
+		this.loadingTimeRecorder = loadingTimeRecorder;
+	}
+
+	@Override
+	public List<O> load(List<R> references) {
+		long startTime = System.nanoTime();
+		try {
+			return delegate.load( references );
+		}
+		finally {
+			loadingTimeRecorder.recordNanosSince( startTime );
+		}
+	}
+}
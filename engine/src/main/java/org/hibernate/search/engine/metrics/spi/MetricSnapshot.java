@@ -0,0 +1,90 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.function.DoubleToLongFunction;
+
+/**
+ * A snapshot of the values recorded for a metric, as exported by {@link InMemorySearchMetrics}.
+ * <p>
+ * Gauges are exported as a single value, that is a snapshot with a count of 1.
+ */
+public final class MetricSnapshot {
+
+	private final String metricName;
+	private final String indexName;
+	private final long count;
+	private final long sum;
+	private final long max;
+	private final DoubleToLongFunction percentileFunction;
+
+	MetricSnapshot(String metricName, String indexName, long count, long sum, long max,
+			DoubleToLongFunction percentileFunction) {
+		this.metricName = metricName;
+		this.indexName = indexName;
+		this.count = count;
+		this.sum = sum;
+		this.max = max;
+		this.percentileFunction = percentileFunction;
+	}
+
+	static MetricSnapshot ofGauge(String metricName, String indexName, long value) {
+		return new MetricSnapshot( metricName, indexName, 1L, value, value, ignored -> value );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder( getClass().getSimpleName() )
+				.append( "[" )
+				.append( "metricName=" ).append( metricName )
+				.append( ", indexName=" ).append( indexName )
+				.append( ", count=" ).append( count )
+				.append( ", sum=" ).append( sum )
+				.append( ", max=" ).append( max )
+				.append( "]" )
+				.toString();
+	}
+
+	public String getMetricName() {
+		return metricName;
+	}
+
+	/**
+	 * @return The name of the index the values relate to, or {@code null} if they relate to the whole backend.
+	 */
+	public String getIndexName() {
+		return indexName;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return The average of the recorded values, or 0 if no value was recorded.
+	 */
+	public double getMean() {
+		return count == 0L ? 0.0d : (double) sum / count;
+	}
+
+	/**
+	 * @param percentile A percentile, between 0 and 100.
+	 * @return An approximation of the value at the given percentile, with a relative error of at most 25%,
+	 * or 0 if no value was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		return percentileFunction.applyAsLong( percentile );
+	}
+}
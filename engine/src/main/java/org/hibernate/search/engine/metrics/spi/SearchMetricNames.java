@@ -0,0 +1,145 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+/**
+ * The names of the metrics reported to {@link SearchMetrics}.
+ * <p>
+ * Durations are expressed in nanoseconds.
+ */
+public final class SearchMetricNames {
+
+	private SearchMetricNames() {
+	}
+
+	/**
+	 * The time between the submission of an indexing work plan and its completion.
+	 */
+	public static final String INDEXING_LATENCY = "indexing.latency";
+
+	/**
+	 * The number of works in each batch sent to the index: work plans for Lucene, bulks for Elasticsearch.
+	 */
+	public static final String INDEXING_BATCH_SIZE = "indexing.batch_size";
+
+	/**
+	 * The number of indexing works submitted, but not completed yet.
+	 */
+	public static final String INDEXING_QUEUE_DEPTH = "indexing.queue_depth";
+
+	/**
+	 * The estimated size of indexing works submitted, but not completed yet, in bytes.
+	 */
+	public static final String INDEXING_IN_FLIGHT_BYTES = "indexing.in_flight_bytes";
+
+	/**
+	 * The time spent building a document from an entity.
+	 */
+	public static final String DOCUMENT_BUILD_TIME = "indexing.document_build_time";
+
+	/**
+	 * The time spent committing changes to the index.
+	 */
+	public static final String COMMIT_DURATION = "indexing.commit_duration";
+
+	/**
+	 * The time spent merging segments of the index.
+	 */
+	public static final String MERGE_DURATION = "indexing.merge_duration";
+
+	/**
+	 * The number of segments in the index, as of the latest reader opened on the index.
+	 */
+	public static final String SEGMENT_COUNT = "indexing.segment_count";
+
+	/**
+	 * The time spent refreshing the index to make changes visible to queries.
+	 */
+	public static final String REFRESH_DURATION = "indexing.refresh_duration";
+
+	/**
+	 * The time between the execution of a query and the availability of its results,
+	 * including the loading of entities, if any.
+	 */
+	public static final String QUERY_LATENCY = "query.latency";
+
+	/**
+	 * The number of queries submitted, but not completed yet.
+	 */
+	public static final String QUERY_QUEUE_DEPTH = "query.queue_depth";
+
+	/**
+	 * The number of query executions whose results were found in the query result cache.
+	 */
+	public static final String QUERY_RESULT_CACHE_HITS = "query.result_cache.hits";
+
+	/**
+	 * The number of executions of cacheable queries whose results were not found in the query result cache.
+	 */
+	public static final String QUERY_RESULT_CACHE_MISSES = "query.result_cache.misses";
+
+	/**
+	 * The time spent loading the entities matching a query.
+	 */
+	public static final String OBJECT_LOADING_TIME = "query.object_loading_time";
+
+	/**
+	 * The size of request bodies sent to a remote backend, in bytes.
+	 */
+	public static final String BYTES_SENT = "client.bytes_sent";
+
+	/**
+	 * The size of response bodies received from a remote backend, in bytes.
+	 */
+	public static final String BYTES_RECEIVED = "client.bytes_received";
+
+	/**
+	 * The number of requests sent to a node of a remote backend, but not completed yet.
+	 *
+	 * @see #forNode(String, String)
+	 */
+	public static final String NODE_IN_FLIGHT_REQUESTS = "client.node.in_flight_requests";
+
+	/**
+	 * The moving average of the latency of requests sent to a node of a remote backend,
+	 * weighted towards the most recent requests.
+	 *
+	 * @see #forNode(String, String)
+	 */
+	public static final String NODE_AVERAGE_LATENCY = "client.node.average_latency";
+
+	/**
+	 * The number of requests sent to a node of a remote backend.
+	 *
+	 * @see #forNode(String, String)
+	 */
+	public static final String NODE_REQUEST_COUNT = "client.node.request_count";
+
+	/**
+	 * The number of requests sent to a node of a remote backend that failed because the node could not be reached.
+	 *
+	 * @see #forNode(String, String)
+	 */
+	public static final String NODE_FAILURE_COUNT = "client.node.failure_count";
+
+	/**
+	 * 1 if a node of a remote backend failed recently and is currently avoided, 0 otherwise.
+	 *
+	 * @see #forNode(String, String)
+	 */
+	public static final String NODE_PENALIZED = "client.node.penalized";
+
+	/**
+	 * @param nodeMetricName The name of a per-node metric, e.g. {@link #NODE_IN_FLIGHT_REQUESTS}.
+	 * @param host The URI of the node.
+	 * @return The name of the metric for the given node, e.g. {@code client.node.in_flight_requests[http://es1:9200]}.
+	 */
+	public static String forNode(String nodeMetricName, String host) {
+		return nodeMetricName + "[" + host + "]";
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import java.util.function.LongSupplier;
+
+import org.hibernate.search.engine.metrics.impl.NoOpSearchMetrics;
+
+/**
+ * Collects metrics about the operations performed by Hibernate Search.
+ * <p>
+ * Recorders and gauges are registered once, at bootstrap,
+ * then values are recorded at runtime through the returned {@link MetricRecorder}.
+ * Thus implementations can do the (potentially costly) lookup of their data structures at bootstrap,
+ * and keep recording lock-free and allocation-free.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see SearchMetricNames
+ */
+public interface SearchMetrics {
+
+	/**
+	 * @param metricName The name of the metric, see {@link SearchMetricNames}.
+	 * @param indexName The name of the index the recorded values relate to,
+	 * or {@code null} if they relate to the whole backend.
+	 * @return A recorder for the given metric. Calling this method multiple times with the same arguments
+	 * may return the same recorder, or different recorders contributing to the same metric.
+	 */
+	MetricRecorder recorder(String metricName, String indexName);
+
+	/**
+	 * @param metricName The name of the metric, see {@link SearchMetricNames}.
+	 * @param indexName The name of the index the value relates to,
+	 * or {@code null} if it relates to the whole backend.
+	 * @param valueSupplier A supplier of the current value of the metric,
+	 * to be called whenever the metrics are exported. Must be thread-safe.
+	 */
+	void gauge(String metricName, String indexName, LongSupplier valueSupplier);
+
+	/**
+	 * @return Metrics that ignore all recorded values.
+	 */
+	static SearchMetrics noOp() {
+		return NoOpSearchMetrics.INSTANCE;
+	}
+
+}
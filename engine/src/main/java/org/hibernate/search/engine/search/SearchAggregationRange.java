@@ -0,0 +1,77 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.search;
+
+import java.util.Objects;
+
+/**
+ * A range of values for a range aggregation.
+ * <p>
+ * The lower bound is inclusive, the upper bound is exclusive,
+ * and a {@code null} bound means the range is unbounded on that side.
+ * <p>
+ * Instances are also used as keys in the results of range aggregations,
+ * see {@link SearchResult#getAggregations()}.
+ */
+public final class SearchAggregationRange {
+
+	public static SearchAggregationRange between(Object from, Object to) {
+		return new SearchAggregationRange( from, to );
+	}
+
+	public static SearchAggregationRange atLeast(Object from) {
+		return new SearchAggregationRange( from, null );
+	}
+
+	public static SearchAggregationRange below(Object to) {
+		return new SearchAggregationRange( null, to );
+	}
+
+	private final Object from;
+	private final Object to;
+
+	private SearchAggregationRange(Object from, Object to) {
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * @return The inclusive lower bound of this range, or {@code null} if there is none.
+	 */
+	public Object getFrom() {
+		return from;
+	}
+
+	/**
+	 * @return The exclusive upper bound of this range, or {@code null} if there is none.
+	 */
+	public Object getTo() {
+		return to;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if ( obj == this ) {
+			return true;
+		}
+		if ( obj == null || obj.getClass() != getClass() ) {
+			return false;
+		}
+		SearchAggregationRange other = (SearchAggregationRange) obj;
+		return Objects.equals( from, other.from ) && Objects.equals( to, other.to );
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash( from, to );
+	}
+
+	@Override
+	public String toString() {
+		return "[" + ( from == null ? "*" : from ) + ", " + ( to == null ? "*" : to ) + ")";
+	}
+}
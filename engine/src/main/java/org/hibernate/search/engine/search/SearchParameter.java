@@ -0,0 +1,59 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.search;
+
+import org.hibernate.search.util.impl.common.Contracts;
+
+/**
+ * A named placeholder for a value that will only be known when the query is executed.
+ * <p>
+ * Parameters can be passed instead of a value to the predicate DSL,
+ * for instance {@code match().onField( "title" ).matching( SearchParameter.param( "q" ) )},
+ * and bound later through {@link SearchQuery#setParameter(String, Object)}.
+ * This allows to build a query once and execute it many times with different values,
+ * without going through the DSL again.
+ * <p>
+ * Parameters are currently supported in match and range predicates.
+ */
+public final class SearchParameter {
+
+	public static SearchParameter param(String name) {
+		return new SearchParameter( name );
+	}
+
+	private final String name;
+
+	private SearchParameter(String name) {
+		Contracts.assertNotNull( name, "name" );
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if ( obj == this ) {
+			return true;
+		}
+		if ( obj == null || obj.getClass() != getClass() ) {
+			return false;
+		}
+		return name.equals( ( (SearchParameter) obj ).name );
+	}
+
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + name + "]";
+	}
+}
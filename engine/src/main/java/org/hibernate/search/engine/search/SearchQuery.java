@@ -6,6 +6,8 @@
  */
 package org.hibernate.search.engine.search;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author Yoann Rodiere
  */
@@ -15,8 +17,52 @@
 
 	void setMaxResults(Long maxResultsCount);
 
+	/**
+	 * Bind a value to a {@link SearchParameter parameter} used in this query.
+	 * <p>
+	 * The value will be converted the same way as a value passed directly to the DSL,
+	 * but only when the query is executed.
+	 *
+	 * @param name The name of the parameter, as passed to {@link SearchParameter#param(String)}.
+	 * @param value The value to bind to the parameter.
+	 */
+	void setParameter(String name, Object value);
+
 	String getQueryString();
 
 	SearchResult<T> execute();
 
+	/**
+	 * Execute the query asynchronously.
+	 * <p>
+	 * Executing multiple queries asynchronously, then waiting for all of them,
+	 * allows backends to execute these queries concurrently,
+	 * or to send them to a remote cluster in a single request.
+	 * <p>
+	 * By default, the query is executed synchronously.
+	 *
+	 * @return A future that will hold the result of the query when it completes.
+	 */
+	default CompletableFuture<SearchResult<T>> executeAsync() {
+		CompletableFuture<SearchResult<T>> future = new CompletableFuture<>();
+		try {
+			future.complete( execute() );
+		}
+		catch (RuntimeException e) {
+			future.completeExceptionally( e );
+		}
+		return future;
+	}
+
+	/**
+	 * Execute the query and only return the total number of matching documents.
+	 * <p>
+	 * This is cheaper than {@code execute().getHitCount()}:
+	 * no hit is collected, sorted, extracted or loaded.
+	 * Sorts, as well as the first result and max results settings, are ignored.
+	 *
+	 * @return The total number of matching documents.
+	 */
+	long executeCount();
+
 }
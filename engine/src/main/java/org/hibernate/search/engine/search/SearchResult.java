@@ -6,7 +6,9 @@
  */
 package org.hibernate.search.engine.search;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Yoann Rodiere
@@ -17,6 +19,15 @@
 
 	List<T> getHits();
 
-	// TODO aggregations, facets, ...
+	/**
+	 * @return The results of the aggregations requested when building the query, indexed by aggregation name.
+	 * For terms aggregations, each result maps the term values to their document count,
+	 * most frequent terms first.
+	 * For range aggregations, each result maps the {@link SearchAggregationRange}s to their document count,
+	 * in the order the ranges were requested.
+	 */
+	default Map<String, Map<Object, Long>> getAggregations() {
+		return Collections.emptyMap();
+	}
 
 }
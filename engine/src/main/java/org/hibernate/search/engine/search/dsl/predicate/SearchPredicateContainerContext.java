@@ -52,6 +52,11 @@
  * Note that custom bridges have the ability to customize the expected type of arguments in the DSL:
  * for example they could accept {@link String} arguments when targeting {@link Integer} fields.
  * See the documentation of bridges for more information on custom bridges.
+ * <p>
+ * Finally, a {@link org.hibernate.search.engine.search.SearchParameter} can be passed instead of a value,
+ * in which case the actual value will be provided when executing the query,
+ * through {@link org.hibernate.search.engine.search.SearchQuery#setParameter(String, Object)},
+ * and will be expected to have the same type as a value passed directly.
  *
  * @param <N> The type of the next context (returned by terminal calls such as {@link BooleanJunctionPredicateContext#end() end}
  * or {@link MatchPredicateFieldSetContext#matching(Object)}).
@@ -10,6 +10,8 @@
 import java.util.Collection;
 import java.util.function.Consumer;
 
+import org.hibernate.search.engine.search.SearchAggregationRange;
+import org.hibernate.search.engine.search.SearchResult;
 import org.hibernate.search.engine.search.SearchSort;
 import org.hibernate.search.engine.search.dsl.sort.SearchSortContainerContext;
 
@@ -28,6 +30,31 @@
 
 	SearchSortContainerContext<SearchQueryContext<Q>> sort();
 
+	/**
+	 * Count the matching documents per distinct value of a field.
+	 * <p>
+	 * Only the {@code maxTermCount} most frequent values will be returned.
+	 * The field must be sortable.
+	 *
+	 * @param name The name of the aggregation, used to retrieve its result through {@link SearchResult#getAggregations()}.
+	 * @param absoluteFieldPath The absolute path of the field to aggregate on.
+	 * @param maxTermCount The maximum number of distinct values to return.
+	 * @return {@code this}, for method chaining.
+	 */
+	SearchQueryContext<Q> termsAggregation(String name, String absoluteFieldPath, int maxTermCount);
+
+	/**
+	 * Count the matching documents whose value for a field falls in each of the given ranges.
+	 * <p>
+	 * The field must be sortable and numeric or temporal.
+	 *
+	 * @param name The name of the aggregation, used to retrieve its result through {@link SearchResult#getAggregations()}.
+	 * @param absoluteFieldPath The absolute path of the field to aggregate on.
+	 * @param ranges The ranges to count documents in.
+	 * @return {@code this}, for method chaining.
+	 */
+	SearchQueryContext<Q> rangeAggregation(String name, String absoluteFieldPath, SearchAggregationRange... ranges);
+
 	Q build();
 
 }
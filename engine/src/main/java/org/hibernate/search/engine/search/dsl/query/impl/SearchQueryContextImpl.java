@@ -6,16 +6,23 @@
  */
 package org.hibernate.search.engine.search.dsl.query.impl;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.hibernate.search.engine.logging.impl.Log;
+import org.hibernate.search.engine.search.SearchAggregationRange;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.SearchSort;
 import org.hibernate.search.engine.search.dsl.query.SearchQueryContext;
 import org.hibernate.search.engine.search.dsl.sort.SearchSortContainerContext;
 import org.hibernate.search.engine.search.dsl.spi.SearchTargetContext;
 import org.hibernate.search.engine.search.query.spi.SearchQueryBuilder;
+import org.hibernate.search.util.impl.common.LoggerFactory;
 
 
 /**
@@ -23,12 +30,16 @@
  */
 final class SearchQueryContextImpl<T, Q, C> implements SearchQueryContext<Q> {
 
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
 	private final SearchQueryBuilder<T, C> searchQueryBuilder;
 	private final Function<SearchQuery<T>, Q> searchQueryWrapperFactory;
 	private final SearchQueryPredicateCollector<? super C, ?> searchPredicateCollector;
 
 	private final SearchQuerySortCollector<? super C, ?> searchSortCollector;
 
+	private final Set<String> aggregationNames = new HashSet<>();
+
 	SearchQueryContextImpl(SearchTargetContext<C> targetContext, SearchQueryBuilder<T, C> searchQueryBuilder,
 			Function<SearchQuery<T>, Q> searchQueryWrapperFactory,
 			SearchQueryPredicateCollector<? super C, ?> searchPredicateCollector) {
@@ -67,6 +78,20 @@ public SearchSortContainerContext<SearchQueryContext<Q>> sort() {
 		return searchSortCollector.createContainerContext( this );
 	}
 
+	@Override
+	public SearchQueryContext<Q> termsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		checkAggregationName( name );
+		searchQueryBuilder.addTermsAggregation( name, absoluteFieldPath, maxTermCount );
+		return this;
+	}
+
+	@Override
+	public SearchQueryContext<Q> rangeAggregation(String name, String absoluteFieldPath, SearchAggregationRange... ranges) {
+		checkAggregationName( name );
+		searchQueryBuilder.addRangeAggregation( name, absoluteFieldPath, Arrays.asList( ranges ) );
+		return this;
+	}
+
 	@Override
 	public Q build() {
 		/*
@@ -86,4 +111,10 @@ public Q build() {
 		return searchQueryBuilder.build( searchQueryWrapperFactory );
 	}
 
+	private void checkAggregationName(String name) {
+		if ( !aggregationNames.add( name ) ) {
+			throw log.duplicateAggregationName( name );
+		}
+	}
+
 }
@@ -6,8 +6,10 @@
  */
 package org.hibernate.search.engine.search.query.spi;
 
+import java.util.List;
 import java.util.function.Function;
 
+import org.hibernate.search.engine.search.SearchAggregationRange;
 import org.hibernate.search.engine.search.SearchQuery;
 
 /**
@@ -22,7 +24,9 @@
 
 	void addRoutingKey(String routingKey);
 
-	// TODO add more arguments, such as faceting options
+	void addTermsAggregation(String name, String absoluteFieldPath, int maxTermCount);
+
+	void addRangeAggregation(String name, String absoluteFieldPath, List<SearchAggregationRange> ranges);
 
 	<Q> Q build(Function<SearchQuery<T>, Q> searchQueryWrapperFactory);
 
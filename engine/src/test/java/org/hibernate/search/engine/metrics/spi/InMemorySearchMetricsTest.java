@@ -0,0 +1,93 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metrics.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class InMemorySearchMetricsTest {
+
+	@Test
+	public void recorder() {
+		InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+		MetricRecorder recorder = metrics.recorder( SearchMetricNames.INDEXING_BATCH_SIZE, "myIndex" );
+		assertSame( recorder, metrics.recorder( SearchMetricNames.INDEXING_BATCH_SIZE, "myIndex" ) );
+
+		for ( long i = 1; i <= 1000; i++ ) {
+			recorder.record( i );
+		}
+
+		MetricSnapshot snapshot = getSingleSnapshot( metrics );
+		assertEquals( SearchMetricNames.INDEXING_BATCH_SIZE, snapshot.getMetricName() );
+		assertEquals( "myIndex", snapshot.getIndexName() );
+		assertEquals( 1000L, snapshot.getCount() );
+		assertEquals( 500500L, snapshot.getSum() );
+		assertEquals( 1000L, snapshot.getMax() );
+		assertEquals( 500.5d, snapshot.getMean(), 0.001d );
+		assertWithinRelativeError( 500L, snapshot.getValueAtPercentile( 50.0d ) );
+		assertWithinRelativeError( 990L, snapshot.getValueAtPercentile( 99.0d ) );
+		assertEquals( 1000L, snapshot.getValueAtPercentile( 100.0d ) );
+	}
+
+	@Test
+	public void recorder_empty() {
+		InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+		metrics.recorder( SearchMetricNames.QUERY_LATENCY, null );
+
+		MetricSnapshot snapshot = getSingleSnapshot( metrics );
+		assertEquals( 0L, snapshot.getCount() );
+		assertEquals( 0.0d, snapshot.getMean(), 0.0d );
+		assertEquals( 0L, snapshot.getValueAtPercentile( 50.0d ) );
+	}
+
+	@Test
+	public void gauge() {
+		InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+		AtomicLong first = new AtomicLong( 3L );
+		AtomicLong second = new AtomicLong( 4L );
+		metrics.gauge( SearchMetricNames.INDEXING_QUEUE_DEPTH, null, first::get );
+		metrics.gauge( SearchMetricNames.INDEXING_QUEUE_DEPTH, null, second::get );
+
+		assertEquals( 7L, getSingleSnapshot( metrics ).getSum() );
+
+		first.set( 10L );
+		assertEquals( 14L, getSingleSnapshot( metrics ).getSum() );
+	}
+
+	@Test
+	public void histogramBuckets() {
+		long[] values = { 0L, 1L, 3L, 4L, 5L, 7L, 8L, 1023L, 1024L, 123456789L, Long.MAX_VALUE };
+		for ( long value : values ) {
+			int index = LongHistogram.bucketIndex( value );
+			assertTrue( "Upper bound of the bucket of " + value,
+					value <= LongHistogram.bucketUpperBound( index ) );
+			if ( index > 0 ) {
+				assertTrue( "Upper bound of the previous bucket of " + value,
+						value > LongHistogram.bucketUpperBound( index - 1 ) );
+			}
+		}
+		assertEquals( Long.MAX_VALUE,
+				LongHistogram.bucketUpperBound( LongHistogram.bucketIndex( Long.MAX_VALUE ) ) );
+	}
+
+	private static MetricSnapshot getSingleSnapshot(InMemorySearchMetrics metrics) {
+		List<MetricSnapshot> snapshots = metrics.snapshot();
+		assertEquals( 1, snapshots.size() );
+		return snapshots.get( 0 );
+	}
+
+	private static void assertWithinRelativeError(long expected, long actual) {
+		assertTrue( "Expected a value close to " + expected + ", got " + actual,
+				Math.abs( actual - expected ) <= expected / 4 );
+	}
+}
@@ -16,4 +16,9 @@ public boolean localDateTypeOnMissingValueUse() {
 		return false;
 	}
 
+	@Override
+	public boolean transferredBytesMetrics() {
+		return true;
+	}
+
 }
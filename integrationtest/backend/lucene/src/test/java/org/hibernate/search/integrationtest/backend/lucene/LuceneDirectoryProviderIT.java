@@ -0,0 +1,125 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.lucene;
+
+import static org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.hibernate.search.util.impl.test.SubTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LuceneDirectoryProviderIT {
+
+	private static final String BACKEND_PREFIX = "backend.testedBackend.";
+	private static final String INDEX_NAME = "IndexName";
+	private static final String INDEX_PREFIX = "index." + INDEX_NAME + ".";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Test
+	public void localHeap() {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "local_heap" ) );
+
+		checkIndexingAndSearching();
+	}
+
+	@Test
+	public void localNioDirectory() {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "local_nio_directory" ) );
+
+		checkIndexingAndSearching();
+	}
+
+	@Test
+	public void nrtCaching() {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_NRT_CACHING_ENABLED, "true" )
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_MERGE_SIZE_MB, "1" )
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_NRT_CACHING_MAX_CACHED_MB, "10" ) );
+
+		checkIndexingAndSearching();
+	}
+
+	@Test
+	public void indexOverride() {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "local_heap" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.LUCENE_NRT_CACHING_ENABLED, "true" ) );
+
+		checkIndexingAndSearching();
+	}
+
+	@Test
+	public void indexOverride_invalid() {
+		SubTest.expectException(
+				"Invalid directory provider for a single index",
+				() -> setup( setupHelper.withDefaultConfiguration()
+						.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "some_invalid_name" ) )
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Unrecognized Lucene directory provider 'some_invalid_name'" )
+				.hasMessageContaining( INDEX_NAME );
+	}
+
+	private void setup(SearchSetupHelper.SetupContext setupContext) {
+		setupContext.withIndex(
+				"MappedType", INDEX_NAME,
+				ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+				indexManager -> this.indexManager = indexManager
+		)
+				.setup();
+	}
+
+	private void checkIndexingAndSearching() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( "1" ), document -> indexAccessors.string.write( document, "text 1" ) );
+		workPlan.add( referenceProvider( "2" ), document -> indexAccessors.string.write( document, "text 2" ) );
+		workPlan.execute().join();
+
+		workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.delete( referenceProvider( "1" ) );
+		workPlan.add( referenceProvider( "3" ), document -> indexAccessors.string.write( document, "text 3" ) );
+		workPlan.execute().join();
+
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		assertThat( query ).hasReferencesHitsAnyOrder( INDEX_NAME, "2", "3" );
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().createAccessor();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.metrics.spi.InMemorySearchMetrics;
+import org.hibernate.search.engine.metrics.spi.MetricSnapshot;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.hibernate.search.util.impl.test.SubTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LuceneIndexMergeIT {
+
+	private static final String INDEX_NAME = "IndexName";
+	private static final String INDEX_PREFIX = "index." + INDEX_NAME + ".";
+
+	private static final int DOCUMENT_COUNT = 6;
+	private static final long TIMEOUT_MS = 10_000L;
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private final InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Test
+	public void configuration() {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_POLICY, "log_byte_size" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_MAX_MERGED_SEGMENT_MB, "10" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_MAX_THREAD_COUNT, "1" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_QUERY_TIME_IO_LIMIT_MB_PER_SEC, "1" ) );
+
+		indexDocuments();
+		checkAllDocumentsFound();
+	}
+
+	@Test
+	public void invalidMergePolicy() {
+		SubTest.expectException(
+				"Invalid merge policy",
+				() -> setup( setupHelper.withDefaultConfiguration()
+						.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_POLICY, "some_invalid_name" ) )
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Unable to convert configuration property 'lucene.merge.policy'" )
+				.hasMessageContaining( "'some_invalid_name'" );
+	}
+
+	@Test
+	public void idleOptimizer() throws InterruptedException {
+		setup( setupHelper.withDefaultConfiguration()
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_ENABLED, "true" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_IDLE_TIME_MS, "50" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.MERGE_IDLE_OPTIMIZER_MAX_SEGMENT_COUNT, "1" ) );
+
+		indexDocuments();
+		checkAllDocumentsFound();
+		assertThat( getMetric( SearchMetricNames.SEGMENT_COUNT ).getSum() ).isGreaterThan( 1L );
+
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		do {
+			Thread.sleep( 50L );
+			checkAllDocumentsFound();
+		}
+		while ( getMetric( SearchMetricNames.SEGMENT_COUNT ).getSum() > 1L && System.currentTimeMillis() < deadline );
+
+		assertThat( getMetric( SearchMetricNames.SEGMENT_COUNT ).getSum() ).isEqualTo( 1L );
+		assertThat( getMetric( SearchMetricNames.MERGE_DURATION ).getCount() ).isGreaterThan( 0L );
+	}
+
+	private void setup(SearchSetupHelper.SetupContext setupContext) {
+		setupContext.withMetrics( metrics )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+	}
+
+	private void indexDocuments() {
+		// One work plan per document, so as to create multiple segments
+		for ( int i = 0; i < DOCUMENT_COUNT; i++ ) {
+			String value = "text " + i;
+			IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+			workPlan.add( referenceProvider( String.valueOf( i ) ), document -> indexAccessors.string.write( document, value ) );
+			workPlan.execute().join();
+		}
+	}
+
+	private void checkAllDocumentsFound() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		DocumentReferencesSearchResultAssert.assertThat( query )
+				.hasReferencesHitsAnyOrder( INDEX_NAME, "0", "1", "2", "3", "4", "5" );
+	}
+
+	private MetricSnapshot getMetric(String metricName) {
+		return metrics.snapshot().stream()
+				.filter( snapshot -> metricName.equals( snapshot.getMetricName() )
+						&& INDEX_NAME.equals( snapshot.getIndexName() ) )
+				.findFirst()
+				.orElseThrow( () -> new AssertionError( "No metric named " + metricName ) );
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().createAccessor();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.hibernate.search.util.impl.test.SubTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LuceneIndexReplicationIT {
+
+	private static final String BACKEND_PREFIX = "backend.testedBackend.";
+	private static final String INDEX_NAME = "IndexName";
+	private static final String INDEX_PREFIX = "index." + INDEX_NAME + ".";
+
+	private static final long TIMEOUT_MS = 10_000L;
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	@Rule
+	public TemporaryFolder sharedDirectory = new TemporaryFolder();
+
+	private IndexAccessors primaryIndexAccessors;
+	private MappedIndexManager<?> primaryIndexManager;
+	private IndexAccessors replicaIndexAccessors;
+	private MappedIndexManager<?> replicaIndexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		setupHelper.withDefaultConfiguration()
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_ROLE, "primary" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_SHARED_DIRECTORY,
+						sharedDirectory.getRoot().getAbsolutePath() )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.primaryIndexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.primaryIndexManager = indexManager
+				)
+				.setup();
+		setupHelper.withDefaultConfiguration()
+				// Another node would use its own root directory; here we simply keep the replica in memory
+				.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "local_heap" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_ROLE, "replica" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_SHARED_DIRECTORY,
+						sharedDirectory.getRoot().getAbsolutePath() )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_REFRESH_INTERVAL_MS, "50" )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.replicaIndexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.replicaIndexManager = indexManager
+				)
+				.setup();
+	}
+
+	@Test
+	public void replication() throws InterruptedException {
+		assertThat( count( replicaIndexManager ) ).isEqualTo( 0L );
+
+		index( "1", "text 1" );
+		index( "2", "text 2" );
+		waitForReplicaCount( 2L );
+
+		// Only the new segments should be copied, but the replica should still see all documents
+		index( "3", "text 3" );
+		waitForReplicaCount( 3L );
+
+		IndexWorkPlan<? extends DocumentElement> workPlan = primaryIndexManager.createWorkPlan( sessionContext );
+		workPlan.delete( referenceProvider( "1" ) );
+		workPlan.execute().join();
+		waitForReplicaCount( 2L );
+	}
+
+	@Test
+	public void writeToReplica() {
+		SubTest.expectException(
+				"Write to a replica index",
+				() -> {
+					IndexWorkPlan<? extends DocumentElement> workPlan = replicaIndexManager.createWorkPlan( sessionContext );
+					workPlan.add( referenceProvider( "1" ), document -> replicaIndexAccessors.string.write( document, "text" ) );
+					workPlan.execute().join();
+				}
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Cannot write to a replica index" );
+	}
+
+	@Test
+	public void missingSharedDirectory() {
+		SubTest.expectException(
+				"Replication without a shared directory",
+				() -> setupHelper.withDefaultConfiguration()
+						.withProperty( BACKEND_PREFIX + SearchBackendLuceneSettings.LUCENE_DIRECTORY_PROVIDER, "local_heap" )
+						.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.REPLICATION_ROLE, "replica" )
+						.withIndex( "MappedType", INDEX_NAME, ctx -> new IndexAccessors( ctx.getSchemaElement() ), indexManager -> { } )
+						.setup()
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Undefined shared directory for a replicated index" );
+	}
+
+	private void index(String id, String value) {
+		IndexWorkPlan<? extends DocumentElement> workPlan = primaryIndexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( id ), document -> primaryIndexAccessors.string.write( document, value ) );
+		workPlan.execute().join();
+	}
+
+	private void waitForReplicaCount(long expectedCount) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while ( count( replicaIndexManager ) != expectedCount && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 50L );
+		}
+		assertThat( count( replicaIndexManager ) ).isEqualTo( expectedCount );
+		assertThat( count( primaryIndexManager ) ).isEqualTo( expectedCount );
+	}
+
+	private long count(MappedIndexManager<?> indexManager) {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		return query.executeCount();
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().createAccessor();
+		}
+	}
+}
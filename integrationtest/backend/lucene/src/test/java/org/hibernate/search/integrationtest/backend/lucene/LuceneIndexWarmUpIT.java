@@ -0,0 +1,143 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.backend.lucene.index.LuceneIndexWarmer;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+public class LuceneIndexWarmUpIT {
+
+	private static final String INDEX_NAME = "IndexName";
+	private static final String INDEX_PREFIX = "index." + INDEX_NAME + ".";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		RecordingWarmer.warmedSegmentSizes.clear();
+
+		setupHelper.withDefaultConfiguration()
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.WARM_UP_DOC_VALUES, "true" )
+				.withProperty( INDEX_PREFIX + SearchBackendLuceneSettings.WARM_UP_WARMER, RecordingWarmer.class.getName() )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+	}
+
+	@Test
+	public void newSegmentsWarmedUpOnce() {
+		index( "1", "b", "2", "c" );
+		DocumentReferencesSearchResultAssert.assertThat( sortedQuery() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, "1", "2" );
+		assertThat( warmedDocumentCount() ).isEqualTo( 2 );
+
+		index( "3", "a" );
+		DocumentReferencesSearchResultAssert.assertThat( sortedQuery() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, "3", "1", "2" );
+		assertThat( warmedDocumentCount() ).isEqualTo( 3 );
+
+		// Segments that were already warmed up are not warmed up again
+		int warmedSegmentCount = RecordingWarmer.warmedSegmentSizes.size();
+		DocumentReferencesSearchResultAssert.assertThat( sortedQuery() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, "3", "1", "2" );
+		assertThat( RecordingWarmer.warmedSegmentSizes ).hasSize( warmedSegmentCount );
+	}
+
+	@Test
+	public void concurrentQueries_segmentsWarmedUpOnce() {
+		index( "1", "b", "2", "c" );
+		index( "3", "a" );
+
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		for ( int i = 0; i < 8; i++ ) {
+			futures.add( CompletableFuture.runAsync(
+					() -> DocumentReferencesSearchResultAssert.assertThat( sortedQuery() )
+							.hasReferencesHitsExactOrder( INDEX_NAME, "3", "1", "2" )
+			) );
+		}
+		CompletableFuture.allOf( futures.toArray( new CompletableFuture<?>[0] ) ).join();
+
+		// Each document belongs to exactly one segment, which was warmed up exactly once
+		assertThat( warmedDocumentCount() ).isEqualTo( 3 );
+	}
+
+	private static int warmedDocumentCount() {
+		return RecordingWarmer.warmedSegmentSizes.stream().mapToInt( Integer::intValue ).sum();
+	}
+
+	private void index(String ... idAndValues) {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		for ( int i = 0; i < idAndValues.length; i += 2 ) {
+			String value = idAndValues[i + 1];
+			workPlan.add( referenceProvider( idAndValues[i] ), document -> indexAccessors.string.write( document, value ) );
+		}
+		workPlan.execute().join();
+	}
+
+	private SearchQuery<DocumentReference> sortedQuery() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		return searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.sort( c -> c.byField( "string" ).asc() )
+				.build();
+	}
+
+	public static class RecordingWarmer implements LuceneIndexWarmer {
+		static final List<Integer> warmedSegmentSizes = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void warm(String indexName, IndexSearcher segmentSearcher) throws IOException {
+			assertThat( indexName ).isEqualTo( INDEX_NAME );
+			warmedSegmentSizes.add( segmentSearcher.count( new MatchAllDocsQuery() ) );
+		}
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().sortable( Sortable.YES ).createAccessor();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import org.hibernate.search.backend.lucene.cfg.SearchBackendLuceneSettings;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.metrics.spi.InMemorySearchMetrics;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LuceneQueryResultCacheIT {
+
+	private static final String INDEX_NAME = "IndexName";
+
+	private static final String FIRST_ID = "1";
+	private static final String SECOND_ID = "2";
+	private static final String THIRD_ID = "3";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private final InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		setupHelper.withDefaultConfiguration()
+				.withProperty( "backend.testedBackend." + SearchBackendLuceneSettings.QUERY_RESULT_CACHE_MAX_ENTRIES, "10" )
+				.withMetrics( metrics )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+
+		initData();
+	}
+
+	@Test
+	public void sameQuery() {
+		long initialHits = getMetric( SearchMetricNames.QUERY_RESULT_CACHE_HITS );
+		long initialMisses = getMetric( SearchMetricNames.QUERY_RESULT_CACHE_MISSES );
+
+		assertThat( pagedQuery() ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, SECOND_ID );
+		assertThat( getMetric( SearchMetricNames.QUERY_RESULT_CACHE_HITS ) ).isEqualTo( initialHits );
+		assertThat( getMetric( SearchMetricNames.QUERY_RESULT_CACHE_MISSES ) ).isEqualTo( initialMisses + 1 );
+
+		assertThat( pagedQuery() ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, SECOND_ID );
+		assertThat( getMetric( SearchMetricNames.QUERY_RESULT_CACHE_HITS ) ).isEqualTo( initialHits + 1 );
+		assertThat( getMetric( SearchMetricNames.QUERY_RESULT_CACHE_MISSES ) ).isEqualTo( initialMisses + 1 );
+	}
+
+	@Test
+	public void invalidatedOnIndexChange() {
+		assertThat( pagedQuery() ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, SECOND_ID );
+
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( THIRD_ID ), document -> {
+			indexAccessors.string.write( document, "a" );
+		} );
+		workPlan.execute().join();
+
+		long hitsBeforeQuery = getMetric( SearchMetricNames.QUERY_RESULT_CACHE_HITS );
+		assertThat( pagedQuery() ).hasReferencesHitsExactOrder( INDEX_NAME, THIRD_ID, FIRST_ID );
+		assertThat( getMetric( SearchMetricNames.QUERY_RESULT_CACHE_HITS ) ).isEqualTo( hitsBeforeQuery );
+	}
+
+	private SearchQuery<DocumentReference> pagedQuery() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.sort( c -> c.byField( "string" ).asc() )
+				.build();
+		query.setMaxResults( 2L );
+		return query;
+	}
+
+	private long getMetric(String metricName) {
+		return metrics.snapshot().stream()
+				.filter( snapshot -> metricName.equals( snapshot.getMetricName() ) )
+				.findFirst()
+				.orElseThrow( () -> new AssertionError( "No metric named " + metricName ) )
+				.getSum();
+	}
+
+	private void initData() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( FIRST_ID ), document -> {
+			indexAccessors.string.write( document, "b" );
+		} );
+		workPlan.add( referenceProvider( SECOND_ID ), document -> {
+			indexAccessors.string.write( document, "c" );
+		} );
+
+		workPlan.execute().join();
+
+		// Check that all documents are searchable
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		assertThat( query ).hasReferencesHitsAnyOrder( INDEX_NAME, FIRST_ID, SECOND_ID );
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().sortable( Sortable.YES ).createAccessor();
+		}
+	}
+}
@@ -13,7 +13,10 @@
 
 import org.hibernate.search.engine.backend.document.DocumentElement;
 import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.IndexObjectFieldAccessor;
 import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaObjectField;
+import org.hibernate.search.engine.backend.document.model.dsl.ObjectFieldStorage;
 import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
 import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
 import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
@@ -72,6 +75,48 @@ private SearchQuery<DocumentReference> simpleQuery(Consumer<? super SearchSortCo
 				.build();
 	}
 
+	@Test
+	public void byField_inNestedObject() {
+		SearchQuery<DocumentReference> query;
+
+		// Ascending order uses the minimum value of the nested documents
+		query = simpleQuery( b -> b.byField( "nestedObject.integer" ).asc().onMissingValue().sortLast() );
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, SECOND_ID, THIRD_ID, EMPTY_ID );
+
+		// Descending order uses the maximum value of the nested documents
+		query = simpleQuery( b -> b.byField( "nestedObject.integer" ).desc().onMissingValue().sortLast() );
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, THIRD_ID, SECOND_ID, EMPTY_ID );
+
+		query = simpleQuery( b -> b.byField( "nestedObject.integer" ).asc().onMissingValue().sortFirst() );
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, EMPTY_ID, FIRST_ID, SECOND_ID, THIRD_ID );
+	}
+
+	@Test
+	public void byField_inNestedObject_secondLevel() {
+		SearchQuery<DocumentReference> query;
+
+		query = simpleQuery( b -> b.byField( "nestedObject.nestedObject.string" ).asc().onMissingValue().sortLast() );
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, SECOND_ID, FIRST_ID, THIRD_ID, EMPTY_ID );
+
+		query = simpleQuery( b -> b.byField( "nestedObject.nestedObject.string" ).desc().onMissingValue().sortLast() );
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, THIRD_ID, FIRST_ID, SECOND_ID, EMPTY_ID );
+	}
+
+	@Test
+	public void byField_inNestedObject_withNestedPredicate() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().nested().onObjectField( "nestedObject" )
+						.range().onField( "nestedObject.integer" ).above( 4 ).end()
+				.sort().byField( "nestedObject.integer" ).asc().end()
+				.build();
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, THIRD_ID );
+
+		// Run the query again, reusing the cached parent filters
+		assertThat( query ).hasReferencesHitsExactOrder( INDEX_NAME, FIRST_ID, THIRD_ID );
+	}
+
 	@Test
 	public void byDistanceDesc() {
 		thrown.expect( SearchException.class );
@@ -84,12 +129,17 @@ private void initData() {
 		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
 		workPlan.add( referenceProvider( FIRST_ID ), document -> {
 			indexAccessors.geoPoint.write( document, GeoPoint.of( 45.7705687,4.835233 ) );
+			indexAccessors.nestedObject.add( document, 5, "b" );
+			indexAccessors.nestedObject.add( document, 1, null );
 		} );
 		workPlan.add( referenceProvider( SECOND_ID ), document -> {
 			indexAccessors.geoPoint.write( document, GeoPoint.of( 45.7541719, 4.8386221 ) );
+			indexAccessors.nestedObject.add( document, 2, "a" );
+			indexAccessors.nestedObject.add( document, 3, null );
 		} );
 		workPlan.add( referenceProvider( THIRD_ID ), document -> {
 			indexAccessors.geoPoint.write( document, GeoPoint.of( 45.7530374, 4.8510299 ) );
+			indexAccessors.nestedObject.add( document, 4, "c" );
 		} );
 		workPlan.add( referenceProvider( EMPTY_ID ), document -> { } );
 
@@ -106,9 +156,35 @@ private void initData() {
 
 	private static class IndexAccessors {
 		final IndexFieldAccessor<GeoPoint> geoPoint;
+		final NestedObjectAccessors nestedObject;
 
 		IndexAccessors(IndexSchemaElement root) {
 			geoPoint = root.field( "geoPoint" ).asGeoPoint().sortable( Sortable.YES ).createAccessor();
+			nestedObject = new NestedObjectAccessors( root.objectField( "nestedObject", ObjectFieldStorage.NESTED ) );
+		}
+	}
+
+	private static class NestedObjectAccessors {
+		final IndexObjectFieldAccessor self;
+		final IndexFieldAccessor<Integer> integer;
+		final IndexObjectFieldAccessor secondLevelSelf;
+		final IndexFieldAccessor<String> secondLevelString;
+
+		NestedObjectAccessors(IndexSchemaObjectField objectField) {
+			self = objectField.createAccessor();
+			integer = objectField.field( "integer" ).asInteger().sortable( Sortable.YES ).createAccessor();
+			IndexSchemaObjectField secondLevelObjectField = objectField.objectField( "nestedObject", ObjectFieldStorage.NESTED );
+			secondLevelSelf = secondLevelObjectField.createAccessor();
+			secondLevelString = secondLevelObjectField.field( "string" ).asString().sortable( Sortable.YES ).createAccessor();
+		}
+
+		void add(DocumentElement document, Integer integerValue, String secondLevelStringValue) {
+			DocumentElement nestedObject = self.add( document );
+			integer.write( nestedObject, integerValue );
+			if ( secondLevelStringValue != null ) {
+				DocumentElement secondLevelObject = secondLevelSelf.add( nestedObject );
+				secondLevelString.write( secondLevelObject, secondLevelStringValue );
+			}
 		}
 	}
 }
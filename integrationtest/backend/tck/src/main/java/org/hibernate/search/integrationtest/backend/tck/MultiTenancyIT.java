@@ -181,6 +181,42 @@ public void delete_only_deletes_elements_of_the_tenant() {
 				.hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
 	}
 
+	@Test
+	public void purge_only_deletes_elements_of_the_tenant() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( tenant2SessionContext );
+		workPlan.purge();
+		workPlan.execute().join();
+
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( tenant2SessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		assertThat( query ).hasNoHits();
+
+		query = searchTarget.query( tenant2SessionContext )
+				.asReferences()
+				.predicate().nested().onObjectField( "nestedObject" )
+						.match().onField( "nestedObject.string" ).matching( STRING_VALUE_1 ).end()
+				.build();
+		assertThat( query ).hasNoHits();
+
+		query = searchTarget.query( tenant1SessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		assertThat( query )
+				.hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
+
+		query = searchTarget.query( tenant1SessionContext )
+				.asReferences()
+				.predicate().nested().onObjectField( "nestedObject" )
+						.match().onField( "nestedObject.string" ).matching( STRING_VALUE_1 ).end()
+				.build();
+		assertThat( query )
+				.hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1 );
+	}
+
 	@Test
 	public void update_only_updates_elements_of_the_tenant() {
 		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( tenant2SessionContext );
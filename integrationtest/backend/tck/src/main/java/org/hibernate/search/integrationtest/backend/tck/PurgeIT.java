@@ -0,0 +1,161 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.tck;
+
+import static org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.IndexObjectFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaObjectField;
+import org.hibernate.search.engine.backend.document.model.dsl.ObjectFieldStorage;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PurgeIT {
+
+	private static final String INDEX_NAME = "IndexName";
+
+	private static final String DOCUMENT_ID_1 = "1";
+	private static final String DOCUMENT_ID_2 = "2";
+	private static final String DOCUMENT_ID_3 = "3";
+
+	private static final String STRING_VALUE_1 = "string_1";
+	private static final String STRING_VALUE_2 = "string_2";
+	private static final String STRING_VALUE_3 = "string_3";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		setupHelper.withDefaultConfiguration()
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+
+		initData();
+	}
+
+	@Test
+	public void purge() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.purge();
+		workPlan.execute().join();
+
+		assertThat( matchAllQuery() ).hasNoHits();
+		assertThat( nestedQuery( STRING_VALUE_1 ) ).hasNoHits();
+	}
+
+	@Test
+	public void purge_multiple() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.purge();
+		workPlan.purge();
+		workPlan.execute().join();
+
+		assertThat( matchAllQuery() ).hasNoHits();
+	}
+
+	@Test
+	public void purge_thenAdd() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.purge();
+		add( workPlan, DOCUMENT_ID_3, STRING_VALUE_3 );
+		workPlan.execute().join();
+
+		assertThat( matchAllQuery() ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_3 );
+		assertThat( nestedQuery( STRING_VALUE_3 ) ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_3 );
+		assertThat( nestedQuery( STRING_VALUE_1 ) ).hasNoHits();
+	}
+
+	@Test
+	public void add_thenPurge() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		add( workPlan, DOCUMENT_ID_3, STRING_VALUE_3 );
+		workPlan.purge();
+		workPlan.execute().join();
+
+		assertThat( matchAllQuery() ).hasNoHits();
+	}
+
+	private SearchQuery<DocumentReference> matchAllQuery() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		return searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+	}
+
+	private SearchQuery<DocumentReference> nestedQuery(String value) {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		return searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().nested().onObjectField( "nestedObject" )
+						.match().onField( "nestedObject.string" ).matching( value ).end()
+				.build();
+	}
+
+	private void add(IndexWorkPlan<? extends DocumentElement> workPlan, String id, String value) {
+		workPlan.add( referenceProvider( id ), document -> {
+			indexAccessors.string.write( document, value );
+
+			DocumentElement nestedObject = indexAccessors.nestedObject.self.add( document );
+			indexAccessors.nestedObject.string.write( nestedObject, value );
+		} );
+	}
+
+	private void initData() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		add( workPlan, DOCUMENT_ID_1, STRING_VALUE_1 );
+		add( workPlan, DOCUMENT_ID_2, STRING_VALUE_2 );
+		workPlan.execute().join();
+
+		// Check that all documents are searchable
+		assertThat( matchAllQuery() ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
+		assertThat( nestedQuery( STRING_VALUE_1 ) ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1 );
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+		final ObjectAccessors nestedObject;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().createAccessor();
+			IndexSchemaObjectField nestedObjectField = root.objectField( "nestedObject", ObjectFieldStorage.NESTED );
+			nestedObject = new ObjectAccessors( nestedObjectField );
+		}
+	}
+
+	private static class ObjectAccessors {
+		final IndexObjectFieldAccessor self;
+		final IndexFieldAccessor<String> string;
+
+		ObjectAccessors(IndexSchemaObjectField objectField) {
+			self = objectField.createAccessor();
+			string = objectField.field( "string" ).asString().createAccessor();
+		}
+	}
+}
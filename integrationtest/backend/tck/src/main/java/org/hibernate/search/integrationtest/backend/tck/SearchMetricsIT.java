@@ -0,0 +1,160 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.tck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.metrics.spi.InMemorySearchMetrics;
+import org.hibernate.search.engine.metrics.spi.MetricSnapshot;
+import org.hibernate.search.engine.metrics.spi.SearchMetricNames;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.integrationtest.backend.tck.util.TckConfiguration;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SearchMetricsIT {
+
+	private static final String INDEX_NAME = "IndexName";
+
+	private static final String DOCUMENT_ID_1 = "1";
+	private static final String DOCUMENT_ID_2 = "2";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private final InMemorySearchMetrics metrics = new InMemorySearchMetrics();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		setupHelper.withDefaultConfiguration()
+				.withMetrics( metrics )
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+	}
+
+	@Test
+	public void latency() {
+		indexDocuments();
+		assertThat( getMetrics( SearchMetricNames.INDEXING_LATENCY ) )
+				.extracting( MetricSnapshot::getIndexName )
+				.containsExactly( INDEX_NAME );
+		assertThat( getCount( SearchMetricNames.INDEXING_LATENCY ) ).isGreaterThan( 0L );
+		assertThat( getMax( SearchMetricNames.INDEXING_LATENCY ) ).isGreaterThan( 0L );
+
+		long queryCountBefore = getCount( SearchMetricNames.QUERY_LATENCY );
+		assertThat( matchAllQuery() ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
+		assertThat( getMetrics( SearchMetricNames.QUERY_LATENCY ) )
+				.extracting( MetricSnapshot::getIndexName )
+				.containsExactly( INDEX_NAME );
+		assertThat( getCount( SearchMetricNames.QUERY_LATENCY ) ).isEqualTo( queryCountBefore + 1 );
+		assertThat( getMax( SearchMetricNames.QUERY_LATENCY ) ).isGreaterThan( 0L );
+	}
+
+	@Test
+	public void queueDepth() {
+		// The gauges are registered on startup...
+		assertThat( getMetrics( SearchMetricNames.INDEXING_QUEUE_DEPTH ) ).isNotEmpty();
+		assertThat( getMetrics( SearchMetricNames.QUERY_QUEUE_DEPTH ) ).isNotEmpty();
+
+		// ... and get back to zero once works are completed
+		indexDocuments();
+		assertThat( matchAllQuery() ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
+		assertThat( getSum( SearchMetricNames.INDEXING_QUEUE_DEPTH ) ).isEqualTo( 0L );
+		assertThat( getSum( SearchMetricNames.QUERY_QUEUE_DEPTH ) ).isEqualTo( 0L );
+	}
+
+	@Test
+	public void bytes() {
+		Assume.assumeTrue(
+				"Transferred bytes are only reported by remote backends, skipping.",
+				TckConfiguration.get().getBackendFeatures().transferredBytesMetrics()
+		);
+
+		long sentBefore = getSum( SearchMetricNames.BYTES_SENT );
+		long receivedBefore = getSum( SearchMetricNames.BYTES_RECEIVED );
+		indexDocuments();
+		long sentAfterIndexing = getSum( SearchMetricNames.BYTES_SENT );
+		long receivedAfterIndexing = getSum( SearchMetricNames.BYTES_RECEIVED );
+		assertThat( sentAfterIndexing ).isGreaterThan( sentBefore );
+		assertThat( receivedAfterIndexing ).isGreaterThan( receivedBefore );
+
+		assertThat( matchAllQuery() ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_ID_1, DOCUMENT_ID_2 );
+		assertThat( getSum( SearchMetricNames.BYTES_SENT ) ).isGreaterThan( sentAfterIndexing );
+		assertThat( getSum( SearchMetricNames.BYTES_RECEIVED ) ).isGreaterThan( receivedAfterIndexing );
+	}
+
+	private List<MetricSnapshot> getMetrics(String metricName) {
+		// Depending on the backend, some metrics are reported per index or for the whole backend
+		return metrics.snapshot().stream()
+				.filter( snapshot -> metricName.equals( snapshot.getMetricName() ) )
+				.collect( Collectors.toList() );
+	}
+
+	private long getCount(String metricName) {
+		return getMetrics( metricName ).stream().mapToLong( MetricSnapshot::getCount ).sum();
+	}
+
+	private long getSum(String metricName) {
+		return getMetrics( metricName ).stream().mapToLong( MetricSnapshot::getSum ).sum();
+	}
+
+	private long getMax(String metricName) {
+		return getMetrics( metricName ).stream().mapToLong( MetricSnapshot::getMax ).max().orElse( 0L );
+	}
+
+	private void indexDocuments() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( DOCUMENT_ID_1 ), document -> {
+			indexAccessors.string.write( document, "text 1" );
+		} );
+		workPlan.add( referenceProvider( DOCUMENT_ID_2 ), document -> {
+			indexAccessors.string.write( document, "text 2" );
+		} );
+		workPlan.execute().join();
+	}
+
+	private SearchQuery<DocumentReference> matchAllQuery() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		return searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().createAccessor();
+		}
+	}
+}
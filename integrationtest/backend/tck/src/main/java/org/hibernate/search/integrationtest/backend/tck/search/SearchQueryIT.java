@@ -7,8 +7,11 @@
 package org.hibernate.search.integrationtest.backend.tck.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.search.engine.search.SearchParameter.param;
 import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.hibernate.search.engine.backend.document.DocumentElement;
 import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
 import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
@@ -20,8 +23,11 @@
 import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
 import org.hibernate.search.engine.search.DocumentReference;
 import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.engine.search.SearchResult;
 import org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert;
+import org.hibernate.search.util.SearchException;
 import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.hibernate.search.util.impl.test.SubTest;
 import org.hibernate.search.util.impl.test.annotation.TestForIssue;
 import org.junit.Before;
 import org.junit.Rule;
@@ -174,6 +180,55 @@ public void maxResults_zero() {
 				.hasNoHits();
 	}
 
+	@Test
+	public void executeAsync() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query1 = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().match().onField( "string" ).matching( STRING_1 ).end()
+				.build();
+		SearchQuery<DocumentReference> query2 = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.sort().byField( "string" ).desc().end()
+				.build();
+		query2.setMaxResults( 2L );
+
+		// Execute both queries before waiting for any result, so that they may be executed together
+		CompletableFuture<SearchResult<DocumentReference>> future1 = query1.executeAsync();
+		CompletableFuture<SearchResult<DocumentReference>> future2 = query2.executeAsync();
+
+		DocumentReferencesSearchResultAssert.assertThat( future1.join() )
+				.hasHitCount( 1 )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1 );
+		DocumentReferencesSearchResultAssert.assertThat( future2.join() )
+				.hasHitCount( 3 )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_3, DOCUMENT_2 );
+	}
+
+	@Test
+	public void executeCount() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.sort().byField( "string" ).asc().end()
+				.build();
+		query.setFirstResult( 1L );
+		query.setMaxResults( 1L );
+
+		assertThat( query.executeCount() ).isEqualTo( 3L );
+
+		query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().match().onField( "string" ).matching( STRING_2 ).end()
+				.build();
+
+		assertThat( query.executeCount() ).isEqualTo( 1L );
+	}
+
 	@Test
 	public void getQueryString() {
 		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
@@ -186,6 +241,103 @@ public void getQueryString() {
 		assertThat( query.getQueryString() ).contains( "platypus" );
 	}
 
+	@Test
+	public void parameters() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().bool()
+						.should().match().onField( "string" ).matching( param( "value" ) ).end()
+						.should().range().onField( "string" ).from( param( "lower" ) ).to( param( "upper" ) ).end()
+				.end()
+				.sort().byField( "string" ).asc().end()
+				.build();
+
+		query.setParameter( "value", STRING_1 );
+		query.setParameter( "lower", STRING_3 );
+		query.setParameter( "upper", STRING_3 );
+
+		DocumentReferencesSearchResultAssert.assertThat( query )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1, DOCUMENT_3 );
+
+		query.setParameter( "value", STRING_2 );
+		query.setParameter( "lower", STRING_1 );
+		query.setParameter( "upper", STRING_1 );
+
+		DocumentReferencesSearchResultAssert.assertThat( query )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1, DOCUMENT_2 );
+		assertThat( query.getQueryString() ).contains( STRING_2 );
+	}
+
+	@Test
+	public void parameters_mixedWithStaticPredicates() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().bool()
+						.should().match().onField( "string" ).matching( STRING_1 ).end()
+						.should().bool()
+								.must().match().onField( "string" ).matching( param( "value" ) ).end()
+								.mustNot().match().onField( "string" ).matching( STRING_3 ).end()
+						.end()
+				.end()
+				.sort().byField( "string" ).asc().end()
+				.build();
+
+		query.setParameter( "value", STRING_2 );
+		DocumentReferencesSearchResultAssert.assertThat( query )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1, DOCUMENT_2 );
+
+		query.setParameter( "value", STRING_3 );
+		DocumentReferencesSearchResultAssert.assertThat( query )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1 );
+	}
+
+	@Test
+	public void parameters_executeAsync() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().match().onField( "string" ).matching( param( "value" ) ).end()
+				.build();
+
+		// Bind new values before the previous execution completes: each execution must use its own values
+		query.setParameter( "value", STRING_1 );
+		CompletableFuture<SearchResult<DocumentReference>> future1 = query.executeAsync();
+		query.setParameter( "value", STRING_2 );
+		CompletableFuture<SearchResult<DocumentReference>> future2 = query.executeAsync();
+		query.setParameter( "value", STRING_3 );
+		CompletableFuture<SearchResult<DocumentReference>> future3 = query.executeAsync();
+
+		DocumentReferencesSearchResultAssert.assertThat( future1.join() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_1 );
+		DocumentReferencesSearchResultAssert.assertThat( future2.join() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_2 );
+		DocumentReferencesSearchResultAssert.assertThat( future3.join() )
+				.hasReferencesHitsExactOrder( INDEX_NAME, DOCUMENT_3 );
+	}
+
+	@Test
+	public void parameters_unbound() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().match().onField( "string" ).matching( param( "value" ) ).end()
+				.build();
+
+		SubTest.expectException(
+				"query with an unbound parameter",
+				() -> query.execute()
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "No value was bound to search parameter 'value'" );
+	}
+
 	@Test
 	public void asWrappedQuery() {
 		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
@@ -0,0 +1,283 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.backend.tck.search.aggregation;
+
+import static org.assertj.core.api.Assertions.entry;
+import static org.hibernate.search.engine.search.SearchAggregationRange.atLeast;
+import static org.hibernate.search.engine.search.SearchAggregationRange.below;
+import static org.hibernate.search.engine.search.SearchAggregationRange.between;
+import static org.hibernate.search.util.impl.integrationtest.common.assertion.DocumentReferencesSearchResultAssert.assertThat;
+import static org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapperUtils.referenceProvider;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldAccessor;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
+import org.hibernate.search.engine.backend.index.spi.IndexSearchTarget;
+import org.hibernate.search.engine.backend.index.spi.IndexWorkPlan;
+import org.hibernate.search.engine.common.spi.SessionContext;
+import org.hibernate.search.engine.mapper.mapping.spi.MappedIndexManager;
+import org.hibernate.search.engine.search.DocumentReference;
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.engine.search.SearchResult;
+import org.hibernate.search.integrationtest.backend.tck.util.rule.SearchSetupHelper;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.integrationtest.common.stub.StubSessionContext;
+import org.hibernate.search.util.impl.test.SubTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.assertj.core.api.Assertions;
+
+public class SearchAggregationIT {
+
+	private static final String INDEX_NAME = "IndexName";
+
+	private static final String DOCUMENT_1 = "1";
+	private static final String DOCUMENT_2 = "2";
+	private static final String DOCUMENT_3 = "3";
+	private static final String DOCUMENT_4 = "4";
+	private static final String DOCUMENT_5 = "5";
+	private static final String EMPTY = "empty";
+
+	@Rule
+	public SearchSetupHelper setupHelper = new SearchSetupHelper();
+
+	private IndexAccessors indexAccessors;
+	private MappedIndexManager<?> indexManager;
+	private SessionContext sessionContext = new StubSessionContext();
+
+	@Before
+	public void setup() {
+		setupHelper.withDefaultConfiguration()
+				.withIndex(
+						"MappedType", INDEX_NAME,
+						ctx -> this.indexAccessors = new IndexAccessors( ctx.getSchemaElement() ),
+						indexManager -> this.indexManager = indexManager
+				)
+				.setup();
+
+		initData();
+	}
+
+	@Test
+	public void terms_string() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.termsAggregation( "colors", "string", 2 )
+				.build();
+
+		// Terms with the same count are sorted by value
+		Assertions.assertThat( query.execute().getAggregations().get( "colors" ) )
+				.containsExactly( entry( "red", 3L ), entry( "blue", 1L ) );
+	}
+
+	@Test
+	public void terms_integer() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.termsAggregation( "sizes", "integer", 10 )
+				.build();
+
+		Assertions.assertThat( query.execute().getAggregations().get( "sizes" ) )
+				.containsExactly( entry( 10, 2L ), entry( 1, 1L ), entry( 5, 1L ), entry( 20, 1L ) );
+	}
+
+	@Test
+	public void terms_localDate() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.termsAggregation( "dates", "localDate", 1 )
+				.build();
+
+		Assertions.assertThat( query.execute().getAggregations().get( "dates" ) )
+				.containsExactly( entry( LocalDate.of( 2018, 2, 15 ), 2L ) );
+	}
+
+	@Test
+	public void terms_onlyMatchingDocuments() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().range().onField( "integer" ).above( 10 ).end()
+				.termsAggregation( "colors", "string", 10 )
+				.build();
+
+		SearchResult<DocumentReference> result = query.execute();
+		assertThat( result ).hasReferencesHitsAnyOrder( INDEX_NAME, DOCUMENT_3, DOCUMENT_4, DOCUMENT_5 );
+		Assertions.assertThat( result.getAggregations().get( "colors" ) )
+				.containsExactly( entry( "red", 2L ), entry( "green", 1L ) );
+	}
+
+	@Test
+	public void range_integer() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.rangeAggregation( "sizes", "integer", below( 5 ), between( 5, 15 ), atLeast( 15 ) )
+				.build();
+
+		Assertions.assertThat( query.execute().getAggregations().get( "sizes" ) )
+				.containsExactly( entry( below( 5 ), 1L ), entry( between( 5, 15 ), 3L ), entry( atLeast( 15 ), 1L ) );
+	}
+
+	@Test
+	public void range_localDate() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		LocalDate february = LocalDate.of( 2018, 2, 1 );
+		LocalDate march = LocalDate.of( 2018, 3, 1 );
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.rangeAggregation( "dates", "localDate", below( february ), between( february, march ), atLeast( march ) )
+				.build();
+
+		Assertions.assertThat( query.execute().getAggregations().get( "dates" ) )
+				.containsExactly(
+						entry( below( february ), 1L ),
+						entry( between( february, march ), 3L ),
+						entry( atLeast( march ), 1L )
+				);
+	}
+
+	@Test
+	public void multipleAggregations() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.termsAggregation( "colors", "string", 1 )
+				.rangeAggregation( "sizes", "integer", below( 10 ) )
+				.build();
+		query.setMaxResults( 2L );
+
+		SearchResult<DocumentReference> result = query.execute();
+		Assertions.assertThat( result.getHits() ).hasSize( 2 );
+		Map<String, Map<Object, Long>> aggregations = result.getAggregations();
+		Assertions.assertThat( aggregations ).containsOnlyKeys( "colors", "sizes" );
+		// Aggregations take into account all matching documents, not only the returned hits
+		Assertions.assertThat( aggregations.get( "colors" ) ).containsExactly( entry( "red", 3L ) );
+		Assertions.assertThat( aggregations.get( "sizes" ) ).containsExactly( entry( below( 10 ), 2L ) );
+	}
+
+	@Test
+	public void noAggregation() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+
+		Assertions.assertThat( query.execute().getAggregations() ).isEmpty();
+	}
+
+	@Test
+	public void error_duplicateName() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SubTest.expectException(
+				"aggregations with the same name",
+				() -> searchTarget.query( sessionContext )
+						.asReferences()
+						.predicate().matchAll().end()
+						.termsAggregation( "colors", "string", 1 )
+						.termsAggregation( "colors", "string", 2 )
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Multiple aggregations named 'colors'" );
+	}
+
+	@Test
+	public void error_rangeOnString() {
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+
+		SubTest.expectException(
+				"range aggregation on a string field",
+				() -> searchTarget.query( sessionContext )
+						.asReferences()
+						.predicate().matchAll().end()
+						.rangeAggregation( "colors", "string", below( "m" ) )
+		)
+				.assertThrown()
+				.isInstanceOf( SearchException.class )
+				.hasMessageContaining( "Range aggregations are not supported" );
+	}
+
+	private void initData() {
+		IndexWorkPlan<? extends DocumentElement> workPlan = indexManager.createWorkPlan( sessionContext );
+		workPlan.add( referenceProvider( DOCUMENT_1 ), document -> {
+			indexAccessors.string.write( document, "red" );
+			indexAccessors.integer.write( document, 1 );
+			indexAccessors.localDate.write( document, LocalDate.of( 2018, 1, 15 ) );
+		} );
+		workPlan.add( referenceProvider( DOCUMENT_2 ), document -> {
+			indexAccessors.string.write( document, "blue" );
+			indexAccessors.integer.write( document, 5 );
+			indexAccessors.localDate.write( document, LocalDate.of( 2018, 2, 1 ) );
+		} );
+		workPlan.add( referenceProvider( DOCUMENT_3 ), document -> {
+			indexAccessors.string.write( document, "red" );
+			indexAccessors.integer.write( document, 10 );
+			indexAccessors.localDate.write( document, LocalDate.of( 2018, 2, 15 ) );
+		} );
+		workPlan.add( referenceProvider( DOCUMENT_4 ), document -> {
+			indexAccessors.string.write( document, "green" );
+			indexAccessors.integer.write( document, 10 );
+			indexAccessors.localDate.write( document, LocalDate.of( 2018, 2, 15 ) );
+		} );
+		workPlan.add( referenceProvider( DOCUMENT_5 ), document -> {
+			indexAccessors.string.write( document, "red" );
+			indexAccessors.integer.write( document, 20 );
+			indexAccessors.localDate.write( document, LocalDate.of( 2018, 3, 1 ) );
+		} );
+		workPlan.add( referenceProvider( EMPTY ), document -> { } );
+
+		workPlan.execute().join();
+
+		// Check that all documents are searchable
+		IndexSearchTarget searchTarget = indexManager.createSearchTarget().build();
+		SearchQuery<DocumentReference> query = searchTarget.query( sessionContext )
+				.asReferences()
+				.predicate().matchAll().end()
+				.build();
+		assertThat( query ).hasReferencesHitsAnyOrder( INDEX_NAME,
+				DOCUMENT_1, DOCUMENT_2, DOCUMENT_3, DOCUMENT_4, DOCUMENT_5, EMPTY );
+	}
+
+	private static class IndexAccessors {
+		final IndexFieldAccessor<String> string;
+		final IndexFieldAccessor<Integer> integer;
+		final IndexFieldAccessor<LocalDate> localDate;
+
+		IndexAccessors(IndexSchemaElement root) {
+			string = root.field( "string" ).asString().sortable( Sortable.YES ).createAccessor();
+			integer = root.field( "integer" ).asInteger().sortable( Sortable.YES ).createAccessor();
+			localDate = root.field( "localDate" ).asLocalDate().sortable( Sortable.YES ).createAccessor();
+		}
+	}
+}
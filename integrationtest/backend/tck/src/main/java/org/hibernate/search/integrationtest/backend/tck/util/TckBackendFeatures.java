@@ -19,4 +19,8 @@ public boolean localDateTypeOnMissingValueUse() {
 	public boolean distanceSortDesc() {
 		return true;
 	}
+
+	public boolean transferredBytesMetrics() {
+		return false;
+	}
 }
@@ -17,6 +17,7 @@
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
 import org.hibernate.search.engine.common.spi.SearchIntegration;
 import org.hibernate.search.engine.mapper.mapping.building.spi.IndexModelBindingContext;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.integrationtest.backend.tck.util.TckConfiguration;
 import org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMapping;
 import org.hibernate.search.util.impl.integrationtest.common.stub.mapper.StubMappingInitiator;
@@ -88,6 +89,7 @@ public class SetupContext {
 		private final Map<String, String> overriddenProperties = new LinkedHashMap<>();
 		private final List<IndexDefinition> indexDefinitions = new ArrayList<>();
 		private boolean multiTenancyEnabled = false;
+		private SearchMetrics metrics;
 
 		SetupContext(ConfigurationPropertySource propertySource) {
 			this.propertySource = propertySource;
@@ -104,6 +106,11 @@ public SetupContext withIndex(String typeName, String rawIndexName,
 			return this;
 		}
 
+		public SetupContext withMetrics(SearchMetrics metrics) {
+			this.metrics = metrics;
+			return this;
+		}
+
 		public SetupContext withMultiTenancy() {
 			multiTenancyEnabled = true;
 			return this;
@@ -116,6 +123,10 @@ public SearchIntegration setup() {
 				integrationBuilder = integrationBuilder.setProperty( entry.getKey(), entry.getValue() );
 			}
 
+			if ( metrics != null ) {
+				integrationBuilder.setMetrics( metrics );
+			}
+
 			StubMappingInitiator initiator = new StubMappingInitiator( multiTenancyEnabled );
 			StubMappingKey mappingKey = new StubMappingKey();
 			integrationBuilder.addMappingInitiator( mappingKey, initiator );
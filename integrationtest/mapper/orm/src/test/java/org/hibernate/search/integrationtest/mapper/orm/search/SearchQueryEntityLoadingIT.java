@@ -0,0 +1,319 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.mapper.orm.search;
+
+import static org.hibernate.search.util.impl.integrationtest.common.stub.backend.StubBackendUtils.reference;
+
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.EntityGraph;
+import javax.persistence.Id;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.hibernate.FullTextQuery;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.util.impl.integrationtest.common.rule.BackendMock;
+import org.hibernate.search.util.impl.integrationtest.common.rule.StubSearchWorkBehavior;
+import org.hibernate.search.util.impl.integrationtest.orm.OrmSetupHelper;
+import org.hibernate.search.util.impl.integrationtest.orm.OrmUtils;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Test the loading of entities from search hits.
+ */
+public class SearchQueryEntityLoadingIT {
+
+	@Rule
+	public BackendMock backendMock = new BackendMock( "stubBackend" );
+
+	@Rule
+	public OrmSetupHelper ormSetupHelper = new OrmSetupHelper();
+
+	private SessionFactory sessionFactory;
+
+	@Before
+	public void setup() {
+		backendMock.expectSchema( IndexedEntity.INDEX, b -> b
+				.field( "text", String.class )
+		);
+		backendMock.expectSchema( CachedEntity.INDEX, b -> b
+				.field( "text", String.class )
+		);
+
+		sessionFactory = ormSetupHelper.withBackendMock( backendMock )
+				.withProperty( AvailableSettings.GENERATE_STATISTICS, true )
+				.withProperty( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() )
+				.setup( IndexedEntity.class, CachedEntity.class );
+		backendMock.verifyExpectationsMet();
+
+		OrmUtils.withinTransaction( sessionFactory, session -> {
+			for ( int i = 0; i < 3; i++ ) {
+				IndexedEntity entity = new IndexedEntity();
+				entity.setId( i );
+				entity.setText( "text " + i );
+				session.persist( entity );
+
+				CachedEntity cachedEntity = new CachedEntity();
+				cachedEntity.setId( i );
+				cachedEntity.setText( "text " + i );
+				session.persist( cachedEntity );
+			}
+
+			backendMock.expectWorks( IndexedEntity.INDEX )
+					.add( "0", b -> b.field( "text", "text 0" ) )
+					.add( "1", b -> b.field( "text", "text 1" ) )
+					.add( "2", b -> b.field( "text", "text 2" ) )
+					.preparedThenExecuted();
+			backendMock.expectWorks( CachedEntity.INDEX )
+					.add( "0", b -> b.field( "text", "text 0" ) )
+					.add( "1", b -> b.field( "text", "text 1" ) )
+					.add( "2", b -> b.field( "text", "text 2" ) )
+					.preparedThenExecuted();
+		} );
+		backendMock.verifyExpectationsMet();
+	}
+
+	@Test
+	public void persistenceContext() {
+		OrmUtils.withinSession( sessionFactory, session -> {
+			IndexedEntity alreadyLoaded = session.get( IndexedEntity.class, 1 );
+
+			Statistics statistics = sessionFactory.getStatistics();
+			statistics.clear();
+
+			FullTextQuery<IndexedEntity> query = Search.getFullTextSession( session )
+					.search( IndexedEntity.class )
+					.query()
+					.asEntities()
+					.predicate().matchAll().end()
+					.build();
+
+			backendMock.expectSearchObjects(
+					Collections.singletonList( IndexedEntity.INDEX ),
+					b -> { },
+					StubSearchWorkBehavior.of(
+							3L,
+							c -> c.collectForLoading( reference( IndexedEntity.INDEX, "2" ) ),
+							c -> c.collectForLoading( reference( IndexedEntity.INDEX, "1" ) ),
+							c -> c.collectForLoading( reference( IndexedEntity.INDEX, "0" ) )
+					)
+			);
+
+			List<IndexedEntity> result = query.list();
+			backendMock.verifyExpectationsMet();
+
+			Assertions.assertThat( result )
+					.containsExactly(
+							session.get( IndexedEntity.class, 2 ),
+							alreadyLoaded,
+							session.get( IndexedEntity.class, 0 )
+					);
+			// Only the entities that were not in the persistence context should have been loaded, in a single query
+			Assertions.assertThat( statistics.getEntityLoadCount() ).isEqualTo( 2L );
+			Assertions.assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 1L );
+		} );
+	}
+
+	@Test
+	public void secondLevelCache() {
+		sessionFactory.getCache().evictEntityData( CachedEntity.class );
+		OrmUtils.withinSession( sessionFactory, session -> {
+			session.get( CachedEntity.class, 1 );
+		} );
+		Assertions.assertThat( sessionFactory.getCache().containsEntity( CachedEntity.class, 1 ) ).isTrue();
+		Assertions.assertThat( sessionFactory.getCache().containsEntity( CachedEntity.class, 0 ) ).isFalse();
+		Assertions.assertThat( sessionFactory.getCache().containsEntity( CachedEntity.class, 2 ) ).isFalse();
+
+		OrmUtils.withinSession( sessionFactory, session -> {
+			Statistics statistics = sessionFactory.getStatistics();
+			statistics.clear();
+
+			FullTextQuery<CachedEntity> query = Search.getFullTextSession( session )
+					.search( CachedEntity.class )
+					.query()
+					.asEntities()
+					.predicate().matchAll().end()
+					.build();
+
+			backendMock.expectSearchObjects(
+					Collections.singletonList( CachedEntity.INDEX ),
+					b -> { },
+					StubSearchWorkBehavior.of(
+							3L,
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "2" ) ),
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "1" ) ),
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "0" ) )
+					)
+			);
+
+			List<CachedEntity> result = query.list();
+			backendMock.verifyExpectationsMet();
+
+			Assertions.assertThat( result )
+					.extracting( CachedEntity::getId )
+					.containsExactly( 2, 1, 0 );
+			// The cached entity should have been retrieved from the second-level cache without hitting the database,
+			// and only the other entities should have been loaded, in a single query
+			Assertions.assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 1L );
+			Assertions.assertThat( statistics.getEntityLoadCount() ).isEqualTo( 2L );
+			Assertions.assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 1L );
+		} );
+
+		OrmUtils.withinSession( sessionFactory, session -> {
+			Statistics statistics = sessionFactory.getStatistics();
+			statistics.clear();
+
+			FullTextQuery<CachedEntity> query = Search.getFullTextSession( session )
+					.search( CachedEntity.class )
+					.query()
+					.asEntities()
+					.predicate().matchAll().end()
+					.build();
+
+			backendMock.expectSearchObjects(
+					Collections.singletonList( CachedEntity.INDEX ),
+					b -> { },
+					StubSearchWorkBehavior.of(
+							3L,
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "2" ) ),
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "1" ) ),
+							c -> c.collectForLoading( reference( CachedEntity.INDEX, "0" ) )
+					)
+			);
+
+			List<CachedEntity> result = query.list();
+			backendMock.verifyExpectationsMet();
+
+			Assertions.assertThat( result )
+					.extracting( CachedEntity::getId )
+					.containsExactly( 2, 1, 0 );
+			// All entities are now in the second-level cache: the database should not have been hit at all
+			Assertions.assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 3L );
+			Assertions.assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0L );
+		} );
+	}
+
+	@Test
+	public void entityGraphHint() {
+		OrmUtils.withinSession( sessionFactory, session -> {
+			EntityGraph<IndexedEntity> graph = session.createEntityGraph( IndexedEntity.class );
+			graph.addAttributeNodes( "text" );
+
+			FullTextQuery<IndexedEntity> query = Search.getFullTextSession( session )
+					.search( IndexedEntity.class )
+					.query()
+					.asEntities()
+					.predicate().matchAll().end()
+					.build();
+			query.setHint( QueryHints.HINT_FETCHGRAPH, graph );
+			Assertions.assertThat( query.getHints() )
+					.containsEntry( QueryHints.HINT_FETCHGRAPH, graph );
+
+			backendMock.expectSearchObjects(
+					Collections.singletonList( IndexedEntity.INDEX ),
+					b -> { },
+					StubSearchWorkBehavior.of(
+							1L,
+							c -> c.collectForLoading( reference( IndexedEntity.INDEX, "0" ) )
+					)
+			);
+
+			List<IndexedEntity> result = query.list();
+			backendMock.verifyExpectationsMet();
+
+			Assertions.assertThat( result ).containsExactly( session.get( IndexedEntity.class, 0 ) );
+		} );
+	}
+
+	@Test
+	public void entityGraphHint_invalidValue() {
+		OrmUtils.withinSession( sessionFactory, session -> {
+			FullTextQuery<IndexedEntity> query = Search.getFullTextSession( session )
+					.search( IndexedEntity.class )
+					.query()
+					.asEntities()
+					.predicate().matchAll().end()
+					.build();
+			Assertions.assertThatThrownBy( () -> query.setHint( QueryHints.HINT_LOADGRAPH, 42 ) )
+					.isInstanceOf( IllegalArgumentException.class )
+					.hasMessageContaining( QueryHints.HINT_LOADGRAPH );
+		} );
+	}
+
+	@Entity(name = "indexed")
+	@Indexed(index = IndexedEntity.INDEX)
+	public static class IndexedEntity {
+
+		static final String INDEX = "IndexedEntity";
+
+		@Id
+		private Integer id;
+
+		@GenericField
+		private String text;
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		public void setText(String text) {
+			this.text = text;
+		}
+	}
+
+	@Entity(name = "cached")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@Indexed(index = CachedEntity.INDEX)
+	public static class CachedEntity {
+
+		static final String INDEX = "CachedEntity";
+
+		@Id
+		private Integer id;
+
+		@GenericField
+		private String text;
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		public void setText(String text) {
+			this.text = text;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.mapper.pojo.work;
+
+import org.hibernate.search.integrationtest.mapper.pojo.test.util.rule.JavaBeanMappingSetupHelper;
+import org.hibernate.search.mapper.javabean.JavaBeanMapping;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchManager;
+import org.hibernate.search.mapper.pojo.mapping.PojoWorkPlan;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.DocumentId;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.util.SearchException;
+import org.hibernate.search.util.impl.integrationtest.common.rule.BackendMock;
+import org.hibernate.search.util.impl.test.SubTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PurgeIT {
+
+	@Rule
+	public BackendMock backendMock = new BackendMock( "stubBackend" );
+
+	@Rule
+	public JavaBeanMappingSetupHelper setupHelper = new JavaBeanMappingSetupHelper();
+
+	private JavaBeanMapping mapping;
+
+	@Before
+	public void setup() {
+		backendMock.expectSchema( IndexedEntity1.INDEX, b -> b
+				.field( "text", String.class )
+		);
+		backendMock.expectSchema( IndexedEntity2.INDEX, b -> b
+				.field( "text", String.class )
+		);
+
+		mapping = setupHelper.withBackendMock( backendMock )
+				.setup( IndexedEntity1.class, IndexedEntity2.class );
+
+		backendMock.verifyExpectationsMet();
+	}
+
+	@Test
+	public void subtypes() {
+		try ( PojoSearchManager manager = mapping.createSearchManager() ) {
+			// The parent type is not indexed, but its subtypes are
+			manager.getMainWorkPlan().purge( ParentEntity.class );
+
+			backendMock.expectWorks( IndexedEntity1.INDEX )
+					.purge()
+					.preparedThenExecuted();
+			backendMock.expectWorks( IndexedEntity2.INDEX )
+					.purge()
+					.preparedThenExecuted();
+		}
+		backendMock.verifyExpectationsMet();
+	}
+
+	@Test
+	public void previousWorksDropped() {
+		try ( PojoSearchManager manager = mapping.createSearchManager() ) {
+			PojoWorkPlan workPlan = manager.getMainWorkPlan();
+			workPlan.add( new IndexedEntity1( 1, "text1" ) );
+			workPlan.delete( 2, new IndexedEntity1( 2, "text2" ) );
+			workPlan.add( new IndexedEntity2( 3, "text3" ) );
+			workPlan.purge( IndexedEntity1.class );
+
+			// Works on the purged index are dropped, other indexes are not affected
+			backendMock.expectWorks( IndexedEntity1.INDEX )
+					.purge()
+					.preparedThenExecuted();
+			backendMock.expectWorks( IndexedEntity2.INDEX )
+					.add( "3", b -> b.field( "text", "text3" ) )
+					.preparedThenExecuted();
+		}
+		backendMock.verifyExpectationsMet();
+	}
+
+	@Test
+	public void purgeThenAdd() {
+		try ( PojoSearchManager manager = mapping.createSearchManager() ) {
+			PojoWorkPlan workPlan = manager.getMainWorkPlan();
+			workPlan.add( new IndexedEntity1( 1, "text1" ) );
+			workPlan.purge( IndexedEntity1.class );
+			workPlan.add( new IndexedEntity1( 2, "text2" ) );
+
+			// Works added after the purge are executed after the purge
+			backendMock.expectWorks( IndexedEntity1.INDEX )
+					.purge()
+					.add( "2", b -> b.field( "text", "text2" ) )
+					.preparedThenExecuted();
+		}
+		backendMock.verifyExpectationsMet();
+	}
+
+	@Test
+	public void error_notIndexed() {
+		try ( PojoSearchManager manager = mapping.createSearchManager() ) {
+			SubTest.expectException(
+					"purge of a type that is neither indexed nor has indexed subtypes",
+					() -> manager.getMainWorkPlan().purge( NotIndexedEntity.class )
+			)
+					.assertThrown()
+					.isInstanceOf( SearchException.class )
+					.hasMessageContaining( "Cannot purge type " + NotIndexedEntity.class )
+					.hasMessageContaining( "neither this type nor its subtypes are indexed" );
+		}
+		backendMock.verifyExpectationsMet();
+	}
+
+	public abstract static class ParentEntity {
+
+		private Integer id;
+
+		private String text;
+
+		ParentEntity(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+
+		@DocumentId
+		public Integer getId() {
+			return id;
+		}
+
+		@GenericField
+		public String getText() {
+			return text;
+		}
+	}
+
+	@Indexed(index = IndexedEntity1.INDEX)
+	public static final class IndexedEntity1 extends ParentEntity {
+
+		static final String INDEX = "IndexedEntity1";
+
+		IndexedEntity1(Integer id, String text) {
+			super( id, text );
+		}
+	}
+
+	@Indexed(index = IndexedEntity2.INDEX)
+	public static final class IndexedEntity2 extends ParentEntity {
+
+		static final String INDEX = "IndexedEntity2";
+
+		IndexedEntity2(Integer id, String text) {
+			super( id, text );
+		}
+	}
+
+	public static final class NotIndexedEntity {
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.elasticsearch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.hibernate.search.backend.elasticsearch.cfg.SearchBackendElasticsearchSettings;
+import org.hibernate.search.backend.elasticsearch.client.impl.DefaultElasticsearchClientFactory;
+import org.hibernate.search.backend.elasticsearch.client.impl.PowerOfTwoChoicesNodeSelector;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchClientImplementor;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchRequest;
+import org.hibernate.search.backend.elasticsearch.client.impl.ElasticsearchResponse;
+import org.hibernate.search.backend.elasticsearch.gson.impl.DefaultGsonProvider;
+import org.hibernate.search.backend.elasticsearch.gson.impl.GsonProvider;
+import org.hibernate.search.backend.elasticsearch.gson.impl.SerializedJsonObject;
+import org.hibernate.search.backend.elasticsearch.util.impl.URLEncodedString;
+import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.integrationtest.performance.model.Book;
+import org.hibernate.search.integrationtest.performance.model.BookGenerator;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the serialization of requests and the parsing of responses in the Elasticsearch client,
+ * against a {@link ElasticsearchStubServer local stub server}.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate of the different wire formats and compression settings.
+ */
+@Fork(1)
+@Threads(4)
+public class ElasticsearchClientBenchmarks {
+
+	private static final URLEncodedString INDEX_NAME = URLEncodedString.fromString( "book" );
+	private static final URLEncodedString TYPE_NAME = URLEncodedString.fromString( "typeName" );
+	private static final URLEncodedString BULK = URLEncodedString.fromString( "_bulk" );
+	private static final URLEncodedString SEARCH = URLEncodedString.fromString( "_search" );
+
+	@Benchmark
+	public void bulk(ClientHolder holder, Blackhole blackhole) {
+		Gson gson = holder.gsonProvider.getGson();
+		ElasticsearchRequest.Builder builder = ElasticsearchRequest.post().pathComponent( BULK );
+		for ( int i = 0; i < holder.documents.size(); i++ ) {
+			builder.body( SerializedJsonObject.serialize( gson, indexAction( i ) ) );
+			builder.body( SerializedJsonObject.serialize( gson, holder.documents.get( i ) ) );
+		}
+		ElasticsearchResponse response = holder.client.submit( builder.build() ).join();
+		blackhole.consume( response.getBody() );
+	}
+
+	@Benchmark
+	public void search(ClientHolder holder, Blackhole blackhole) {
+		JsonObject query = new JsonObject();
+		query.add( "match_all", new JsonObject() );
+		JsonObject body = new JsonObject();
+		body.add( "query", query );
+		body.addProperty( "size", holder.documentCount );
+		ElasticsearchRequest request = ElasticsearchRequest.post()
+				.pathComponent( INDEX_NAME )
+				.pathComponent( SEARCH )
+				.body( body )
+				.build();
+		ElasticsearchResponse response = holder.client.submit( request ).join();
+		blackhole.consume( response.getBody() );
+	}
+
+	private static JsonObject indexAction(int id) {
+		JsonObject metadata = new JsonObject();
+		metadata.addProperty( "_index", INDEX_NAME.original );
+		metadata.addProperty( "_type", TYPE_NAME.original );
+		metadata.addProperty( "_id", String.valueOf( id ) );
+		JsonObject action = new JsonObject();
+		action.add( "index", metadata );
+		return action;
+	}
+
+	@State(Scope.Benchmark)
+	public static class ClientHolder {
+
+		/**
+		 * The number of words in the summary of each book, i.e. the size of documents.
+		 */
+		@Param({ "10", "1000" })
+		private int summaryWordCount;
+
+		/**
+		 * The number of documents in each bulk request, and of hits in each search response.
+		 */
+		@Param({ "100" })
+		private int documentCount;
+
+		@Param({ "false", "true" })
+		private boolean gzipCompression;
+
+		@Param({ "json", "cbor" })
+		private String wireFormat;
+
+		private ElasticsearchStubServer server;
+
+		private GsonProvider gsonProvider;
+
+		private ElasticsearchClientImplementor client;
+
+		private List<JsonObject> documents;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			gsonProvider = DefaultGsonProvider.create( GsonBuilder::new, false );
+			Gson gson = gsonProvider.getGson();
+
+			documents = new ArrayList<>( documentCount );
+			for ( Book book : new BookGenerator( summaryWordCount ).create( 0, documentCount ) ) {
+				documents.add( toDocument( book ) );
+			}
+
+			server = ElasticsearchStubServer.start(
+					gson.toJson( bulkResponse( documentCount ) ),
+					gson.toJson( searchResponse( documents ) )
+			);
+
+			Properties properties = new Properties();
+			properties.setProperty( SearchBackendElasticsearchSettings.HOST, server.getHost() );
+			properties.setProperty( SearchBackendElasticsearchSettings.GZIP_COMPRESSION, String.valueOf( gzipCompression ) );
+			properties.setProperty( SearchBackendElasticsearchSettings.WIRE_FORMAT, wireFormat );
+			client = new DefaultElasticsearchClientFactory().create(
+					ConfigurationPropertySource.fromProperties( properties ), gsonProvider,
+					PowerOfTwoChoicesNodeSelector.INSTANCE, SearchMetrics.noOp()
+			);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			if ( client != null ) {
+				client.close();
+			}
+			if ( server != null ) {
+				server.close();
+			}
+		}
+
+		private static JsonObject toDocument(Book book) {
+			JsonObject document = new JsonObject();
+			document.addProperty( "title", book.getTitle() );
+			document.addProperty( "summary", book.getSummary() );
+			document.addProperty( "pageCount", book.getPageCount() );
+			document.addProperty( "publicationDate", book.getPublicationDate().toString() );
+			JsonObject location = new JsonObject();
+			location.addProperty( "lat", book.getLocation().getLatitude() );
+			location.addProperty( "lon", book.getLocation().getLongitude() );
+			document.add( "location", location );
+			JsonObject author = new JsonObject();
+			author.addProperty( "firstName", book.getAuthor().getFirstName() );
+			author.addProperty( "lastName", book.getAuthor().getLastName() );
+			document.add( "author", author );
+			return document;
+		}
+
+		private static JsonObject bulkResponse(int itemCount) {
+			JsonArray items = new JsonArray();
+			for ( int i = 0; i < itemCount; i++ ) {
+				JsonObject result = new JsonObject();
+				result.addProperty( "_index", INDEX_NAME.original );
+				result.addProperty( "_type", TYPE_NAME.original );
+				result.addProperty( "_id", String.valueOf( i ) );
+				result.addProperty( "_version", 1 );
+				result.addProperty( "result", "created" );
+				result.addProperty( "status", 201 );
+				JsonObject item = new JsonObject();
+				item.add( "index", result );
+				items.add( item );
+			}
+			JsonObject response = new JsonObject();
+			response.addProperty( "took", 1 );
+			response.addProperty( "errors", false );
+			response.add( "items", items );
+			return response;
+		}
+
+		private static JsonObject searchResponse(List<JsonObject> documents) {
+			JsonArray hitArray = new JsonArray();
+			for ( int i = 0; i < documents.size(); i++ ) {
+				JsonObject hit = new JsonObject();
+				hit.addProperty( "_index", INDEX_NAME.original );
+				hit.addProperty( "_type", TYPE_NAME.original );
+				hit.addProperty( "_id", String.valueOf( i ) );
+				hit.addProperty( "_score", 1.0f );
+				hit.add( "_source", documents.get( i ) );
+				hitArray.add( hit );
+			}
+			JsonObject hits = new JsonObject();
+			hits.addProperty( "total", documents.size() );
+			hits.addProperty( "max_score", 1.0f );
+			hits.add( "hits", hitArray );
+			JsonObject response = new JsonObject();
+			response.addProperty( "took", 1 );
+			response.addProperty( "timed_out", false );
+			response.add( "hits", hits );
+			return response;
+		}
+	}
+
+}
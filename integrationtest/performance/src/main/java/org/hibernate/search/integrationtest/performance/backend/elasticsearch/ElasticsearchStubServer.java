@@ -0,0 +1,125 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.elasticsearch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * A local HTTP server returning canned responses,
+ * allowing to benchmark the Elasticsearch client without the noise of an actual Elasticsearch cluster.
+ * <p>
+ * Request bodies are read fully, but otherwise ignored.
+ * Responses are compressed if the client accepts gzip encoding.
+ */
+final class ElasticsearchStubServer implements AutoCloseable {
+
+	private static final String GZIP_ENCODING = "gzip";
+
+	static ElasticsearchStubServer start(String bulkResponse, String searchResponse) throws IOException {
+		ElasticsearchStubServer stubServer = new ElasticsearchStubServer(
+				new CannedResponse( bulkResponse ), new CannedResponse( searchResponse )
+		);
+		stubServer.server.start();
+		return stubServer;
+	}
+
+	private final CannedResponse bulkResponse;
+	private final CannedResponse searchResponse;
+	private final CannedResponse defaultResponse;
+	private final HttpServer server;
+
+	private ElasticsearchStubServer(CannedResponse bulkResponse, CannedResponse searchResponse) throws IOException {
+		this.bulkResponse = bulkResponse;
+		this.searchResponse = searchResponse;
+		this.defaultResponse = new CannedResponse( "{}" );
+		this.server = ServerBootstrap.bootstrap()
+				.setLocalAddress( InetAddress.getLoopbackAddress() )
+				.setListenerPort( 0 )
+				.registerHandler( "*", (request, response, context) -> handle( request, response ) )
+				.create();
+	}
+
+	String getHost() {
+		return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getLocalPort();
+	}
+
+	@Override
+	public void close() {
+		server.shutdown( 0, TimeUnit.SECONDS );
+	}
+
+	private void handle(HttpRequest request, HttpResponse response) throws IOException {
+		if ( request instanceof HttpEntityEnclosingRequest ) {
+			EntityUtils.consume( ( (HttpEntityEnclosingRequest) request ).getEntity() );
+		}
+		String uri = request.getRequestLine().getUri();
+		CannedResponse cannedResponse;
+		if ( uri.contains( "_bulk" ) ) {
+			cannedResponse = bulkResponse;
+		}
+		else if ( uri.contains( "_search" ) ) {
+			cannedResponse = searchResponse;
+		}
+		else {
+			cannedResponse = defaultResponse;
+		}
+		response.setStatusCode( 200 );
+		response.setEntity( cannedResponse.toEntity( acceptsGzip( request ) ) );
+	}
+
+	private static boolean acceptsGzip(HttpRequest request) {
+		for ( Header header : request.getHeaders( HttpHeaders.ACCEPT_ENCODING ) ) {
+			if ( header.getValue().contains( GZIP_ENCODING ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class CannedResponse {
+		private final byte[] plainContent;
+		private final byte[] gzipContent;
+
+		private CannedResponse(String content) throws IOException {
+			this.plainContent = content.getBytes( StandardCharsets.UTF_8 );
+			ByteArrayOutputStream gzipOutputStream = new ByteArrayOutputStream();
+			try ( OutputStream outputStream = new GZIPOutputStream( gzipOutputStream ) ) {
+				outputStream.write( plainContent );
+			}
+			this.gzipContent = gzipOutputStream.toByteArray();
+		}
+
+		ByteArrayEntity toEntity(boolean gzip) {
+			ByteArrayEntity entity;
+			if ( gzip ) {
+				entity = new ByteArrayEntity( gzipContent, ContentType.APPLICATION_JSON );
+				entity.setContentEncoding( GZIP_ENCODING );
+			}
+			else {
+				entity = new ByteArrayEntity( plainContent, ContentType.APPLICATION_JSON );
+			}
+			return entity;
+		}
+	}
+}
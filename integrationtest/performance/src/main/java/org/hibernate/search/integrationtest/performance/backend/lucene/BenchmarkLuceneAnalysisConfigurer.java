@@ -0,0 +1,20 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.lucene;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+import org.hibernate.search.backend.lucene.analysis.model.dsl.LuceneAnalysisDefinitionContainerContext;
+import org.hibernate.search.integrationtest.performance.model.Book;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+
+public class BenchmarkLuceneAnalysisConfigurer implements LuceneAnalysisConfigurer {
+	@Override
+	public void configure(LuceneAnalysisDefinitionContainerContext context) {
+		context.analyzer( Book.ANALYZER_NAME ).instance( new StandardAnalyzer() );
+	}
+}
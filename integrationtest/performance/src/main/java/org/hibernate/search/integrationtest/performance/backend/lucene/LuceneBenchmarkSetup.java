@@ -0,0 +1,106 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.search.backend.lucene.impl.LuceneBackendFactory;
+import org.hibernate.search.integrationtest.performance.model.Book;
+import org.hibernate.search.integrationtest.performance.model.BookGenerator;
+import org.hibernate.search.mapper.javabean.CloseableJavaBeanMapping;
+import org.hibernate.search.mapper.javabean.JavaBeanMapping;
+import org.hibernate.search.mapper.javabean.JavaBeanMappingBuilder;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchManager;
+import org.hibernate.search.mapper.pojo.mapping.PojoWorkPlan;
+
+/**
+ * Utilities to start a JavaBean mapping with a Lucene backend, shared by benchmarks.
+ */
+public final class LuceneBenchmarkSetup {
+
+	/**
+	 * Set this system property to an alternative path if you don't
+	 * want the indexes of the benchmarks to be written to your
+	 * default temp path.
+	 */
+	private static final String INDEX_PATH_PROPERTY = "index-path";
+
+	/**
+	 * Prefix used to identify the generated temporary directories.
+	 */
+	private static final String INDEX_DIRECTORY_PREFIX = "HibernateSearch-Benchmarks-";
+
+	private static final String BACKEND_NAME = "luceneBackend";
+
+	private static final int INITIAL_INDEXING_BATCH_SIZE = 1_000;
+
+	private LuceneBenchmarkSetup() {
+	}
+
+	public static Path createIndexDirectory() throws IOException {
+		String userSelectedPath = System.getProperty( INDEX_PATH_PROPERTY );
+		if ( userSelectedPath != null ) {
+			return Files.createTempDirectory( Paths.get( userSelectedPath ), INDEX_DIRECTORY_PREFIX );
+		}
+		else {
+			return Files.createTempDirectory( INDEX_DIRECTORY_PREFIX );
+		}
+	}
+
+	public static void deleteIndexDirectory(Path indexDirectory) throws IOException {
+		if ( indexDirectory == null ) {
+			return;
+		}
+		List<Path> paths;
+		try ( Stream<Path> stream = Files.walk( indexDirectory ) ) {
+			// Delete children before their parent
+			paths = stream.sorted( Comparator.reverseOrder() ).collect( Collectors.toList() );
+		}
+		for ( Path path : paths ) {
+			Files.deleteIfExists( path );
+		}
+	}
+
+	public static CloseableJavaBeanMapping startMapping(Path indexDirectory) {
+		String backendPrefix = "backend." + BACKEND_NAME + ".";
+		JavaBeanMappingBuilder builder = JavaBeanMapping.builder()
+				.setProperty( "index.default.backend", BACKEND_NAME )
+				.setProperty( backendPrefix + "type", LuceneBackendFactory.class.getName() )
+				.setProperty( backendPrefix + "lucene.directory_provider", "local_directory" )
+				.setProperty( backendPrefix + "lucene.root_directory", indexDirectory.toString() )
+				.setProperty( backendPrefix + "analysis_configurer", BenchmarkLuceneAnalysisConfigurer.class.getName() )
+				.addEntityType( Book.class );
+		builder.annotationMapping().add( Book.class );
+		return builder.build();
+	}
+
+	/**
+	 * @param mapping The mapping to use for indexing.
+	 * @param generator The generator to create books with.
+	 * @param count The number of books to add to the index, with identifiers from 0 (inclusive) to {@code count} (exclusive).
+	 */
+	public static void index(JavaBeanMapping mapping, BookGenerator generator, int count) {
+		try ( PojoSearchManager manager = mapping.createSearchManager() ) {
+			PojoWorkPlan workPlan = manager.getMainWorkPlan();
+			// Generate books lazily, so that large indexes can be built without running out of memory
+			for ( int i = 0; i < count; i++ ) {
+				workPlan.add( generator.create( i ) );
+				if ( ( i + 1 ) % INITIAL_INDEXING_BATCH_SIZE == 0 ) {
+					workPlan.execute().join();
+				}
+			}
+			workPlan.execute().join();
+		}
+	}
+}
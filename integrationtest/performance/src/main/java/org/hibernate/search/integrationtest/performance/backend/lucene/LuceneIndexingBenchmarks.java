@@ -0,0 +1,155 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.lucene;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.search.integrationtest.performance.model.Book;
+import org.hibernate.search.integrationtest.performance.model.BookGenerator;
+import org.hibernate.search.mapper.javabean.CloseableJavaBeanMapping;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchManager;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchTarget;
+import org.hibernate.search.mapper.pojo.mapping.PojoWorkPlan;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks indexing with the Lucene backend.
+ * <p>
+ * The Lucene backend commits after each work plan execution,
+ * so the number of works per plan determines how often commits happen.
+ * Each work updates one of a fixed set of books, so that the size of the index remains stable.
+ */
+@Fork(1)
+public class LuceneIndexingBenchmarks {
+
+	@Benchmark
+	@Threads(1)
+	public void indexing(IndexHolder holder, SearchManagerHolder searchManagerHolder) {
+		executeWorkPlan( holder, searchManagerHolder );
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void concurrentIndexing(IndexHolder holder, SearchManagerHolder searchManagerHolder) {
+		executeWorkPlan( holder, searchManagerHolder );
+	}
+
+	/**
+	 * Index while querying, so that index readers are re-opened to take the latest changes into account.
+	 */
+	@Benchmark
+	@GroupThreads(2)
+	@Group("concurrentReadWrite")
+	public void readWriteWriter(IndexHolder holder, SearchManagerHolder searchManagerHolder) {
+		executeWorkPlan( holder, searchManagerHolder );
+	}
+
+	@Benchmark
+	@GroupThreads(2)
+	@Group("concurrentReadWrite")
+	public void readWriteReader(SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoSearchTarget<?> searchTarget = searchManagerHolder.searchManager.search( Book.class );
+		blackhole.consume(
+				searchTarget.query()
+						.asReferences()
+						.predicate().matchAll().end()
+						.build()
+						.execute()
+		);
+	}
+
+	private static void executeWorkPlan(IndexHolder holder, SearchManagerHolder searchManagerHolder) {
+		PojoWorkPlan workPlan = searchManagerHolder.searchManager.getMainWorkPlan();
+		for ( int i = 0; i < holder.worksPerPlan; i++ ) {
+			workPlan.update( holder.nextBook() );
+		}
+		workPlan.execute().join();
+	}
+
+	@State(Scope.Benchmark)
+	public static class IndexHolder {
+
+		/**
+		 * The number of words in the summary of each book, i.e. the size of documents.
+		 */
+		@Param({ "10", "1000" })
+		private int summaryWordCount;
+
+		/**
+		 * The number of works in each work plan, i.e. the number of works between two commits.
+		 */
+		@Param({ "1", "100" })
+		private int worksPerPlan;
+
+		/**
+		 * The number of distinct books to update.
+		 */
+		@Param({ "1000" })
+		private int indexSize;
+
+		private Path indexDirectory;
+
+		private CloseableJavaBeanMapping mapping;
+
+		private List<Book> books;
+
+		private final AtomicInteger nextBookIndex = new AtomicInteger();
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			indexDirectory = LuceneBenchmarkSetup.createIndexDirectory();
+			mapping = LuceneBenchmarkSetup.startMapping( indexDirectory );
+			BookGenerator generator = new BookGenerator( summaryWordCount );
+			LuceneBenchmarkSetup.index( mapping, generator, indexSize );
+			books = generator.create( 0, indexSize );
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			if ( mapping != null ) {
+				mapping.close();
+			}
+			LuceneBenchmarkSetup.deleteIndexDirectory( indexDirectory );
+		}
+
+		private Book nextBook() {
+			return books.get( Math.floorMod( nextBookIndex.getAndIncrement(), indexSize ) );
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class SearchManagerHolder {
+
+		private PojoSearchManager searchManager;
+
+		@Setup(Level.Trial)
+		public void setup(IndexHolder indexHolder) {
+			searchManager = indexHolder.mapping.createSearchManager();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			searchManager.close();
+		}
+	}
+
+}
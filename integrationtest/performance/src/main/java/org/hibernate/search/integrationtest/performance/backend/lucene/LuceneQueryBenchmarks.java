@@ -0,0 +1,159 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.lucene;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.search.engine.search.SearchQuery;
+import org.hibernate.search.engine.spatial.GeoPoint;
+import org.hibernate.search.integrationtest.performance.model.Book;
+import org.hibernate.search.integrationtest.performance.model.BookGenerator;
+import org.hibernate.search.mapper.javabean.CloseableJavaBeanMapping;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchManager;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchTarget;
+import org.hibernate.search.mapper.pojo.search.PojoReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks queries and projections with the Lucene backend.
+ * <p>
+ * Queries are built in each invocation, so the cost of the DSL is included in the measurements.
+ * <p>
+ * To measure distance projections on a large index,
+ * run with {@code -p indexSize=1000000 -p summaryWordCount=1}.
+ */
+@Fork(1)
+@Threads(4)
+public class LuceneQueryBenchmarks {
+
+	@Benchmark
+	public void queryReferences(IndexHolder holder, SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoSearchTarget<?> searchTarget = searchManagerHolder.searchManager.search( Book.class );
+		SearchQuery<PojoReference> query = searchTarget.query()
+				.asReferences()
+				.predicate().range().onField( "pageCount" ).above( randomPageCount() ).end()
+				.sort().byField( "title" ).asc().end()
+				.build();
+		query.setMaxResults( (long) holder.maxResults );
+		blackhole.consume( query.execute() );
+	}
+
+	@Benchmark
+	public void queryProjections(IndexHolder holder, SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoSearchTarget<?> searchTarget = searchManagerHolder.searchManager.search( Book.class );
+		SearchQuery<List<?>> query = searchTarget.query()
+				.asProjections(
+						searchTarget.projection().field( "title", String.class ).toProjection(),
+						searchTarget.projection().field( "pageCount", Integer.class ).toProjection(),
+						searchTarget.projection().reference().toProjection()
+				)
+				.predicate().range().onField( "pageCount" ).above( randomPageCount() ).end()
+				.sort().byField( "title" ).asc().end()
+				.build();
+		query.setMaxResults( (long) holder.maxResults );
+		blackhole.consume( query.execute() );
+	}
+
+	@Benchmark
+	public void queryDistanceProjection(IndexHolder holder, SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoSearchTarget<?> searchTarget = searchManagerHolder.searchManager.search( Book.class );
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		GeoPoint center = GeoPoint.of( random.nextDouble( -90.0d, 90.0d ), random.nextDouble( -180.0d, 180.0d ) );
+		SearchQuery<List<?>> query = searchTarget.query()
+				.asProjections(
+						searchTarget.projection().reference().toProjection(),
+						searchTarget.projection().distance( "location", center ).toProjection()
+				)
+				.predicate().matchAll().end()
+				.sort().byField( "pageCount" ).asc().end()
+				.build();
+		query.setMaxResults( (long) holder.maxResults );
+		blackhole.consume( query.execute() );
+	}
+
+	@Benchmark
+	public void count(SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoSearchTarget<?> searchTarget = searchManagerHolder.searchManager.search( Book.class );
+		SearchQuery<PojoReference> query = searchTarget.query()
+				.asReferences()
+				.predicate().range().onField( "pageCount" ).above( randomPageCount() ).end()
+				.build();
+		blackhole.consume( query.executeCount() );
+	}
+
+	private static int randomPageCount() {
+		return ThreadLocalRandom.current().nextInt( 10, 1000 );
+	}
+
+	@State(Scope.Benchmark)
+	public static class IndexHolder {
+
+		/**
+		 * The number of words in the summary of each book, i.e. the size of documents.
+		 */
+		@Param({ "10" })
+		private int summaryWordCount;
+
+		/**
+		 * The number of books in the index.
+		 */
+		@Param({ "10000" })
+		private int indexSize;
+
+		@Param({ "10", "100" })
+		private int maxResults;
+
+		private Path indexDirectory;
+
+		private CloseableJavaBeanMapping mapping;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			indexDirectory = LuceneBenchmarkSetup.createIndexDirectory();
+			mapping = LuceneBenchmarkSetup.startMapping( indexDirectory );
+			LuceneBenchmarkSetup.index( mapping, new BookGenerator( summaryWordCount ), indexSize );
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			if ( mapping != null ) {
+				mapping.close();
+			}
+			LuceneBenchmarkSetup.deleteIndexDirectory( indexDirectory );
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class SearchManagerHolder {
+
+		private PojoSearchManager searchManager;
+
+		@Setup(Level.Trial)
+		public void setup(IndexHolder indexHolder) {
+			searchManager = indexHolder.mapping.createSearchManager();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			searchManager.close();
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.backend.lucene;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.search.backend.lucene.document.impl.LuceneRootDocumentBuilder;
+import org.hibernate.search.backend.lucene.types.codec.impl.StringFieldCodec;
+import org.hibernate.search.engine.backend.document.model.dsl.Sortable;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.document.StringField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the encoding of sortable string fields with the Lucene backend,
+ * i.e. the normalization of values and the creation of the corresponding Lucene fields,
+ * without building whole documents nor writing to the index.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate of low-cardinality and high-cardinality fields.
+ */
+@Fork(1)
+@Threads(4)
+public class LuceneStringFieldCodecBenchmarks {
+
+	private static final String FIELD_NAME = "keyword";
+
+	/**
+	 * The number of values encoded in each invocation, i.e. in each document.
+	 */
+	private static final int VALUES_PER_INVOCATION = 100;
+
+	@Benchmark
+	public void encode(CodecHolder holder, Blackhole blackhole) {
+		LuceneRootDocumentBuilder documentBuilder = new LuceneRootDocumentBuilder();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for ( int i = 0; i < VALUES_PER_INVOCATION; i++ ) {
+			String value = holder.values[random.nextInt( holder.values.length )];
+			holder.codec.encode( documentBuilder, FIELD_NAME, value );
+		}
+		blackhole.consume( documentBuilder );
+	}
+
+	@State(Scope.Benchmark)
+	public static class CodecHolder {
+
+		/**
+		 * The number of distinct values of the field.
+		 */
+		@Param({ "10", "100000" })
+		private int cardinality;
+
+		@Param({ "true", "false" })
+		private boolean normalized;
+
+		private StringFieldCodec codec;
+
+		private String[] values;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			Analyzer normalizer = null;
+			if ( normalized ) {
+				normalizer = CustomAnalyzer.builder()
+						.withTokenizer( KeywordTokenizerFactory.class )
+						.addTokenFilter( LowerCaseFilterFactory.class )
+						.addTokenFilter( ASCIIFoldingFilterFactory.class )
+						.build();
+			}
+			codec = new StringFieldCodec( Sortable.YES, StringField.TYPE_NOT_STORED, normalizer );
+
+			values = new String[cardinality];
+			for ( int i = 0; i < cardinality; i++ ) {
+				values[i] = String.format( Locale.ROOT, "Keyword-%06d", i );
+			}
+		}
+	}
+
+}
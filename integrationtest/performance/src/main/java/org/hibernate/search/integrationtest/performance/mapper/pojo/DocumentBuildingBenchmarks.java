@@ -0,0 +1,104 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.mapper.pojo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.hibernate.search.integrationtest.performance.backend.lucene.LuceneBenchmarkSetup;
+import org.hibernate.search.integrationtest.performance.model.Book;
+import org.hibernate.search.integrationtest.performance.model.BookGenerator;
+import org.hibernate.search.mapper.javabean.CloseableJavaBeanMapping;
+import org.hibernate.search.mapper.pojo.mapping.PojoSearchManager;
+import org.hibernate.search.mapper.pojo.mapping.PojoWorkPlan;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the conversion of entities to documents,
+ * i.e. the work performed by {@code PojoIndexingProcessor} and the backend document builders,
+ * without writing to the index.
+ * <p>
+ * Works are added to a work plan that is only {@link PojoWorkPlan#prepare() prepared}, never executed:
+ * preparing a work plan builds the documents.
+ */
+@Fork(1)
+public class DocumentBuildingBenchmarks {
+
+	@Benchmark
+	public void buildDocuments(MappingHolder holder, SearchManagerHolder searchManagerHolder, Blackhole blackhole) {
+		PojoWorkPlan workPlan = searchManagerHolder.searchManager.createWorkPlan();
+		for ( Book book : holder.books ) {
+			workPlan.add( book );
+		}
+		workPlan.prepare();
+		blackhole.consume( workPlan );
+	}
+
+	@State(Scope.Benchmark)
+	public static class MappingHolder {
+
+		/**
+		 * The number of words in the summary of each book, i.e. the size of documents.
+		 */
+		@Param({ "10", "1000" })
+		private int summaryWordCount;
+
+		/**
+		 * The number of documents built in each invocation.
+		 */
+		@Param({ "100" })
+		private int worksPerPlan;
+
+		private Path indexDirectory;
+
+		private CloseableJavaBeanMapping mapping;
+
+		private List<Book> books;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			indexDirectory = LuceneBenchmarkSetup.createIndexDirectory();
+			mapping = LuceneBenchmarkSetup.startMapping( indexDirectory );
+			books = new BookGenerator( summaryWordCount ).create( 0, worksPerPlan );
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			if ( mapping != null ) {
+				mapping.close();
+			}
+			LuceneBenchmarkSetup.deleteIndexDirectory( indexDirectory );
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class SearchManagerHolder {
+
+		private PojoSearchManager searchManager;
+
+		@Setup(Level.Trial)
+		public void setup(MappingHolder mappingHolder) {
+			searchManager = mappingHolder.mapping.createSearchManager();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			searchManager.close();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.integrationtest.performance.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.search.engine.spatial.GeoPoint;
+
+/**
+ * Generates semi-random, but reproducible books:
+ * the same identifier and parameters always result in the same book.
+ */
+public final class BookGenerator {
+
+	private static final String[] WORDS = {
+			"search", "engine", "index", "document", "query", "field", "analysis", "token",
+			"lucene", "elastic", "cluster", "shard", "segment", "merge", "commit", "refresh",
+			"book", "chapter", "page", "author", "title", "summary", "library", "shelf",
+			"river", "mountain", "forest", "ocean", "desert", "island", "valley", "city",
+			"red", "green", "blue", "yellow", "black", "white", "purple", "orange",
+			"quick", "slow", "bright", "dark", "ancient", "modern", "silent", "loud",
+			"run", "walk", "read", "write", "think", "dream", "build", "break",
+			"one", "two", "three", "four", "five", "six", "seven", "eight"
+	};
+
+	private static final String[] FIRST_NAMES = {
+			"Jane", "John", "Ada", "Alan", "Grace", "Edsger", "Barbara", "Donald"
+	};
+
+	private static final String[] LAST_NAMES = {
+			"Austen", "Doe", "Lovelace", "Turing", "Hopper", "Dijkstra", "Liskov", "Knuth"
+	};
+
+	private static final LocalDate FIRST_PUBLICATION_DATE = LocalDate.of( 1900, 1, 1 );
+
+	private final int summaryWordCount;
+
+	/**
+	 * @param summaryWordCount The number of words in the summary of generated books,
+	 * i.e. the main factor of the size of generated documents.
+	 */
+	public BookGenerator(int summaryWordCount) {
+		this.summaryWordCount = summaryWordCount;
+	}
+
+	public Book create(int id) {
+		Random random = new Random( id );
+
+		Book book = new Book();
+		book.setId( id );
+		book.setTitle( words( random, 3 ) + " " + id );
+		book.setSummary( words( random, summaryWordCount ) );
+		book.setPageCount( 10 + random.nextInt( 990 ) );
+		book.setPublicationDate( FIRST_PUBLICATION_DATE.plusDays( random.nextInt( 40_000 ) ) );
+		book.setLocation( GeoPoint.of( random.nextDouble() * 180.0d - 90.0d, random.nextDouble() * 360.0d - 180.0d ) );
+
+		Author author = new Author();
+		author.setFirstName( FIRST_NAMES[random.nextInt( FIRST_NAMES.length )] );
+		author.setLastName( LAST_NAMES[random.nextInt( LAST_NAMES.length )] );
+		book.setAuthor( author );
+
+		return book;
+	}
+
+	/**
+	 * @param firstId The identifier of the first book.
+	 * @param count The number of books to create.
+	 * @return Books with identifiers from {@code firstId} (inclusive) to {@code firstId + count} (exclusive).
+	 */
+	public List<Book> create(int firstId, int count) {
+		List<Book> result = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ ) {
+			result.add( create( firstId + i ) );
+		}
+		return result;
+	}
+
+	private static String words(Random random, int count) {
+		StringBuilder builder = new StringBuilder();
+		for ( int i = 0; i < count; i++ ) {
+			if ( i > 0 ) {
+				builder.append( ' ' );
+			}
+			builder.append( WORDS[random.nextInt( WORDS.length )] );
+		}
+		return builder.toString();
+	}
+}
@@ -12,6 +12,7 @@
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
 import org.hibernate.search.engine.common.spi.SearchIntegration;
 import org.hibernate.search.engine.common.spi.SearchIntegrationBuilder;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
 import org.hibernate.search.mapper.javabean.impl.JavaBeanMappingInitiatorImpl;
 import org.hibernate.search.mapper.javabean.mapping.impl.JavaBeanMappingImpl;
 import org.hibernate.search.mapper.javabean.mapping.impl.JavaBeanMappingKey;
@@ -81,6 +82,11 @@ public JavaBeanMappingBuilder setProperty(String name, String value) {
 		return this;
 	}
 
+	public JavaBeanMappingBuilder setMetrics(SearchMetrics metrics) {
+		integrationBuilder.setMetrics( metrics );
+		return this;
+	}
+
 	public CloseableJavaBeanMapping build() {
 		SearchIntegration integration = integrationBuilder.build();
 		try {
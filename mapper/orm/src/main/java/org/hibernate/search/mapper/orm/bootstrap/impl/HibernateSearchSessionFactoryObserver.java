@@ -7,6 +7,7 @@
 package org.hibernate.search.mapper.orm.bootstrap.impl;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,11 +20,14 @@
 import org.hibernate.resource.beans.container.spi.BeanContainer;
 import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
+import org.hibernate.search.engine.cfg.spi.ConfigurationProperty;
 import org.hibernate.search.engine.cfg.spi.UnusedPropertyTrackingConfigurationPropertySource;
 import org.hibernate.search.engine.common.spi.SearchIntegration;
 import org.hibernate.search.engine.common.spi.SearchIntegrationBuilder;
 import org.hibernate.search.engine.environment.bean.spi.BeanResolver;
 import org.hibernate.search.engine.environment.bean.spi.ReflectionBeanResolver;
+import org.hibernate.search.engine.metrics.spi.SearchMetrics;
+import org.hibernate.search.mapper.orm.cfg.SearchOrmSettings;
 import org.hibernate.search.mapper.orm.event.impl.FullTextIndexEventListener;
 import org.hibernate.search.mapper.orm.impl.HibernateSearchContextService;
 import org.hibernate.search.mapper.orm.logging.impl.Log;
@@ -165,6 +169,17 @@ private synchronized void boot(SessionFactoryImplementor sessionFactoryImplement
 			}
 			builder.setBeanResolver( beanResolver );
 
+			// Apply the user-provided metrics if necessary
+			final BeanResolver metricsBeanResolver = beanResolver;
+			ConfigurationProperty<Optional<SearchMetrics>> metricsProperty =
+					ConfigurationProperty.forKey( SearchOrmSettings.Radicals.METRICS )
+							.as(
+									SearchMetrics.class,
+									reference -> metricsBeanResolver.resolve( reference, SearchMetrics.class )
+							)
+							.build();
+			metricsProperty.get( propertySource ).ifPresent( builder::setMetrics );
+
 			// TODO namingService (JMX)
 
 			SearchIntegration integration = builder.build();
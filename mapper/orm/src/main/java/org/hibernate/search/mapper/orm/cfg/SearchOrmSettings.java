@@ -60,6 +60,17 @@ public final class SearchOrmSettings {
 	 */
 	public static final String MAPPING_CONFIGURER = PREFIX + Radicals.MAPPING_CONFIGURER;
 
+	/**
+	 * The metrics Hibernate Search should report to.
+	 * <p>
+	 * Accepts a {@link org.hibernate.search.engine.metrics.spi.SearchMetrics}
+	 * instance or the fully qualified class name of a {@link org.hibernate.search.engine.metrics.spi.SearchMetrics}
+	 * implementation. Such an implementation must have a no-arg constructor.
+	 * <p>
+	 * Defaults to no metrics at all.
+	 */
+	public static final String METRICS = PREFIX + Radicals.METRICS;
+
 	public static class Radicals {
 		public static final String ENABLE_CONFIGURATION_PROPERTY_TRACKING = "enable_configuration_property_tracking";
 		public static final String AUTOREGISTER_LISTENERS = "autoregister_listeners";
@@ -67,6 +78,7 @@ public static class Radicals {
 		public static final String ENABLE_DIRTY_CHECK = "enable_dirty_check";
 		public static final String ENABLE_ANNOTATION_MAPPING = "enable_annotation_mapping";
 		public static final String MAPPING_CONFIGURER = "mapping_configurer";
+		public static final String METRICS = "metrics";
 
 		private Radicals() {
 		}
@@ -10,7 +10,11 @@
 
 public interface FullTextQuery<T> extends Query<T>, org.hibernate.search.mapper.orm.jpa.FullTextQuery<T> {
 
-	// TODO getResultSize
+	/**
+	 * @return The total number of matching entities, ignoring pagination.
+	 * Unlike {@code list().size()}, this does not fetch any hit from the index nor load any entity.
+	 */
+	long getResultSize();
 
 	// TODO facets
 
@@ -10,9 +10,11 @@
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.persistence.EntityGraph;
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
 import javax.persistence.Parameter;
@@ -25,6 +27,7 @@
 import org.hibernate.TypeMismatchException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.hql.internal.QueryExecutionRequestException;
+import org.hibernate.jpa.QueryHints;
 import org.hibernate.query.QueryParameter;
 import org.hibernate.query.internal.AbstractProducedQuery;
 import org.hibernate.query.internal.ParameterMetadataImpl;
@@ -40,8 +43,12 @@
 
 	private final SearchQuery<R> searchQuery;
 
+	private final SessionImplementor sessionImplementor;
+
 	private final MutableObjectLoadingOptions loadingOptions;
 
+	private final Map<String, Object> hints = new LinkedHashMap<>();
+
 	private Integer firstResult;
 	private Integer maxResults;
 
@@ -49,6 +56,7 @@ public FullTextQueryImpl(SearchQuery<R> searchQuery, SessionImplementor sessionI
 			MutableObjectLoadingOptions loadingOptions) {
 		super( sessionImplementor, new ParameterMetadataImpl( null, null ) );
 		this.searchQuery = searchQuery;
+		this.sessionImplementor = sessionImplementor;
 		this.loadingOptions = loadingOptions;
 	}
 
@@ -122,6 +130,11 @@ protected List<R> doHibernateSearchList() {
 		return results;
 	}
 
+	@Override
+	public long getResultSize() {
+		return searchQuery.executeCount();
+	}
+
 	@Override
 	public FullTextQueryImpl<R> setMaxResults(int maxResults) {
 		if ( maxResults < 0 ) {
@@ -164,13 +177,39 @@ public int getFirstResult() {
 
 	@Override
 	public FullTextQueryImpl<R> setHint(String hintName, Object value) {
-		// TODO hints (javax.persistence.query.timeout hint in particular)
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		switch ( hintName ) {
+			case QueryHints.HINT_FETCHGRAPH:
+				loadingOptions.setFetchGraph( toEntityGraph( hintName, value ) );
+				hints.remove( QueryHints.HINT_LOADGRAPH );
+				break;
+			case QueryHints.HINT_LOADGRAPH:
+				loadingOptions.setLoadGraph( toEntityGraph( hintName, value ) );
+				hints.remove( QueryHints.HINT_FETCHGRAPH );
+				break;
+			default:
+				// TODO other hints (javax.persistence.query.timeout hint in particular)
+				throw new UnsupportedOperationException( "Not implemented yet" );
+		}
+		hints.put( hintName, value );
+		return this;
+	}
+
+	private EntityGraph<?> toEntityGraph(String hintName, Object value) {
+		if ( value instanceof EntityGraph ) {
+			return (EntityGraph<?>) value;
+		}
+		else if ( value instanceof String ) {
+			// The name of a named entity graph
+			return sessionImplementor.getEntityGraph( (String) value );
+		}
+		else {
+			throw new IllegalArgumentException( "Hint '" + hintName + "' expects an EntityGraph or the name of an entity graph, got: " + value );
+		}
 	}
 
 	@Override
 	public Map<String, Object> getHints() {
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		return Collections.unmodifiableMap( hints );
 	}
 
 	@Override
@@ -190,7 +229,8 @@ public FullTextQueryImpl<R> setParameter(Parameter<Date> dateParameter, Date dat
 
 	@Override
 	public FullTextQueryImpl<R> setParameter(String name, Object value) {
-		throw new UnsupportedOperationException( "parameters not supported in fullText queries" );
+		searchQuery.setParameter( name, value );
+		return this;
 	}
 
 	@Override
@@ -6,8 +6,12 @@
  */
 package org.hibernate.search.mapper.orm.search.impl;
 
+import javax.persistence.EntityGraph;
+
 public class MutableObjectLoadingOptions {
 	private int fetchSize;
+	private EntityGraph<?> fetchGraph;
+	private EntityGraph<?> loadGraph;
 
 	public int getFetchSize() {
 		return fetchSize;
@@ -19,4 +23,30 @@ public void setFetchSize(int fetchSize) {
 		}
 		this.fetchSize = fetchSize;
 	}
+
+	public EntityGraph<?> getFetchGraph() {
+		return fetchGraph;
+	}
+
+	public EntityGraph<?> getLoadGraph() {
+		return loadGraph;
+	}
+
+	/**
+	 * @param fetchGraph An entity graph whose attributes are fetched eagerly, all other attributes being fetched lazily.
+	 * Replaces any load graph.
+	 */
+	public void setFetchGraph(EntityGraph<?> fetchGraph) {
+		this.fetchGraph = fetchGraph;
+		this.loadGraph = null;
+	}
+
+	/**
+	 * @param loadGraph An entity graph whose attributes are fetched eagerly, in addition to the attributes
+	 * mapped as eager. Replaces any fetch graph.
+	 */
+	public void setLoadGraph(EntityGraph<?> loadGraph) {
+		this.loadGraph = loadGraph;
+		this.fetchGraph = null;
+	}
 }
@@ -11,16 +11,16 @@
 import java.util.Set;
 import java.util.function.Function;
 
-import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.search.mapper.pojo.search.PojoReference;
 import org.hibernate.search.engine.search.ObjectLoader;
 
 public class ObjectLoaderBuilder<O> {
 
-	private final Session session;
+	private final SessionImplementor session;
 	private final Set<Class<? extends O>> concreteIndexedClasses;
 
-	ObjectLoaderBuilder(Session session, Set<Class<? extends O>> concreteIndexedClasses) {
+	ObjectLoaderBuilder(SessionImplementor session, Set<Class<? extends O>> concreteIndexedClasses) {
 		this.session = session;
 		this.concreteIndexedClasses = concreteIndexedClasses;
 	}
@@ -13,23 +13,35 @@
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.persistence.EntityGraph;
 
 import org.hibernate.IdentifierLoadAccess;
 import org.hibernate.MultiIdentifierLoadAccess;
-import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.graph.spi.EntityGraphImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.search.mapper.pojo.search.PojoReference;
 
+/**
+ * Loads entities of a single type by ID.
+ * <p>
+ * Entities that are already in the persistence context or in the second-level cache are resolved from there
+ * without hitting the database; the others are loaded in batches, in a single multi-load.
+ */
 class SingleTypeByIdObjectLoader<O, T> implements ComposableObjectLoader<PojoReference, T> {
-	private final Session session;
+	private final SessionImplementor session;
 	private final Class<O> entityType;
 	private final MutableObjectLoadingOptions loadingOptions;
 	private final Function<? super O, T> hitTransformer;
 
+	private EntityPersister persister;
 	private IdentifierLoadAccess<O> singleAccess;
 	private MultiIdentifierLoadAccess<O> multiAccess;
 
 	public SingleTypeByIdObjectLoader(
-			Session session,
+			SessionImplementor session,
 			Class<O> entityType,
 			MutableObjectLoadingOptions loadingOptions,
 			Function<? super O, T> hitTransformer) {
@@ -62,12 +74,77 @@ public void load(List<PojoReference> references, Map<? super PojoReference, ? su
 	}
 
 	private List<O> loadEntities(List<PojoReference> references) {
-		List<Serializable> ids = new ArrayList<>( references.size() );
+		// Apply entity graphs the same way Session.find() does
+		LoadQueryInfluencers influencers = session.getLoadQueryInfluencers();
+		EntityGraph<?> previousFetchGraph = influencers.getFetchGraph();
+		EntityGraph<?> previousLoadGraph = influencers.getLoadGraph();
+		EntityGraph<?> fetchGraph = loadingOptions.getFetchGraph();
+		EntityGraph<?> loadGraph = loadingOptions.getLoadGraph();
+		if ( fetchGraph != null && appliesToEntityType( fetchGraph ) ) {
+			influencers.setFetchGraph( fetchGraph );
+		}
+		else if ( loadGraph != null && appliesToEntityType( loadGraph ) ) {
+			influencers.setLoadGraph( loadGraph );
+		}
+		try {
+			return doLoadEntities( references );
+		}
+		finally {
+			influencers.setFetchGraph( previousFetchGraph );
+			influencers.setLoadGraph( previousLoadGraph );
+		}
+	}
+
+	private List<O> doLoadEntities(List<PojoReference> references) {
+		List<O> loadedObjects = new ArrayList<>( references.size() );
+		List<Serializable> missingIds = new ArrayList<>();
+		List<Integer> missingIndexes = new ArrayList<>();
 		for ( PojoReference reference : references ) {
-			ids.add( (Serializable) reference.getId() );
+			Serializable id = (Serializable) reference.getId();
+			if ( isInPersistenceContextOrCache( id ) ) {
+				// Will not hit the database
+				loadedObjects.add( getSingleAccess().load( id ) );
+			}
+			else {
+				missingIndexes.add( loadedObjects.size() );
+				missingIds.add( id );
+				loadedObjects.add( null );
+			}
+		}
+
+		if ( !missingIds.isEmpty() ) {
+			// Returned in the same order as the IDs, with null for entities that no longer exist
+			List<O> missingObjects = getMultiAccess().multiLoad( missingIds );
+			for ( int i = 0; i < missingIndexes.size(); i++ ) {
+				loadedObjects.set( missingIndexes.get( i ), missingObjects.get( i ) );
+			}
+		}
+
+		return loadedObjects;
+	}
+
+	private boolean isInPersistenceContextOrCache(Serializable id) {
+		EntityPersister entityPersister = getPersister();
+		EntityKey entityKey = session.generateEntityKey( id, entityPersister );
+		if ( session.getPersistenceContext().containsEntity( entityKey ) ) {
+			return true;
 		}
+		return entityPersister.canReadFromCache()
+				&& session.getCacheMode().isGetEnabled()
+				&& session.getFactory().getCache().containsEntity( entityType, id );
+	}
 
-		return getMultiAccess().multiLoad( ids );
+	private boolean appliesToEntityType(EntityGraph<?> graph) {
+		// Graphs built by Hibernate ORM know their entity type; let ORM report any other graph as invalid
+		return !( graph instanceof EntityGraphImplementor )
+				|| ( (EntityGraphImplementor<?>) graph ).appliesTo( getPersister().getEntityName() );
+	}
+
+	private EntityPersister getPersister() {
+		if ( persister == null ) {
+			persister = session.getFactory().getMetamodel().entityPersister( entityType );
+		}
+		return persister;
 	}
 
 	private IdentifierLoadAccess<O> getSingleAccess() {
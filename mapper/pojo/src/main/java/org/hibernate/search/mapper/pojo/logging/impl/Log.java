@@ -280,4 +280,23 @@ SearchException invalidFieldEncodingForFullTextFieldMapping(IndexSchemaFieldType
 	)
 	SearchException invalidFieldEncodingForKeywordFieldMapping(IndexSchemaFieldTypedContext<?, ?> context,
 			@FormatWith(ClassFormatter.class) Class<?> expectedContextType);
+
+	@LogMessage(level = Logger.Level.DEBUG)
+	@Message(id = ID_OFFSET_2 + 33,
+			value = "Loaded the annotation mapping index '%1$s', covering %2$d types.")
+	void loadedAnnotationMappingIndex(String resourceName, int typeCount);
+
+	@LogMessage(level = Logger.Level.WARN)
+	@Message(id = ID_OFFSET_2 + 34,
+			value = "The annotation mapping index '%1$s' is out of date:"
+					+ " it was generated for other annotated types, or some types changed since it was generated."
+					+ " Annotations will be discovered through reflection."
+					+ " Generate the index again to speed up bootstrap.")
+	void outdatedAnnotationMappingIndex(String resourceName);
+
+	@LogMessage(level = Logger.Level.WARN)
+	@Message(id = ID_OFFSET_2 + 35,
+			value = "Unable to read the annotation mapping index '%1$s'."
+					+ " Annotations will be discovered through reflection.")
+	void unableToReadAnnotationMappingIndex(String resourceName, @Cause Throwable cause);
 }
@@ -110,6 +110,19 @@ public interface PojoWorkPlan {
 	 */
 	void delete(Object id, Object entity);
 
+	/**
+	 * Delete all entities of the given type and of its indexed subtypes from the index.
+	 * <p>
+	 * When multi-tenancy is enabled, only entities of the current tenant are deleted.
+	 * <p>
+	 * Works added to this plan before this call for the purged types will not affect the index,
+	 * but will still trigger the reindexing of containing entities if necessary.
+	 * Works added to this plan after this call will be executed after the purge.
+	 *
+	 * @param type The type of entities to delete from the index.
+	 */
+	void purge(Class<?> type);
+
 	/**
 	 * Prepare the work plan execution, i.e. execute as much as possible without writing to the index.
 	 * <p>
@@ -0,0 +1,62 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.mapper.pojo.mapping.definition.annotation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.impl.AnnotationMappingIndexWriter;
+
+/**
+ * Generates, at build time, an index of the Hibernate Search annotations found on the annotated types,
+ * allowing to skip the reflective discovery of annotations on types and properties that do not carry any
+ * when starting Hibernate Search.
+ * <p>
+ * Usage: {@code java -cp <application classpath> org.hibernate.search.mapper.pojo.mapping.definition.annotation.AnnotationMappingIndexGenerator
+ * <output directory> <fully-qualified class name> [<fully-qualified class name> ...]}
+ * <p>
+ * The output directory should be the directory holding the compiled classes of the application,
+ * so that the index ends up in the application's jar.
+ * The given classes must be exactly the annotated types passed to the mapping;
+ * their supertypes are indexed automatically.
+ * <p>
+ * The index records a checksum of the class file of each indexed type:
+ * if the annotated types passed to the mapping are different,
+ * or if one of the indexed types changed since the index was generated,
+ * the index is ignored and annotations are discovered through reflection.
+ */
+public final class AnnotationMappingIndexGenerator {
+
+	private AnnotationMappingIndexGenerator() {
+	}
+
+	public static void main(String[] args) throws IOException, ClassNotFoundException {
+		if ( args.length < 2 ) {
+			throw new IllegalArgumentException( "Expected arguments: <output directory> <fully-qualified class name>..." );
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Class<?>> types = new ArrayList<>();
+		for ( int i = 1; i < args.length; i++ ) {
+			types.add( Class.forName( args[i], false, classLoader ) );
+		}
+		generate( Paths.get( args[0] ), types );
+	}
+
+	/**
+	 * @param outputDirectory The directory to write the index to.
+	 * @param types The annotated types to index.
+	 * @return The path of the generated index.
+	 * @throws IOException If the index cannot be written.
+	 */
+	public static Path generate(Path outputDirectory, Collection<Class<?>> types) throws IOException {
+		return AnnotationMappingIndexWriter.write( outputDirectory, types );
+	}
+}
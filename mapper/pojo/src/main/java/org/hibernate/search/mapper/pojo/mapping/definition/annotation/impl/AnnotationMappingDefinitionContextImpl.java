@@ -6,6 +6,9 @@
  */
 package org.hibernate.search.mapper.pojo.mapping.definition.annotation.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Optional;
@@ -13,10 +16,12 @@
 
 import org.hibernate.search.engine.cfg.ConfigurationPropertySource;
 import org.hibernate.search.engine.environment.bean.BeanProvider;
+import org.hibernate.search.engine.environment.classpath.spi.ResourceResolver;
 import org.hibernate.search.engine.mapper.mapping.spi.MappingBuildContext;
 import org.hibernate.search.engine.mapper.mapping.building.spi.MappingConfigurationCollector;
 import org.hibernate.search.engine.mapper.mapping.building.spi.TypeMetadataDiscoverer;
 import org.hibernate.search.engine.mapper.model.spi.MappableTypeModel;
+import org.hibernate.search.mapper.pojo.logging.impl.Log;
 import org.hibernate.search.mapper.pojo.logging.spi.PojoEventContexts;
 import org.hibernate.search.mapper.pojo.mapping.building.spi.PojoTypeMetadataContributor;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.AnnotationMappingDefinitionContext;
@@ -25,10 +30,13 @@
 import org.hibernate.search.mapper.pojo.model.spi.PojoBootstrapIntrospector;
 import org.hibernate.search.mapper.pojo.model.spi.PojoRawTypeModel;
 import org.hibernate.search.engine.logging.spi.FailureCollector;
+import org.hibernate.search.util.impl.common.LoggerFactory;
 
 public class AnnotationMappingDefinitionContextImpl implements AnnotationMappingDefinitionContext,
 		PojoMappingConfigurationContributor {
 
+	private static final Log log = LoggerFactory.make( Log.class, MethodHandles.lookup() );
+
 	private final PojoBootstrapIntrospector introspector;
 	// Use a LinkedHashSet for deterministic iteration
 	private final Set<Class<?>> annotatedTypes = new LinkedHashSet<>();
@@ -62,8 +70,10 @@ public void configure(MappingBuildContext buildContext, ConfigurationPropertySou
 		FailureCollector failureCollector = buildContext.getFailureCollector();
 		AnnotationProcessorProvider annotationProcessorProvider =
 				new AnnotationProcessorProvider( beanProvider, failureCollector );
+		AnnotationMappingIndex annotationMappingIndex =
+				loadAnnotationMappingIndex( buildContext.getServiceManager().getResourceResolver(), annotatedTypes );
 		AnnotationPojoTypeMetadataContributorFactory contributorFactory =
-				new AnnotationPojoTypeMetadataContributorFactory( annotationProcessorProvider );
+				new AnnotationPojoTypeMetadataContributorFactory( annotationProcessorProvider, annotationMappingIndex );
 
 		/*
 		 * For types that were explicitly requested for annotation scanning and their supertypes,
@@ -81,7 +91,9 @@ public void configure(MappingBuildContext buildContext, ConfigurationPropertySou
 				.filter( alreadyContributedTypes::add )
 				// TODO filter out standard Java types, e.g. Object or standard Java interfaces such as Serializable?
 				.forEach( typeModel -> {
-					Optional<Indexed> indexedAnnotation = typeModel.getAnnotationByType( Indexed.class );
+					Optional<Indexed> indexedAnnotation = contributorFactory.mayHaveTypeLevelAnnotations( typeModel )
+							? typeModel.getAnnotationByType( Indexed.class )
+							: Optional.empty();
 					if ( indexedAnnotation.isPresent() ) {
 						try {
 							collector.mapToIndex( typeModel, indexedAnnotation.get().index() );
@@ -109,6 +121,33 @@ public void configure(MappingBuildContext buildContext, ConfigurationPropertySou
 		}
 	}
 
+	/**
+	 * @param resourceResolver The resolver to load the index from.
+	 * @param annotatedTypes The annotated types passed to the mapping.
+	 * @return The annotation mapping index generated at build time,
+	 * or an empty index if none was generated, it cannot be read or it was generated for other types.
+	 */
+	private static AnnotationMappingIndex loadAnnotationMappingIndex(ResourceResolver resourceResolver,
+			Set<Class<?>> annotatedTypes) {
+		String resourceName = AnnotationMappingIndex.RESOURCE_NAME;
+		try ( InputStream stream = resourceResolver.locateResourceStream( resourceName ) ) {
+			if ( stream == null ) {
+				return AnnotationMappingIndex.empty();
+			}
+			AnnotationMappingIndex index = AnnotationMappingIndex.read( stream );
+			if ( !index.isUpToDate( annotatedTypes ) ) {
+				log.outdatedAnnotationMappingIndex( resourceName );
+				return AnnotationMappingIndex.empty();
+			}
+			log.loadedAnnotationMappingIndex( resourceName, index.size() );
+			return index;
+		}
+		catch (IOException | RuntimeException e) {
+			log.unableToReadAnnotationMappingIndex( resourceName, e );
+			return AnnotationMappingIndex.empty();
+		}
+	}
+
 	/**
 	 * A type metadata discoverer that will provide annotation-based metadata
 	 * for types that were not explicitly requested .
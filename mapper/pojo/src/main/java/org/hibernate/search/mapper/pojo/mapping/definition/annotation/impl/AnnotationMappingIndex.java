@@ -0,0 +1,370 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.mapper.pojo.mapping.definition.annotation.impl;
+
+import java.beans.Introspector;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * An index of the Hibernate Search annotations found on a set of types,
+ * allowing to skip the processing of types and properties that do not carry any such annotation.
+ * <p>
+ * The index is generated at build time by
+ * {@link org.hibernate.search.mapper.pojo.mapping.definition.annotation.AnnotationMappingIndexGenerator}
+ * and loaded at bootstrap from the {@link #RESOURCE_NAME} resource, if it exists.
+ * The index holds a hash of the names of the annotated types it was generated for,
+ * as well as the checksum of the class file of each indexed type.
+ * When the annotated types passed to the mapping are different,
+ * or when one of the indexed types was compiled again since the index was generated,
+ * the index is ignored and annotations are discovered through reflection, as if there was no index.
+ * Checksums of class files are cheap to check: for classes packaged in a jar,
+ * they are read from the jar directory without reading the class files themselves.
+ * <p>
+ * An annotation is considered a Hibernate Search annotation if its type,
+ * one of the meta-annotations on its type,
+ * or the type of the annotations it contains (for repeatable annotation containers)
+ * is defined in the {@code org.hibernate.search} package or one of its subpackages.
+ * This is purposely broad: the index only needs to be accurate about what is <em>not</em> annotated.
+ */
+final class AnnotationMappingIndex {
+
+	static final String RESOURCE_NAME = "META-INF/hibernate-search/annotation-mapping-index.properties";
+
+	private static final String SEARCH_PACKAGE_PREFIX = "org.hibernate.search.";
+
+	/*
+	 * Cannot clash with type names, since '@' cannot appear in Java identifiers.
+	 */
+	private static final String ANNOTATED_TYPES_HASH_KEY = "@annotatedTypesHash";
+
+	private static final long NO_HASH = -1L;
+
+	private static final String ENTRY_SEPARATOR = ";";
+	private static final String PROPERTY_SEPARATOR = ",";
+	private static final String TYPE_ANNOTATED = "T";
+	private static final String TYPE_NOT_ANNOTATED = "F";
+
+	private static final AnnotationMappingIndex EMPTY = new AnnotationMappingIndex( NO_HASH, Collections.emptyMap() );
+
+	static AnnotationMappingIndex empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @param types The types to index. Their supertypes will be indexed too.
+	 * @return An index of the Hibernate Search annotations on the given types.
+	 */
+	static AnnotationMappingIndex create(Collection<Class<?>> types) throws IOException {
+		Map<String, TypeEntry> entries = new HashMap<>();
+		for ( Class<?> type : withSuperTypes( types ) ) {
+			entries.put( type.getName(), createEntry( type ) );
+		}
+		return new AnnotationMappingIndex( hash( types ), entries );
+	}
+
+	static AnnotationMappingIndex read(InputStream inputStream) throws IOException {
+		Properties properties = new Properties();
+		properties.load( inputStream );
+		String annotatedTypesHash = (String) properties.remove( ANNOTATED_TYPES_HASH_KEY );
+		if ( annotatedTypesHash == null ) {
+			throw new IOException( "Missing hash of annotated types in annotation mapping index" );
+		}
+		long parsedAnnotatedTypesHash;
+		try {
+			parsedAnnotatedTypesHash = Long.parseLong( annotatedTypesHash, 16 );
+		}
+		catch (NumberFormatException e) {
+			throw new IOException( "Invalid hash of annotated types in annotation mapping index: '"
+					+ annotatedTypesHash + "'", e );
+		}
+		Map<String, TypeEntry> entries = new HashMap<>();
+		for ( String typeName : properties.stringPropertyNames() ) {
+			entries.put( typeName, parseEntry( properties.getProperty( typeName ) ) );
+		}
+		return new AnnotationMappingIndex( parsedAnnotatedTypesHash, entries );
+	}
+
+	private final long annotatedTypesHash;
+
+	private final Map<String, TypeEntry> entries;
+
+	private AnnotationMappingIndex(long annotatedTypesHash, Map<String, TypeEntry> entries) {
+		this.annotatedTypesHash = annotatedTypesHash;
+		this.entries = entries;
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @param annotatedTypes The annotated types passed to the mapping.
+	 * @return {@code true} if this index was generated for the same annotated types
+	 * and none of these types or their supertypes changed since then,
+	 * {@code false} otherwise.
+	 * @throws IOException If the class file of a type cannot be read.
+	 */
+	boolean isUpToDate(Collection<Class<?>> annotatedTypes) throws IOException {
+		if ( annotatedTypesHash == NO_HASH || annotatedTypesHash != hash( annotatedTypes ) ) {
+			return false;
+		}
+		for ( Class<?> type : withSuperTypes( annotatedTypes ) ) {
+			TypeEntry entry = entries.get( type.getName() );
+			if ( entry == null || entry.classFileHash != classFileHash( type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param type A type.
+	 * @return The index entry for that type, or {@code null} if the type is not indexed.
+	 */
+	TypeEntry get(Class<?> type) {
+		return entries.get( type.getName() );
+	}
+
+	void write(OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter( new OutputStreamWriter( outputStream, StandardCharsets.ISO_8859_1 ) );
+		writer.write( ANNOTATED_TYPES_HASH_KEY );
+		writer.write( '=' );
+		writer.write( Long.toHexString( annotatedTypesHash ) );
+		writer.write( '\n' );
+		// Sort entries so that the index is reproducible
+		for ( Map.Entry<String, TypeEntry> mapEntry : new TreeMap<>( entries ).entrySet() ) {
+			TypeEntry entry = mapEntry.getValue();
+			writer.write( mapEntry.getKey() );
+			writer.write( '=' );
+			writer.write( entry.typeAnnotated ? TYPE_ANNOTATED : TYPE_NOT_ANNOTATED );
+			writer.write( ENTRY_SEPARATOR );
+			if ( entry.classFileHash != NO_HASH ) {
+				writer.write( Long.toHexString( entry.classFileHash ) );
+			}
+			writer.write( ENTRY_SEPARATOR );
+			writer.write( String.join( PROPERTY_SEPARATOR, new TreeSet<>( entry.annotatedPropertyNames ) ) );
+			writer.write( '\n' );
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @param types A set of types.
+	 * @return The given types and all their supertypes.
+	 */
+	private static Set<Class<?>> withSuperTypes(Collection<Class<?>> types) {
+		Set<Class<?>> result = new LinkedHashSet<>();
+		Deque<Class<?>> toVisit = new ArrayDeque<>( types );
+		while ( !toVisit.isEmpty() ) {
+			Class<?> type = toVisit.removeFirst();
+			if ( !result.add( type ) ) {
+				continue;
+			}
+			if ( type.getSuperclass() != null ) {
+				toVisit.add( type.getSuperclass() );
+			}
+			Collections.addAll( toVisit, type.getInterfaces() );
+		}
+		return result;
+	}
+
+	private static TypeEntry createEntry(Class<?> type) throws IOException {
+		boolean typeAnnotated = hasSearchAnnotation( type.getAnnotations() );
+		Set<String> annotatedPropertyNames = new LinkedHashSet<>();
+		for ( Field field : type.getDeclaredFields() ) {
+			if ( hasSearchAnnotation( field.getAnnotations() ) ) {
+				annotatedPropertyNames.add( field.getName() );
+			}
+		}
+		for ( Method method : type.getDeclaredMethods() ) {
+			if ( method.getParameterCount() == 0 && hasSearchAnnotation( method.getAnnotations() ) ) {
+				annotatedPropertyNames.add( toPropertyName( method.getName() ) );
+			}
+		}
+		return new TypeEntry( typeAnnotated, classFileHash( type ), annotatedPropertyNames );
+	}
+
+	private static TypeEntry parseEntry(String value) throws IOException {
+		String[] components = value.split( ENTRY_SEPARATOR, -1 );
+		if ( components.length != 3 ) {
+			throw new IOException( "Invalid annotation mapping index entry: '" + value + "'" );
+		}
+		boolean typeAnnotated = TYPE_ANNOTATED.equals( components[0] );
+		long classFileHash;
+		try {
+			classFileHash = components[1].isEmpty() ? NO_HASH : Long.parseLong( components[1], 16 );
+		}
+		catch (NumberFormatException e) {
+			throw new IOException( "Invalid annotation mapping index entry: '" + value + "'", e );
+		}
+		Set<String> annotatedPropertyNames = new LinkedHashSet<>();
+		if ( !components[2].isEmpty() ) {
+			Collections.addAll( annotatedPropertyNames, components[2].split( PROPERTY_SEPARATOR ) );
+		}
+		return new TypeEntry( typeAnnotated, classFileHash, annotatedPropertyNames );
+	}
+
+	/**
+	 * @param methodName The name of a method.
+	 * @return The name of the property this method is an accessor for, following JavaBeans conventions,
+	 * or the method name if it does not follow JavaBeans conventions.
+	 */
+	private static String toPropertyName(String methodName) {
+		if ( methodName.startsWith( "get" ) && methodName.length() > 3 ) {
+			return Introspector.decapitalize( methodName.substring( 3 ) );
+		}
+		else if ( methodName.startsWith( "is" ) && methodName.length() > 2 ) {
+			return Introspector.decapitalize( methodName.substring( 2 ) );
+		}
+		else {
+			return methodName;
+		}
+	}
+
+	private static boolean hasSearchAnnotation(Annotation[] annotations) {
+		for ( Annotation annotation : annotations ) {
+			if ( isSearchAnnotationType( annotation.annotationType() )
+					|| isSearchAnnotationContainerType( annotation.annotationType() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSearchAnnotationType(Class<? extends Annotation> annotationType) {
+		if ( annotationType.getName().startsWith( SEARCH_PACKAGE_PREFIX ) ) {
+			return true;
+		}
+		for ( Annotation metaAnnotation : annotationType.getAnnotations() ) {
+			if ( metaAnnotation.annotationType().getName().startsWith( SEARCH_PACKAGE_PREFIX ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean isSearchAnnotationContainerType(Class<? extends Annotation> annotationType) {
+		Method valueMethod;
+		try {
+			valueMethod = annotationType.getDeclaredMethod( "value" );
+		}
+		catch (NoSuchMethodException e) {
+			// Not a containing annotation
+			return false;
+		}
+		Class<?> valueType = valueMethod.getReturnType();
+		return valueType.isArray() && Annotation.class.isAssignableFrom( valueType.getComponentType() )
+				&& isSearchAnnotationType( (Class<? extends Annotation>) valueType.getComponentType() );
+	}
+
+	/**
+	 * @param types A set of types.
+	 * @return The CRC32 checksum of the sorted names of the given types.
+	 */
+	private static long hash(Collection<Class<?>> types) {
+		Set<String> sortedNames = new TreeSet<>();
+		for ( Class<?> type : types ) {
+			sortedNames.add( type.getName() );
+		}
+		CRC32 crc = new CRC32();
+		for ( String name : sortedNames ) {
+			crc.update( name.getBytes( StandardCharsets.UTF_8 ) );
+			crc.update( '\n' );
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * @param type A type.
+	 * @return The CRC32 checksum of the class file of the given type,
+	 * or {@link #NO_HASH} if the type is a JDK type or its class file cannot be located.
+	 * @throws IOException If the class file cannot be read.
+	 */
+	private static long classFileHash(Class<?> type) throws IOException {
+		ClassLoader classLoader = type.getClassLoader();
+		if ( classLoader == null ) {
+			// JDK types: their class files depend on the JDK, and they do not carry Hibernate Search annotations
+			return NO_HASH;
+		}
+		URL classFileUrl = classLoader.getResource( type.getName().replace( '.', '/' ) + ".class" );
+		if ( classFileUrl == null ) {
+			// Types generated at runtime
+			return NO_HASH;
+		}
+		URLConnection connection = classFileUrl.openConnection();
+		if ( connection instanceof JarURLConnection ) {
+			// The checksum is stored in the jar directory: no need to read the class file
+			long crc = ( (JarURLConnection) connection ).getJarEntry().getCrc();
+			if ( crc != -1L ) {
+				return crc;
+			}
+		}
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[4096];
+		try ( InputStream stream = connection.getInputStream() ) {
+			int read;
+			while ( ( read = stream.read( buffer ) ) != -1 ) {
+				crc.update( buffer, 0, read );
+			}
+		}
+		return crc.getValue();
+	}
+
+	static final class TypeEntry {
+		private final boolean typeAnnotated;
+		private final long classFileHash;
+		private final Set<String> annotatedPropertyNames;
+
+		private TypeEntry(boolean typeAnnotated, long classFileHash, Set<String> annotatedPropertyNames) {
+			this.typeAnnotated = typeAnnotated;
+			this.classFileHash = classFileHash;
+			this.annotatedPropertyNames = annotatedPropertyNames;
+		}
+
+		/**
+		 * @return {@code true} if the type itself may carry Hibernate Search annotations,
+		 * {@code false} if it definitely does not.
+		 */
+		boolean isTypeAnnotated() {
+			return typeAnnotated;
+		}
+
+		/**
+		 * @param propertyName The name of a property declared in the type.
+		 * @return {@code true} if the property may carry Hibernate Search annotations,
+		 * {@code false} if it definitely does not.
+		 */
+		boolean isPropertyAnnotated(String propertyName) {
+			return annotatedPropertyNames.contains( propertyName );
+		}
+	}
+}
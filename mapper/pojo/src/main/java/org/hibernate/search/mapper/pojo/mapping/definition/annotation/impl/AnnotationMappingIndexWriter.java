@@ -0,0 +1,40 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.mapper.pojo.mapping.definition.annotation.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Writes the {@link AnnotationMappingIndex annotation mapping index} to the filesystem.
+ *
+ * @see org.hibernate.search.mapper.pojo.mapping.definition.annotation.AnnotationMappingIndexGenerator
+ */
+public final class AnnotationMappingIndexWriter {
+
+	private AnnotationMappingIndexWriter() {
+	}
+
+	/**
+	 * @param outputDirectory The directory to write the index to.
+	 * @param types The annotated types to index.
+	 * @return The path of the generated index.
+	 * @throws IOException If the index cannot be written.
+	 */
+	public static Path write(Path outputDirectory, Collection<Class<?>> types) throws IOException {
+		AnnotationMappingIndex index = AnnotationMappingIndex.create( types );
+		Path indexPath = outputDirectory.resolve( AnnotationMappingIndex.RESOURCE_NAME );
+		Files.createDirectories( indexPath.getParent() );
+		try ( OutputStream outputStream = Files.newOutputStream( indexPath ) ) {
+			index.write( outputStream );
+		}
+		return indexPath;
+	}
+}
@@ -15,9 +15,22 @@
 class AnnotationPojoTypeMetadataContributorFactory {
 
 	private final AnnotationProcessorProvider annotationProcessorProvider;
+	private final AnnotationMappingIndex annotationMappingIndex;
 
-	AnnotationPojoTypeMetadataContributorFactory(AnnotationProcessorProvider annotationProcessorProvider) {
+	AnnotationPojoTypeMetadataContributorFactory(AnnotationProcessorProvider annotationProcessorProvider,
+			AnnotationMappingIndex annotationMappingIndex) {
 		this.annotationProcessorProvider = annotationProcessorProvider;
+		this.annotationMappingIndex = annotationMappingIndex;
+	}
+
+	/**
+	 * @param typeModel A type model.
+	 * @return {@code false} if the annotation mapping index shows that the given type
+	 * definitely does not carry any type-level annotation, {@code true} otherwise.
+	 */
+	boolean mayHaveTypeLevelAnnotations(PojoRawTypeModel<?> typeModel) {
+		AnnotationMappingIndex.TypeEntry indexEntry = annotationMappingIndex.get( typeModel.getJavaClass() );
+		return indexEntry == null || indexEntry.isTypeAnnotated();
 	}
 
 	public PojoTypeMetadataContributor create(PojoRawTypeModel<?> typeModel) {
@@ -25,9 +38,22 @@ public PojoTypeMetadataContributor create(PojoRawTypeModel<?> typeModel) {
 		TypeMappingContextImpl typeMappingContext = new TypeMappingContextImpl( typeModel );
 
 		// Process annotations and add metadata to the type mapping
-		processTypeLevelAnnotations( typeMappingContext, typeModel );
-		typeModel.getDeclaredProperties()
-				.forEach( propertyModel -> processPropertyLevelAnnotations( typeMappingContext, typeModel, propertyModel ) );
+		AnnotationMappingIndex.TypeEntry indexEntry = annotationMappingIndex.get( typeModel.getJavaClass() );
+		if ( indexEntry == null ) {
+			// Not indexed: look for annotations everywhere
+			processTypeLevelAnnotations( typeMappingContext, typeModel );
+			typeModel.getDeclaredProperties()
+					.forEach( propertyModel -> processPropertyLevelAnnotations( typeMappingContext, typeModel, propertyModel ) );
+		}
+		else {
+			// Indexed: skip what we know is not annotated
+			if ( indexEntry.isTypeAnnotated() ) {
+				processTypeLevelAnnotations( typeMappingContext, typeModel );
+			}
+			typeModel.getDeclaredProperties()
+					.filter( propertyModel -> indexEntry.isPropertyAnnotated( propertyModel.getName() ) )
+					.forEach( propertyModel -> processPropertyLevelAnnotations( typeMappingContext, typeModel, propertyModel ) );
+		}
 
 		// Return the resulting mapping, which includes all the metadata extracted from annotations
 		return typeMappingContext;
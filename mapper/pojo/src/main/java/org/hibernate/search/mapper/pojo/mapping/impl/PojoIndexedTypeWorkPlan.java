@@ -32,6 +32,8 @@
 	// Use a LinkedHashMap for deterministic iteration
 	private final Map<I, IndexedEntityWorkPlan> workPlansPerId = new LinkedHashMap<>();
 
+	private boolean purge = false;
+
 	PojoIndexedTypeWorkPlan(PojoIndexedTypeManager<I, E, D> typeManager, PojoSessionContext sessionContext,
 			IndexWorkPlan<D> delegate) {
 		super( sessionContext );
@@ -76,6 +78,17 @@ void updateBecauseOfContained(Object entity) {
 		// If the entry is already there, no need for an additional update
 	}
 
+	void purge() {
+		/*
+		 * Documents resulting from previous works would be purged anyway,
+		 * so we only need to remember these works in order to resolve dirty containing entities.
+		 */
+		for ( IndexedEntityWorkPlan workPerDocument : workPlansPerId.values() ) {
+			workPerDocument.purge();
+		}
+		purge = true;
+	}
+
 	void resolveDirty(PojoReindexingCollector containingEntityCollector) {
 		for ( IndexedEntityWorkPlan workPerDocument : workPlansPerId.values() ) {
 			workPerDocument.resolveDirty( containingEntityCollector );
@@ -111,9 +124,13 @@ private IndexWorkPlan<D> getDelegate() {
 
 	private void sendWorksToDelegate() {
 		try {
+			if ( purge ) {
+				delegate.purge();
+			}
 			workPlansPerId.values().forEach( IndexedEntityWorkPlan::sendWorkToDelegate );
 		}
 		finally {
+			purge = false;
 			workPlansPerId.clear();
 		}
 	}
@@ -184,6 +201,12 @@ void delete(Supplier<E> entitySupplier) {
 			}
 		}
 
+		void purge() {
+			// The document will no longer be in the index, and there is nothing left to add to the index
+			add = false;
+			delete = false;
+		}
+
 		void resolveDirty(PojoReindexingCollector containingEntityCollector) {
 			if ( shouldResolveToReindex ) {
 				shouldResolveToReindex = false; // Avoid infinite looping
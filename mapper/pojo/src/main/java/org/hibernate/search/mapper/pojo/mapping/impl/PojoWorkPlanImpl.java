@@ -12,6 +12,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.hibernate.search.mapper.pojo.mapping.PojoWorkPlan;
@@ -88,6 +89,23 @@ public void delete(Object id, Object entity) {
 		delegate.delete( id, entity );
 	}
 
+	@Override
+	public void purge(Class<?> type) {
+		Optional<? extends Set<? extends PojoIndexedTypeManager<?, ?, ?>>> indexedTypeManagersOptional =
+				indexedTypeManagers.getAllBySuperClass( type );
+		if ( !indexedTypeManagersOptional.isPresent() ) {
+			throw new SearchException(
+					"Cannot purge type " + type + ", because neither this type nor its subtypes are indexed."
+			);
+		}
+		for ( PojoIndexedTypeManager<?, ?, ?> typeManager : indexedTypeManagersOptional.get() ) {
+			indexedTypeDelegates.computeIfAbsent(
+					typeManager.getIndexedJavaClass(), ignored -> typeManager.createWorkPlan( sessionContext )
+			)
+					.purge();
+		}
+	}
+
 	@Override
 	public void prepare() {
 		for ( PojoContainedTypeWorkPlan<?> delegate : containedTypeDelegates.values() ) {
@@ -0,0 +1,148 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.mapper.pojo.mapping.definition.annotation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.DocumentId;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.search.util.impl.test.SubTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AnnotationMappingIndexTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void roundTrip() throws IOException {
+		AnnotationMappingIndex index = roundTrip( AnnotationMappingIndex.create( Collections.singletonList( IndexedType.class ) ) );
+
+		AnnotationMappingIndex.TypeEntry entry = index.get( IndexedType.class );
+		assertThat( entry ).isNotNull();
+		assertThat( entry.isTypeAnnotated() ).isTrue();
+		assertThat( entry.isPropertyAnnotated( "id" ) ).isTrue();
+		assertThat( entry.isPropertyAnnotated( "repeated" ) ).isTrue();
+		assertThat( entry.isPropertyAnnotated( "keyword" ) ).isTrue();
+		assertThat( entry.isPropertyAnnotated( "notAnnotated" ) ).isFalse();
+
+		// Supertypes are indexed too
+		AnnotationMappingIndex.TypeEntry superTypeEntry = index.get( SuperType.class );
+		assertThat( superTypeEntry ).isNotNull();
+		assertThat( superTypeEntry.isTypeAnnotated() ).isFalse();
+		assertThat( superTypeEntry.isPropertyAnnotated( "inherited" ) ).isTrue();
+
+		assertThat( index.get( String.class ) ).isNull();
+	}
+
+	@Test
+	public void upToDate() throws IOException {
+		AnnotationMappingIndex index = roundTrip( AnnotationMappingIndex.create( Arrays.asList( IndexedType.class, SuperType.class ) ) );
+
+		// The order of annotated types does not matter
+		assertThat( index.isUpToDate( Arrays.asList( SuperType.class, IndexedType.class ) ) ).isTrue();
+		// The index was generated for other annotated types: fall back to reflection
+		assertThat( index.isUpToDate( Collections.singletonList( IndexedType.class ) ) ).isFalse();
+		assertThat( index.isUpToDate( Arrays.asList( IndexedType.class, SuperType.class, String.class ) ) ).isFalse();
+
+		assertThat( AnnotationMappingIndex.empty().isUpToDate( Collections.emptyList() ) ).isFalse();
+	}
+
+	@Test
+	public void outdatedType() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		AnnotationMappingIndex.create( Collections.singletonList( IndexedType.class ) ).write( outputStream );
+		String content = new String( outputStream.toByteArray(), StandardCharsets.ISO_8859_1 );
+		assertThat( read( content ).isUpToDate( Collections.singletonList( IndexedType.class ) ) ).isTrue();
+
+		// Simulate a change to the supertype since the index was generated, e.g. a new annotation on a property
+		String superTypeEntryPrefix = SuperType.class.getName() + "=F;";
+		int checksumStart = content.indexOf( superTypeEntryPrefix ) + superTypeEntryPrefix.length();
+		int checksumEnd = content.indexOf( ';', checksumStart );
+		String outdatedContent = content.substring( 0, checksumStart ) + "1234"
+				+ content.substring( checksumEnd );
+		assertThat( outdatedContent ).isNotEqualTo( content );
+
+		AnnotationMappingIndex outdatedIndex = read( outdatedContent );
+		assertThat( outdatedIndex.isUpToDate( Collections.singletonList( IndexedType.class ) ) ).isFalse();
+	}
+
+	@Test
+	public void missingAnnotatedTypesHash() {
+		SubTest.expectException(
+				"index without a hash of annotated types",
+				() -> read( IndexedType.class.getName() + "=F;;\n" )
+		)
+				.assertThrown()
+				.isInstanceOf( IOException.class )
+				.hasMessageContaining( "Missing hash of annotated types" );
+	}
+
+	@Test
+	public void generate() throws IOException {
+		Path outputDirectory = temporaryFolder.getRoot().toPath();
+		Path indexPath = AnnotationMappingIndexWriter.write(
+				outputDirectory, Collections.singletonList( IndexedType.class )
+		);
+		assertThat( indexPath ).isEqualTo( outputDirectory.resolve( AnnotationMappingIndex.RESOURCE_NAME ) );
+		try ( InputStream stream = Files.newInputStream( indexPath ) ) {
+			AnnotationMappingIndex index = AnnotationMappingIndex.read( stream );
+			assertThat( index.get( IndexedType.class ) ).isNotNull();
+			assertThat( index.get( SuperType.class ) ).isNotNull();
+		}
+	}
+
+	private static AnnotationMappingIndex roundTrip(AnnotationMappingIndex index) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		index.write( outputStream );
+		return AnnotationMappingIndex.read( new ByteArrayInputStream( outputStream.toByteArray() ) );
+	}
+
+	private static AnnotationMappingIndex read(String content) throws IOException {
+		return AnnotationMappingIndex.read( new ByteArrayInputStream( content.getBytes( StandardCharsets.ISO_8859_1 ) ) );
+	}
+
+	private static class SuperType {
+		@GenericField
+		String inherited;
+	}
+
+	@Indexed
+	private static class IndexedType extends SuperType {
+		@DocumentId
+		Integer id;
+		@GenericField
+		@GenericField(name = "repeated2")
+		String repeated;
+		String keyword;
+		String notAnnotated;
+
+		@KeywordField
+		public String getKeyword() {
+			return keyword;
+		}
+
+		public String getNotAnnotated() {
+			return notAnnotated;
+		}
+	}
+}
@@ -162,6 +162,10 @@ public WorkCallListContext delete(Consumer<StubIndexWork.Builder> contributor) {
 			return work( StubIndexWork.Type.DELETE, contributor );
 		}
 
+		public WorkCallListContext purge() {
+			return work( StubIndexWork.Type.PURGE, b -> { } );
+		}
+
 		WorkCallListContext work(StubIndexWork.Type type, Consumer<StubIndexWork.Builder> contributor) {
 			StubIndexWork.Builder builder = StubIndexWork.builder( type );
 			contributor.accept( builder );
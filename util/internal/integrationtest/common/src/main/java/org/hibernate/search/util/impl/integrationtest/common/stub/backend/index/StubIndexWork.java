@@ -13,7 +13,7 @@ public final class StubIndexWork {
 	public enum Type {
 		ADD,
 		UPDATE,
-		FLUSH, OPTIMIZE, DELETE;
+		FLUSH, OPTIMIZE, DELETE, PURGE;
 	}
 
 	public static Builder builder(Type type) {
@@ -62,6 +62,13 @@ public void delete(DocumentReferenceProvider documentReferenceProvider) {
 		addWork( builder.build() );
 	}
 
+	@Override
+	public void purge() {
+		StubIndexWork.Builder builder = StubIndexWork.builder( StubIndexWork.Type.PURGE );
+		builder.tenantIdentifier( sessionContext.getTenantIdentifier() );
+		addWork( builder.build() );
+	}
+
 	@Override
 	public void prepare() {
 		indexManager.prepare( works.subList( preparedIndex, works.size() ) );
@@ -38,6 +38,11 @@ public void setMaxResults(Long maxResultsCount) {
 		workBuilder.maxResultsCount( maxResultsCount );
 	}
 
+	@Override
+	public void setParameter(String name, Object value) {
+		workBuilder.parameter( name, value );
+	}
+
 	@Override
 	public String getQueryString() {
 		return getClass().getName() + "@" + Integer.toHexString( hashCode() );
@@ -48,4 +53,10 @@ public SearchResult<T> execute() {
 		return backend.getBehavior().executeSearchWork( indexNames, workBuilder.build(), hitAggregator );
 	}
 
+	@Override
+	public long executeCount() {
+		// The stub backend has no specific count work: run a search and only keep the hit count
+		return execute().getHitCount();
+	}
+
 }
@@ -10,6 +10,7 @@
 import java.util.function.Function;
 
 import org.hibernate.search.util.impl.integrationtest.common.stub.backend.index.impl.StubBackend;
+import org.hibernate.search.engine.search.SearchAggregationRange;
 import org.hibernate.search.engine.search.SearchQuery;
 import org.hibernate.search.engine.search.query.spi.HitAggregator;
 import org.hibernate.search.engine.search.query.spi.SearchQueryBuilder;
@@ -39,6 +40,16 @@ public void addRoutingKey(String routingKey) {
 		workBuilder.routingKey( routingKey );
 	}
 
+	@Override
+	public void addTermsAggregation(String name, String absoluteFieldPath, int maxTermCount) {
+		throw new UnsupportedOperationException( "Aggregations are not supported in the stub backend" );
+	}
+
+	@Override
+	public void addRangeAggregation(String name, String absoluteFieldPath, List<SearchAggregationRange> ranges) {
+		throw new UnsupportedOperationException( "Aggregations are not supported in the stub backend" );
+	}
+
 	@Override
 	public <Q> Q build(Function<SearchQuery<T>, Q> searchQueryWrapperFactory) {
 		StubSearchQuery<T> searchQuery = new StubSearchQuery<>( backend, indexNames, workBuilder, hitAggregator );
@@ -8,7 +8,9 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class StubSearchWork {
 
@@ -26,12 +28,14 @@ public static Builder builder(ResultType resultType) {
 	private final List<String> routingKeys;
 	private final Long firstResultIndex;
 	private final Long maxResultsCount;
+	private final Map<String, Object> parameters;
 
 	private StubSearchWork(Builder builder) {
 		this.resultType = builder.resultType;
 		this.routingKeys = Collections.unmodifiableList( new ArrayList<>( builder.routingKeys ) );
 		this.firstResultIndex = builder.firstResultIndex;
 		this.maxResultsCount = builder.maxResultsCount;
+		this.parameters = Collections.unmodifiableMap( new LinkedHashMap<>( builder.parameters ) );
 	}
 
 	public ResultType getResultType() {
@@ -50,12 +54,17 @@ public Long getMaxResultsCount() {
 		return maxResultsCount;
 	}
 
+	public Map<String, Object> getParameters() {
+		return parameters;
+	}
+
 	@Override
 	public String toString() {
 		return "StubSearchWork[" +
 				", routingKeys=" + routingKeys +
 				", firstResultIndex=" + firstResultIndex +
 				", maxResultsCount=" + maxResultsCount +
+				", parameters=" + parameters +
 				']';
 	}
 
@@ -65,6 +74,7 @@ public static class Builder {
 		private final List<String> routingKeys = new ArrayList<>();
 		private Long firstResultIndex;
 		private Long maxResultsCount;
+		private final Map<String, Object> parameters = new LinkedHashMap<>();
 
 		private Builder(ResultType resultType) {
 			this.resultType = resultType;
@@ -85,6 +95,11 @@ public Builder maxResultsCount(Long maxResultsCount) {
 			return this;
 		}
 
+		public Builder parameter(String name, Object value) {
+			this.parameters.put( name, value );
+			return this;
+		}
+
 		public StubSearchWork build() {
 			return new StubSearchWork( this );
 		}